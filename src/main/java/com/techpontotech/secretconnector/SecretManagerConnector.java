@@ -1,17 +1,87 @@
 package com.techpontotech.secretconnector;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.profiles.ProfileFile;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretResponse;
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.techpontotech.secretconnector.cache.AdaptiveTtlPolicy;
+import com.techpontotech.secretconnector.cache.CacheStats;
+import com.techpontotech.secretconnector.cache.CachedSecret;
+import com.techpontotech.secretconnector.cache.NotFoundCache;
+import com.techpontotech.secretconnector.cache.RotationGraceSecret;
+import com.techpontotech.secretconnector.cache.SecretCache;
+import com.techpontotech.secretconnector.cache.SecretSnapshot;
+import com.techpontotech.secretconnector.cache.SharedSecretCache;
+import com.techpontotech.secretconnector.client.BatchSecretsManagerClient;
+import com.techpontotech.secretconnector.config.CredentialsSupplierConfig;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
 import com.techpontotech.secretconnector.config.SecretManagerClientConfig;
+import com.techpontotech.secretconnector.converter.BinarySecretConverter;
 import com.techpontotech.secretconnector.converter.SecretConverter;
 import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.credentials.RotatingCredentialsSupplier;
+import com.techpontotech.secretconnector.event.SecretChangeEvent;
+import com.techpontotech.secretconnector.event.SecretChangeListener;
+import com.techpontotech.secretconnector.event.SecretEventSource;
+import com.techpontotech.secretconnector.event.SecretStream;
+import com.techpontotech.secretconnector.event.SecretWatcher;
+import com.techpontotech.secretconnector.event.WatchHandle;
+import com.techpontotech.secretconnector.exception.CircuitBreakerOpenException;
 import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.exception.SecretTimeoutException;
+import com.techpontotech.secretconnector.jfr.SecretCacheAccessEvent;
+import com.techpontotech.secretconnector.jfr.SecretFetchEvent;
+import com.techpontotech.secretconnector.jfr.SecretRefreshEvent;
+import com.techpontotech.secretconnector.jfr.SecretThrottleEvent;
+import com.techpontotech.secretconnector.model.ResolvedSecret;
+import com.techpontotech.secretconnector.model.SecretEntry;
+import com.techpontotech.secretconnector.model.SecretResult;
+import com.techpontotech.secretconnector.preload.SecretPreloader;
+import com.techpontotech.secretconnector.provider.SecretLayer;
+import com.techpontotech.secretconnector.provider.SecretProviderChain;
+import com.techpontotech.secretconnector.resilience.CircuitBreaker;
+import com.techpontotech.secretconnector.resilience.FetchPriority;
+import com.techpontotech.secretconnector.resilience.FetchScheduler;
 
 /**
  * Classe responsável pela conexão e recuperação de secrets no AWS Secrets Manager.
@@ -20,8 +90,38 @@ import com.techpontotech.secretconnector.exception.SecretManagerException;
 public class SecretManagerConnector<T> {
 
     private static final Logger logger = LoggerFactory.getLogger(SecretManagerConnector.class);
+
+    /** Intervalo padrão entre as verificações de alteração dos secrets observados. */
+    public static final Duration DEFAULT_WATCH_INTERVAL = Duration.ofSeconds(30);
+
+    /** Número de buscas paralelas usadas nas operações em lote. */
+    public static final int BATCH_PARALLELISM = 8;
+
+    /** Número máximo de cargas com prazo aguardando uma thread do executor de cargas. */
+    public static final int DEADLINE_LOAD_QUEUE = 256;
+
+    /** Prioridade das buscas feitas pela thread atual; sem valor, {@link FetchPriority#INTERACTIVE}. */
+    private static final ThreadLocal<FetchPriority> PRIORITY = new ThreadLocal<>();
+
     private final SecretsManagerClient secretsManagerClient;
     private final SecretConverter<T> converter;
+    private final SecretCache cache;
+    private final long ttlNanos;
+    private final AdaptiveTtlPolicy adaptiveTtl;
+    private final NotFoundCache notFound;
+    private final ConcurrentHashMap<String, CompletableFuture<CachedSecret>> inFlight = new ConcurrentHashMap<>();
+    private final List<SecretEventSource> eventSources = new CopyOnWriteArrayList<>();
+    private volatile Duration watchInterval = DEFAULT_WATCH_INTERVAL;
+    private SecretWatcher watcher;
+    private final ConcurrentHashMap<String, SecretStream> streams = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RotationGraceSecret> rotationGrace = new ConcurrentHashMap<>();
+    private final List<RotatingCredentialsSupplier<?>> credentialsSuppliers = new CopyOnWriteArrayList<>();
+    private ExecutorService batchExecutor;
+    private ExecutorService loadExecutor;
+    private volatile CircuitBreaker circuitBreaker;
+    private volatile FetchScheduler fetchScheduler;
+    private volatile SharedSecretCache sharedCache;
+    private volatile SecretProviderChain providerChain;
 
     /**
      * Construtor padrão que inicializa o conector com configurações pré-definidas.
@@ -101,13 +201,48 @@ public class SecretManagerConnector<T> {
      * 
      * @throws IllegalArgumentException se algum dos parâmetros for nulo
      */
-    @SuppressWarnings("unchecked")
     public SecretManagerConnector(SecretConverter<?> converter, SecretsManagerClient secretsManagerClient) {
+        this(converter, secretsManagerClient, null);
+    }
+
+    /**
+     * Construtor que inicializa o conector com cache local de secrets.
+     *
+     * <p>Os secrets recuperados são mantidos em um cache limitado por peso (W-TinyLFU) até expirarem
+     * conforme o TTL configurado. Leituras concorrentes de um mesmo secret ausente do cache
+     * compartilham uma única chamada ao Secrets Manager.
+     *
+     * @param converter o conversor padrão a ser utilizado. Não pode ser nulo.
+     * @param secretsManagerClient cliente AWS SecretsManagerClient configurado e pronto para uso.
+     *                              Não pode ser nulo.
+     * @param cacheConfig configuração do cache, ou null para desabilitar o cache
+     *
+     * @see SecretCacheConfig
+     */
+    @SuppressWarnings("unchecked")
+    public SecretManagerConnector(SecretConverter<?> converter, SecretsManagerClient secretsManagerClient,
+            SecretCacheConfig cacheConfig) {
         this.converter = (SecretConverter<T>)converter;
         this.secretsManagerClient = secretsManagerClient;
 
-        logger.debug("SecretManagerConnector inicializado com conversor padrão: {}", 
-            converter.getClass().getSimpleName()
+        if (cacheConfig != null) {
+            this.cache = new SecretCache(cacheConfig.getMaximumWeight(), cacheConfig.getConcurrencyLevel(),
+                cacheConfig.getWeigher());
+            this.ttlNanos = cacheConfig.getTtl().toNanos();
+            this.adaptiveTtl = cacheConfig.getAdaptiveTtl() == null ? null
+                : new AdaptiveTtlPolicy(cacheConfig.getAdaptiveTtl(), cacheConfig.getTtl(), this::describeUpstream,
+                    task -> batchExecutor().execute(task));
+            this.notFound = cacheConfig.getNotFoundTtl().isZero() ? null
+                : new NotFoundCache(cacheConfig.getNotFoundTtl().toNanos(), NotFoundCache.DEFAULT_MAXIMUM_SIZE);
+        } else {
+            this.cache = null;
+            this.ttlNanos = 0L;
+            this.adaptiveTtl = null;
+            this.notFound = null;
+        }
+
+        logger.debug("SecretManagerConnector inicializado com conversor padrão: {} (cache {})", 
+            converter.getClass().getSimpleName(), cache != null ? "habilitado" : "desabilitado"
         );
     }
 
@@ -124,11 +259,11 @@ public class SecretManagerConnector<T> {
         try {
             logger.debug("Recuperando secret: {}", secretName);
             
-            String secretValue = getRawSecretString(secretName);
+            CachedSecret secret = resolve(secretName);
 
-            logger.debug("Secret recuperado \n'{}'", secretValue);
+            logger.debug("Secret recuperado \n'{}'", secret.getPayload());
 
-            return this.converter.convert(secretValue);
+            return secret.convert(this.converter);
             
         } catch (SecretsManagerException e) {
             logger.error("Erro ao recuperar secret '{}': {}", secretName, e.getMessage());
@@ -147,20 +282,22 @@ public class SecretManagerConnector<T> {
      */
     public <R> R get(String secretName, Class<R> clazz) {
         try {
-            String secretValue = getRawSecretString(secretName);
+            CachedSecret secret = resolve(secretName);
             logger.debug("Convertendo secret '{}' para tipo genérico", secretName);
 
             if (clazz == String.class) {
                 logger.debug("Usando conversor pré-definido para String");
-                return clazz.cast(secretValue);
+                return clazz.cast(secret.getPayload());
             }
-            R convertedValue = SecretConverters.asObject(clazz).convert(secretValue);
+            R convertedValue = SecretConverters.asObject(clazz).convert(secret.getPayload());
 
             logger.debug("Secret '{}' convertido com sucesso para tipo {}", secretName, 
                     convertedValue.getClass().getSimpleName());
 
             return convertedValue;
 
+        } catch (SecretManagerException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Erro ao converter secret '{}': {}", secretName, e.getMessage());
             throw new SecretManagerException("Falha ao converter o secret: " + secretName, e);
@@ -178,22 +315,350 @@ public class SecretManagerConnector<T> {
      */
     public <R> R get(String secretName, SecretConverter<R> converter) {
         try {
-            String secretValue = getRawSecretString(secretName);
+            CachedSecret secret = resolve(secretName);
             logger.debug("Convertendo secret '{}' para tipo genérico", secretName);
 
-            R convertedValue = converter.convert(secretValue);
+            R convertedValue = secret.convert(converter);
             logger.debug("Secret '{}' convertido com sucesso para tipo {}", secretName, 
                     convertedValue.getClass().getSimpleName());
                     
             return convertedValue;
+        } catch (SecretManagerException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro ao converter secret '{}': {}", secretName, e.getMessage());
+            throw new SecretManagerException("Falha ao converter o secret: " + secretName, e);
+        }
+    }
+
+    /**
+     * Recupera o valor binário de um secret ({@code SecretBinary}) e o converte lendo diretamente
+     * os bytes recebidos, sem passar por {@link String} (ver {@code BinaryConverters}). Secrets de
+     * texto são entregues ao conversor como bytes UTF-8.
+     *
+     * @param <R> o tipo do valor convertido
+     * @param secretName o nome ou ARN do secret
+     * @param converter o conversor binário a ser aplicado
+     * @return o valor do secret convertido
+     * @throws SecretManagerException se ocorrer erro ao recuperar ou converter o secret
+     */
+    public <R> R getBinary(String secretName, BinarySecretConverter<R> converter) {
+        try {
+            return resolve(secretName).convertBinary(converter);
+        } catch (SecretManagerException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Erro ao converter secret '{}': {}", secretName, e.getMessage());
             throw new SecretManagerException("Falha ao converter o secret: " + secretName, e);
         }
     }
 
+    /**
+     * Recupera o valor de um secret com o conversor padrão, respeitando um prazo máximo.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @param deadline o tempo máximo de espera pelo valor
+     * @return o valor do secret convertido
+     * @throws SecretTimeoutException se o prazo expirar e não houver valor no cache
+     * @throws SecretManagerException se ocorrer erro ao recuperar ou converter o secret
+     * @see #get(String, SecretConverter, Duration)
+     */
+    public T get(String secretName, Duration deadline) {
+        return get(secretName, this.converter, deadline);
+    }
+
+    /**
+     * Recupera o valor de um secret respeitando um prazo máximo.
+     *
+     * <p>Sem cache, o prazo restante é repassado ao SDK como {@code apiCallTimeout} da chamada.
+     * Com cache, a busca é compartilhada entre as threads que aguardam o mesmo secret e não é
+     * cancelada quando o prazo de um chamador expira: o chamador recebe o último valor do cache
+     * (mesmo expirado), se existir, ou {@link SecretTimeoutException}, enquanto a busca prossegue
+     * para os demais.
+     *
+     * @param <R> o tipo do valor convertido
+     * @param secretName o nome ou ARN do secret
+     * @param converter o conversor a ser aplicado
+     * @param deadline o tempo máximo de espera pelo valor
+     * @return o valor do secret convertido
+     * @throws SecretTimeoutException se o prazo expirar e não houver valor no cache
+     * @throws SecretManagerException se ocorrer erro ao recuperar ou converter o secret
+     */
+    public <R> R get(String secretName, SecretConverter<R> converter, Duration deadline) {
+        if (deadline == null || deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("deadline deve ser positivo");
+        }
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        try {
+            return resolve(secretName, deadlineNanos).convert(converter);
+        } catch (SecretManagerException e) {
+            throw e;
+        } catch (SecretsManagerException e) {
+            logger.error("Erro ao recuperar secret '{}': {}", secretName, e.getMessage());
+            throw new SecretManagerException("Falha ao recuperar o secret: " + secretName, e);
+        } catch (Exception e) {
+            logger.error("Erro ao converter secret '{}': {}", secretName, e.getMessage());
+            throw new SecretManagerException("Falha ao converter o secret: " + secretName, e);
+        }
+    }
+
+    /**
+     * Recupera o valor de um secret sem lançar exceções.
+     *
+     * <p>Secret inexistente resulta em {@link SecretResult.NotFound} e erros de acesso ou de
+     * conversão em {@link SecretResult.Failed}. Com o cache habilitado, os secrets inexistentes são
+     * lembrados durante o {@code notFoundTtl} configurado, e novas consultas a eles são respondidas
+     * sem chamar o Secrets Manager. O registro negativo é descartado por {@code invalidate}, por
+     * eventos de alteração e sempre que o secret é carregado com sucesso.
+     *
+     * @param <R> o tipo do valor convertido
+     * @param secretName o nome ou ARN do secret
+     * @param converter o conversor a ser aplicado
+     * @return o resultado da leitura
+     * @see SecretCacheConfig.Builder#notFoundTtl(Duration)
+     */
+    public <R> SecretResult<R> tryGet(String secretName, SecretConverter<R> converter) {
+        SecretResult<CachedSecret> resolved = tryResolve(secretName);
+        if (!(resolved instanceof SecretResult.Found<CachedSecret> found)) {
+            return resolved instanceof SecretResult.Failed<CachedSecret> failed
+                ? SecretResult.failed(failed.cause())
+                : SecretResult.notFound();
+        }
+        try {
+            return SecretResult.found(found.value().convert(converter));
+        } catch (Exception e) {
+            return SecretResult.failed(e);
+        }
+    }
+
+    /**
+     * Recupera o valor bruto e a versão de vários secrets sem lançar exceções.
+     *
+     * <p>Segue as mesmas regras de {@link #tryGet(String, SecretConverter)} para cada secret; os
+     * ausentes do cache são buscados em paralelo. O ARN das entradas retornadas é sempre nulo, e
+     * secrets binários resultam em {@code Failed}, pois a entrada só representa payloads de texto.
+     *
+     * @param secretNames os nomes ou ARNs dos secrets
+     * @return o resultado de cada secret, na ordem dos nomes informados
+     */
+    public Map<String, SecretResult<SecretEntry>> tryGetEntries(Collection<String> secretNames) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(secretNames));
+        List<CompletableFuture<SecretResult<CachedSecret>>> futures = new ArrayList<>(distinct.size());
+        for (String secretName : distinct) {
+            if (distinct.size() == 1 || isCached(secretName)) {
+                futures.add(CompletableFuture.completedFuture(tryResolve(secretName)));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(inCurrentLane(() -> tryResolve(secretName)), batchExecutor()));
+            }
+        }
+        Map<String, SecretResult<SecretEntry>> entries = new LinkedHashMap<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            SecretResult<CachedSecret> resolved = futures.get(i).join();
+            if (resolved instanceof SecretResult.Found<CachedSecret> found && found.value().getBinary() != null) {
+                entries.put(distinct.get(i), SecretResult.failed(new SecretManagerException(
+                    "Secret binário não pode ser lido como texto: " + distinct.get(i))));
+            } else if (resolved instanceof SecretResult.Found<CachedSecret> found) {
+                CachedSecret secret = found.value();
+                entries.put(distinct.get(i), SecretResult.found(
+                    new SecretEntry(distinct.get(i), null, secret.getVersionId(), secret.getPayload())));
+            } else if (resolved instanceof SecretResult.Failed<CachedSecret> failed) {
+                entries.put(distinct.get(i), SecretResult.failed(failed.cause()));
+            } else {
+                entries.put(distinct.get(i), SecretResult.notFound());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Resolve o secret registrando os inexistentes no cache negativo. O resultado nunca é
+     * {@code Found} com valor nulo; {@code NotFound} e {@code Failed} não dependem do tipo.
+     */
+    private SecretResult<CachedSecret> tryResolve(String secretName) {
+        if (notFound != null && notFound.contains(secretName, System.nanoTime())) {
+            return SecretResult.notFound();
+        }
+        try {
+            return SecretResult.found(resolve(secretName));
+        } catch (ResourceNotFoundException e) {
+            logger.debug("Secret '{}' não encontrado", secretName);
+            if (notFound != null) {
+                notFound.put(secretName, System.nanoTime());
+            }
+            return SecretResult.notFound();
+        } catch (RuntimeException e) {
+            return SecretResult.failed(e);
+        }
+    }
+
+    /**
+     * Recupera vários secrets de uma vez, convertendo cada um com o conversor informado.
+     *
+     * <p>Nomes repetidos são buscados uma única vez, e os secrets ausentes do cache são buscados
+     * em paralelo. Quando o cliente é um {@link BatchSecretsManagerClient}, os ausentes são buscados
+     * em uma única chamada. A ordem do mapa retornado segue a ordem dos nomes informados.
+     *
+     * @param <R> o tipo dos valores convertidos
+     * @param secretNames os nomes ou ARNs dos secrets
+     * @param converter o conversor aplicado a cada secret
+     * @return mapa de nome para valor convertido
+     * @throws SecretManagerException se ocorrer erro ao recuperar ou converter algum secret
+     */
+    public <R> Map<String, R> getAll(Collection<String> secretNames, SecretConverter<R> converter) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(secretNames));
+        if (distinct.size() > 1 && providerChain == null
+                && secretsManagerClient instanceof BatchSecretsManagerClient batchClient) {
+            return getAllBatched(batchClient, distinct, converter);
+        }
+        List<CompletableFuture<R>> futures = new ArrayList<>(distinct.size());
+        for (String secretName : distinct) {
+            if (distinct.size() == 1 || isCached(secretName)) {
+                futures.add(CompletableFuture.completedFuture(get(secretName, converter)));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(inCurrentLane(() -> get(secretName, converter)), batchExecutor()));
+            }
+        }
+        Map<String, R> values = new LinkedHashMap<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            try {
+                values.put(distinct.get(i), futures.get(i).join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return values;
+    }
 
+    private <R> Map<String, R> getAllBatched(BatchSecretsManagerClient batchClient, List<String> secretNames,
+            SecretConverter<R> converter) {
+        Map<String, CachedSecret> secrets = new LinkedHashMap<>();
+        Map<String, CachedSecret> stale = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        SharedSecretCache shared = sharedCache;
+        long now = System.nanoTime();
+        for (String secretName : secretNames) {
+            CachedSecret cached = cache != null ? cache.getIfPresent(secretName) : null;
+            if (cached != null && !cached.isExpired(now)) {
+                secrets.put(secretName, cached);
+                continue;
+            }
+            if (notFound != null && notFound.contains(secretName, now)) {
+                throw new SecretManagerException("Secret não encontrado: " + secretName);
+            }
+            SecretEntry entry = shared != null ? shared.get(secretName) : null;
+            if (entry != null) {
+                CachedSecret secret = new CachedSecret(secretName, entry.payload(), entry.versionId(), now,
+                    now + knownTtl(secretName));
+                if (cache != null) {
+                    store(secretName, secret);
+                }
+                secrets.put(secretName, secret);
+                continue;
+            }
+            if (cached != null) {
+                stale.put(secretName, cached);
+            }
+            missing.add(secretName);
+        }
+        if (!missing.isEmpty()) {
+            Map<String, SecretResult<GetSecretValueResponse>> responses;
+            long started = System.nanoTime();
+            try {
+                responses = fetchBatch(batchClient, missing);
+            } catch (CircuitBreakerOpenException e) {
+                if (!stale.keySet().containsAll(missing)) {
+                    throw e;
+                }
+                logger.warn("Circuit breaker aberto; retornando valores expirados do cache para {} secret(s)", missing.size());
+                secrets.putAll(stale);
+                missing = List.of();
+                responses = Map.of();
+            }
+            for (String secretName : missing) {
+                SecretResult<GetSecretValueResponse> response = responses.get(secretName);
+                if (response instanceof SecretResult.Found<GetSecretValueResponse> found) {
+                    CachedSecret secret = toCachedSecret(secretName, found.value(), System.nanoTime());
+                    publishShared(secret);
+                    if (cache != null) {
+                        store(secretName, secret, started);
+                    }
+                    secrets.put(secretName, secret);
+                } else if (response instanceof SecretResult.Failed<GetSecretValueResponse> failed) {
+                    logger.error("Erro ao recuperar secret '{}': {}", secretName, failed.cause().getMessage());
+                    throw new SecretManagerException("Falha ao recuperar o secret: " + secretName, failed.cause());
+                } else {
+                    if (notFound != null) {
+                        notFound.put(secretName, System.nanoTime());
+                    }
+                    throw new SecretManagerException("Secret não encontrado: " + secretName);
+                }
+            }
+        }
+        Map<String, R> values = new LinkedHashMap<>();
+        for (String secretName : secretNames) {
+            try {
+                values.put(secretName, secrets.get(secretName).convert(converter));
+            } catch (Exception e) {
+                logger.error("Erro ao converter secret '{}': {}", secretName, e.getMessage());
+                throw new SecretManagerException("Falha ao converter o secret: " + secretName, e);
+            }
+        }
+        return values;
+    }
 
+    /**
+     * Busca os secrets em uma chamada do cliente em lote. O circuit breaker autoriza a chamada e
+     * registra o resultado de cada secret, e o throttling de qualquer secret pausa o segundo plano
+     * do {@link FetchScheduler}, como nas chamadas individuais.
+     */
+    private Map<String, SecretResult<GetSecretValueResponse>> fetchBatch(BatchSecretsManagerClient batchClient,
+            List<String> secretNames) {
+        CircuitBreaker breaker = circuitBreaker;
+        FetchScheduler scheduler = fetchScheduler;
+        Supplier<Map<String, SecretResult<GetSecretValueResponse>>> call = () -> {
+            if (breaker != null && !breaker.tryAcquirePermission()) {
+                for (String secretName : secretNames) {
+                    commitThrottle(secretName, SecretThrottleEvent.CIRCUIT_BREAKER, 0, null);
+                }
+                throw new CircuitBreakerOpenException(
+                    "Circuit breaker '" + breaker.getName() + "' aberto; chamada ao Secrets Manager rejeitada");
+            }
+            long start = System.nanoTime();
+            Map<String, SecretResult<GetSecretValueResponse>> responses;
+            try {
+                responses = batchClient.getSecretValues(secretNames);
+            } catch (RuntimeException e) {
+                if (breaker != null) {
+                    breaker.onError(System.nanoTime() - start, e);
+                }
+                throw e;
+            }
+            long duration = System.nanoTime() - start;
+            for (Map.Entry<String, SecretResult<GetSecretValueResponse>> response : responses.entrySet()) {
+                if (!(response.getValue() instanceof SecretResult.Failed<GetSecretValueResponse> failed)) {
+                    if (breaker != null) {
+                        breaker.onSuccess(duration);
+                    }
+                    continue;
+                }
+                if (breaker != null) {
+                    breaker.onError(duration, failed.cause());
+                }
+                if (failed.cause() instanceof AwsServiceException e && e.isThrottlingException()) {
+                    if (scheduler != null) {
+                        scheduler.onThrottled();
+                    }
+                    commitThrottle(response.getKey(), SecretThrottleEvent.SECRETS_MANAGER, e.statusCode(),
+                        e.awsErrorDetails() != null ? e.awsErrorDetails().errorCode() : null);
+                }
+            }
+            return responses;
+        };
+        return scheduler != null ? scheduler.execute(currentPriority(), null, call) : call.get();
+    }
 
     /**
      * Verifica se um secret existe no AWS Secrets Manager.
@@ -219,40 +684,1197 @@ public class SecretManagerConnector<T> {
     }
 
     /**
-     * Fecha a conexão com o cliente do Secrets Manager.
-     * Deve ser chamado quando o objeto não for mais necessário.
+     * Remove um secret do cache. A próxima leitura irá buscá-lo no Secrets Manager.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @return true se o secret estava no cache
      */
-    public void close() {
-        if (secretsManagerClient != null) {
-            secretsManagerClient.close();
-            logger.debug("Conexão com Secrets Manager fechada");
+    public boolean invalidate(String secretName) {
+        SharedSecretCache shared = sharedCache;
+        boolean sharedRemoved = shared != null && shared.invalidate(secretName);
+        if (cache == null) {
+            return sharedRemoved;
+        }
+        logger.debug("Invalidando secret '{}'", secretName);
+        inFlight.remove(secretName);
+        if (notFound != null) {
+            notFound.invalidate(secretName);
         }
+        return cache.invalidate(secretName) != null;
     }
 
     /**
-     * Retorna o cliente do Secrets Manager (para uso avançado).
+     * Remove do cache todos os secrets cujo nome começa com o prefixo informado.
      *
-     * @return a instância do SecretsManagerClient
+     * @param prefix o prefixo do nome (ex: "prod/payments/")
+     * @return a quantidade de secrets removidos
      */
-    public SecretsManagerClient getSecretsManagerClient() {
-        return secretsManagerClient;
+    public int invalidateByPrefix(String prefix) {
+        SharedSecretCache shared = sharedCache;
+        int sharedRemoved = shared != null ? shared.invalidateByPrefix(prefix) : 0;
+        if (cache == null) {
+            return sharedRemoved;
+        }
+        inFlight.keySet().removeIf(key -> key.startsWith(prefix));
+        if (notFound != null) {
+            notFound.invalidateByPrefix(prefix);
+        }
+        int removed = 0;
+        for (String key : cache.keys()) {
+            if (key.startsWith(prefix) && cache.invalidate(key) != null) {
+                removed++;
+            }
+        }
+        logger.debug("{} secret(s) invalidado(s) com prefixo '{}'", removed, prefix);
+        return removed;
     }
 
     /**
-     * Lê o valor bruto do secret (String ou binary -> String).
+     * Remove todos os secrets do cache.
      */
-    private String getRawSecretString(String secretName) {
-        GetSecretValueRequest request = GetSecretValueRequest.builder()
-            .secretId(secretName)
-            .build();
+    public void invalidateAll() {
+        SharedSecretCache shared = sharedCache;
+        if (shared != null) {
+            shared.invalidateAll();
+        }
+        if (notFound != null) {
+            notFound.invalidateAll();
+        }
+        if (cache != null) {
+            inFlight.clear();
+            cache.invalidateAll();
+            logger.debug("Cache de secrets invalidado");
+        }
+    }
+
+    /**
+     * Busca imediatamente o valor atual do secret no Secrets Manager e o armazena no cache,
+     * independentemente do TTL da entrada atual.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @throws SecretManagerException se ocorrer erro ao recuperar o secret
+     */
+    public void refresh(String secretName) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            logger.debug("Atualizando secret '{}'", secretName);
+            withPriority(FetchPriority.REFRESH, () -> reload(secretName));
+        } catch (SecretsManagerException e) {
+            logger.error("Erro ao atualizar secret '{}': {}", secretName, e.getMessage());
+            throw new SecretManagerException("Falha ao atualizar o secret: " + secretName, e);
+        }
+    }
 
-        GetSecretValueResponse response = secretsManagerClient.getSecretValue(request);
+    /**
+     * Registra uma fonte de eventos de rotação/atualização. A cada evento, apenas as entradas
+     * afetadas são buscadas novamente (ou removidas, em caso de exclusão), permitindo TTLs longos
+     * sem servir valores desatualizados. A fonte é fechada junto com o conector.
+     *
+     * @param eventSource a fonte de eventos
+     */
+    public void registerEventSource(SecretEventSource eventSource) {
+        eventSources.add(eventSource);
+        eventSource.start(this::onSecretChange);
+        logger.debug("Fonte de eventos registrada: {}", eventSource.getClass().getSimpleName());
+    }
 
-        if (response.secretString() != null) {
-            return response.secretString();
-        } else {
-            return new String(response.secretBinary().asByteArray());
+    /**
+     * Aplica um evento de alteração às entradas do cache associadas ao secret.
+     */
+    private void onSecretChange(SecretChangeEvent event) {
+        Set<String> keys = event.lookupKeys();
+        SharedSecretCache shared = sharedCache;
+        if (shared != null && event.type() == SecretChangeEvent.Type.DELETE) {
+            for (String key : keys) {
+                shared.invalidate(key);
+            }
+        }
+        if (cache == null) {
+            return;
+        }
+        for (String key : keys) {
+            if (notFound != null) {
+                notFound.invalidate(key);
+            }
+            if (cache.peek(key) == null) {
+                continue;
+            }
+            if (event.type() == SecretChangeEvent.Type.DELETE) {
+                cache.invalidate(key);
+                if (adaptiveTtl != null) {
+                    adaptiveTtl.forget(key);
+                }
+                continue;
+            }
+            try {
+                refresh(key);
+            } catch (SecretManagerException e) {
+                logger.warn("Removendo '{}' do cache após falha na atualização por evento", key);
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Observa um secret usando o conversor padrão do conector.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @param listener o listener notificado com o valor anterior e o novo valor
+     * @return o handle para cancelar a observação
+     * @throws SecretManagerException se ocorrer erro ao recuperar o valor atual do secret
+     * @see #watch(String, SecretConverter, SecretChangeListener)
+     */
+    public WatchHandle watch(String secretName, SecretChangeListener<T> listener) {
+        return watch(secretName, this.converter, listener);
+    }
+
+    /**
+     * Observa um secret e notifica o listener sempre que o seu payload mudar.
+     *
+     * <p>Todas as observações do conector compartilham uma única verificação periódica, que detecta
+     * as alterações de todos os secrets em poucas chamadas paginadas ao {@code ListSecrets}
+     * (comparando o {@code LastChangedDate}) e busca somente os secrets alterados. O intervalo
+     * é definido por {@link #setWatchInterval(Duration)}.
+     *
+     * @param <R> o tipo do valor convertido
+     * @param secretName o nome ou ARN do secret
+     * @param converter o conversor aplicado aos valores entregues ao listener
+     * @param listener o listener notificado com o valor anterior e o novo valor
+     * @return o handle para cancelar a observação
+     * @throws SecretManagerException se ocorrer erro ao recuperar o valor atual do secret
+     */
+    public <R> WatchHandle watch(String secretName, SecretConverter<R> converter, SecretChangeListener<R> listener) {
+        try {
+            return watcher().watch(secretName, resolve(secretName), converter, listener);
+        } catch (Exception e) {
+            logger.error("Erro ao observar secret '{}': {}", secretName, e.getMessage());
+            throw new SecretManagerException("Falha ao observar o secret: " + secretName, e);
+        }
+    }
+
+    /**
+     * Retorna um publisher reativo dos valores do secret convertidos com o conversor padrão.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @return o publisher
+     * @see #publisher(String, SecretConverter)
+     */
+    public Flow.Publisher<T> publisher(String secretName) {
+        return publisher(secretName, this.converter);
+    }
+
+    /**
+     * Retorna um publisher reativo que emite o valor atual do secret e, em seguida, cada valor
+     * rotacionado.
+     *
+     * <p>Todos os assinantes do mesmo secret compartilham uma única observação (ver
+     * {@link #watch(String, SecretConverter, SecretChangeListener)}), ativa enquanto houver
+     * assinantes. A contrapressão é respeitada: sem demanda, os valores intermediários são
+     * descartados e somente o mais recente é entregue quando houver nova demanda. Erros ao
+     * recuperar o valor inicial ou ao converter um valor são sinalizados com {@code onError};
+     * {@link #close()} sinaliza {@code onComplete}.
+     *
+     * @param <R> o tipo do valor convertido
+     * @param secretName o nome ou ARN do secret
+     * @param converter o conversor aplicado a cada valor emitido
+     * @return o publisher
+     */
+    public <R> Flow.Publisher<R> publisher(String secretName, SecretConverter<R> converter) {
+        Objects.requireNonNull(converter, "converter");
+        return subscriber -> {
+            // um fluxo descartado entre a consulta ao mapa e a assinatura é substituído por um novo
+            while (!stream(secretName).trySubscribe(subscriber, converter)) {
+                Thread.onSpinWait();
+            }
+        };
+    }
+
+    /**
+     * Retorna o fluxo compartilhado do secret, criando-o se necessário. O fluxo é removido do mapa
+     * quando fica sem assinantes.
+     */
+    private SecretStream stream(String secretName) {
+        return streams.computeIfAbsent(secretName,
+            name -> new SecretStream(name, () -> withPriority(FetchPriority.REFRESH, () -> resolve(name)), this::watcher,
+                batchExecutor(), idle -> streams.remove(name, idle)));
+    }
+
+    /**
+     * Define o intervalo entre as verificações de alteração dos secrets observados.
+     * Deve ser chamado antes da primeira chamada a {@code watch}.
+     *
+     * @param watchInterval o intervalo entre as verificações
+     */
+    public void setWatchInterval(Duration watchInterval) {
+        if (watchInterval == null || watchInterval.isNegative() || watchInterval.isZero()) {
+            throw new IllegalArgumentException("watchInterval deve ser positivo");
+        }
+        this.watchInterval = watchInterval;
+    }
+
+    /**
+     * Retorna o detector de alterações dos secrets observados, criando-o na primeira chamada.
+     *
+     * @return o SecretWatcher do conector
+     */
+    public synchronized SecretWatcher watcher() {
+        if (watcher == null) {
+            watcher = new SecretWatcher(secretsManagerClient,
+                name -> withPriority(FetchPriority.REFRESH, () -> reload(name)), watchInterval);
+        }
+        return watcher;
+    }
+
+    /**
+     * Pré-carrega no cache os secrets cujo nome começa com o prefixo informado.
+     *
+     * <p>Os secrets são listados página a página com {@code ListSecrets} e os payloads de cada página
+     * são buscados em paralelo. O stream é preguiçoso: as páginas são carregadas à medida que o
+     * stream é consumido (use, por exemplo, {@code count()} para carregar tudo de uma vez).
+     *
+     * @param prefix o prefixo do nome (ex: "prod/payments/")
+     * @return stream preguiçoso dos secrets carregados
+     * @throws SecretManagerException (durante o consumo) se ocorrer erro ao recuperar um secret
+     */
+    public Stream<SecretEntry> preloadByPrefix(String prefix) {
+        return preloader().byPrefix(prefix);
+    }
+
+    /**
+     * Pré-carrega no cache os secrets que possuem a tag informada.
+     *
+     * @param tagKey a chave da tag
+     * @param tagValue o valor da tag
+     * @return stream preguiçoso dos secrets carregados
+     * @throws SecretManagerException (durante o consumo) se ocorrer erro ao recuperar um secret
+     * @see #preloadByPrefix(String)
+     */
+    public Stream<SecretEntry> preloadByTag(String tagKey, String tagValue) {
+        return preloader().byTag(tagKey, tagValue);
+    }
+
+    /**
+     * Cria um snapshot imutável dos secrets informados, convertidos com o conversor padrão.
+     *
+     * @param secretNames os nomes ou ARNs dos secrets
+     * @return o snapshot
+     * @throws SecretManagerException se algum secret não puder ser recuperado ou convertido
+     * @see #snapshot(Collection, SecretConverter)
+     */
+    public SecretSnapshot<T> snapshot(String... secretNames) {
+        return snapshot(Arrays.asList(secretNames), this.converter);
+    }
+
+    /**
+     * Cria um snapshot imutável dos secrets informados, para conjuntos carregados uma vez e lidos
+     * muitas vezes (ex: jobs em lote).
+     *
+     * <p>Os secrets são carregados em paralelo (usando o cache, se habilitado) e as leituras do
+     * snapshot não usam locks nem verificam expiração. {@link SecretSnapshot#refresh()} busca todos
+     * os secrets novamente no Secrets Manager e troca o snapshot atomicamente.
+     *
+     * @param <R> o tipo do valor convertido
+     * @param secretNames os nomes ou ARNs dos secrets
+     * @param converter o conversor aplicado aos valores
+     * @return o snapshot
+     * @throws SecretManagerException se algum secret não puder ser recuperado ou convertido
+     */
+    public <R> SecretSnapshot<R> snapshot(Collection<String> secretNames, SecretConverter<R> converter) {
+        List<String> names = new ArrayList<>(new LinkedHashSet<>(secretNames));
+        return new SecretSnapshot<>(names, loadAll(names, this::resolve), converter,
+            refreshed -> loadAll(refreshed, this::reload));
+    }
+
+    /**
+     * Retorna o secret com as versões atual e anterior em cache, compartilhado por todos os
+     * chamadores do mesmo secret neste conector.
+     *
+     * <p>Durante a rotação de credenciais, use {@link RotationGraceSecret#withFallback} para tentar
+     * a versão atual e, em seguida, a anterior; falhas de autenticação provocam no máximo uma nova
+     * busca por rotação, em vez de uma busca por falha. Quando o cache está habilitado, a versão
+     * atual obtida também atualiza o cache do conector.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @return o secret com as duas versões
+     */
+    public RotationGraceSecret rotationGrace(String secretName) {
+        long ttl = ttlNanos > 0 ? ttlNanos : SecretCacheConfig.DEFAULT_TTL.toNanos();
+        return rotationGrace.computeIfAbsent(secretName,
+            name -> new RotationGraceSecret(name, stage -> fetchStage(name, stage), ttl));
+    }
+
+    /**
+     * Cria um fornecedor das credenciais atuais do secret para pools de conexão, com a
+     * configuração padrão.
+     *
+     * @param <C> o tipo das credenciais
+     * @param secretName o nome ou ARN do secret
+     * @param converter o conversor das credenciais
+     * @return o fornecedor, já carregado
+     * @throws SecretManagerException se a primeira carga ou conversão falhar
+     * @see #credentialsSupplier(String, SecretConverter, CredentialsSupplierConfig)
+     */
+    public <C> RotatingCredentialsSupplier<C> credentialsSupplier(String secretName, SecretConverter<C> converter) {
+        return credentialsSupplier(secretName, converter, CredentialsSupplierConfig.defaults());
+    }
+
+    /**
+     * Cria um fornecedor das credenciais atuais do secret para pools de conexão. As credenciais são
+     * atualizadas em segundo plano, com buscas frequentes perto da rotação agendada, e cada nova
+     * versão incrementa a geração informada ao pool. O fornecedor é fechado junto com o conector.
+     *
+     * @param <C> o tipo das credenciais
+     * @param secretName o nome ou ARN do secret
+     * @param converter o conversor das credenciais
+     * @param config os intervalos de atualização
+     * @return o fornecedor, já carregado
+     * @throws SecretManagerException se a primeira carga ou conversão falhar
+     */
+    public <C> RotatingCredentialsSupplier<C> credentialsSupplier(String secretName, SecretConverter<C> converter,
+            CredentialsSupplierConfig config) {
+        RotatingCredentialsSupplier<C> supplier = new RotatingCredentialsSupplier<>(secretName, converter,
+            name -> withPriority(FetchPriority.REFRESH, () -> reload(name)), this::describeUpstream, config,
+            credentialsSuppliers::remove);
+        credentialsSuppliers.add(supplier);
+        return supplier;
+    }
+
+    /**
+     * Busca a versão do rótulo informado; retorna null se o rótulo AWSPREVIOUS não existir.
+     */
+    private CachedSecret fetchStage(String secretName, String versionStage) {
+        try {
+            long started = System.nanoTime();
+            CachedSecret secret = fetchUpstream(secretName, versionStage, null);
+            if (RotationGraceSecret.CURRENT.equals(versionStage) && cache != null) {
+                store(secretName, secret, started);
+            }
+            return secret;
+        } catch (ResourceNotFoundException e) {
+            if (RotationGraceSecret.PREVIOUS.equals(versionStage)) {
+                return null;
+            }
+            throw e;
         }
     }
 
+    /**
+     * Carrega os secrets em paralelo no executor de lotes.
+     */
+    private Map<String, CachedSecret> loadAll(Collection<String> secretNames, Function<String, CachedSecret> loader) {
+        Map<String, CompletableFuture<CachedSecret>> futures = new LinkedHashMap<>();
+        for (String secretName : secretNames) {
+            futures.put(secretName, CompletableFuture.supplyAsync(inCurrentLane(() -> loader.apply(secretName)),
+                batchExecutor()));
+        }
+        Map<String, CachedSecret> secrets = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<CachedSecret>> entry : futures.entrySet()) {
+            try {
+                secrets.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SecretManagerException secretManagerException) {
+                    throw secretManagerException;
+                }
+                logger.error("Erro ao recuperar secret '{}': {}", entry.getKey(), cause.getMessage());
+                throw new SecretManagerException("Falha ao recuperar o secret: " + entry.getKey(), cause);
+            }
+        }
+        return secrets;
+    }
+
+    private SecretPreloader preloader() {
+        return new SecretPreloader(secretsManagerClient, name -> withPriority(FetchPriority.BULK, () -> reload(name)),
+            batchExecutor());
+    }
+
+    /**
+     * Retorna o executor compartilhado pelas operações em lote, criando-o na primeira chamada.
+     */
+    private synchronized ExecutorService batchExecutor() {
+        if (batchExecutor == null) {
+            AtomicInteger counter = new AtomicInteger();
+            batchExecutor = Executors.newFixedThreadPool(BATCH_PARALLELISM, runnable -> {
+                Thread thread = new Thread(runnable, "secret-batch-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return batchExecutor;
+    }
+
+    /**
+     * Retorna o executor das cargas com prazo, criando-o na primeira chamada. É separado do executor
+     * de lotes para que uma leitura com prazo não aguarde atrás das tarefas em lote enfileiradas. O
+     * executor é limitado a {@value #BATCH_PARALLELISM} threads e {@value #DEADLINE_LOAD_QUEUE} cargas
+     * aguardando; cargas além desse limite falham com {@link SecretManagerException} em vez de criar
+     * threads (ex: durante uma indisponibilidade, quando as cargas de chamadores que já desistiram
+     * pelo prazo continuam ocupando as threads).
+     */
+    private synchronized ExecutorService loadExecutor() {
+        if (loadExecutor == null) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(BATCH_PARALLELISM, BATCH_PARALLELISM,
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(DEADLINE_LOAD_QUEUE), runnable -> {
+                    Thread thread = new Thread(runnable, "secret-load-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            loadExecutor = executor;
+        }
+        return loadExecutor;
+    }
+
+    /**
+     * Busca o valor atual do secret, atualizando o cache quando habilitado. Com cadeia de camadas, o
+     * secret é recarregado pela primeira camada que o define, sem consultar o cache: secrets
+     * servidos por uma camada local não são buscados no Secrets Manager.
+     */
+    private CachedSecret reload(String secretName) {
+        SecretProviderChain chain = providerChain;
+        if (chain == null) {
+            return reloadRemote(secretName);
+        }
+        return resolveLayered(chain, secretName, this::reloadRemote, false).secret();
+    }
+
+    /**
+     * Busca o valor atual do secret no Secrets Manager, atualizando o cache quando habilitado.
+     */
+    private CachedSecret reloadRemote(String secretName) {
+        SecretRefreshEvent event = new SecretRefreshEvent();
+        event.begin();
+        long started = System.nanoTime();
+        CachedSecret secret;
+        try {
+            secret = fetchUpstream(secretName, null);
+            publishShared(secret);
+        } catch (RuntimeException e) {
+            if (event.shouldCommit()) {
+                event.setSecretId(secretName);
+                event.commit();
+            }
+            throw e;
+        }
+        CachedSecret previous = cache != null ? cache.peek(secretName) : null;
+        if (cache != null) {
+            store(secretName, secret, started);
+        }
+        if (event.shouldCommit()) {
+            event.setSecretId(secretName);
+            event.previousVersionId = previous != null ? previous.getVersionId() : null;
+            event.versionId = secret.getVersionId();
+            event.succeeded = true;
+            event.commit();
+        }
+        return secret;
+    }
+
+    /**
+     * Armazena o secret carregado no cache e descarta o registro de secret inexistente.
+     */
+    private void store(String secretName, CachedSecret secret) {
+        cache.put(secretName, secret);
+        if (notFound != null) {
+            notFound.invalidate(secretName);
+        }
+    }
+
+    /**
+     * Armazena o secret carregado a partir de {@code startedNanos}, exceto se o cache já tiver um
+     * valor carregado depois desse instante (ex: um refresh concluído durante a carga).
+     */
+    private void store(String secretName, CachedSecret secret, long startedNanos) {
+        if (!cache.putIfNewer(secretName, secret, startedNanos)) {
+            logger.debug("Valor carregado de '{}' descartado: o cache já tem um valor mais recente", secretName);
+            return;
+        }
+        if (notFound != null) {
+            notFound.invalidate(secretName);
+        }
+    }
+
+    /**
+     * Fecha a conexão com o cliente do Secrets Manager.
+     * Deve ser chamado quando o objeto não for mais necessário.
+     */
+    public void close() {
+        for (SecretEventSource eventSource : eventSources) {
+            eventSource.close();
+        }
+        eventSources.clear();
+        for (SecretStream stream : streams.values()) {
+            stream.close();
+        }
+        streams.clear();
+        for (RotatingCredentialsSupplier<?> supplier : credentialsSuppliers) {
+            supplier.close();
+        }
+        credentialsSuppliers.clear();
+        synchronized (this) {
+            if (watcher != null) {
+                watcher.close();
+                watcher = null;
+            }
+            if (batchExecutor != null) {
+                batchExecutor.shutdownNow();
+                batchExecutor = null;
+            }
+            if (loadExecutor != null) {
+                loadExecutor.shutdownNow();
+                loadExecutor = null;
+            }
+        }
+        SharedSecretCache shared = sharedCache;
+        if (shared != null) {
+            shared.close();
+        }
+        if (secretsManagerClient != null) {
+            secretsManagerClient.close();
+            logger.debug("Conexão com Secrets Manager fechada");
+        }
+    }
+
+    /**
+     * Retorna o cliente do Secrets Manager (para uso avançado).
+     *
+     * @return a instância do SecretsManagerClient
+     */
+    public SecretsManagerClient getSecretsManagerClient() {
+        return secretsManagerClient;
+    }
+
+    /**
+     * Retorna o cache de secrets (para uso avançado).
+     *
+     * @return a instância do SecretCache, ou null se o cache estiver desabilitado
+     */
+    public SecretCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Retorna o TTL adaptativo do cache (TTL atual de cada secret).
+     *
+     * @return a política de TTL adaptativo, ou null se o TTL é fixo ou o cache está desabilitado
+     */
+    public AdaptiveTtlPolicy getAdaptiveTtl() {
+        return adaptiveTtl;
+    }
+
+    /**
+     * Retorna as métricas do cache (taxa de acerto, evicções, contenção).
+     *
+     * @return as métricas do cache, ou null se o cache estiver desabilitado
+     */
+    public CacheStats getCacheStats() {
+        return cache != null ? cache.stats() : null;
+    }
+
+    /**
+     * Define o circuit breaker aplicado às chamadas {@code GetSecretValue} deste conector.
+     *
+     * <p>Com o circuito aberto as leituras falham imediatamente com
+     * {@link CircuitBreakerOpenException}, sem passar pelo ciclo de retries do SDK; quando o cache
+     * está habilitado e possui uma versão (mesmo expirada) do secret, essa versão é retornada.
+     * Deve ser configurado antes do uso do conector.
+     *
+     * @param circuitBreaker o circuit breaker, ou null para desabilitar
+     */
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Define o scheduler que limita as buscas simultâneas no Secrets Manager e as libera por
+     * prioridade. As leituras são {@link FetchPriority#INTERACTIVE}; as atualizações em segundo plano
+     * ({@link #refresh(String)}, eventos, {@link #watcher()}, publishers, credenciais, TTL adaptativo
+     * e cache compartilhado) são
+     * {@link FetchPriority#REFRESH} e os pré-carregamentos são {@link FetchPriority#BULK}. Outras
+     * operações podem ser marcadas com {@link #withPriority(FetchPriority, Supplier)}. Deve ser
+     * configurado antes do uso do conector.
+     *
+     * @param fetchScheduler o scheduler, ou null para desabilitar
+     */
+    public void setFetchScheduler(FetchScheduler fetchScheduler) {
+        this.fetchScheduler = fetchScheduler;
+    }
+
+    /**
+     * @return o scheduler das buscas no Secrets Manager, ou null se não configurado
+     */
+    public FetchScheduler getFetchScheduler() {
+        return fetchScheduler;
+    }
+
+    /**
+     * Executa a operação com as buscas no Secrets Manager na fila da prioridade informada,
+     * inclusive as feitas em paralelo pelas operações em lote (ex: {@code getAll}).
+     *
+     * <pre>
+     * connector.withPriority(FetchPriority.BULK, () -&gt; connector.getAll(tenantSecrets));
+     * </pre>
+     *
+     * @param <R> o tipo do resultado
+     * @param priority a prioridade das buscas
+     * @param operation a operação
+     * @return o resultado da operação
+     */
+    public <R> R withPriority(FetchPriority priority, Supplier<R> operation) {
+        FetchPriority previous = PRIORITY.get();
+        PRIORITY.set(priority);
+        try {
+            return operation.get();
+        } finally {
+            if (previous == null) {
+                PRIORITY.remove();
+            } else {
+                PRIORITY.set(previous);
+            }
+        }
+    }
+
+    private static FetchPriority currentPriority() {
+        FetchPriority priority = PRIORITY.get();
+        return priority != null ? priority : FetchPriority.INTERACTIVE;
+    }
+
+    /**
+     * Envolve uma tarefa do executor de lotes para que ela busque com a prioridade da thread que a criou.
+     */
+    private <R> Supplier<R> inCurrentLane(Supplier<R> task) {
+        FetchPriority priority = currentPriority();
+        return () -> withPriority(priority, task);
+    }
+
+    /**
+     * Define o cache compartilhado entre as JVMs do host, consultado antes de cada chamada ao
+     * Secrets Manager. Os valores buscados por este conector são publicados nele, e a manutenção do
+     * cache compartilhado é iniciada: se este processo for eleito líder, ele atualiza os registros
+     * antes de expirarem. O cache compartilhado é fechado junto com o conector.
+     * Deve ser configurado antes do uso do conector.
+     *
+     * @param sharedCache o cache compartilhado (ainda não iniciado)
+     */
+    public void setSharedCache(SharedSecretCache sharedCache) {
+        this.sharedCache = sharedCache;
+        sharedCache.start(this::refreshShared);
+    }
+
+    /**
+     * @return o cache compartilhado, ou null se não configurado
+     */
+    public SharedSecretCache getSharedCache() {
+        return sharedCache;
+    }
+
+    /**
+     * Define a cadeia de camadas consultada nas leituras: variáveis de ambiente, arquivo local,
+     * cache e Secrets Manager, com as camadas escolhidas por padrão de nome. Secrets cujas camadas
+     * não incluem {@code SECRETS_MANAGER} nunca acessam a rede.
+     *
+     * @param providerChain a cadeia, ou null para consultar somente o cache e o Secrets Manager
+     */
+    public void setProviderChain(SecretProviderChain providerChain) {
+        this.providerChain = providerChain;
+    }
+
+    /**
+     * @return a cadeia de camadas, ou null se não configurada
+     */
+    public SecretProviderChain getProviderChain() {
+        return providerChain;
+    }
+
+    /**
+     * Recupera o valor bruto do secret informando a camada que o serviu. Sem cadeia configurada,
+     * a camada é {@code CACHE} ou {@code SECRETS_MANAGER}.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @return o secret e a camada que o serviu
+     * @throws SecretManagerException se nenhuma camada define o secret ou ocorrer erro ao recuperá-lo
+     */
+    public ResolvedSecret resolveWithLayer(String secretName) {
+        SecretProviderChain chain = providerChain;
+        try {
+            Layered layered;
+            if (chain != null) {
+                layered = resolveLayered(chain, secretName, this::resolveRemote, true);
+            } else {
+                CachedSecret cached = cachedIfFresh(secretName);
+                layered = cached != null ? new Layered(cached, SecretLayer.CACHE)
+                    : new Layered(resolveRemote(secretName), SecretLayer.SECRETS_MANAGER);
+            }
+            CachedSecret secret = layered.secret();
+            return new ResolvedSecret(secretName, layered.layer(), secret.getVersionId(), secret.getPayload());
+        } catch (SecretsManagerException e) {
+            logger.error("Erro ao recuperar secret '{}': {}", secretName, e.getMessage());
+            throw new SecretManagerException("Falha ao recuperar o secret: " + secretName, e);
+        }
+    }
+
+    /**
+     * Retorna o circuit breaker do conector (estado, métricas e listeners).
+     *
+     * @return o circuit breaker, ou null se não configurado
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Obtém o secret pela cadeia de camadas, se configurada, ou diretamente do cache e do Secrets
+     * Manager.
+     */
+    private CachedSecret resolve(String secretName) {
+        SecretProviderChain chain = providerChain;
+        if (chain == null) {
+            return resolveRemote(secretName);
+        }
+        return resolveLayered(chain, secretName, this::resolveRemote, true).secret();
+    }
+
+    /**
+     * Percorre as camadas configuradas para o secret e retorna o valor da primeira que o define.
+     *
+     * @param remote resolve o secret pelo caminho normal do conector (camada {@code SECRETS_MANAGER})
+     * @param useCache se false, a camada {@code CACHE} é ignorada (recargas)
+     * @throws ResourceNotFoundException se nenhuma das camadas define o secret
+     */
+    private Layered resolveLayered(SecretProviderChain chain, String secretName, Function<String, CachedSecret> remote,
+            boolean useCache) {
+        List<SecretLayer> layers = chain.layersFor(secretName);
+        for (SecretLayer layer : layers) {
+            CachedSecret secret = switch (layer) {
+                case ENVIRONMENT, FILE -> chain.lookup(layer, secretName);
+                case CACHE -> useCache ? cachedIfFresh(secretName) : null;
+                case SECRETS_MANAGER -> remote.apply(secretName);
+            };
+            if (secret != null) {
+                chain.recordServed(layer);
+                logger.debug("Secret '{}' servido pela camada {}", secretName, layer);
+                return new Layered(secret, layer);
+            }
+        }
+        throw ResourceNotFoundException.builder()
+            .message("Secret não encontrado nas camadas " + layers + ": " + secretName)
+            .build();
+    }
+
+    private CachedSecret cachedIfFresh(String secretName) {
+        if (cache == null) {
+            return null;
+        }
+        CachedSecret cached = cache.getIfPresent(secretName);
+        return cached != null && !cached.isExpired(System.nanoTime()) ? cached : null;
+    }
+
+    /**
+     * Secret resolvido e a camada que o serviu.
+     */
+    private record Layered(CachedSecret secret, SecretLayer layer) {
+    }
+
+    /**
+     * Obtém o secret do cache ou, se ausente ou expirado, do Secrets Manager.
+     * Com o circuit breaker aberto, uma entrada expirada do cache é preferida a falhar.
+     */
+    private CachedSecret resolveRemote(String secretName) {
+        if (cache == null) {
+            return fetch(secretName);
+        }
+        SecretCacheAccessEvent access = new SecretCacheAccessEvent();
+        access.begin();
+        CachedSecret cached = cache.getIfPresent(secretName);
+        if (cached != null && !cached.isExpired(System.nanoTime())) {
+            commitAccess(access, secretName, SecretCacheAccessEvent.HIT);
+            return cached;
+        }
+        try {
+            CachedSecret loaded = load(secretName);
+            commitAccess(access, secretName, SecretCacheAccessEvent.MISS);
+            return loaded;
+        } catch (CircuitBreakerOpenException e) {
+            if (cached == null) {
+                throw e;
+            }
+            logger.warn("Circuit breaker aberto; retornando valor expirado do cache para '{}'", secretName);
+            commitAccess(access, secretName, SecretCacheAccessEvent.STALE);
+            return cached;
+        }
+    }
+
+    private static void commitAccess(SecretCacheAccessEvent event, String secretName, String result) {
+        if (event.shouldCommit()) {
+            event.setSecretId(secretName);
+            event.result = result;
+            event.commit();
+        }
+    }
+
+    /**
+     * Indica se o secret está no cache e ainda não expirou.
+     */
+    private boolean isCached(String secretName) {
+        if (cache == null) {
+            return false;
+        }
+        CachedSecret cached = cache.peek(secretName);
+        return cached != null && !cached.isExpired(System.nanoTime());
+    }
+
+    /**
+     * Obtém o secret pela cadeia de camadas, se configurada, ou do cache e do Secrets Manager,
+     * aguardando no máximo até o prazo informado.
+     */
+    private CachedSecret resolve(String secretName, long deadlineNanos) {
+        SecretProviderChain chain = providerChain;
+        if (chain == null) {
+            return resolveRemote(secretName, deadlineNanos);
+        }
+        return resolveLayered(chain, secretName, name -> resolveRemote(name, deadlineNanos), true).secret();
+    }
+
+    /**
+     * Obtém o secret do cache ou do Secrets Manager, aguardando no máximo até o prazo informado.
+     */
+    private CachedSecret resolveRemote(String secretName, long deadlineNanos) {
+        if (cache == null) {
+            return fetch(secretName, remaining(secretName, deadlineNanos));
+        }
+        SecretCacheAccessEvent access = new SecretCacheAccessEvent();
+        access.begin();
+        CachedSecret cached = cache.getIfPresent(secretName);
+        if (cached != null && !cached.isExpired(System.nanoTime())) {
+            commitAccess(access, secretName, SecretCacheAccessEvent.HIT);
+            return cached;
+        }
+        try {
+            CompletableFuture<CachedSecret> future = startLoad(secretName, true);
+            CachedSecret loaded = future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            commitAccess(access, secretName, SecretCacheAccessEvent.MISS);
+            return loaded;
+        } catch (TimeoutException e) {
+            if (cached != null) {
+                logger.warn("Prazo expirado; retornando valor expirado do cache para '{}'", secretName);
+                commitAccess(access, secretName, SecretCacheAccessEvent.STALE);
+                return cached;
+            }
+            throw new SecretTimeoutException("Prazo expirado ao recuperar o secret: " + secretName);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CircuitBreakerOpenException && cached != null) {
+                logger.warn("Circuit breaker aberto; retornando valor expirado do cache para '{}'", secretName);
+                commitAccess(access, secretName, SecretCacheAccessEvent.STALE);
+                return cached;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new SecretManagerException("Falha ao recuperar o secret: " + secretName, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SecretManagerException("Interrompido ao recuperar o secret: " + secretName, e);
+        }
+    }
+
+    private static Duration remaining(String secretName, long deadlineNanos) {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining <= 0) {
+            throw new SecretTimeoutException("Prazo expirado ao recuperar o secret: " + secretName);
+        }
+        return Duration.ofNanos(remaining);
+    }
+
+    /**
+     * Carrega o secret no cache garantindo uma única chamada por secret em andamento;
+     * as demais threads aguardam o resultado da carga em curso.
+     */
+    private CachedSecret load(String secretName) {
+        try {
+            return startLoad(secretName, false).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new SecretManagerException("Falha ao recuperar o secret: " + secretName, e.getCause());
+        }
+    }
+
+    /**
+     * Inicia a carga compartilhada do secret, ou retorna a carga já em andamento. A carga só grava
+     * no cache enquanto ainda for a carga registrada do secret: uma invalidação durante a carga a
+     * descarta, e o valor obtido antes da invalidação não volta ao cache.
+     *
+     * @param async se true, a carga é executada no executor de cargas com prazo em vez da thread chamadora
+     */
+    private CompletableFuture<CachedSecret> startLoad(String secretName, boolean async) {
+        CompletableFuture<CachedSecret> future = new CompletableFuture<>();
+        CompletableFuture<CachedSecret> existing = inFlight.putIfAbsent(secretName, future);
+        FetchPriority priority = currentPriority();
+        if (existing != null) {
+            FetchScheduler scheduler = fetchScheduler;
+            if (scheduler != null && priority == FetchPriority.INTERACTIVE) {
+                scheduler.promote(secretName);
+            }
+            return existing;
+        }
+        Runnable task = () -> {
+            try {
+                long started = System.nanoTime();
+                CachedSecret secret = withPriority(priority, () -> fetch(secretName));
+                inFlight.computeIfPresent(secretName, (name, current) -> {
+                    if (current == future) {
+                        store(name, secret, started);
+                    }
+                    return current;
+                });
+                future.complete(secret);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                inFlight.remove(secretName, future);
+            }
+        };
+        if (async) {
+            try {
+                loadExecutor().execute(task);
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(secretName, future);
+                future.completeExceptionally(new SecretManagerException(
+                    "Limite de cargas com prazo em andamento atingido para o secret: " + secretName, e));
+            }
+        } else {
+            task.run();
+        }
+        return future;
+    }
+
+    /**
+     * Recupera o secret no Secrets Manager.
+     */
+    private CachedSecret fetch(String secretName) {
+        return fetch(secretName, null);
+    }
+
+    /**
+     * Recupera o secret no cache compartilhado ou, se ausente, no Secrets Manager, publicando o
+     * valor obtido no cache compartilhado.
+     *
+     * @param apiCallTimeout o tempo máximo da chamada, ou null para usar a configuração do cliente
+     */
+    private CachedSecret fetch(String secretName, Duration apiCallTimeout) {
+        SharedSecretCache shared = sharedCache;
+        if (shared != null) {
+            SecretEntry entry = shared.get(secretName);
+            if (entry != null) {
+                long now = System.nanoTime();
+                return new CachedSecret(secretName, entry.payload(), entry.versionId(), now, now + knownTtl(secretName));
+            }
+        }
+        CachedSecret secret = fetchUpstream(secretName, apiCallTimeout);
+        publishShared(secret);
+        return secret;
+    }
+
+    private void publishShared(CachedSecret secret) {
+        SharedSecretCache shared = sharedCache;
+        if (shared != null && secret.getBinary() == null) {
+            shared.put(secret.getName(), secret.getVersionId(), secret.getPayload());
+        }
+    }
+
+    /**
+     * Busca no cache compartilhado pelo líder: o valor atual do secret, ou null se ele não existe mais.
+     */
+    private SecretEntry refreshShared(String secretName) {
+        try {
+            CachedSecret secret = withPriority(FetchPriority.REFRESH, () -> fetchUpstream(secretName, null));
+            return new SecretEntry(secretName, null, secret.getVersionId(), secret.getPayload());
+        } catch (ResourceNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Recupera o secret no Secrets Manager limitando a duração total da chamada (incluindo retries).
+     *
+     * @param apiCallTimeout o tempo máximo da chamada, ou null para usar a configuração do cliente
+     */
+    private CachedSecret fetchUpstream(String secretName, Duration apiCallTimeout) {
+        return fetchUpstream(secretName, null, apiCallTimeout);
+    }
+
+    /**
+     * @param versionStage o rótulo da versão (ex: AWSPREVIOUS), ou null para a versão atual
+     */
+    private CachedSecret fetchUpstream(String secretName, String versionStage, Duration apiCallTimeout) {
+        FetchScheduler scheduler = fetchScheduler;
+        if (scheduler == null) {
+            return callUpstream(secretName, versionStage, apiCallTimeout);
+        }
+        try (FetchScheduler.Permit permit = scheduler.acquire(currentPriority(), secretName, apiCallTimeout)) {
+            Duration timeout = apiCallTimeout != null ? apiCallTimeout.minus(permit.getQueueTime()) : null;
+            if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+                throw new SecretTimeoutException("Prazo expirado ao recuperar o secret: " + secretName);
+            }
+            return callUpstream(secretName, versionStage, timeout);
+        }
+    }
+
+    /**
+     * Chama o SDK. Quando a chamada tem prazo do chamador, o timeout é convertido em
+     * {@link SecretTimeoutException}, que o critério padrão do circuit breaker não conta como falha
+     * do serviço: o prazo curto de um chamador não deve abrir o circuito para os demais.
+     */
+    private GetSecretValueResponse getSecretValue(GetSecretValueRequest request, boolean callerDeadline) {
+        try {
+            return secretsManagerClient.getSecretValue(request);
+        } catch (ApiCallTimeoutException e) {
+            if (!callerDeadline) {
+                throw e;
+            }
+            throw new SecretTimeoutException("Prazo expirado ao recuperar o secret: " + request.secretId(), e);
+        }
+    }
+
+    /**
+     * Chama {@code GetSecretValue}, registrando os eventos JFR da busca.
+     */
+    private CachedSecret callUpstream(String secretName, String versionStage, Duration apiCallTimeout) {
+        GetSecretValueRequest.Builder builder = GetSecretValueRequest.builder()
+            .secretId(secretName)
+            .versionStage(versionStage);
+        if (apiCallTimeout != null) {
+            builder.overrideConfiguration(AwsRequestOverrideConfiguration.builder()
+                .apiCallTimeout(apiCallTimeout)
+                .build());
+        }
+        GetSecretValueRequest request = builder.build();
+
+        CircuitBreaker breaker = circuitBreaker;
+        SecretFetchEvent event = new SecretFetchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        GetSecretValueResponse response;
+        try {
+            response = breaker != null
+                ? breaker.execute(() -> getSecretValue(request, apiCallTimeout != null))
+                : getSecretValue(request, apiCallTimeout != null);
+        } catch (CircuitBreakerOpenException e) {
+            commitThrottle(secretName, SecretThrottleEvent.CIRCUIT_BREAKER, 0, null);
+            commitFailedFetch(event, secretName, start, SecretFetchEvent.REJECTED, null);
+            throw e;
+        } catch (SecretTimeoutException e) {
+            commitFailedFetch(event, secretName, start, SecretFetchEvent.TIMEOUT, null);
+            throw e;
+        } catch (ApiCallTimeoutException e) {
+            commitFailedFetch(event, secretName, start, SecretFetchEvent.TIMEOUT, null);
+            throw new SecretTimeoutException("Prazo expirado ao recuperar o secret: " + secretName, e);
+        } catch (AwsServiceException e) {
+            String errorCode = e.awsErrorDetails() != null ? e.awsErrorDetails().errorCode() : null;
+            if (e.isThrottlingException()) {
+                FetchScheduler scheduler = fetchScheduler;
+                if (scheduler != null) {
+                    scheduler.onThrottled();
+                }
+                commitThrottle(secretName, SecretThrottleEvent.SECRETS_MANAGER, e.statusCode(), errorCode);
+                commitFailedFetch(event, secretName, start, SecretFetchEvent.THROTTLED, errorCode);
+            } else {
+                commitFailedFetch(event, secretName, start, SecretFetchEvent.ERROR, errorCode);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            commitFailedFetch(event, secretName, start, SecretFetchEvent.ERROR, null);
+            throw e;
+        }
+
+        long now = System.nanoTime();
+        if (event.shouldCommit()) {
+            event.setSecretId(secretName);
+            event.versionId = response.versionId();
+            event.payloadLength = response.secretString() != null
+                ? response.secretString().length()
+                : response.secretBinary().asByteArrayUnsafe().length;
+            event.networkDuration = now - start;
+            event.outcome = SecretFetchEvent.SUCCESS;
+            event.commit();
+        }
+        long ttl = versionStage == null ? ttlFor(secretName, response.versionId()) : ttlNanos;
+        return new CachedSecret(secretName, response.secretString(), rawSecretBinary(response), response.versionId(),
+            now, now + ttl);
+    }
+
+    private CachedSecret toCachedSecret(String secretName, GetSecretValueResponse response, long now) {
+        return new CachedSecret(secretName, response.secretString(), rawSecretBinary(response), response.versionId(),
+            now, now + ttlFor(secretName, response.versionId()));
+    }
+
+    /**
+     * TTL da entrada carregada: fixo ou, com o TTL adaptativo, conforme o histórico de versões.
+     */
+    private long ttlFor(String secretName, String versionId) {
+        AdaptiveTtlPolicy policy = adaptiveTtl;
+        return policy != null ? policy.observe(secretName, versionId, Instant.now()).toNanos() : ttlNanos;
+    }
+
+    /**
+     * TTL de um valor lido do cache compartilhado: o último TTL adaptativo calculado neste processo,
+     * sem registrar a versão na política (que consultaria o Secrets Manager), ou o TTL fixo.
+     */
+    private long knownTtl(String secretName) {
+        AdaptiveTtlPolicy policy = adaptiveTtl;
+        Duration ttl = policy != null ? policy.currentTtl(secretName) : null;
+        return ttl != null ? ttl.toNanos() : ttlNanos;
+    }
+
+    /**
+     * Consulta {@code DescribeSecret} para o TTL adaptativo e os fornecedores de credenciais, na fila
+     * {@link FetchPriority#REFRESH} e pelo circuit breaker, como as demais chamadas ao Secrets Manager.
+     */
+    private DescribeSecretResponse describeUpstream(String secretName) {
+        Supplier<DescribeSecretResponse> call = () -> {
+            CircuitBreaker breaker = circuitBreaker;
+            return breaker != null
+                ? breaker.execute(() -> secretsManagerClient.describeSecret(request -> request.secretId(secretName)))
+                : secretsManagerClient.describeSecret(request -> request.secretId(secretName));
+        };
+        FetchScheduler scheduler = fetchScheduler;
+        return scheduler != null ? scheduler.execute(FetchPriority.REFRESH, secretName, call) : call.get();
+    }
+
+    private static void commitFailedFetch(SecretFetchEvent event, String secretName, long start, String outcome,
+            String errorCode) {
+        if (event.shouldCommit()) {
+            event.setSecretId(secretName);
+            event.networkDuration = System.nanoTime() - start;
+            event.outcome = outcome;
+            event.errorCode = errorCode;
+            event.commit();
+        }
+    }
+
+    private static void commitThrottle(String secretName, String source, int statusCode, String errorCode) {
+        SecretThrottleEvent event = new SecretThrottleEvent();
+        if (event.shouldCommit()) {
+            event.setSecretId(secretName);
+            event.source = source;
+            event.statusCode = statusCode;
+            event.errorCode = errorCode;
+            event.commit();
+        }
+    }
+
+    /**
+     * Valor binário do secret, mantido como bytes; null para secrets de texto.
+     */
+    private static SdkBytes rawSecretBinary(GetSecretValueResponse response) {
+        return response.secretString() != null ? null : response.secretBinary();
+    }
+
 }
@@ -0,0 +1,147 @@
+package com.techpontotech.secretconnector.agent;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.model.SecretEntry;
+import com.techpontotech.secretconnector.model.SecretResult;
+
+/**
+ * Formato das mensagens trocadas entre o agente e os clientes (inteiros big-endian).
+ *
+ * <pre>
+ * requisição: versão (byte), quantidade (int), nomes (string...)
+ * resposta:   quantidade (int), por nome: FOUND versão (string) payload (string)
+ *                                        | NOT_FOUND
+ *                                        | FAILED mensagem (string)
+ * string:     tamanho em bytes UTF-8 (int, -1 para nulo), bytes
+ * </pre>
+ *
+ * Os resultados seguem a ordem dos nomes da requisição. Uma conexão pode transportar várias
+ * requisições em sequência.
+ */
+final class AgentProtocol {
+
+    static final byte VERSION = 1;
+
+    static final byte FOUND = 0;
+    static final byte NOT_FOUND = 1;
+    static final byte FAILED = 2;
+
+    /** Quantidade máxima de secrets por requisição. */
+    static final int MAX_BATCH_SIZE = 1024;
+
+    /** Tamanho máximo de uma string (o Secrets Manager limita o secret a 64 KB). */
+    static final int MAX_STRING_BYTES = 1 << 20;
+
+    private AgentProtocol() {
+    }
+
+    static void writeRequest(DataOutputStream out, List<String> secretIds) throws IOException {
+        out.writeByte(VERSION);
+        out.writeInt(secretIds.size());
+        for (String secretId : secretIds) {
+            writeString(out, secretId);
+        }
+        out.flush();
+    }
+
+    /**
+     * @throws java.io.EOFException se a conexão foi encerrada antes de uma nova requisição
+     */
+    static List<String> readRequest(DataInputStream in) throws IOException {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Versão de protocolo não suportada: " + version);
+        }
+        int count = readCount(in);
+        List<String> secretIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String secretId = readString(in);
+            if (secretId == null) {
+                throw new IOException("Nome de secret nulo na requisição");
+            }
+            secretIds.add(secretId);
+        }
+        return secretIds;
+    }
+
+    static void writeResponse(DataOutputStream out, List<SecretResult<SecretEntry>> results) throws IOException {
+        out.writeInt(results.size());
+        for (SecretResult<SecretEntry> result : results) {
+            if (result instanceof SecretResult.Found<SecretEntry> found) {
+                out.writeByte(FOUND);
+                writeString(out, found.value().versionId());
+                writeString(out, found.value().payload());
+            } else if (result instanceof SecretResult.Failed<SecretEntry> failed) {
+                out.writeByte(FAILED);
+                writeString(out, String.valueOf(failed.cause().getMessage()));
+            } else {
+                out.writeByte(NOT_FOUND);
+            }
+        }
+        out.flush();
+    }
+
+    static List<SecretResult<SecretEntry>> readResponse(DataInputStream in, List<String> secretIds) throws IOException {
+        int count = readCount(in);
+        if (count != secretIds.size()) {
+            throw new IOException("Resposta com " + count + " resultado(s) para " + secretIds.size() + " secret(s)");
+        }
+        List<SecretResult<SecretEntry>> results = new ArrayList<>(count);
+        for (String secretId : secretIds) {
+            byte status = in.readByte();
+            switch (status) {
+                case FOUND:
+                    String versionId = readString(in);
+                    results.add(SecretResult.found(new SecretEntry(secretId, null, versionId, readString(in))));
+                    break;
+                case NOT_FOUND:
+                    results.add(SecretResult.notFound());
+                    break;
+                case FAILED:
+                    results.add(SecretResult.failed(new SecretManagerException(readString(in))));
+                    break;
+                default:
+                    throw new IOException("Status inválido na resposta: " + status);
+            }
+        }
+        return results;
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > MAX_BATCH_SIZE) {
+            throw new IOException("Quantidade de secrets inválida: " + count);
+        }
+        return count;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("Tamanho de string inválido: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
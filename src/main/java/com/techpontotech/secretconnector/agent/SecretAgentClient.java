@@ -0,0 +1,300 @@
+package com.techpontotech.secretconnector.agent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+
+import com.techpontotech.secretconnector.client.BatchSecretsManagerClient;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.model.SecretEntry;
+import com.techpontotech.secretconnector.model.SecretResult;
+
+/**
+ * Cliente do {@link SecretAgentServer}: busca os secrets no agente do host em vez de chamar o
+ * Secrets Manager.
+ *
+ * <p>Implementa {@link BatchSecretsManagerClient} e pode ser usado diretamente no
+ * {@code SecretManagerConnector}; {@code getAll} busca os secrets ausentes do cache local em uma
+ * única ida e volta ao agente. Como o agente já mantém o cache do host, o conector da aplicação
+ * pode ficar sem cache ou com um TTL curto.
+ *
+ * <pre>
+ * SecretManagerConnector&lt;String&gt; connector = new SecretManagerConnector&lt;&gt;(
+ *     SecretConverters.asString(), new SecretAgentClient(Path.of("/run/secret-agent/agent.sock")));
+ * </pre>
+ *
+ * <p>Somente a versão atual ({@code AWSCURRENT}) dos secrets de texto é servida, e apenas
+ * {@code GetSecretValue} é suportado. Secrets inexistentes resultam em
+ * {@link ResourceNotFoundException}, como no Secrets Manager, e secrets binários em
+ * {@link SecretManagerException}. As conexões são reaproveitadas entre as chamadas; uma conexão
+ * ociosa que falhar (ex: agente reiniciado) é descartada e a requisição é repetida uma vez em uma
+ * conexão nova.
+ *
+ * <p>Cada chamada tem um prazo: o {@code apiCallTimeout} da requisição, se informado, ou o timeout
+ * do cliente. Quando o prazo expira, a conexão é fechada e a chamada falha com
+ * {@link ApiCallTimeoutException}, como no SDK.
+ */
+public class SecretAgentClient implements BatchSecretsManagerClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecretAgentClient.class);
+
+    /** Quantidade padrão de conexões ociosas mantidas abertas. */
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 4;
+
+    /** Prazo padrão das chamadas sem {@code apiCallTimeout}. */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final String CURRENT_STAGE = "AWSCURRENT";
+
+    private final Path socketPath;
+    private final UnixDomainSocketAddress address;
+    private final int maxIdleConnections;
+    private final Duration timeout;
+    private final ConcurrentLinkedQueue<Connection> idle = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService timer;
+    private volatile boolean closed;
+
+    /**
+     * @param socketPath o caminho do socket do agente
+     */
+    public SecretAgentClient(Path socketPath) {
+        this(socketPath, DEFAULT_MAX_IDLE_CONNECTIONS);
+    }
+
+    /**
+     * @param socketPath o caminho do socket do agente
+     * @param maxIdleConnections a quantidade máxima de conexões ociosas mantidas abertas
+     */
+    public SecretAgentClient(Path socketPath, int maxIdleConnections) {
+        this(socketPath, maxIdleConnections, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param socketPath o caminho do socket do agente
+     * @param maxIdleConnections a quantidade máxima de conexões ociosas mantidas abertas
+     * @param timeout o prazo das chamadas cuja requisição não informa {@code apiCallTimeout}
+     */
+    public SecretAgentClient(Path socketPath, int maxIdleConnections, Duration timeout) {
+        if (maxIdleConnections < 0) {
+            throw new IllegalArgumentException("maxIdleConnections não pode ser negativo");
+        }
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout deve ser positivo");
+        }
+        this.socketPath = socketPath;
+        this.address = UnixDomainSocketAddress.of(socketPath);
+        this.maxIdleConnections = maxIdleConnections;
+        this.timeout = timeout;
+    }
+
+    public Path getSocketPath() {
+        return socketPath;
+    }
+
+    @Override
+    public GetSecretValueResponse getSecretValue(GetSecretValueRequest request) {
+        String secretId = request.secretId();
+        if (request.versionId() != null || (request.versionStage() != null && !CURRENT_STAGE.equals(request.versionStage()))) {
+            throw new SecretManagerException("O agente serve somente a versão atual do secret: " + secretId);
+        }
+        Duration callTimeout = request.overrideConfiguration()
+            .flatMap(AwsRequestOverrideConfiguration::apiCallTimeout)
+            .orElse(timeout);
+        SecretResult<SecretEntry> result = exchange(List.of(secretId), System.nanoTime() + callTimeout.toNanos()).get(0);
+        if (result instanceof SecretResult.Found<SecretEntry> found) {
+            return toResponse(found.value());
+        }
+        if (result instanceof SecretResult.Failed<SecretEntry> failed) {
+            throw new SecretManagerException("Falha no agente ao recuperar o secret: " + secretId, failed.cause());
+        }
+        throw ResourceNotFoundException.builder()
+            .message("Secrets Manager can't find the specified secret.")
+            .statusCode(400)
+            .build();
+    }
+
+    @Override
+    public Map<String, SecretResult<GetSecretValueResponse>> getSecretValues(Collection<String> secretIds) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(secretIds));
+        Map<String, SecretResult<GetSecretValueResponse>> responses = new LinkedHashMap<>();
+        long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        for (int from = 0; from < distinct.size(); from += AgentProtocol.MAX_BATCH_SIZE) {
+            List<String> batch = distinct.subList(from, Math.min(distinct.size(), from + AgentProtocol.MAX_BATCH_SIZE));
+            List<SecretResult<SecretEntry>> results = exchange(batch, deadlineNanos);
+            for (int i = 0; i < batch.size(); i++) {
+                SecretResult<SecretEntry> result = results.get(i);
+                if (result instanceof SecretResult.Found<SecretEntry> found) {
+                    responses.put(batch.get(i), SecretResult.found(toResponse(found.value())));
+                } else if (result instanceof SecretResult.Failed<SecretEntry> failed) {
+                    responses.put(batch.get(i), SecretResult.failed(failed.cause()));
+                } else {
+                    responses.put(batch.get(i), SecretResult.notFound());
+                }
+            }
+        }
+        return responses;
+    }
+
+    private static GetSecretValueResponse toResponse(SecretEntry entry) {
+        return GetSecretValueResponse.builder()
+            .name(entry.name())
+            .versionId(entry.versionId())
+            .secretString(entry.payload())
+            .build();
+    }
+
+    /**
+     * Envia uma requisição e lê a resposta, repetindo uma vez em conexão nova se uma conexão
+     * reaproveitada falhar.
+     */
+    private List<SecretResult<SecretEntry>> exchange(List<String> secretIds, long deadlineNanos) {
+        if (closed) {
+            throw new SecretManagerException("Cliente do agente fechado");
+        }
+        Connection pooled = idle.poll();
+        if (pooled != null) {
+            try {
+                return exchange(pooled, secretIds, deadlineNanos);
+            } catch (IOException e) {
+                if (pooled.expired) {
+                    throw timeout(e);
+                }
+                logger.debug("Conexão ociosa com o agente descartada: {}", e.getMessage());
+            }
+        }
+        Connection connection = null;
+        try {
+            connection = new Connection(SocketChannel.open(address));
+            return exchange(connection, secretIds, deadlineNanos);
+        } catch (IOException e) {
+            if (connection != null && connection.expired) {
+                throw timeout(e);
+            }
+            throw new SecretManagerException("Falha na comunicação com o agente de secrets em " + socketPath, e);
+        }
+    }
+
+    /**
+     * Troca a requisição na conexão; se o prazo expirar antes da resposta, a conexão é fechada,
+     * o que interrompe a escrita ou a leitura bloqueada.
+     */
+    private List<SecretResult<SecretEntry>> exchange(Connection connection, List<String> secretIds, long deadlineNanos)
+            throws IOException {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining <= 0) {
+            connection.expire();
+            throw new IOException("Prazo expirado antes do envio da requisição");
+        }
+        List<SecretResult<SecretEntry>> results;
+        ScheduledFuture<?> watchdog = timer().schedule(connection::expire, remaining, TimeUnit.NANOSECONDS);
+        try {
+            AgentProtocol.writeRequest(connection.out, secretIds);
+            results = AgentProtocol.readResponse(connection.in, secretIds);
+        } catch (IOException | RuntimeException e) {
+            connection.close();
+            throw e;
+        } finally {
+            watchdog.cancel(false);
+        }
+        if (!closed && !connection.expired && idle.size() < maxIdleConnections) {
+            idle.offer(connection);
+        } else {
+            connection.close();
+        }
+        return results;
+    }
+
+    private ApiCallTimeoutException timeout(IOException cause) {
+        return ApiCallTimeoutException.create("Prazo expirado na chamada ao agente de secrets em " + socketPath, cause);
+    }
+
+    /**
+     * Retorna o agendador que fecha as conexões cujo prazo expirou, criando-o na primeira chamada.
+     */
+    private synchronized ScheduledExecutorService timer() {
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "secret-agent-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return timer;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    /**
+     * Fecha as conexões ociosas. Conexões em uso são fechadas ao fim da requisição.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+        synchronized (this) {
+            if (timer != null) {
+                timer.shutdown();
+            }
+        }
+    }
+
+    private static final class Connection {
+
+        final SocketChannel channel;
+        final DataInputStream in;
+        final DataOutputStream out;
+        volatile boolean expired;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        }
+
+        void expire() {
+            expired = true;
+            close();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Falha ao fechar conexão com o agente: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.techpontotech.secretconnector.agent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+
+import com.techpontotech.secretconnector.SecretManagerConnector;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.config.SecretManagerClientConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.model.SecretEntry;
+import com.techpontotech.secretconnector.model.SecretResult;
+
+/**
+ * Agente local que mantém o cache de secrets de um host e o serve a outras JVMs por um socket
+ * Unix ({@link UnixDomainSocketAddress}).
+ *
+ * <p>Cada requisição traz um ou mais nomes e é respondida em uma única ida e volta, com o valor
+ * bruto e a versão de cada secret. As leituras usam {@link SecretManagerConnector#tryGetEntries},
+ * de modo que cache, deduplicação de buscas concorrentes, cache de secrets inexistentes e circuit
+ * breaker do conector valem para todos os processos do host: cada secret é buscado no Secrets
+ * Manager uma vez por host, e não uma vez por JVM. No lado da aplicação, use
+ * {@link SecretAgentClient}.
+ *
+ * <p>O arquivo do socket recebe permissão somente para o dono ({@code rw-------}) logo após a
+ * criação; para fechar a janela entre a criação e a troca de permissão, coloque o socket em um
+ * diretório acessível apenas ao usuário do agente.
+ *
+ * <p>Também pode ser executado como processo: {@code java ... SecretAgentServer <socket> [região]}.
+ */
+public class SecretAgentServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecretAgentServer.class);
+
+    private final SecretManagerConnector<?> connector;
+    private final Path socketPath;
+    private final ExecutorService workers;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocketChannel serverChannel;
+    private Thread acceptThread;
+    private volatile boolean closed;
+
+    /**
+     * @param connector o conector que atende as leituras (normalmente com cache habilitado); não é
+     *                  fechado junto com o agente
+     * @param socketPath o caminho do arquivo do socket
+     */
+    public SecretAgentServer(SecretManagerConnector<?> connector, Path socketPath) {
+        this.connector = connector;
+        this.socketPath = socketPath;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "secret-agent-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cria o socket e começa a aceitar conexões.
+     *
+     * <p>Um arquivo de socket deixado por um agente encerrado é removido; se outro agente estiver
+     * ativo no mesmo caminho, a inicialização falha.
+     *
+     * @throws IOException se o socket não puder ser criado
+     * @throws IllegalStateException se o agente já foi iniciado ou fechado
+     */
+    public synchronized void start() throws IOException {
+        if (serverChannel != null || closed) {
+            throw new IllegalStateException("Agente já iniciado ou fechado");
+        }
+        UnixDomainSocketAddress address = UnixDomainSocketAddress.of(socketPath);
+        if (Files.exists(socketPath)) {
+            if (isAlive(address)) {
+                throw new IOException("Já existe um agente ativo em " + socketPath);
+            }
+            Files.delete(socketPath);
+        }
+        serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        serverChannel.bind(address);
+        try {
+            Files.setPosixFilePermissions(socketPath, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            logger.warn("Sistema de arquivos sem permissões POSIX; permissões do socket {} não alteradas", socketPath);
+        }
+        acceptThread = new Thread(this::acceptLoop, "secret-agent-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        logger.info("Agente de secrets escutando em {}", socketPath);
+    }
+
+    /**
+     * Aguarda o fechamento do agente.
+     *
+     * @throws InterruptedException se a thread for interrompida
+     */
+    public void awaitTermination() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = acceptThread;
+        }
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    public Path getSocketPath() {
+        return socketPath;
+    }
+
+    /**
+     * @return a quantidade de conexões abertas
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private static boolean isAlive(UnixDomainSocketAddress address) {
+        try {
+            SocketChannel.open(address).close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                connections.add(channel);
+                workers.execute(() -> serve(channel));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (!closed) {
+                    logger.warn("Falha ao aceitar conexão no agente: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        try (channel) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            while (!closed) {
+                List<String> secretIds;
+                try {
+                    secretIds = AgentProtocol.readRequest(in);
+                } catch (EOFException e) {
+                    return;
+                }
+                Map<String, SecretResult<SecretEntry>> entries = connector.tryGetEntries(secretIds);
+                List<SecretResult<SecretEntry>> results = new ArrayList<>(secretIds.size());
+                for (String secretId : secretIds) {
+                    results.add(entries.get(secretId));
+                }
+                AgentProtocol.writeResponse(out, results);
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                logger.debug("Conexão com o agente encerrada: {}", e.getMessage());
+            }
+        } finally {
+            connections.remove(channel);
+        }
+    }
+
+    /**
+     * Para de aceitar conexões, encerra as conexões abertas e remove o arquivo do socket.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Falha ao fechar o socket do agente: {}", e.getMessage());
+        }
+        for (SocketChannel channel : connections) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Falha ao fechar conexão do agente: {}", e.getMessage());
+            }
+        }
+        workers.shutdownNow();
+        if (serverChannel != null) {
+            try {
+                Files.deleteIfExists(socketPath);
+            } catch (IOException e) {
+                logger.warn("Falha ao remover o socket {}: {}", socketPath, e.getMessage());
+            }
+        }
+        logger.info("Agente de secrets em {} encerrado", socketPath);
+    }
+
+    /**
+     * Executa o agente com cache padrão até o processo ser encerrado.
+     *
+     * @param args o caminho do socket e, opcionalmente, a região
+     * @throws Exception se o agente não puder ser iniciado
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            logger.error("Uso: SecretAgentServer <caminho-do-socket> [região]");
+            System.exit(2);
+        }
+        SecretsManagerClient client = args.length > 1
+            ? SecretsManagerClient.builder().region(Region.of(args[1])).build()
+            : SecretManagerClientConfig.create();
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), client,
+            SecretCacheConfig.defaults());
+        SecretAgentServer server = new SecretAgentServer(connector, Path.of(args[0]));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            connector.close();
+        }, "secret-agent-shutdown"));
+        server.start();
+        server.awaitTermination();
+    }
+}
@@ -0,0 +1,231 @@
+package com.techpontotech.secretconnector.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretResponse;
+import software.amazon.awssdk.services.secretsmanager.model.RotationRulesType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.techpontotech.secretconnector.config.AdaptiveTtlConfig;
+
+/**
+ * TTL por secret calculado a partir da frequência com que a versão do secret muda.
+ *
+ * <p>A cada carga a política recebe a versão obtida e estima o intervalo entre alterações: a média
+ * dos intervalos observados entre versões, o tempo desde a última alteração (da primeira carga ou
+ * do {@code LastChangedDate} informado por {@code DescribeSecret}) e, com rotação automática, o
+ * período de rotação. O TTL é uma fração desse intervalo, limitada por {@code minTtl} e
+ * {@code maxTtl}, e nunca ultrapassa a próxima rotação agendada. Sem informação alguma, o TTL é o
+ * TTL base do cache, e cresce enquanto a versão não muda. {@code DescribeSecret} é consultado
+ * somente na primeira carga, a cada alteração observada e depois de cada rotação agendada, sempre
+ * no executor informado e fora do caminho da carga: a resposta é aplicada a partir da carga seguinte.
+ */
+public final class AdaptiveTtlPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveTtlPolicy.class);
+
+    private static final Pattern RATE = Pattern.compile("rate\\((\\d+)\\s+(minute|hour|day)s?\\)");
+
+    private final AdaptiveTtlConfig config;
+    private final long baseTtlNanos;
+    private final Function<String, DescribeSecretResponse> describer;
+    private final Executor describeExecutor;
+    private final ConcurrentHashMap<String, History> histories = new ConcurrentHashMap<>();
+
+    /**
+     * @param config a configuração
+     * @param baseTtl o TTL dos secrets sem histórico
+     * @param describer consulta {@code DescribeSecret}; não é usado se desabilitado na configuração
+     * @param describeExecutor executa as consultas ao {@code describer} fora da carga
+     */
+    public AdaptiveTtlPolicy(AdaptiveTtlConfig config, Duration baseTtl,
+            Function<String, DescribeSecretResponse> describer, Executor describeExecutor) {
+        this.config = config;
+        this.baseTtlNanos = baseTtl.toNanos();
+        this.describer = describer;
+        this.describeExecutor = describeExecutor;
+    }
+
+    /**
+     * Registra a versão carregada e calcula o TTL da entrada com o que já é conhecido do secret;
+     * quando necessário, agenda uma consulta a {@code DescribeSecret} sem aguardá-la.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @param versionId a versão carregada
+     * @param now o instante da carga
+     * @return o TTL da entrada
+     */
+    public Duration observe(String secretName, String versionId, Instant now) {
+        History history = histories.computeIfAbsent(secretName, name -> new History());
+        boolean describe;
+        Duration ttl;
+        synchronized (history) {
+            boolean first = history.stableSince == null;
+            boolean changed = !first && !Objects.equals(history.versionId, versionId);
+            if (first) {
+                history.stableSince = now;
+            } else if (changed) {
+                if (history.changeKnown) {
+                    long sample = Duration.between(history.stableSince, now).toNanos();
+                    history.intervalNanos = history.intervalNanos == 0 ? sample : (history.intervalNanos + sample) / 2;
+                }
+                history.stableSince = now;
+                history.changeKnown = true;
+                logger.debug("Nova versão do secret '{}'; intervalo estimado entre alterações: {} ms",
+                    secretName, history.intervalNanos / 1_000_000);
+            }
+            describe = describesSecrets() && !history.describing
+                && (first || changed || (history.nextRotation != null && !now.isBefore(history.nextRotation)));
+            if (describe) {
+                history.describing = true;
+            }
+            history.versionId = versionId;
+            history.ttl = Duration.ofNanos(ttlNanos(history, now));
+            ttl = history.ttl;
+        }
+        if (describe) {
+            scheduleDescribe(secretName, history);
+        }
+        return ttl;
+    }
+
+    /**
+     * @param secretName o nome ou ARN do secret
+     * @return o último TTL calculado para o secret, ou null se ele ainda não foi carregado
+     */
+    public Duration currentTtl(String secretName) {
+        History history = histories.get(secretName);
+        if (history == null) {
+            return null;
+        }
+        synchronized (history) {
+            return history.ttl;
+        }
+    }
+
+    /**
+     * Descarta o histórico do secret (ex: secret removido).
+     *
+     * @param secretName o nome ou ARN do secret
+     */
+    public void forget(String secretName) {
+        histories.remove(secretName);
+    }
+
+    private long ttlNanos(History history, Instant now) {
+        long stable = Math.max(0L, Duration.between(history.stableSince, now).toNanos());
+        long estimate = -1L;
+        if (history.intervalNanos > 0) {
+            estimate = Math.max(history.intervalNanos, stable);
+        } else if (history.changeKnown) {
+            estimate = stable;
+        }
+        if (history.rotationPeriodNanos > 0) {
+            estimate = estimate < 0 ? history.rotationPeriodNanos : Math.min(estimate, history.rotationPeriodNanos);
+        }
+        long ttl = estimate < 0
+            ? Math.max(baseTtlNanos, (long) (stable * config.getChangeFraction()))
+            : (long) (estimate * config.getChangeFraction());
+        ttl = Math.max(config.getMinTtl().toNanos(), Math.min(config.getMaxTtl().toNanos(), ttl));
+        if (history.nextRotation != null && now.isBefore(history.nextRotation)) {
+            long untilRotation = Duration.between(now, history.nextRotation).toNanos();
+            ttl = Math.max(config.getMinTtl().toNanos(), Math.min(ttl, untilRotation));
+        }
+        return ttl;
+    }
+
+    private boolean describesSecrets() {
+        return config.isDescribeSecrets() && describer != null && describeExecutor != null;
+    }
+
+    /**
+     * Consulta {@code DescribeSecret} no executor; o resultado vale a partir da próxima carga.
+     */
+    private void scheduleDescribe(String secretName, History history) {
+        try {
+            describeExecutor.execute(() -> describe(secretName, history));
+        } catch (RejectedExecutionException e) {
+            synchronized (history) {
+                history.describing = false;
+            }
+            logger.debug("Consulta DescribeSecret de '{}' recusada pelo executor: {}", secretName, e.getMessage());
+        }
+    }
+
+    private void describe(String secretName, History history) {
+        DescribeSecretResponse response = null;
+        try {
+            response = describer.apply(secretName);
+        } catch (RuntimeException e) {
+            logger.debug("DescribeSecret indisponível para '{}'; TTL calculado somente pelas versões observadas: {}",
+                secretName, e.getMessage());
+        }
+        synchronized (history) {
+            history.describing = false;
+            if (response == null) {
+                return;
+            }
+            Instant lastChanged = response.lastChangedDate();
+            if (!history.changeKnown && lastChanged != null && lastChanged.isBefore(history.stableSince)) {
+                history.stableSince = lastChanged;
+                history.changeKnown = true;
+            }
+            if (Boolean.TRUE.equals(response.rotationEnabled())) {
+                history.rotationPeriodNanos = rotationPeriodNanos(response.rotationRules());
+                history.nextRotation = response.nextRotationDate();
+            } else {
+                history.rotationPeriodNanos = 0L;
+                history.nextRotation = null;
+            }
+        }
+    }
+
+    /**
+     * @return o período de rotação em nanossegundos, ou 0 se desconhecido (ex: expressão cron)
+     */
+    static long rotationPeriodNanos(RotationRulesType rules) {
+        if (rules == null) {
+            return 0L;
+        }
+        if (rules.automaticallyAfterDays() != null) {
+            return Duration.ofDays(rules.automaticallyAfterDays()).toNanos();
+        }
+        if (rules.scheduleExpression() != null) {
+            Matcher matcher = RATE.matcher(rules.scheduleExpression().trim());
+            if (matcher.matches()) {
+                long amount = Long.parseLong(matcher.group(1));
+                switch (matcher.group(2)) {
+                    case "minute": return Duration.ofMinutes(amount).toNanos();
+                    case "hour": return Duration.ofHours(amount).toNanos();
+                    default: return Duration.ofDays(amount).toNanos();
+                }
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Histórico de versões de um secret. {@code stableSince} é o instante da última alteração
+     * conhecida ({@code changeKnown}) ou da primeira carga.
+     */
+    private static final class History {
+
+        String versionId;
+        Instant stableSince;
+        boolean changeKnown;
+        long intervalNanos;
+        long rotationPeriodNanos;
+        Instant nextRotation;
+        boolean describing;
+        Duration ttl;
+    }
+}
@@ -0,0 +1,47 @@
+package com.techpontotech.secretconnector.cache;
+
+/**
+ * Fotografia das métricas do {@link SecretCache}.
+ *
+ * @param hitCount leituras atendidas pelo cache
+ * @param missCount leituras que não encontraram a chave
+ * @param evictionCount entradas removidas pela política de evicção
+ * @param evictionWeight soma dos pesos das entradas removidas pela política
+ * @param rejectedCount candidatos recusados pelo filtro de admissão TinyLFU
+ * @param contendedCount operações que encontraram o lock do segmento ocupado
+ * @param entryCount número atual de entradas
+ * @param weightedSize peso atual do cache
+ */
+public record CacheStats(
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        long evictionWeight,
+        long rejectedCount,
+        long contendedCount,
+        long entryCount,
+        long weightedSize) {
+
+    /**
+     * @return o total de leituras (hits + misses)
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return a taxa de acerto entre 0.0 e 1.0 (1.0 quando não houve leituras)
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * @return a fração de leituras que encontraram o segmento ocupado
+     */
+    public double contentionRate() {
+        long requests = requestCount();
+        return requests == 0 ? 0.0 : (double) contendedCount / requests;
+    }
+}
@@ -0,0 +1,203 @@
+package com.techpontotech.secretconnector.cache;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import software.amazon.awssdk.core.SdkBytes;
+
+import com.techpontotech.secretconnector.converter.BinarySecretConverter;
+import com.techpontotech.secretconnector.converter.SecretConverter;
+import com.techpontotech.secretconnector.jfr.SecretConvertEvent;
+
+/**
+ * Entrada imutável do cache de secrets: o payload bruto recuperado do Secrets Manager,
+ * a versão correspondente e o instante de expiração.
+ *
+ * <p>Os valores convertidos de tipos imutáveis (texto, números, booleanos e enums) são memorizados
+ * na própria entrada (por instância de conversor), evitando reconverter o mesmo payload a cada
+ * leitura. Mapas, arrays e objetos de domínio são convertidos a cada leitura: cada chamador recebe
+ * a sua cópia e pode alterá-la sem afetar os demais.
+ *
+ * <p>Secrets binários ({@code SecretBinary}) guardam os bytes recebidos: os conversores binários
+ * os leem diretamente, e o payload em texto só é montado se for pedido.
+ */
+public final class CachedSecret {
+
+    /** Quantidade máxima de conversores memorizados por entrada. */
+    static final int MAX_CONVERTED_VALUES = 4;
+
+    /** Tipos imutáveis cujos valores convertidos podem ser compartilhados entre os chamadores. */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Boolean.class, Character.class,
+        Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class,
+        BigDecimal.class);
+
+    private final String name;
+    private volatile String payload;
+    private final SdkBytes binary;
+    private final String versionId;
+    private final long loadedAtNanos;
+    private final long expiresAtNanos;
+    private final Map<Object, Object> converted = new ConcurrentHashMap<>(4);
+
+    /**
+     * @param name o nome ou ARN do secret
+     * @param payload o valor bruto do secret
+     * @param versionId o identificador da versão retornada pelo Secrets Manager (pode ser nulo)
+     * @param loadedAtNanos instante da carga, em {@link System#nanoTime()}
+     * @param expiresAtNanos instante de expiração, em {@link System#nanoTime()}
+     */
+    public CachedSecret(String name, String payload, String versionId, long loadedAtNanos, long expiresAtNanos) {
+        this(name, payload, null, versionId, loadedAtNanos, expiresAtNanos);
+    }
+
+    /**
+     * @param name o nome ou ARN do secret
+     * @param payload o valor bruto do secret, ou null para montá-lo a partir de {@code binary}
+     * @param binary o valor binário do secret (pode ser nulo)
+     * @param versionId o identificador da versão retornada pelo Secrets Manager (pode ser nulo)
+     * @param loadedAtNanos instante da carga, em {@link System#nanoTime()}
+     * @param expiresAtNanos instante de expiração, em {@link System#nanoTime()}
+     */
+    public CachedSecret(String name, String payload, SdkBytes binary, String versionId, long loadedAtNanos,
+            long expiresAtNanos) {
+        this.name = name;
+        this.payload = payload;
+        this.binary = binary;
+        this.versionId = versionId;
+        this.loadedAtNanos = loadedAtNanos;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return o valor bruto do secret; para secrets binários, os bytes como texto
+     */
+    public String getPayload() {
+        String value = payload;
+        if (value == null && binary != null) {
+            value = new String(binary.asByteArrayUnsafe());
+            payload = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return o valor binário do secret, ou null se o secret é texto
+     */
+    public SdkBytes getBinary() {
+        return binary;
+    }
+
+    public String getVersionId() {
+        return versionId;
+    }
+
+    public long getLoadedAtNanos() {
+        return loadedAtNanos;
+    }
+
+    public long getExpiresAtNanos() {
+        return expiresAtNanos;
+    }
+
+    /**
+     * Indica se a entrada expirou no instante informado.
+     *
+     * @param nowNanos instante atual, em {@link System#nanoTime()}
+     * @return true se a entrada está expirada
+     */
+    public boolean isExpired(long nowNanos) {
+        return nowNanos - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Converte o payload usando o conversor informado, reaproveitando o resultado imutável de
+     * conversões anteriores feitas com a mesma instância de conversor.
+     *
+     * @param <R> o tipo do valor convertido
+     * @param converter o conversor a ser aplicado
+     * @return o valor convertido
+     * @throws Exception se a conversão falhar
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R convert(SecretConverter<R> converter) throws Exception {
+        Object value = converted.get(converter);
+        if (value != null) {
+            return (R) value;
+        }
+        SecretConvertEvent event = new SecretConvertEvent();
+        event.begin();
+        R result = null;
+        boolean succeeded = false;
+        try {
+            result = converter.convert(getPayload());
+            succeeded = true;
+        } finally {
+            if (event.shouldCommit()) {
+                String text = getPayload();
+                event.setSecretId(name);
+                event.converter = converter.getClass().getName();
+                event.payloadLength = text != null ? text.length() : 0;
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+        memoize(converter, result);
+        return result;
+    }
+
+    /**
+     * Converte o valor binário usando o conversor informado, reaproveitando o resultado imutável de
+     * conversões anteriores feitas com a mesma instância de conversor. Secrets de texto são
+     * entregues ao conversor como bytes UTF-8.
+     *
+     * @param <R> o tipo do valor convertido
+     * @param converter o conversor a ser aplicado
+     * @return o valor convertido
+     * @throws Exception se a conversão falhar
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R convertBinary(BinarySecretConverter<R> converter) throws Exception {
+        Object value = converted.get(converter);
+        if (value != null) {
+            return (R) value;
+        }
+        SdkBytes bytes = binary != null ? binary : SdkBytes.fromUtf8String(payload != null ? payload : "");
+        SecretConvertEvent event = new SecretConvertEvent();
+        event.begin();
+        R result = null;
+        boolean succeeded = false;
+        try {
+            result = converter.convert(bytes);
+            succeeded = true;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setSecretId(name);
+                event.converter = converter.getClass().getName();
+                event.payloadLength = bytes.asByteArrayUnsafe().length;
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+        memoize(converter, result);
+        return result;
+    }
+
+    /**
+     * Memoriza o valor convertido se ele for de um tipo imutável e ainda houver espaço na entrada.
+     */
+    private void memoize(Object converter, Object result) {
+        if (result == null || converted.size() >= MAX_CONVERTED_VALUES) {
+            return;
+        }
+        if (IMMUTABLE_TYPES.contains(result.getClass()) || result instanceof Enum<?>) {
+            converted.putIfAbsent(converter, result);
+        }
+    }
+}
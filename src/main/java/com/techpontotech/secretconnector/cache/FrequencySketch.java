@@ -0,0 +1,114 @@
+package com.techpontotech.secretconnector.cache;
+
+/**
+ * Count-Min Sketch com contadores de 4 bits usado pela política W-TinyLFU para estimar
+ * a frequência de acesso de cada chave.
+ *
+ * <p>Cada {@code long} da tabela guarda 16 contadores. Quando o número de incrementos atinge
+ * o tamanho da amostra, todos os contadores são divididos por dois (envelhecimento), de modo
+ * que a popularidade antiga não impeça a admissão de novas chaves.
+ *
+ * <p>Não é thread-safe: cada segmento do {@link SecretCache} possui o seu próprio sketch,
+ * acessado apenas sob o lock do segmento.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAXIMUM_TABLE_SIZE = 1 << 24;
+
+    private long[] table;
+    private int tableMask;
+    private int sampleSize;
+    private int size;
+
+    /**
+     * @param expectedEntries número estimado de entradas que o segmento irá conter
+     */
+    FrequencySketch(long expectedEntries) {
+        allocate(expectedEntries);
+    }
+
+    /**
+     * Aumenta a tabela quando o número de entradas ultrapassa a capacidade atual.
+     * O histórico de frequências é descartado ao crescer.
+     *
+     * @param entries número atual de entradas do segmento
+     */
+    void ensureCapacity(long entries) {
+        if (entries > table.length && table.length < MAXIMUM_TABLE_SIZE) {
+            allocate(entries << 1);
+        }
+    }
+
+    private void allocate(long expectedEntries) {
+        int maximum = (int) Math.min(Math.max(expectedEntries, 16L), MAXIMUM_TABLE_SIZE);
+        int length = Integer.highestOneBit(maximum - 1) << 1;
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = 10 * maximum;
+        this.size = 0;
+    }
+
+    /**
+     * Retorna a frequência estimada (0 a 15) da chave.
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = 15;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int offset = counterOffset(hash, i);
+            int count = (int) ((table[index] >>> (offset << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Incrementa a frequência da chave, envelhecendo a tabela quando a amostra é atingida.
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), counterOffset(hash, i));
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int offset) {
+        long mask = 0xfL << (offset << 2);
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << (offset << 2);
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = size >>> 1;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    private static int counterOffset(int hash, int i) {
+        return (hash >>> (i << 3)) & 0xf;
+    }
+
+    static int spread(int hash) {
+        int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
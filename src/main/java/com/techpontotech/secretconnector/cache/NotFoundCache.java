@@ -0,0 +1,100 @@
+package com.techpontotech.secretconnector.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de resultados negativos: lembra por um TTL os secrets que não existem no Secrets Manager,
+ * evitando uma chamada de rede a cada nova consulta de um secret ausente.
+ *
+ * <p>O número de entradas é limitado; quando o limite é atingido, as entradas expiradas são
+ * descartadas e, se ainda não houver espaço, o novo resultado simplesmente não é armazenado.
+ */
+public final class NotFoundCache {
+
+    /** Quantidade máxima padrão de secrets inexistentes lembrados. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final ConcurrentHashMap<String, Long> expirations = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maximumSize;
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * @param ttlNanos por quanto tempo um secret inexistente é lembrado
+     * @param maximumSize quantidade máxima de entradas
+     */
+    public NotFoundCache(long ttlNanos, int maximumSize) {
+        if (ttlNanos <= 0 || maximumSize <= 0) {
+            throw new IllegalArgumentException("ttlNanos e maximumSize devem ser positivos");
+        }
+        this.ttlNanos = ttlNanos;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @param name o nome ou ARN do secret
+     * @param now o instante atual, em {@link System#nanoTime()}
+     * @return true se o secret é sabidamente inexistente
+     */
+    public boolean contains(String name, long now) {
+        Long expiresAt = expirations.get(name);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (now - expiresAt >= 0) {
+            expirations.remove(name, expiresAt);
+            return false;
+        }
+        hitCount.increment();
+        return true;
+    }
+
+    /**
+     * Registra que o secret não existe.
+     *
+     * @param name o nome ou ARN do secret
+     * @param now o instante atual, em {@link System#nanoTime()}
+     */
+    public void put(String name, long now) {
+        if (expirations.size() >= maximumSize) {
+            expirations.values().removeIf(expiresAt -> now - expiresAt >= 0);
+            if (expirations.size() >= maximumSize) {
+                return;
+            }
+        }
+        expirations.put(name, now + ttlNanos);
+    }
+
+    /**
+     * @param name o nome ou ARN do secret
+     */
+    public void invalidate(String name) {
+        expirations.remove(name);
+    }
+
+    /**
+     * @param prefix o prefixo do nome
+     */
+    public void invalidateByPrefix(String prefix) {
+        expirations.keySet().removeIf(name -> name.startsWith(prefix));
+    }
+
+    public void invalidateAll() {
+        expirations.clear();
+    }
+
+    /**
+     * @return a quantidade de entradas (incluindo as expiradas ainda não descartadas)
+     */
+    public int size() {
+        return expirations.size();
+    }
+
+    /**
+     * @return quantas consultas foram respondidas sem chamar o Secrets Manager
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+}
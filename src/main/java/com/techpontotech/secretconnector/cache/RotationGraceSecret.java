@@ -0,0 +1,251 @@
+package com.techpontotech.secretconnector.cache;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.techpontotech.secretconnector.converter.SecretConverter;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+
+/**
+ * Secret com as versões {@code AWSCURRENT} e {@code AWSPREVIOUS} em cache, para atravessar a
+ * rotação de credenciais sem tempestades de buscas.
+ *
+ * <p>Durante a rotação, a credencial em cache pode deixar de ser aceita antes de o cache
+ * expirar. Em vez de invalidar o cache a cada falha de autenticação, o chamador tenta a versão
+ * atual e, se ela for recusada, a anterior ({@link #withFallback}); se ambas forem recusadas, a
+ * falha é informada com {@link #reportAuthFailure(String)}. Uma falha só provoca nova busca se for
+ * da versão atual em cache e se essa versão ainda não motivou uma busca: qualquer que seja o número
+ * de falhas informadas, o Secrets Manager é consultado no máximo uma vez por rotação.
+ *
+ * <p>Exemplo:
+ * <pre>
+ * RotationGraceSecret secret = connector.rotationGrace("prod/db");
+ * Connection connection = secret.withFallback(SecretConverters.asObject(DbCredentials.class),
+ *     credentials -&gt; dataSource.getConnection(credentials.user(), credentials.password()));
+ * </pre>
+ */
+public final class RotationGraceSecret {
+
+    private static final Logger logger = LoggerFactory.getLogger(RotationGraceSecret.class);
+
+    /** Rótulo da versão atual do secret. */
+    public static final String CURRENT = "AWSCURRENT";
+
+    /** Rótulo da versão anterior do secret. */
+    public static final String PREVIOUS = "AWSPREVIOUS";
+
+    private final String secretName;
+    private final Function<String, CachedSecret> stageLoader;
+    private final long ttlNanos;
+    private final Object loadLock = new Object();
+    private final AtomicLong fetchCount = new AtomicLong();
+    private volatile Versions versions;
+
+    /**
+     * @param secretName o nome ou ARN do secret
+     * @param stageLoader busca a versão do rótulo informado; retorna null se o rótulo não existir
+     * @param ttlNanos tempo de vida das versões carregadas, em nanossegundos
+     */
+    public RotationGraceSecret(String secretName, Function<String, CachedSecret> stageLoader, long ttlNanos) {
+        this.secretName = secretName;
+        this.stageLoader = stageLoader;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Ação executada com o valor de uma versão do secret (ex: autenticar no banco).
+     *
+     * @param <R> o tipo do valor convertido
+     * @param <X> o tipo do resultado
+     */
+    @FunctionalInterface
+    public interface Attempt<R, X> {
+        X apply(R value) throws Exception;
+    }
+
+    /**
+     * @param <R> o tipo do valor convertido
+     * @param converter o conversor
+     * @return o valor da versão atual
+     * @throws SecretManagerException se o secret não puder ser recuperado ou convertido
+     */
+    public <R> R current(SecretConverter<R> converter) {
+        return convert(fresh().current, converter);
+    }
+
+    /**
+     * @param <R> o tipo do valor convertido
+     * @param converter o conversor
+     * @return o valor da versão anterior, ou null se o secret nunca foi rotacionado
+     * @throws SecretManagerException se o secret não puder ser recuperado ou convertido
+     */
+    public <R> R previous(SecretConverter<R> converter) {
+        CachedSecret previous = fresh().previous;
+        return previous != null ? convert(previous, converter) : null;
+    }
+
+    public String currentVersionId() {
+        return fresh().current.getVersionId();
+    }
+
+    /**
+     * @return a versão anterior, ou null se o secret nunca foi rotacionado
+     */
+    public String previousVersionId() {
+        CachedSecret previous = fresh().previous;
+        return previous != null ? previous.getVersionId() : null;
+    }
+
+    /**
+     * Executa a ação com a versão atual e, se ela falhar, com a anterior. Se ambas falharem, a
+     * falha da versão atual é informada ({@link #reportAuthFailure(String)}) e, se isso trouxer
+     * uma nova versão atual, a ação é tentada uma última vez com ela.
+     *
+     * @param <R> o tipo do valor convertido
+     * @param <X> o tipo do resultado
+     * @param converter o conversor
+     * @param attempt a ação
+     * @return o resultado da primeira tentativa bem-sucedida
+     * @throws Exception a falha da versão atual (com as demais como suprimidas), se nenhuma tentativa funcionar
+     */
+    public <R, X> X withFallback(SecretConverter<R> converter, Attempt<R, X> attempt) throws Exception {
+        Versions tried = fresh();
+        try {
+            return attempt.apply(convert(tried.current, converter));
+        } catch (Exception currentFailure) {
+            if (tried.previous != null) {
+                try {
+                    X result = attempt.apply(convert(tried.previous, converter));
+                    logger.debug("Secret '{}' usado na versão anterior após falha da versão atual", secretName);
+                    return result;
+                } catch (Exception previousFailure) {
+                    currentFailure.addSuppressed(previousFailure);
+                }
+            }
+            String triedVersion = tried.current.getVersionId();
+            reportAuthFailure(triedVersion);
+            CachedSecret latest = versions.current;
+            if (Objects.equals(latest.getVersionId(), triedVersion)) {
+                throw currentFailure;
+            }
+            try {
+                return attempt.apply(convert(latest, converter));
+            } catch (Exception latestFailure) {
+                latestFailure.addSuppressed(currentFailure);
+                throw latestFailure;
+            }
+        }
+    }
+
+    /**
+     * Informa que a versão foi recusada. O secret é buscado novamente somente se a versão for a
+     * atual em cache e ainda não tiver motivado uma busca; chamadas concorrentes aguardam a busca
+     * em andamento e não geram outra.
+     *
+     * @param versionId a versão recusada
+     * @return true se esta chamada provocou a busca
+     */
+    public boolean reportAuthFailure(String versionId) {
+        if (!shouldRefetch(fresh(), versionId)) {
+            return false;
+        }
+        synchronized (loadLock) {
+            Versions current = versions;
+            if (!shouldRefetch(current, versionId)) {
+                return false;
+            }
+            logger.info("Falha de autenticação com a versão atual do secret '{}'; buscando as versões novamente", secretName);
+            Versions loaded = load(versionId);
+            if (Objects.equals(loaded.current.getVersionId(), versionId)) {
+                logger.warn("Secret '{}' ainda sem nova versão atual; novas falhas desta versão serão ignoradas", secretName);
+            }
+            versions = loaded;
+            return true;
+        }
+    }
+
+    /**
+     * @return a quantidade de buscas das versões no Secrets Manager
+     */
+    public long getFetchCount() {
+        return fetchCount.get();
+    }
+
+    public String getSecretName() {
+        return secretName;
+    }
+
+    private static boolean shouldRefetch(Versions current, String versionId) {
+        return versionId != null
+            && versionId.equals(current.current.getVersionId())
+            && !versionId.equals(current.refetchedVersionId);
+    }
+
+    private Versions fresh() {
+        Versions current = versions;
+        if (current != null && System.nanoTime() - current.expiresAtNanos < 0) {
+            return current;
+        }
+        synchronized (loadLock) {
+            current = versions;
+            if (current != null && System.nanoTime() - current.expiresAtNanos < 0) {
+                return current;
+            }
+            try {
+                versions = load(current != null ? current.refetchedVersionId : null);
+            } catch (RuntimeException e) {
+                if (current == null) {
+                    throw e;
+                }
+                logger.warn("Falha ao atualizar as versões do secret '{}'; mantendo as versões expiradas: {}",
+                    secretName, e.getMessage());
+                return current;
+            }
+            return versions;
+        }
+    }
+
+    /**
+     * @param refetchedVersionId a versão que já motivou uma busca por falha de autenticação
+     */
+    private Versions load(String refetchedVersionId) {
+        fetchCount.incrementAndGet();
+        CachedSecret current = stageLoader.apply(CURRENT);
+        if (current == null) {
+            throw new SecretManagerException("Secret sem versão " + CURRENT + ": " + secretName);
+        }
+        CachedSecret previous = stageLoader.apply(PREVIOUS);
+        return new Versions(current, previous, refetchedVersionId, System.nanoTime() + ttlNanos);
+    }
+
+    private <R> R convert(CachedSecret secret, SecretConverter<R> converter) {
+        try {
+            return secret.convert(converter);
+        } catch (Exception e) {
+            throw new SecretManagerException("Falha ao converter o secret: " + secretName, e);
+        }
+    }
+
+    /**
+     * Versões carregadas juntas. {@code refetchedVersionId} guarda a versão atual que já motivou
+     * uma busca por falha de autenticação.
+     */
+    private static final class Versions {
+
+        final CachedSecret current;
+        final CachedSecret previous;
+        final String refetchedVersionId;
+        final long expiresAtNanos;
+
+        Versions(CachedSecret current, CachedSecret previous, String refetchedVersionId, long expiresAtNanos) {
+            this.current = current;
+            this.previous = previous;
+            this.refetchedVersionId = refetchedVersionId;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.techpontotech.secretconnector.cache;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache de secrets limitado por peso, particionado em segmentos e com política de evicção W-TinyLFU.
+ *
+ * <p>As leituras consultam um {@link ConcurrentHashMap} sem bloqueio. A política de cada segmento
+ * (janela LRU de admissão, área principal segmentada em "probation" e "protected" e o sketch de
+ * frequência) é protegida por um lock próprio; nas leituras o lock é obtido com {@code tryLock},
+ * e quando o segmento está ocupado a atualização de recência é descartada em vez de bloquear a
+ * thread. Com isso o cache escala com o número de núcleos e a política continua aproximadamente
+ * correta.
+ *
+ * <p>Uma nova entrada entra na janela; ao sair dela, só é admitida na área principal se a sua
+ * frequência estimada for maior que a da vítima da área "probation". Acessos únicos (por exemplo,
+ * tenants consultados uma única vez) não expulsam as entradas populares.
+ */
+public class SecretCache {
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.80;
+    private static final int ESTIMATED_ENTRY_WEIGHT = 512;
+    private static final long MIN_SEGMENT_WEIGHT = 64;
+
+    /** Fila da política em que o nó está; {@code DEAD} depois de removido do cache. */
+    private enum Queue { WINDOW, PROBATION, PROTECTED, DEAD }
+
+    private static final class Node {
+        final String key;
+        volatile CachedSecret value;
+        int weight;
+        Queue queue;
+
+        Node(String key, CachedSecret value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.queue = Queue.WINDOW;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Node> data;
+    private final Segment[] segments;
+    private final SecretWeigher weigher;
+    private final long maximumWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder evictionWeight = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+
+    /**
+     * Cria o cache.
+     *
+     * @param maximumWeight peso máximo somado de todas as entradas (em bytes aproximados)
+     * @param concurrencyLevel número desejado de segmentos (arredondado para potência de dois e
+     *                         limitado para que cada segmento tenha peso útil)
+     * @param weigher função de peso das entradas
+     * @throws IllegalArgumentException se o peso máximo ou o nível de concorrência não forem positivos
+     */
+    public SecretCache(long maximumWeight, int concurrencyLevel, SecretWeigher weigher) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight deve ser positivo");
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel deve ser positivo");
+        }
+        if (weigher == null) {
+            throw new IllegalArgumentException("weigher não pode ser nulo");
+        }
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel && maximumWeight / (segmentCount << 1) >= MIN_SEGMENT_WEIGHT) {
+            segmentCount <<= 1;
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.data = new ConcurrentHashMap<>(16, 0.75f, segmentCount);
+        this.segments = new Segment[segmentCount];
+        long segmentWeight = maximumWeight / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentWeight);
+        }
+    }
+
+    /**
+     * Retorna a entrada associada à chave, registrando o acesso na política.
+     *
+     * @param key a chave
+     * @return a entrada, ou null se não estiver no cache
+     */
+    public CachedSecret getIfPresent(String key) {
+        Node node = data.get(key);
+        Segment segment = segmentFor(key);
+        if (node == null) {
+            misses.increment();
+            if (segment.lock.tryLock()) {
+                try {
+                    segment.sketch.increment(key);
+                } finally {
+                    segment.lock.unlock();
+                }
+            } else {
+                contended.increment();
+            }
+            return null;
+        }
+        hits.increment();
+        if (segment.lock.tryLock()) {
+            try {
+                segment.onAccess(node);
+            } finally {
+                segment.lock.unlock();
+            }
+        } else {
+            contended.increment();
+        }
+        return node.value;
+    }
+
+    /**
+     * Retorna a entrada sem registrar acesso nem alterar as métricas.
+     *
+     * @param key a chave
+     * @return a entrada, ou null se não estiver no cache
+     */
+    public CachedSecret peek(String key) {
+        Node node = data.get(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Insere ou substitui a entrada. Entradas mais pesadas que a capacidade de um segmento
+     * não são armazenadas.
+     *
+     * @param key a chave
+     * @param value a entrada
+     */
+    public void put(String key, CachedSecret value) {
+        put(key, value, false, 0L);
+    }
+
+    /**
+     * Insere ou substitui a entrada, exceto se a entrada atual foi carregada depois do início da
+     * carga do novo valor. Evita que uma carga lenta sobrescreva um valor mais recente armazenado
+     * enquanto ela estava em andamento.
+     *
+     * @param key a chave
+     * @param value a entrada
+     * @param startedAtNanos o instante ({@link System#nanoTime()}) em que a carga do valor começou
+     * @return true se a entrada foi armazenada
+     */
+    public boolean putIfNewer(String key, CachedSecret value, long startedAtNanos) {
+        return put(key, value, true, startedAtNanos);
+    }
+
+    private boolean put(String key, CachedSecret value, boolean onlyIfNewer, long startedAtNanos) {
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("weigher retornou peso negativo para " + key);
+        }
+        Segment segment = segmentFor(key);
+        lock(segment);
+        try {
+            Node node = data.get(key);
+            if (onlyIfNewer && node != null && node.value.getLoadedAtNanos() - startedAtNanos > 0) {
+                return false;
+            }
+            if (weight > segment.maximumWeight) {
+                if (node != null) {
+                    segment.remove(node);
+                }
+                rejections.increment();
+                return true;
+            }
+            if (node != null) {
+                node.value = value;
+                segment.updateWeight(node, weight);
+                segment.onAccess(node);
+            } else {
+                node = new Node(key, value, weight);
+                data.put(key, node);
+                segment.sketch.increment(key);
+                segment.addToWindow(node);
+            }
+            segment.evict();
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a entrada associada à chave.
+     *
+     * @param key a chave
+     * @return a entrada removida, ou null se não existia
+     */
+    public CachedSecret invalidate(String key) {
+        Segment segment = segmentFor(key);
+        lock(segment);
+        try {
+            Node node = data.get(key);
+            if (node == null) {
+                return null;
+            }
+            segment.remove(node);
+            return node.value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove todas as entradas. O histórico de frequência é preservado.
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            lock(segment);
+            try {
+                segment.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return uma visão das chaves presentes no momento da chamada
+     */
+    public Set<String> keys() {
+        return Set.copyOf(data.keySet());
+    }
+
+    /**
+     * @return o número atual de entradas
+     */
+    public long size() {
+        return data.size();
+    }
+
+    /**
+     * @return a soma atual dos pesos das entradas
+     */
+    public long weightedSize() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.totalWeight;
+        }
+        return total;
+    }
+
+    /**
+     * @return o peso máximo configurado
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * @return as métricas acumuladas desde a criação do cache
+     */
+    public CacheStats stats() {
+        return new CacheStats(
+            hits.sum(),
+            misses.sum(),
+            evictions.sum(),
+            evictionWeight.sum(),
+            rejections.sum(),
+            contended.sum(),
+            data.size(),
+            weightedSize());
+    }
+
+    private void lock(Segment segment) {
+        if (!segment.lock.tryLock()) {
+            contended.increment();
+            segment.lock.lock();
+        }
+    }
+
+    private Segment segmentFor(String key) {
+        return segments[FrequencySketch.spread(key.hashCode()) & (segments.length - 1)];
+    }
+
+    private final class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<String, Node> window = new LinkedHashMap<>(16, 0.75f, true);
+        final LinkedHashMap<String, Node> probation = new LinkedHashMap<>(16, 0.75f, true);
+        final LinkedHashMap<String, Node> protectedQueue = new LinkedHashMap<>(16, 0.75f, true);
+        final FrequencySketch sketch;
+        final long maximumWeight;
+        final long windowMaximum;
+        final long protectedMaximum;
+        final Deque<Node> candidates = new ArrayDeque<>();
+        long windowWeight;
+        long protectedWeight;
+        volatile long totalWeight;
+
+        Segment(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+            this.windowMaximum = Math.max(1L, (long) (maximumWeight * WINDOW_RATIO));
+            this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * PROTECTED_RATIO);
+            this.sketch = new FrequencySketch(Math.max(1L, maximumWeight / ESTIMATED_ENTRY_WEIGHT));
+        }
+
+        void onAccess(Node node) {
+            sketch.increment(node.key);
+            switch (node.queue) {
+                case WINDOW:
+                    window.get(node.key);
+                    break;
+                case PROBATION:
+                    probation.remove(node.key);
+                    node.queue = Queue.PROTECTED;
+                    protectedQueue.put(node.key, node);
+                    protectedWeight += node.weight;
+                    demoteProtected();
+                    break;
+                case PROTECTED:
+                    protectedQueue.get(node.key);
+                    break;
+                default:
+                    // DEAD: removido entre a leitura sem lock e o tryLock; não volta para as filas
+                    break;
+            }
+        }
+
+        void addToWindow(Node node) {
+            window.put(node.key, node);
+            windowWeight += node.weight;
+            totalWeight += node.weight;
+            sketch.ensureCapacity((long) window.size() + probation.size() + protectedQueue.size());
+        }
+
+        void updateWeight(Node node, int weight) {
+            int delta = weight - node.weight;
+            node.weight = weight;
+            totalWeight += delta;
+            if (node.queue == Queue.WINDOW) {
+                windowWeight += delta;
+            } else if (node.queue == Queue.PROTECTED) {
+                protectedWeight += delta;
+            }
+        }
+
+        void demoteProtected() {
+            while (protectedWeight > protectedMaximum && protectedQueue.size() > 1) {
+                Node eldest = eldest(protectedQueue);
+                protectedQueue.remove(eldest.key);
+                protectedWeight -= eldest.weight;
+                eldest.queue = Queue.PROBATION;
+                probation.put(eldest.key, eldest);
+            }
+        }
+
+        void evict() {
+            while (windowWeight > windowMaximum && !window.isEmpty()) {
+                Node eldest = eldest(window);
+                window.remove(eldest.key);
+                windowWeight -= eldest.weight;
+                eldest.queue = Queue.PROBATION;
+                probation.put(eldest.key, eldest);
+                candidates.addLast(eldest);
+            }
+            while (totalWeight > maximumWeight) {
+                Node victim = eldest(probation);
+                if (victim == null) {
+                    victim = eldest(protectedQueue);
+                }
+                if (victim == null) {
+                    victim = eldest(window);
+                }
+                Node candidate = candidates.peekFirst();
+                while (candidate != null && candidate.queue != Queue.PROBATION) {
+                    candidates.pollFirst();
+                    candidate = candidates.peekFirst();
+                }
+                if (candidate == null || candidate == victim) {
+                    candidates.remove(victim);
+                    evictNode(victim);
+                } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                    evictNode(victim);
+                } else {
+                    candidates.pollFirst();
+                    rejections.increment();
+                    evictNode(candidate);
+                }
+            }
+            candidates.clear();
+        }
+
+        void evictNode(Node node) {
+            remove(node);
+            evictions.increment();
+            evictionWeight.add(node.weight);
+        }
+
+        void remove(Node node) {
+            if (node.queue == Queue.DEAD) {
+                return;
+            }
+            switch (node.queue) {
+                case WINDOW:
+                    window.remove(node.key);
+                    windowWeight -= node.weight;
+                    break;
+                case PROBATION:
+                    probation.remove(node.key);
+                    break;
+                case PROTECTED:
+                    protectedQueue.remove(node.key);
+                    protectedWeight -= node.weight;
+                    break;
+                default:
+                    break;
+            }
+            node.queue = Queue.DEAD;
+            totalWeight -= node.weight;
+            data.remove(node.key, node);
+        }
+
+        void clear() {
+            List<Node> nodes = new ArrayList<>(window.values());
+            nodes.addAll(probation.values());
+            nodes.addAll(protectedQueue.values());
+            for (Node node : nodes) {
+                node.queue = Queue.DEAD;
+                data.remove(node.key, node);
+            }
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+            windowWeight = 0;
+            protectedWeight = 0;
+            totalWeight = 0;
+        }
+
+        private Node eldest(LinkedHashMap<String, Node> queue) {
+            Iterator<Node> iterator = queue.values().iterator();
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.techpontotech.secretconnector.cache;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.techpontotech.secretconnector.converter.SecretConverter;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+
+/**
+ * Conjunto imutável de secrets carregados uma única vez, para leituras muito frequentes.
+ *
+ * <p>Os valores ficam em uma tabela de endereçamento aberto (arrays de chaves e valores já
+ * convertidos), publicada por uma única referência volátil: a leitura não usa locks, não consulta
+ * mapas concorrentes e não verifica expiração. {@link #refresh()} busca novamente todos os secrets,
+ * constrói uma nova tabela e a publica atomicamente; leitores concorrentes veem a tabela antiga ou
+ * a nova, nunca uma mistura das duas.
+ *
+ * <p>Para laços muito quentes, {@link #indexOf(String)} resolve o nome uma vez e {@link #get(int)}
+ * lê diretamente pela posição.
+ *
+ * @param <T> o tipo do valor convertido
+ */
+public final class SecretSnapshot<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecretSnapshot.class);
+
+    private final List<String> names;
+    private final SecretConverter<T> converter;
+    private final Function<Collection<String>, Map<String, CachedSecret>> refresher;
+    private volatile Table<T> table;
+
+    /**
+     * @param names os nomes ou ARNs dos secrets, sem repetição
+     * @param secrets os secrets carregados, por nome
+     * @param converter o conversor aplicado aos valores
+     * @param refresher função que busca novamente os secrets informados no Secrets Manager
+     * @throws SecretManagerException se algum secret estiver ausente ou não puder ser convertido
+     */
+    public SecretSnapshot(Collection<String> names, Map<String, CachedSecret> secrets, SecretConverter<T> converter,
+            Function<Collection<String>, Map<String, CachedSecret>> refresher) {
+        this.names = List.copyOf(names);
+        this.converter = converter;
+        this.refresher = refresher;
+        this.table = new Table<>(this.names, secrets, converter);
+    }
+
+    /**
+     * Retorna o valor convertido do secret.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @return o valor convertido
+     * @throws SecretManagerException se o secret não fizer parte do snapshot
+     */
+    public T get(String secretName) {
+        Table<T> current = table;
+        int index = current.indexOf(secretName);
+        if (index < 0) {
+            throw new SecretManagerException("Secret não incluído no snapshot: " + secretName);
+        }
+        return current.values[index];
+    }
+
+    /**
+     * Retorna o valor do secret convertido com outro conversor (memorizado na entrada quando imutável).
+     *
+     * @param <R> o tipo do valor convertido
+     * @param secretName o nome ou ARN do secret
+     * @param otherConverter o conversor
+     * @return o valor convertido
+     * @throws SecretManagerException se o secret não fizer parte do snapshot ou a conversão falhar
+     */
+    public <R> R get(String secretName, SecretConverter<R> otherConverter) {
+        Table<T> current = table;
+        int index = current.indexOf(secretName);
+        if (index < 0) {
+            throw new SecretManagerException("Secret não incluído no snapshot: " + secretName);
+        }
+        try {
+            return current.secrets[index].convert(otherConverter);
+        } catch (Exception e) {
+            throw new SecretManagerException("Falha ao converter o secret: " + secretName, e);
+        }
+    }
+
+    /**
+     * Retorna a posição do secret, estável entre atualizações do snapshot.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @return a posição, ou -1 se o secret não fizer parte do snapshot
+     */
+    public int indexOf(String secretName) {
+        return table.indexOf(secretName);
+    }
+
+    /**
+     * Retorna o valor convertido pela posição obtida em {@link #indexOf(String)}.
+     *
+     * @param index a posição
+     * @return o valor convertido
+     */
+    public T get(int index) {
+        return table.values[index];
+    }
+
+    /**
+     * @param secretName o nome ou ARN do secret
+     * @return true se o secret faz parte do snapshot
+     */
+    public boolean contains(String secretName) {
+        return table.indexOf(secretName) >= 0;
+    }
+
+    /**
+     * @param secretName o nome ou ARN do secret
+     * @return a versão do secret no snapshot atual, ou null se não fizer parte do snapshot
+     */
+    public String versionOf(String secretName) {
+        Table<T> current = table;
+        int index = current.indexOf(secretName);
+        return index < 0 ? null : current.secrets[index].getVersionId();
+    }
+
+    /**
+     * @return os nomes dos secrets, na ordem das posições
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * @return o instante de construção da tabela atual
+     */
+    public Instant getCreatedAt() {
+        return table.createdAt;
+    }
+
+    /**
+     * Busca novamente todos os secrets e publica o novo snapshot. Em caso de falha, o snapshot
+     * atual é mantido.
+     *
+     * @throws SecretManagerException se algum secret não puder ser recuperado ou convertido
+     */
+    public void refresh() {
+        Table<T> next = new Table<>(names, refresher.apply(names), converter);
+        table = next;
+        logger.debug("Snapshot de {} secret(s) atualizado", names.size());
+    }
+
+    /**
+     * Tabela imutável de endereçamento aberto com sondagem linear e fator de carga de no máximo 50%.
+     * O slot guarda a posição do secret na lista de nomes.
+     */
+    private static final class Table<T> {
+
+        final String[] keys;
+        final int[] slots;
+        final int mask;
+        final CachedSecret[] secrets;
+        final T[] values;
+        final Instant createdAt = Instant.now();
+
+        @SuppressWarnings("unchecked")
+        Table(List<String> names, Map<String, CachedSecret> loaded, SecretConverter<T> converter) {
+            int capacity = Integer.highestOneBit(Math.max(2, names.size() * 2 - 1)) << 1;
+            this.keys = new String[capacity];
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+            this.secrets = new CachedSecret[names.size()];
+            this.values = (T[]) new Object[names.size()];
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i);
+                CachedSecret secret = loaded.get(name);
+                if (secret == null) {
+                    throw new SecretManagerException("Secret ausente ao construir o snapshot: " + name);
+                }
+                try {
+                    values[i] = secret.convert(converter);
+                } catch (Exception e) {
+                    throw new SecretManagerException("Falha ao converter o secret: " + name, e);
+                }
+                secrets[i] = secret;
+                int slot = spread(name.hashCode()) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = name;
+                slots[slot] = i;
+            }
+        }
+
+        int indexOf(String name) {
+            int slot = spread(name.hashCode()) & mask;
+            String key;
+            while ((key = keys[slot]) != null) {
+                if (key.equals(name)) {
+                    return slots[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
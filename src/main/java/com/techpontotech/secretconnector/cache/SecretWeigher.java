@@ -0,0 +1,51 @@
+package com.techpontotech.secretconnector.cache;
+
+/**
+ * Calcula o peso (em bytes aproximados) de uma entrada do {@link SecretCache}.
+ * O cache remove entradas sempre que a soma dos pesos ultrapassa o peso máximo configurado.
+ */
+@FunctionalInterface
+public interface SecretWeigher {
+
+    /** Custo fixo estimado de cada entrada (nó, cabeçalhos de objetos e referências). */
+    int ENTRY_OVERHEAD = 96;
+
+    /**
+     * Calcula o peso da entrada.
+     *
+     * @param key a chave da entrada
+     * @param value o secret armazenado
+     * @return o peso da entrada, nunca negativo
+     */
+    int weigh(String key, CachedSecret value);
+
+    /**
+     * Peso padrão, estimado a partir do payload: chave e payload em UTF-16 (ou os bytes de um secret
+     * binário, sem montar o texto), o custo fixo da entrada e uma reserva do mesmo tamanho do payload
+     * para os valores convertidos. Os valores convertidos memorizados na entrada não são medidos; a
+     * reserva é fixa, calculada quando a entrada é inserida.
+     *
+     * @return o weigher padrão
+     */
+    static SecretWeigher estimatedFromPayload() {
+        return (key, value) -> {
+            long payloadBytes;
+            if (value.getBinary() != null) {
+                payloadBytes = value.getBinary().asByteArrayUnsafe().length;
+            } else {
+                payloadBytes = value.getPayload() == null ? 0L : 2L * value.getPayload().length();
+            }
+            long weight = ENTRY_OVERHEAD + 2L * key.length() + 2L * payloadBytes;
+            return (int) Math.min(Integer.MAX_VALUE, weight);
+        };
+    }
+
+    /**
+     * Peso unitário: o peso máximo do cache passa a ser o número máximo de entradas.
+     *
+     * @return um weigher que atribui peso 1 a todas as entradas
+     */
+    static SecretWeigher singleton() {
+        return (key, value) -> 1;
+    }
+}
@@ -0,0 +1,702 @@
+package com.techpontotech.secretconnector.cache;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.techpontotech.secretconnector.config.SharedCacheConfig;
+import com.techpontotech.secretconnector.model.SecretEntry;
+
+/**
+ * Cache de secrets compartilhado entre as JVMs de um host por um arquivo mapeado em memória.
+ *
+ * <p>O arquivo tem um cabeçalho e uma tabela de slots de tamanho fixo (endereçamento aberto com
+ * sondagem linear pelo hash do nome). Cada slot guarda nome, versão, instante de expiração e o
+ * payload cifrado com AES-GCM (o nome e a versão são autenticados como dados associados).
+ *
+ * <p>A publicação segue o protocolo de seqlock: o escritor adquire o slot trocando o contador de
+ * sequência de par para ímpar com compare-and-set, grava o registro e publica o contador par
+ * seguinte. O leitor copia o registro entre duas leituras do contador e repete a leitura se ele
+ * mudou ou estava ímpar. A leitura acessa apenas a memória mapeada: não faz chamadas de sistema
+ * nem chamadas ao Secrets Manager.
+ *
+ * <p>Qualquer processo publica os secrets que buscou no Secrets Manager. Um único processo,
+ * eleito por uma liderança com prazo ({@link SharedCacheConfig#getLeaseDuration()}) gravada no
+ * cabeçalho, atualiza antes de expirarem os registros lidos dentro do último {@code ttl} e recupera
+ * slots deixados ocupados por processos encerrados no meio de uma gravação. Registros sem leituras
+ * deixam de ser atualizados e, ao expirar, liberam o slot. Se o líder parar, outro processo assume
+ * quando o prazo vence.
+ */
+public final class SharedSecretCache implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedSecretCache.class);
+
+    /** "SCF1" seguido da versão do formato. */
+    private static final long MAGIC = 0x5343463100000002L;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int GEOMETRY_OFFSET = 8;
+    private static final int LEASE_OFFSET = 16;
+
+    private static final int SEQ = 0;
+    private static final int EXPIRES_AT = 8;
+    private static final int NAME_HASH = 16;
+    private static final int NAME_LENGTH = 20;
+    private static final int VERSION_LENGTH = 24;
+    private static final int CIPHER_LENGTH = 28;
+    private static final int LAST_READ = 32;
+    private static final int IV = 40;
+    private static final int IV_LENGTH = 12;
+    private static final int DATA = IV + IV_LENGTH;
+    private static final int GCM_TAG_LENGTH = 16;
+
+    private static final int MAX_READ_ATTEMPTS = 64;
+    private static final int MAX_WRITE_ATTEMPTS = 4;
+    /** Intervalo mínimo entre duas gravações do instante da última leitura de um registro. */
+    private static final long TOUCH_INTERVAL_MILLIS = 1000L;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    /** Slot vazio: a sondagem termina nele. */
+    private static final Slot EMPTY = new Slot(0, 0, 0, 0, null, null);
+    /** Slot de um secret removido: a sondagem continua. */
+    private static final Slot TOMBSTONE = new Slot(0, 0, 0, 0, null, null);
+    /** Slot de outro secret. */
+    private static final Slot OTHER = new Slot(0, 0, 0, 0, null, null);
+    /** Slot em gravação (ou abandonado no meio de uma gravação). */
+    private static final Slot BUSY = new Slot(0, 0, 0, 0, null, null);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slotCount;
+    private final int slotSize;
+    private final SecretKey key;
+    private final long ttlMillis;
+    private final long refreshAheadMillis;
+    private final long leaseMillis;
+    private final int ownerId;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(SharedSecretCache::newCipher);
+    private final Map<Integer, Long> busySlots = new HashMap<>();
+    private volatile long leaseExpiresAtMillis;
+    private volatile boolean closed;
+    private ScheduledExecutorService maintenance;
+    private Function<String, SecretEntry> refresher;
+
+    private SharedSecretCache(SharedCacheConfig config, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = config.getPath();
+        this.channel = channel;
+        this.buffer = buffer;
+        this.slotCount = config.getSlotCount();
+        this.slotSize = config.getSlotSize();
+        this.key = config.getKey();
+        this.ttlMillis = config.getTtl().toMillis();
+        this.refreshAheadMillis = config.getRefreshAhead().toMillis();
+        this.leaseMillis = config.getLeaseDuration().toMillis();
+        int id;
+        do {
+            id = random.nextInt();
+        } while (id == 0);
+        this.ownerId = id;
+    }
+
+    /**
+     * Abre (ou cria) o arquivo compartilhado e o mapeia em memória.
+     *
+     * @param config a configuração
+     * @return o cache compartilhado
+     * @throws IOException se o arquivo não puder ser aberto ou mapeado
+     * @throws IllegalStateException se o arquivo não for um cache compartilhado ou tiver sido
+     *                               criado com outro número ou tamanho de slots
+     */
+    public static SharedSecretCache open(SharedCacheConfig config) throws IOException {
+        FileChannel channel = openChannel(config.getPath());
+        try {
+            long size = HEADER_SIZE + (long) config.getSlotCount() * config.getSlotSize();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.nativeOrder());
+            SharedSecretCache sharedCache = new SharedSecretCache(config, channel, buffer);
+            sharedCache.initializeHeader();
+            return sharedCache;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        try {
+            return FileChannel.open(path,
+                Set.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE),
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (FileAlreadyExistsException e) {
+            return FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (UnsupportedOperationException e) {
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+    }
+
+    private void initializeHeader() {
+        LONGS.compareAndSet(buffer, MAGIC_OFFSET, 0L, MAGIC);
+        if ((long) LONGS.getVolatile(buffer, MAGIC_OFFSET) != MAGIC) {
+            throw new IllegalStateException("O arquivo não é um cache compartilhado de secrets: " + path);
+        }
+        long geometry = ((long) slotCount << 32) | slotSize;
+        LONGS.compareAndSet(buffer, GEOMETRY_OFFSET, 0L, geometry);
+        long existing = (long) LONGS.getVolatile(buffer, GEOMETRY_OFFSET);
+        if (existing != geometry) {
+            throw new IllegalStateException("Cache compartilhado " + path + " criado com " + (existing >>> 32)
+                + " slots de " + (int) existing + " bytes");
+        }
+    }
+
+    /**
+     * Inicia a manutenção periódica: eleição do líder e, no líder, atualização antecipada dos
+     * registros com o refresher informado.
+     *
+     * @param refresher busca o valor atual do secret no Secrets Manager; retorna null se o secret
+     *                  não existir mais
+     * @throws IllegalStateException se a manutenção já foi iniciada
+     */
+    public synchronized void start(Function<String, SecretEntry> refresher) {
+        if (maintenance != null) {
+            throw new IllegalStateException("Manutenção do cache compartilhado já iniciada");
+        }
+        this.refresher = refresher;
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "secret-shared-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000L, leaseMillis / 3);
+        maintenance.scheduleWithFixedDelay(this::runMaintenance, 0L, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Recupera o secret publicado no arquivo.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @return o secret (com ARN nulo), ou null se ausente, expirado ou ilegível
+     */
+    public SecretEntry get(String secretName) {
+        if (closed) {
+            return null;
+        }
+        int hash = secretName.hashCode();
+        byte[] nameBytes = null;
+        int start = home(hash);
+        for (int probe = 0; probe < slotCount; probe++) {
+            int base = slotOffset((start + probe) % slotCount);
+            Slot slot = readSlot(base, hash, false);
+            if (slot == EMPTY) {
+                return null;
+            }
+            if (!slot.isRecord()) {
+                continue;
+            }
+            if (nameBytes == null) {
+                nameBytes = secretName.getBytes(StandardCharsets.UTF_8);
+            }
+            if (slot.hasName(nameBytes)) {
+                long now = System.currentTimeMillis();
+                if (slot.expiresAtMillis() <= now) {
+                    return null;
+                }
+                touch(base, now);
+                return decrypt(secretName, slot);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Registra a leitura do slot. O instante é apenas indicativo (fora do seqlock) e só é regravado
+     * após {@value #TOUCH_INTERVAL_MILLIS} ms, para que leituras frequentes não disputem a linha de cache.
+     */
+    private void touch(int base, long now) {
+        if (now - (long) LONGS.getOpaque(buffer, base + LAST_READ) >= TOUCH_INTERVAL_MILLIS) {
+            LONGS.setOpaque(buffer, base + LAST_READ, now);
+        }
+    }
+
+    /**
+     * Publica o secret no arquivo, válido pelo {@code ttl} configurado.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @param versionId a versão (pode ser nula)
+     * @param payload o valor bruto
+     * @return false se o secret não cabe em um slot, o arquivo está cheio ou o slot permaneceu
+     *         ocupado por outro escritor
+     */
+    public boolean put(String secretName, String versionId, String payload) {
+        return write(secretName, versionId, payload, true);
+    }
+
+    /**
+     * @param read se true, a publicação conta como leitura do registro; a atualização feita pelo
+     *             líder não conta, para que registros sem leituras deixem de ser atualizados
+     */
+    private boolean write(String secretName, String versionId, String payload, boolean read) {
+        if (closed) {
+            return false;
+        }
+        byte[] nameBytes = secretName.getBytes(StandardCharsets.UTF_8);
+        byte[] versionBytes = versionId != null ? versionId.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] plaintext = payload.getBytes(StandardCharsets.UTF_8);
+        if (DATA + nameBytes.length + versionBytes.length + plaintext.length + GCM_TAG_LENGTH > slotSize) {
+            logger.debug("Secret '{}' não cabe em um slot do cache compartilhado", secretName);
+            return false;
+        }
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        byte[] ciphertext;
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv));
+            cipher.updateAAD(nameBytes);
+            cipher.updateAAD(versionBytes);
+            ciphertext = cipher.doFinal(plaintext);
+        } catch (GeneralSecurityException e) {
+            logger.warn("Falha ao cifrar o secret '{}' para o cache compartilhado: {}", secretName, e.getMessage());
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        int hash = secretName.hashCode();
+        for (int attempt = 0; attempt < MAX_WRITE_ATTEMPTS; attempt++) {
+            int index = findWritableSlot(hash, nameBytes);
+            if (index < 0) {
+                logger.warn("Cache compartilhado {} cheio; secret '{}' não publicado", path, secretName);
+                return false;
+            }
+            int base = slotOffset(index);
+            long seq = (long) LONGS.getAcquire(buffer, base + SEQ);
+            if ((seq & 1) != 0 || !LONGS.compareAndSet(buffer, base + SEQ, seq, seq + 1)) {
+                continue;
+            }
+            boolean replacing = seq != 0 && buffer.getInt(base + NAME_LENGTH) != 0;
+            boolean writable = !replacing || (buffer.getInt(base + NAME_HASH) == hash && nameEquals(base, nameBytes));
+            if (writable) {
+                if (read || !replacing) {
+                    LONGS.setOpaque(buffer, base + LAST_READ, now);
+                }
+                buffer.putLong(base + EXPIRES_AT, expiresAt);
+                buffer.putInt(base + NAME_HASH, hash);
+                buffer.putInt(base + NAME_LENGTH, nameBytes.length);
+                buffer.putInt(base + VERSION_LENGTH, versionId != null ? versionBytes.length : -1);
+                buffer.putInt(base + CIPHER_LENGTH, ciphertext.length);
+                buffer.put(base + IV, iv);
+                buffer.put(base + DATA, nameBytes);
+                buffer.put(base + DATA + nameBytes.length, versionBytes);
+                buffer.put(base + DATA + nameBytes.length + versionBytes.length, ciphertext);
+            }
+            LONGS.setRelease(buffer, base + SEQ, seq + 2);
+            if (writable) {
+                return true;
+            }
+        }
+        logger.debug("Slot do secret '{}' ocupado por outro escritor; publicação ignorada", secretName);
+        return false;
+    }
+
+    /**
+     * Remove o secret do arquivo; a próxima leitura em qualquer processo busca o valor no Secrets Manager.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @return true se o secret estava publicado
+     */
+    public boolean invalidate(String secretName) {
+        if (closed) {
+            return false;
+        }
+        byte[] nameBytes = secretName.getBytes(StandardCharsets.UTF_8);
+        int hash = secretName.hashCode();
+        int start = home(hash);
+        for (int probe = 0; probe < slotCount; probe++) {
+            int base = slotOffset((start + probe) % slotCount);
+            Slot slot = readSlot(base, hash, false);
+            if (slot == EMPTY) {
+                return false;
+            }
+            if (slot.isRecord() && slot.hasName(nameBytes)) {
+                long seq = (long) LONGS.getAcquire(buffer, base + SEQ);
+                if ((seq & 1) != 0 || !LONGS.compareAndSet(buffer, base + SEQ, seq, seq + 1)) {
+                    return false;
+                }
+                boolean same = buffer.getInt(base + NAME_HASH) == hash && nameEquals(base, nameBytes);
+                if (same) {
+                    buffer.putInt(base + NAME_LENGTH, 0);
+                }
+                LONGS.setRelease(buffer, base + SEQ, seq + 2);
+                return same;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove do arquivo todos os secrets cujo nome começa com o prefixo informado.
+     *
+     * @param prefix o prefixo do nome
+     * @return a quantidade de secrets removidos
+     */
+    public int invalidateByPrefix(String prefix) {
+        return invalidateIf(name -> name.startsWith(prefix));
+    }
+
+    /**
+     * Remove todos os secrets do arquivo.
+     *
+     * @return a quantidade de secrets removidos
+     */
+    public int invalidateAll() {
+        return invalidateIf(name -> true);
+    }
+
+    private int invalidateIf(Predicate<String> filter) {
+        if (closed) {
+            return 0;
+        }
+        int removed = 0;
+        for (int index = 0; index < slotCount; index++) {
+            int base = slotOffset(index);
+            Slot slot = readSlot(base, 0, true);
+            if (!slot.isRecord()) {
+                continue;
+            }
+            byte[] nameBytes = Arrays.copyOf(slot.data(), slot.nameLength());
+            if (!filter.test(new String(nameBytes, StandardCharsets.UTF_8))) {
+                continue;
+            }
+            long seq = (long) LONGS.getAcquire(buffer, base + SEQ);
+            if ((seq & 1) != 0 || !LONGS.compareAndSet(buffer, base + SEQ, seq, seq + 1)) {
+                continue;
+            }
+            if (nameEquals(base, nameBytes)) {
+                buffer.putInt(base + NAME_LENGTH, 0);
+                removed++;
+            }
+            LONGS.setRelease(buffer, base + SEQ, seq + 2);
+        }
+        return removed;
+    }
+
+    /**
+     * @return true se este processo detém a liderança, responsável por atualizar os registros
+     */
+    public boolean isLeader() {
+        return System.currentTimeMillis() < leaseExpiresAtMillis;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Executa imediatamente uma rodada de manutenção: renova ou disputa a liderança e, no líder,
+     * libera os slots de registros expirados, recupera slots abandonados e atualiza os registros
+     * lidos recentemente que estão próximos de expirar. As atualizações chamam o Secrets Manager
+     * fora do monitor e são interrompidas se a liderança for perdida no meio da rodada.
+     */
+    public void runMaintenance() {
+        List<String> stale = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            try {
+                if (!tryAcquireLease()) {
+                    busySlots.clear();
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                for (int index = 0; index < slotCount; index++) {
+                    int base = slotOffset(index);
+                    Slot slot = readSlot(base, 0, true);
+                    if (slot == BUSY) {
+                        long seq = (long) LONGS.getVolatile(buffer, base + SEQ);
+                        Long previous = busySlots.put(index, seq);
+                        if (previous != null && previous == seq && (seq & 1) != 0) {
+                            reclaim(index, base, seq);
+                        }
+                        continue;
+                    }
+                    busySlots.remove(index);
+                    if (!slot.isRecord()) {
+                        continue;
+                    }
+                    if (slot.expiresAtMillis() <= now) {
+                        evict(base, slot);
+                    } else if (refresher != null && slot.expiresAtMillis() - now <= refreshAheadMillis
+                            && now - (long) LONGS.getOpaque(buffer, base + LAST_READ) < ttlMillis) {
+                        stale.add(new String(slot.data(), 0, slot.nameLength(), StandardCharsets.UTF_8));
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Falha na manutenção do cache compartilhado {}: {}", path, e.getMessage());
+                return;
+            }
+        }
+        for (String secretName : stale) {
+            if (closed || !isLeader()) {
+                break;
+            }
+            refresh(secretName);
+        }
+    }
+
+    private void refresh(String secretName) {
+        try {
+            SecretEntry entry = refresher.apply(secretName);
+            if (entry == null) {
+                invalidate(secretName);
+            } else {
+                write(secretName, entry.versionId(), entry.payload(), false);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao atualizar o secret '{}' no cache compartilhado: {}", secretName, e.getMessage());
+        }
+    }
+
+    /**
+     * Libera o slot de um registro expirado, se ele não foi regravado desde a leitura.
+     */
+    private void evict(int base, Slot slot) {
+        long seq = (long) LONGS.getAcquire(buffer, base + SEQ);
+        if ((seq & 1) != 0 || !LONGS.compareAndSet(buffer, base + SEQ, seq, seq + 1)) {
+            return;
+        }
+        if (buffer.getLong(base + EXPIRES_AT) == slot.expiresAtMillis()
+                && buffer.getInt(base + NAME_LENGTH) == slot.nameLength()) {
+            buffer.putInt(base + NAME_LENGTH, 0);
+        }
+        LONGS.setRelease(buffer, base + SEQ, seq + 2);
+    }
+
+    /**
+     * Libera um slot que permaneceu em gravação por uma rodada inteira (escritor encerrado).
+     */
+    private void reclaim(int index, int base, long seq) {
+        if (LONGS.compareAndSet(buffer, base + SEQ, seq, seq + 2)) {
+            buffer.putInt(base + NAME_LENGTH, 0);
+            LONGS.setRelease(buffer, base + SEQ, seq + 3);
+            busySlots.remove(index);
+            logger.info("Slot {} abandonado no cache compartilhado {} foi recuperado", index, path);
+        }
+    }
+
+    /**
+     * A liderança ocupa um único long do cabeçalho: o instante de expiração em segundos nos 32 bits
+     * altos e o identificador do dono nos 32 bits baixos.
+     */
+    private boolean tryAcquireLease() {
+        long nowMillis = System.currentTimeMillis();
+        long nowSeconds = nowMillis / 1000;
+        long current = (long) LONGS.getVolatile(buffer, LEASE_OFFSET);
+        int owner = (int) current;
+        if (owner != ownerId && owner != 0 && (current >>> 32) > nowSeconds) {
+            leaseExpiresAtMillis = 0L;
+            return false;
+        }
+        long expiresAtSeconds = nowSeconds + Math.max(1L, leaseMillis / 1000);
+        long next = (expiresAtSeconds << 32) | (ownerId & 0xFFFFFFFFL);
+        if (!LONGS.compareAndSet(buffer, LEASE_OFFSET, current, next)) {
+            leaseExpiresAtMillis = 0L;
+            return false;
+        }
+        if (owner != ownerId) {
+            logger.info("Processo assumiu a liderança do cache compartilhado {}", path);
+        }
+        leaseExpiresAtMillis = expiresAtSeconds * 1000;
+        return true;
+    }
+
+    private void releaseLease() {
+        long current = (long) LONGS.getVolatile(buffer, LEASE_OFFSET);
+        if ((int) current == ownerId) {
+            LONGS.compareAndSet(buffer, LEASE_OFFSET, current, 0L);
+        }
+        leaseExpiresAtMillis = 0L;
+    }
+
+    /**
+     * Retorna o slot com o nome, ou o primeiro slot livre da sequência de sondagem.
+     */
+    private int findWritableSlot(int hash, byte[] nameBytes) {
+        int start = home(hash);
+        int free = -1;
+        for (int probe = 0; probe < slotCount; probe++) {
+            int index = (start + probe) % slotCount;
+            Slot slot = readSlot(slotOffset(index), hash, false);
+            if (slot == EMPTY) {
+                return free >= 0 ? free : index;
+            }
+            if (slot == TOMBSTONE) {
+                if (free < 0) {
+                    free = index;
+                }
+            } else if (slot.isRecord() && slot.hasName(nameBytes)) {
+                return index;
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Lê o slot pelo protocolo de seqlock. Os dados só são copiados quando o hash coincide (ou
+     * quando {@code anyName} é true).
+     */
+    private Slot readSlot(int base, int hash, boolean anyName) {
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            long seq = (long) LONGS.getAcquire(buffer, base + SEQ);
+            if (seq == 0) {
+                return EMPTY;
+            }
+            if ((seq & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long expiresAt = buffer.getLong(base + EXPIRES_AT);
+            int slotHash = buffer.getInt(base + NAME_HASH);
+            int nameLength = buffer.getInt(base + NAME_LENGTH);
+            Slot slot;
+            if (nameLength == 0) {
+                slot = TOMBSTONE;
+            } else if (!anyName && slotHash != hash) {
+                slot = OTHER;
+            } else {
+                slot = copyRecord(base, expiresAt, nameLength);
+            }
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getAcquire(buffer, base + SEQ) == seq && slot != null) {
+                return slot;
+            }
+        }
+        return BUSY;
+    }
+
+    /**
+     * @return o registro, ou null se os tamanhos lidos forem inconsistentes (gravação concorrente)
+     */
+    private Slot copyRecord(int base, long expiresAt, int nameLength) {
+        int versionLength = buffer.getInt(base + VERSION_LENGTH);
+        int cipherLength = buffer.getInt(base + CIPHER_LENGTH);
+        if (nameLength < 0 || versionLength < -1 || cipherLength < GCM_TAG_LENGTH
+                || (long) DATA + nameLength + Math.max(0, versionLength) + cipherLength > slotSize) {
+            return null;
+        }
+        byte[] iv = new byte[IV_LENGTH];
+        buffer.get(base + IV, iv);
+        byte[] data = new byte[nameLength + Math.max(0, versionLength) + cipherLength];
+        buffer.get(base + DATA, data);
+        return new Slot(expiresAt, nameLength, versionLength, cipherLength, iv, data);
+    }
+
+    private SecretEntry decrypt(String secretName, Slot slot) {
+        int versionBytes = Math.max(0, slot.versionLength());
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH * 8, slot.iv()));
+            cipher.updateAAD(slot.data(), 0, slot.nameLength() + versionBytes);
+            byte[] plaintext = cipher.doFinal(slot.data(), slot.nameLength() + versionBytes, slot.cipherLength());
+            String versionId = slot.versionLength() < 0
+                ? null
+                : new String(slot.data(), slot.nameLength(), versionBytes, StandardCharsets.UTF_8);
+            return new SecretEntry(secretName, null, versionId, new String(plaintext, StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            logger.warn("Registro do secret '{}' no cache compartilhado não pôde ser decifrado", secretName);
+            return null;
+        }
+    }
+
+    private boolean nameEquals(int base, byte[] nameBytes) {
+        if (buffer.getInt(base + NAME_LENGTH) != nameBytes.length) {
+            return false;
+        }
+        byte[] stored = new byte[nameBytes.length];
+        buffer.get(base + DATA, stored);
+        return Arrays.equals(stored, nameBytes);
+    }
+
+    private int home(int hash) {
+        return Math.floorMod(hash ^ (hash >>> 16), slotCount);
+    }
+
+    private int slotOffset(int index) {
+        return HEADER_SIZE + index * slotSize;
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance("AES/GCM/NoPadding");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES/GCM indisponível", e);
+        }
+    }
+
+    /**
+     * Interrompe a manutenção, libera a liderança e fecha o arquivo. Os registros publicados
+     * permanecem disponíveis para os demais processos.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        releaseLease();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Falha ao fechar o cache compartilhado {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Cópia de um slot lida de forma consistente.
+     */
+    private record Slot(long expiresAtMillis, int nameLength, int versionLength, int cipherLength, byte[] iv,
+            byte[] data) {
+
+        boolean isRecord() {
+            return data != null;
+        }
+
+        boolean hasName(byte[] nameBytes) {
+            return nameLength == nameBytes.length && Arrays.equals(data, 0, nameLength, nameBytes, 0, nameLength);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.techpontotech.secretconnector.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretRequest;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretResponse;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsResponse;
+
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+
+/**
+ * {@link SecretsManagerClient} que encaminha cada chamada ao cliente da conta do secret.
+ *
+ * <p>A conta é extraída do ARN do secret ({@code arn:aws:secretsmanager:região:conta:secret:nome});
+ * secrets referenciados pelo nome usam o cliente da conta padrão. O {@code ListSecrets} só lista
+ * secrets da própria conta do cliente e por isso é encaminhado à conta padrão; o
+ * {@code SecretWatcher} lista os secrets observados de cada conta no cliente dessa conta.
+ *
+ * <p>Como implementa {@link SecretsManagerClient}, pode ser usado diretamente no
+ * {@code SecretManagerConnector}, que continua responsável por cache, deduplicação e circuit breaker.
+ * Operações além de {@code GetSecretValue}, {@code DescribeSecret} e {@code ListSecrets} não são suportadas.
+ */
+public class AccountRoutingSecretsManagerClient implements RoutingSecretsManagerClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountRoutingSecretsManagerClient.class);
+
+    private final String defaultAccount;
+    private final Map<String, SecretsManagerClient> clients;
+    private final List<AutoCloseable> resources;
+
+    /**
+     * @param defaultAccount a conta usada para secrets referenciados pelo nome
+     * @param clients os clientes por ID de conta
+     */
+    public AccountRoutingSecretsManagerClient(String defaultAccount, Map<String, SecretsManagerClient> clients) {
+        this(defaultAccount, clients, List.of());
+    }
+
+    /**
+     * @param defaultAccount a conta usada para secrets referenciados pelo nome
+     * @param clients os clientes por ID de conta
+     * @param resources recursos adicionais (ex: providers de credenciais) fechados junto com os clientes
+     */
+    public AccountRoutingSecretsManagerClient(String defaultAccount, Map<String, SecretsManagerClient> clients,
+            List<? extends AutoCloseable> resources) {
+        if (!clients.containsKey(defaultAccount)) {
+            throw new IllegalArgumentException("Nenhum cliente para a conta padrão: " + defaultAccount);
+        }
+        this.defaultAccount = defaultAccount;
+        this.clients = Collections.unmodifiableMap(new LinkedHashMap<>(clients));
+        this.resources = new ArrayList<>(resources);
+    }
+
+    /**
+     * Extrai o ID da conta de um ARN de secret.
+     *
+     * @param secretId o nome ou ARN do secret
+     * @return o ID da conta, ou null se o secret foi referenciado pelo nome
+     */
+    public static String accountOf(String secretId) {
+        if (secretId == null || !secretId.startsWith("arn:")) {
+            return null;
+        }
+        String[] parts = secretId.split(":", 6);
+        return parts.length == 6 && !parts[4].isEmpty() ? parts[4] : null;
+    }
+
+    /**
+     * Retorna o cliente responsável pelo secret.
+     *
+     * @param secretId o nome ou ARN do secret
+     * @return o cliente da conta do secret
+     * @throws SecretManagerException se a conta do ARN não estiver configurada
+     */
+    @Override
+    public SecretsManagerClient clientFor(String secretId) {
+        String account = accountOf(secretId);
+        SecretsManagerClient client = clients.get(account != null ? account : defaultAccount);
+        if (client == null) {
+            throw new SecretManagerException("Nenhum cliente configurado para a conta " + account + " do secret: " + secretId);
+        }
+        return client;
+    }
+
+    /**
+     * @return os clientes por ID de conta
+     */
+    public Map<String, SecretsManagerClient> getClients() {
+        return clients;
+    }
+
+    public String getDefaultAccount() {
+        return defaultAccount;
+    }
+
+    @Override
+    public GetSecretValueResponse getSecretValue(GetSecretValueRequest request) {
+        return clientFor(request.secretId()).getSecretValue(request);
+    }
+
+    @Override
+    public DescribeSecretResponse describeSecret(DescribeSecretRequest request) {
+        return clientFor(request.secretId()).describeSecret(request);
+    }
+
+    @Override
+    public ListSecretsResponse listSecrets(ListSecretsRequest request) {
+        return clients.get(defaultAccount).listSecrets(request);
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    /**
+     * Fecha os clientes de todas as contas e os recursos associados.
+     */
+    @Override
+    public void close() {
+        for (SecretsManagerClient client : clients.values()) {
+            client.close();
+        }
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                logger.warn("Falha ao fechar recurso do cliente multi-conta: {}", e.getMessage());
+            }
+        }
+    }
+}
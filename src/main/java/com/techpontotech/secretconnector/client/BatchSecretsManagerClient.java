@@ -0,0 +1,31 @@
+package com.techpontotech.secretconnector.client;
+
+import java.util.Collection;
+import java.util.Map;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+
+import com.techpontotech.secretconnector.model.SecretResult;
+
+/**
+ * {@link SecretsManagerClient} capaz de recuperar vários secrets em uma única chamada.
+ *
+ * <p>O {@code SecretManagerConnector} usa este método em {@code getAll} para buscar de uma vez os
+ * secrets ausentes do cache, em vez de uma chamada {@code GetSecretValue} por secret.
+ */
+public interface BatchSecretsManagerClient extends SecretsManagerClient {
+
+    /**
+     * Recupera a versão atual dos secrets informados.
+     *
+     * <p>Falhas de um secret não interrompem o lote: cada nome recebe o seu próprio resultado,
+     * {@link SecretResult.NotFound} para secrets inexistentes e {@link SecretResult.Failed} para
+     * os demais erros.
+     *
+     * @param secretIds os nomes ou ARNs dos secrets, sem repetição
+     * @return o resultado de cada secret, por nome
+     * @throws RuntimeException se a chamada inteira falhar
+     */
+    Map<String, SecretResult<GetSecretValueResponse>> getSecretValues(Collection<String> secretIds);
+}
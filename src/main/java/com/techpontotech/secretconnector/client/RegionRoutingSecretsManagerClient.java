@@ -0,0 +1,280 @@
+package com.techpontotech.secretconnector.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretRequest;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretResponse;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.model.SecretResult;
+
+/**
+ * {@link SecretsManagerClient} que encaminha cada chamada ao cliente da região do secret.
+ *
+ * <p>A região é extraída do ARN do secret ({@code arn:aws:secretsmanager:região:conta:secret:nome});
+ * secrets referenciados pelo nome usam a região padrão. Os clientes regionais são criados na
+ * primeira chamada para a região. Um ARN que não pode ser interpretado é rejeitado, nunca enviado à
+ * região padrão; com contas permitidas configuradas, ARNs de outras contas também são rejeitados.
+ * Para ARNs de várias contas, a fábrica pode criar um {@link AccountRoutingSecretsManagerClient}
+ * por região.
+ *
+ * <p>Em {@link #getSecretValues(Collection)} os secrets são agrupados por região e as regiões são
+ * buscadas em paralelo: uma chamada por região se o cliente regional for um
+ * {@link BatchSecretsManagerClient}, ou uma chamada por secret, em paralelo, caso contrário. Como
+ * implementa {@link BatchSecretsManagerClient}, o {@code getAll} do {@code SecretManagerConnector}
+ * usa esse caminho automaticamente. O {@code ListSecrets} é encaminhado à região padrão; o
+ * {@code SecretWatcher} lista os secrets observados de cada região no cliente dessa região.
+ * Operações além de {@code GetSecretValue}, {@code DescribeSecret} e {@code ListSecrets} não são
+ * suportadas.
+ */
+public class RegionRoutingSecretsManagerClient implements BatchSecretsManagerClient, RoutingSecretsManagerClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegionRoutingSecretsManagerClient.class);
+
+    /** Número padrão de buscas paralelas em {@link #getSecretValues(Collection)}. */
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    private final String defaultRegion;
+    private final Function<String, SecretsManagerClient> clientFactory;
+    private final Set<String> allowedAccounts;
+    private final ConcurrentHashMap<String, SecretsManagerClient> clients = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private volatile boolean closed;
+
+    /**
+     * @param defaultRegion a região usada para secrets referenciados pelo nome
+     * @param clientFactory cria o cliente de uma região
+     */
+    public RegionRoutingSecretsManagerClient(String defaultRegion, Function<String, SecretsManagerClient> clientFactory) {
+        this(defaultRegion, clientFactory, Set.of(), DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param defaultRegion a região usada para secrets referenciados pelo nome
+     * @param clientFactory cria o cliente de uma região
+     * @param allowedAccounts as contas aceitas nos ARNs (vazio aceita qualquer conta)
+     * @param parallelism o número de buscas paralelas nas operações em lote
+     */
+    public RegionRoutingSecretsManagerClient(String defaultRegion, Function<String, SecretsManagerClient> clientFactory,
+            Set<String> allowedAccounts, int parallelism) {
+        if (defaultRegion == null || defaultRegion.isEmpty() || clientFactory == null) {
+            throw new IllegalArgumentException("defaultRegion e clientFactory são obrigatórios");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism deve ser positivo");
+        }
+        this.defaultRegion = defaultRegion;
+        this.clientFactory = clientFactory;
+        this.allowedAccounts = Set.copyOf(allowedAccounts);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "secret-region-batch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Extrai a região de um ARN de secret.
+     *
+     * @param secretId o nome ou ARN do secret
+     * @return a região, ou null se o secret foi referenciado pelo nome
+     * @throws SecretManagerException se o secret é um ARN que não é de um secret do Secrets Manager
+     */
+    public static String regionOf(String secretId) {
+        String[] parts = parseArn(secretId);
+        return parts != null ? parts[3] : null;
+    }
+
+    /**
+     * Retorna a região para a qual o secret é encaminhado.
+     *
+     * @param secretId o nome ou ARN do secret
+     * @return a região do ARN, ou a região padrão para secrets referenciados pelo nome
+     * @throws SecretManagerException se o ARN for inválido ou de uma conta não permitida
+     */
+    public String routeOf(String secretId) {
+        String[] parts = parseArn(secretId);
+        if (parts == null) {
+            return defaultRegion;
+        }
+        if (!allowedAccounts.isEmpty() && !allowedAccounts.contains(parts[4])) {
+            throw new SecretManagerException("Conta " + parts[4] + " não permitida para o secret: " + secretId);
+        }
+        return parts[3];
+    }
+
+    /**
+     * Retorna o cliente responsável pelo secret, criando o cliente da região se necessário.
+     *
+     * @param secretId o nome ou ARN do secret
+     * @return o cliente da região do secret
+     * @throws SecretManagerException se o ARN for inválido ou de uma conta não permitida
+     */
+    @Override
+    public SecretsManagerClient clientFor(String secretId) {
+        return clientForRegion(routeOf(secretId));
+    }
+
+    /**
+     * @return os clientes já criados, por região
+     */
+    public Map<String, SecretsManagerClient> getClients() {
+        return Collections.unmodifiableMap(clients);
+    }
+
+    public String getDefaultRegion() {
+        return defaultRegion;
+    }
+
+    @Override
+    public GetSecretValueResponse getSecretValue(GetSecretValueRequest request) {
+        return clientFor(request.secretId()).getSecretValue(request);
+    }
+
+    @Override
+    public DescribeSecretResponse describeSecret(DescribeSecretRequest request) {
+        return clientFor(request.secretId()).describeSecret(request);
+    }
+
+    @Override
+    public ListSecretsResponse listSecrets(ListSecretsRequest request) {
+        return clientForRegion(defaultRegion).listSecrets(request);
+    }
+
+    @Override
+    public Map<String, SecretResult<GetSecretValueResponse>> getSecretValues(Collection<String> secretIds) {
+        Map<String, List<String>> byRegion = new LinkedHashMap<>();
+        Map<String, SecretResult<GetSecretValueResponse>> results = new ConcurrentHashMap<>();
+        for (String secretId : new LinkedHashSet<>(secretIds)) {
+            try {
+                byRegion.computeIfAbsent(routeOf(secretId), region -> new ArrayList<>()).add(secretId);
+            } catch (SecretManagerException e) {
+                results.put(secretId, SecretResult.failed(e));
+            }
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Map.Entry<String, List<String>> region : byRegion.entrySet()) {
+            SecretsManagerClient client;
+            try {
+                client = clientForRegion(region.getKey());
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao criar o cliente da região {}: {}", region.getKey(), e.getMessage());
+                for (String secretId : region.getValue()) {
+                    results.put(secretId, SecretResult.failed(e));
+                }
+                continue;
+            }
+            if (client instanceof BatchSecretsManagerClient batchClient) {
+                futures.add(CompletableFuture.runAsync(
+                    () -> fetchRegionBatch(batchClient, region.getKey(), region.getValue(), results), executor));
+            } else {
+                for (String secretId : region.getValue()) {
+                    futures.add(CompletableFuture.runAsync(
+                        () -> results.put(secretId, fetchOne(client, secretId)), executor));
+                }
+            }
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        Map<String, SecretResult<GetSecretValueResponse>> ordered = new LinkedHashMap<>();
+        for (String secretId : secretIds) {
+            ordered.put(secretId, results.get(secretId));
+        }
+        return ordered;
+    }
+
+    private static void fetchRegionBatch(BatchSecretsManagerClient client, String region, List<String> secretIds,
+            Map<String, SecretResult<GetSecretValueResponse>> results) {
+        try {
+            results.putAll(client.getSecretValues(secretIds));
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao buscar {} secrets na região {}: {}", secretIds.size(), region, e.getMessage());
+            for (String secretId : secretIds) {
+                results.put(secretId, SecretResult.failed(e));
+            }
+        }
+    }
+
+    private static SecretResult<GetSecretValueResponse> fetchOne(SecretsManagerClient client, String secretId) {
+        try {
+            return SecretResult.found(client.getSecretValue(GetSecretValueRequest.builder().secretId(secretId).build()));
+        } catch (ResourceNotFoundException e) {
+            return SecretResult.notFound();
+        } catch (RuntimeException e) {
+            return SecretResult.failed(e);
+        }
+    }
+
+    private SecretsManagerClient clientForRegion(String region) {
+        if (closed) {
+            throw new IllegalStateException("Cliente regional fechado");
+        }
+        return clients.computeIfAbsent(region, key -> {
+            logger.debug("Criando cliente do Secrets Manager para a região {}", key);
+            return clientFactory.apply(key);
+        });
+    }
+
+    /**
+     * @return as partes do ARN, ou null se o secret foi referenciado pelo nome
+     */
+    private static String[] parseArn(String secretId) {
+        if (secretId == null || !secretId.startsWith("arn:")) {
+            return null;
+        }
+        String[] parts = secretId.split(":", 7);
+        if (parts.length != 7 || !"secretsmanager".equals(parts[2]) || parts[3].isEmpty()
+                || parts[4].isEmpty() || !"secret".equals(parts[5])) {
+            throw new SecretManagerException("ARN de secret inválido: " + secretId);
+        }
+        return parts;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    /**
+     * Fecha os clientes de todas as regiões.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+        for (SecretsManagerClient client : clients.values()) {
+            client.close();
+        }
+        clients.clear();
+    }
+}
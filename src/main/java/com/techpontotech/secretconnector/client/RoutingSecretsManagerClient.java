@@ -0,0 +1,24 @@
+package com.techpontotech.secretconnector.client;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+
+/**
+ * {@link SecretsManagerClient} que encaminha cada secret a um cliente de destino (por conta ou
+ * região).
+ *
+ * <p>O {@code ListSecrets} só lista os secrets do destino que o recebe. Por isso o
+ * {@code SecretWatcher} agrupa os secrets observados pelo cliente retornado em
+ * {@link #clientFor(String)} e lista cada grupo no seu próprio destino.
+ */
+public interface RoutingSecretsManagerClient extends SecretsManagerClient {
+
+    /**
+     * Retorna o cliente responsável pelo secret.
+     *
+     * @param secretId o nome ou ARN do secret
+     * @return o cliente de destino do secret
+     * @throws com.techpontotech.secretconnector.exception.SecretManagerException se o destino do
+     *         secret não estiver configurado
+     */
+    SecretsManagerClient clientFor(String secretId);
+}
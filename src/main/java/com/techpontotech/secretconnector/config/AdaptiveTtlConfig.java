@@ -0,0 +1,144 @@
+package com.techpontotech.secretconnector.config;
+
+import java.time.Duration;
+
+/**
+ * Configuração do TTL adaptativo do cache ({@code AdaptiveTtlPolicy}): o TTL de cada secret
+ * acompanha a frequência com que sua versão muda, dentro dos limites configurados.
+ *
+ * <p>Exemplo:
+ * <pre>
+ * SecretCacheConfig config = SecretCacheConfig.builder()
+ *     .adaptiveTtl(AdaptiveTtlConfig.builder()
+ *         .minTtl(Duration.ofSeconds(30))
+ *         .maxTtl(Duration.ofHours(6))
+ *         .build())
+ *     .build();
+ * </pre>
+ *
+ * <p>Por padrão o TTL fica entre 30 segundos e 1 hora e corresponde a um quarto do intervalo
+ * estimado entre as alterações do secret.
+ */
+public class AdaptiveTtlConfig {
+
+    public static final Duration DEFAULT_MIN_TTL = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_MAX_TTL = Duration.ofHours(1);
+    public static final double DEFAULT_CHANGE_FRACTION = 0.25;
+
+    private final Duration minTtl;
+    private final Duration maxTtl;
+    private final double changeFraction;
+    private final boolean describeSecrets;
+
+    private AdaptiveTtlConfig(Builder builder) {
+        this.minTtl = builder.minTtl;
+        this.maxTtl = builder.maxTtl;
+        this.changeFraction = builder.changeFraction;
+        this.describeSecrets = builder.describeSecrets;
+    }
+
+    /**
+     * Cria uma configuração com os valores padrão.
+     *
+     * @return AdaptiveTtlConfig com os valores padrão
+     */
+    public static AdaptiveTtlConfig defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return um novo builder com os valores padrão
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Duration getMinTtl() {
+        return minTtl;
+    }
+
+    public Duration getMaxTtl() {
+        return maxTtl;
+    }
+
+    public double getChangeFraction() {
+        return changeFraction;
+    }
+
+    public boolean isDescribeSecrets() {
+        return describeSecrets;
+    }
+
+    /**
+     * Builder de {@link AdaptiveTtlConfig}.
+     */
+    public static class Builder {
+
+        private Duration minTtl = DEFAULT_MIN_TTL;
+        private Duration maxTtl = DEFAULT_MAX_TTL;
+        private double changeFraction = DEFAULT_CHANGE_FRACTION;
+        private boolean describeSecrets = true;
+
+        private Builder() {
+        }
+
+        /**
+         * @param minTtl o menor TTL, usado pelos secrets que mudam com frequência
+         * @return este builder
+         */
+        public Builder minTtl(Duration minTtl) {
+            if (minTtl == null || minTtl.isNegative() || minTtl.isZero()) {
+                throw new IllegalArgumentException("minTtl deve ser positivo");
+            }
+            this.minTtl = minTtl;
+            return this;
+        }
+
+        /**
+         * @param maxTtl o maior TTL, usado pelos secrets que raramente mudam
+         * @return este builder
+         */
+        public Builder maxTtl(Duration maxTtl) {
+            if (maxTtl == null || maxTtl.isNegative() || maxTtl.isZero()) {
+                throw new IllegalArgumentException("maxTtl deve ser positivo");
+            }
+            this.maxTtl = maxTtl;
+            return this;
+        }
+
+        /**
+         * @param changeFraction fração do intervalo estimado entre alterações usada como TTL (entre 0 e 1)
+         * @return este builder
+         */
+        public Builder changeFraction(double changeFraction) {
+            if (!(changeFraction > 0 && changeFraction <= 1)) {
+                throw new IllegalArgumentException("changeFraction deve estar entre 0 (exclusivo) e 1");
+            }
+            this.changeFraction = changeFraction;
+            return this;
+        }
+
+        /**
+         * @param describeSecrets se true, consulta {@code DescribeSecret} na primeira carga e a cada
+         *                        alteração observada, para obter a data da última alteração e o
+         *                        agendamento de rotação, em segundo plano e valendo a partir da
+         *                        carga seguinte (requer {@code secretsmanager:DescribeSecret})
+         * @return este builder
+         */
+        public Builder describeSecrets(boolean describeSecrets) {
+            this.describeSecrets = describeSecrets;
+            return this;
+        }
+
+        /**
+         * @return a configuração
+         * @throws IllegalArgumentException se minTtl for maior que maxTtl
+         */
+        public AdaptiveTtlConfig build() {
+            if (minTtl.compareTo(maxTtl) > 0) {
+                throw new IllegalArgumentException("minTtl não pode ser maior que maxTtl");
+            }
+            return new AdaptiveTtlConfig(this);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.techpontotech.secretconnector.config;
+
+import java.time.Duration;
+
+/**
+ * Configuração do {@code RotatingCredentialsSupplier}.
+ *
+ * <p>Exemplo:
+ * <pre>
+ * CredentialsSupplierConfig config = CredentialsSupplierConfig.builder()
+ *     .refreshInterval(Duration.ofMinutes(10))
+ *     .refreshAhead(Duration.ofMinutes(2))
+ *     .build();
+ * </pre>
+ *
+ * <p>Por padrão as credenciais são buscadas a cada 5 minutos; perto de uma rotação agendada, a
+ * busca começa 1 minuto antes da rotação e se repete a cada 10 segundos até a nova versão aparecer
+ * ou 10 minutos após o horário agendado.
+ */
+public class CredentialsSupplierConfig {
+
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_ROTATION_POLL_INTERVAL = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_ROTATION_WINDOW = Duration.ofMinutes(10);
+
+    private final Duration refreshInterval;
+    private final Duration refreshAhead;
+    private final Duration rotationPollInterval;
+    private final Duration rotationWindow;
+
+    private CredentialsSupplierConfig(Builder builder) {
+        this.refreshInterval = builder.refreshInterval;
+        this.refreshAhead = builder.refreshAhead;
+        this.rotationPollInterval = builder.rotationPollInterval;
+        this.rotationWindow = builder.rotationWindow;
+    }
+
+    /**
+     * @return configuração com os valores padrão
+     */
+    public static CredentialsSupplierConfig defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return um novo builder com os valores padrão
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public Duration getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    public Duration getRotationPollInterval() {
+        return rotationPollInterval;
+    }
+
+    public Duration getRotationWindow() {
+        return rotationWindow;
+    }
+
+    /**
+     * Builder de {@link CredentialsSupplierConfig}.
+     */
+    public static class Builder {
+
+        private Duration refreshInterval = DEFAULT_REFRESH_INTERVAL;
+        private Duration refreshAhead = DEFAULT_REFRESH_AHEAD;
+        private Duration rotationPollInterval = DEFAULT_ROTATION_POLL_INTERVAL;
+        private Duration rotationWindow = DEFAULT_ROTATION_WINDOW;
+
+        private Builder() {
+        }
+
+        /**
+         * @param refreshInterval intervalo entre as buscas fora da janela de rotação
+         * @return este builder
+         */
+        public Builder refreshInterval(Duration refreshInterval) {
+            this.refreshInterval = positive(refreshInterval, "refreshInterval");
+            return this;
+        }
+
+        /**
+         * @param refreshAhead antecedência, em relação à rotação agendada, com que as buscas frequentes começam
+         * @return este builder
+         */
+        public Builder refreshAhead(Duration refreshAhead) {
+            if (refreshAhead == null || refreshAhead.isNegative()) {
+                throw new IllegalArgumentException("refreshAhead não pode ser negativo");
+            }
+            this.refreshAhead = refreshAhead;
+            return this;
+        }
+
+        /**
+         * @param rotationPollInterval intervalo entre as buscas dentro da janela de rotação e após falhas
+         * @return este builder
+         */
+        public Builder rotationPollInterval(Duration rotationPollInterval) {
+            this.rotationPollInterval = positive(rotationPollInterval, "rotationPollInterval");
+            return this;
+        }
+
+        /**
+         * @param rotationWindow por quanto tempo após o horário agendado a nova versão é aguardada
+         * @return este builder
+         */
+        public Builder rotationWindow(Duration rotationWindow) {
+            this.rotationWindow = positive(rotationWindow, "rotationWindow");
+            return this;
+        }
+
+        public CredentialsSupplierConfig build() {
+            return new CredentialsSupplierConfig(this);
+        }
+
+        private static Duration positive(Duration value, String name) {
+            if (value == null || value.isNegative() || value.isZero()) {
+                throw new IllegalArgumentException(name + " deve ser positivo");
+            }
+            return value;
+        }
+    }
+}
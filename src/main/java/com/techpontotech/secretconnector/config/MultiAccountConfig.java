@@ -0,0 +1,279 @@
+package com.techpontotech.secretconnector.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+
+/**
+ * Configuração do acesso a secrets de várias contas AWS por meio de roles assumidas.
+ *
+ * <p>Cada conta é associada a uma cadeia de roles: a primeira role é assumida com as credenciais
+ * base e cada role seguinte com as credenciais da anterior (ex: role de hub na conta central e,
+ * em seguida, a role de leitura na conta de destino). Prefixos de cadeia iguais entre contas
+ * compartilham o mesmo provider de credenciais.
+ *
+ * <p>Exemplo:
+ * <pre>
+ * MultiAccountConfig config = MultiAccountConfig.builder()
+ *     .region("sa-east-1")
+ *     .account("111111111111", "arn:aws:iam::111111111111:role/secret-reader")
+ *     .account("222222222222", "arn:aws:iam::999999999999:role/hub",
+ *                              "arn:aws:iam::222222222222:role/secret-reader")
+ *     .build();
+ * </pre>
+ *
+ * <p>As credenciais são renovadas em segundo plano {@code prefetchTime} antes de expirarem
+ * (padrão: 5 minutos); a leitura só aguarda a renovação se as credenciais estiverem a menos de
+ * {@code staleTime} da expiração (padrão: 1 minuto).
+ */
+public class MultiAccountConfig {
+
+    public static final String DEFAULT_SESSION_NAME = "secret-connector";
+    public static final Duration DEFAULT_SESSION_DURATION = Duration.ofHours(1);
+    public static final Duration DEFAULT_PREFETCH_TIME = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_STALE_TIME = Duration.ofMinutes(1);
+
+    private static final Pattern ACCOUNT_ID = Pattern.compile("\\d{12}");
+
+    private final String region;
+    private final AwsCredentialsProvider baseCredentials;
+    private final URI stsEndpoint;
+    private final URI secretsManagerEndpoint;
+    private final String sessionName;
+    private final Duration sessionDuration;
+    private final Duration prefetchTime;
+    private final Duration staleTime;
+    private final Map<String, List<String>> roleChains;
+    private final String defaultAccount;
+
+    private MultiAccountConfig(Builder builder) {
+        this.region = builder.region;
+        this.baseCredentials = builder.baseCredentials;
+        this.stsEndpoint = builder.stsEndpoint;
+        this.secretsManagerEndpoint = builder.secretsManagerEndpoint;
+        this.sessionName = builder.sessionName;
+        this.sessionDuration = builder.sessionDuration;
+        this.prefetchTime = builder.prefetchTime;
+        this.staleTime = builder.staleTime;
+        this.roleChains = Collections.unmodifiableMap(new LinkedHashMap<>(builder.roleChains));
+        this.defaultAccount = builder.defaultAccount != null
+            ? builder.defaultAccount : builder.roleChains.keySet().iterator().next();
+    }
+
+    /**
+     * @return um novo builder com os valores padrão
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public AwsCredentialsProvider getBaseCredentials() {
+        return baseCredentials;
+    }
+
+    public URI getStsEndpoint() {
+        return stsEndpoint;
+    }
+
+    public URI getSecretsManagerEndpoint() {
+        return secretsManagerEndpoint;
+    }
+
+    public String getSessionName() {
+        return sessionName;
+    }
+
+    public Duration getSessionDuration() {
+        return sessionDuration;
+    }
+
+    public Duration getPrefetchTime() {
+        return prefetchTime;
+    }
+
+    public Duration getStaleTime() {
+        return staleTime;
+    }
+
+    /**
+     * @return as cadeias de roles por conta, na ordem de registro
+     */
+    public Map<String, List<String>> getRoleChains() {
+        return roleChains;
+    }
+
+    /**
+     * @return a conta usada para secrets referenciados pelo nome (sem ARN)
+     */
+    public String getDefaultAccount() {
+        return defaultAccount;
+    }
+
+    /**
+     * Builder de {@link MultiAccountConfig}.
+     */
+    public static class Builder {
+
+        private String region;
+        private AwsCredentialsProvider baseCredentials;
+        private URI stsEndpoint;
+        private URI secretsManagerEndpoint;
+        private String sessionName = DEFAULT_SESSION_NAME;
+        private Duration sessionDuration = DEFAULT_SESSION_DURATION;
+        private Duration prefetchTime = DEFAULT_PREFETCH_TIME;
+        private Duration staleTime = DEFAULT_STALE_TIME;
+        private final Map<String, List<String>> roleChains = new LinkedHashMap<>();
+        private String defaultAccount;
+
+        private Builder() {
+        }
+
+        /**
+         * @param region região AWS dos clientes do STS e do Secrets Manager (ex: "sa-east-1")
+         * @return este builder
+         */
+        public Builder region(String region) {
+            if (region == null || region.isBlank()) {
+                throw new IllegalArgumentException("region não pode ser vazia");
+            }
+            this.region = region;
+            return this;
+        }
+
+        /**
+         * @param baseCredentials credenciais usadas para assumir a primeira role de cada cadeia
+         *                        (padrão: cadeia de providers padrão do SDK)
+         * @return este builder
+         */
+        public Builder baseCredentials(AwsCredentialsProvider baseCredentials) {
+            if (baseCredentials == null) {
+                throw new IllegalArgumentException("baseCredentials não pode ser nulo");
+            }
+            this.baseCredentials = baseCredentials;
+            return this;
+        }
+
+        /**
+         * @param stsEndpoint endpoint alternativo do STS (ex: VPC endpoint ou emulador local)
+         * @return este builder
+         */
+        public Builder stsEndpoint(URI stsEndpoint) {
+            this.stsEndpoint = stsEndpoint;
+            return this;
+        }
+
+        /**
+         * @param secretsManagerEndpoint endpoint alternativo do Secrets Manager
+         * @return este builder
+         */
+        public Builder secretsManagerEndpoint(URI secretsManagerEndpoint) {
+            this.secretsManagerEndpoint = secretsManagerEndpoint;
+            return this;
+        }
+
+        /**
+         * @param sessionName nome da sessão informado ao assumir as roles
+         * @return este builder
+         */
+        public Builder sessionName(String sessionName) {
+            if (sessionName == null || sessionName.isBlank()) {
+                throw new IllegalArgumentException("sessionName não pode ser vazio");
+            }
+            this.sessionName = sessionName;
+            return this;
+        }
+
+        /**
+         * @param sessionDuration duração das credenciais temporárias solicitadas
+         * @return este builder
+         */
+        public Builder sessionDuration(Duration sessionDuration) {
+            if (sessionDuration == null || sessionDuration.getSeconds() < 900) {
+                throw new IllegalArgumentException("sessionDuration deve ser de ao menos 15 minutos");
+            }
+            this.sessionDuration = sessionDuration;
+            return this;
+        }
+
+        /**
+         * @param prefetchTime antecedência, em relação à expiração, da renovação em segundo plano
+         * @return este builder
+         */
+        public Builder prefetchTime(Duration prefetchTime) {
+            if (prefetchTime == null || prefetchTime.isNegative()) {
+                throw new IllegalArgumentException("prefetchTime não pode ser negativo");
+            }
+            this.prefetchTime = prefetchTime;
+            return this;
+        }
+
+        /**
+         * @param staleTime antecedência, em relação à expiração, a partir da qual a leitura aguarda a renovação
+         * @return este builder
+         */
+        public Builder staleTime(Duration staleTime) {
+            if (staleTime == null || staleTime.isNegative()) {
+                throw new IllegalArgumentException("staleTime não pode ser negativo");
+            }
+            this.staleTime = staleTime;
+            return this;
+        }
+
+        /**
+         * Registra uma conta e a cadeia de roles usada para acessá-la.
+         *
+         * @param accountId o ID da conta (12 dígitos)
+         * @param roleChain os ARNs das roles, na ordem em que devem ser assumidas
+         * @return este builder
+         */
+        public Builder account(String accountId, String... roleChain) {
+            if (accountId == null || !ACCOUNT_ID.matcher(accountId).matches()) {
+                throw new IllegalArgumentException("accountId inválido: " + accountId);
+            }
+            if (roleChain == null || roleChain.length == 0) {
+                throw new IllegalArgumentException("A cadeia de roles da conta " + accountId + " não pode ser vazia");
+            }
+            this.roleChains.put(accountId, List.of(roleChain));
+            return this;
+        }
+
+        /**
+         * @param defaultAccount conta usada para secrets referenciados pelo nome (padrão: a primeira registrada)
+         * @return este builder
+         */
+        public Builder defaultAccount(String defaultAccount) {
+            this.defaultAccount = defaultAccount;
+            return this;
+        }
+
+        public MultiAccountConfig build() {
+            if (region == null) {
+                throw new IllegalArgumentException("region é obrigatória");
+            }
+            if (roleChains.isEmpty()) {
+                throw new IllegalArgumentException("Ao menos uma conta deve ser registrada");
+            }
+            if (defaultAccount != null && !roleChains.containsKey(defaultAccount)) {
+                throw new IllegalArgumentException("defaultAccount não registrada: " + defaultAccount);
+            }
+            if (staleTime.compareTo(prefetchTime) > 0) {
+                throw new IllegalArgumentException("staleTime não pode ser maior que prefetchTime");
+            }
+            if (baseCredentials == null) {
+                baseCredentials = DefaultCredentialsProvider.create();
+            }
+            return new MultiAccountConfig(this);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.techpontotech.secretconnector.config;
+
+import java.time.Duration;
+
+import com.techpontotech.secretconnector.cache.SecretWeigher;
+
+/**
+ * Configuração do cache de secrets utilizado pelo {@code SecretManagerConnector}.
+ *
+ * <p>Exemplo:
+ * <pre>
+ * SecretCacheConfig config = SecretCacheConfig.builder()
+ *     .maximumWeight(256L * 1024 * 1024)
+ *     .ttl(Duration.ofMinutes(10))
+ *     .build();
+ * </pre>
+ *
+ * <p>Por padrão o cache é limitado a 64 MiB, as entradas expiram após 5 minutos e o número de
+ * segmentos acompanha o número de processadores disponíveis. Secrets inexistentes consultados com
+ * {@code tryGet} são lembrados por 30 segundos.
+ */
+public class SecretCacheConfig {
+
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024 * 1024;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_NOT_FOUND_TTL = Duration.ofSeconds(30);
+
+    private final long maximumWeight;
+    private final Duration ttl;
+    private final Duration notFoundTtl;
+    private final int concurrencyLevel;
+    private final SecretWeigher weigher;
+    private final AdaptiveTtlConfig adaptiveTtl;
+
+    private SecretCacheConfig(Builder builder) {
+        this.maximumWeight = builder.maximumWeight;
+        this.ttl = builder.ttl;
+        this.notFoundTtl = builder.notFoundTtl;
+        this.concurrencyLevel = builder.concurrencyLevel;
+        this.weigher = builder.weigher;
+        this.adaptiveTtl = builder.adaptiveTtl;
+    }
+
+    /**
+     * Cria uma configuração com os valores padrão.
+     *
+     * @return SecretCacheConfig com os valores padrão
+     */
+    public static SecretCacheConfig defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return um novo builder com os valores padrão
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public Duration getNotFoundTtl() {
+        return notFoundTtl;
+    }
+
+    public int getConcurrencyLevel() {
+        return concurrencyLevel;
+    }
+
+    public SecretWeigher getWeigher() {
+        return weigher;
+    }
+
+    /**
+     * @return a configuração do TTL adaptativo, ou null se o TTL é fixo
+     */
+    public AdaptiveTtlConfig getAdaptiveTtl() {
+        return adaptiveTtl;
+    }
+
+    /**
+     * Builder de {@link SecretCacheConfig}.
+     */
+    public static class Builder {
+
+        private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+        private Duration ttl = DEFAULT_TTL;
+        private Duration notFoundTtl = DEFAULT_NOT_FOUND_TTL;
+        private int concurrencyLevel = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 2);
+        private SecretWeigher weigher = SecretWeigher.estimatedFromPayload();
+        private AdaptiveTtlConfig adaptiveTtl;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maximumWeight peso máximo do cache (em bytes aproximados, segundo o weigher)
+         * @return este builder
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            if (maximumWeight <= 0) {
+                throw new IllegalArgumentException("maximumWeight deve ser positivo");
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * @param ttl tempo de vida das entradas após a carga
+         * @return este builder
+         */
+        public Builder ttl(Duration ttl) {
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("ttl deve ser positivo");
+            }
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * @param notFoundTtl por quanto tempo um secret inexistente é lembrado ({@link Duration#ZERO} desabilita)
+         * @return este builder
+         */
+        public Builder notFoundTtl(Duration notFoundTtl) {
+            if (notFoundTtl == null || notFoundTtl.isNegative()) {
+                throw new IllegalArgumentException("notFoundTtl não pode ser negativo");
+            }
+            this.notFoundTtl = notFoundTtl;
+            return this;
+        }
+
+        /**
+         * @param concurrencyLevel número desejado de segmentos do cache
+         * @return este builder
+         */
+        public Builder concurrencyLevel(int concurrencyLevel) {
+            if (concurrencyLevel <= 0) {
+                throw new IllegalArgumentException("concurrencyLevel deve ser positivo");
+            }
+            this.concurrencyLevel = concurrencyLevel;
+            return this;
+        }
+
+        /**
+         * @param weigher função de peso das entradas
+         * @return este builder
+         */
+        public Builder weigher(SecretWeigher weigher) {
+            if (weigher == null) {
+                throw new IllegalArgumentException("weigher não pode ser nulo");
+            }
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Torna o TTL de cada secret adaptativo: {@code ttl} passa a ser o TTL inicial dos secrets
+         * sem histórico, e o TTL seguinte acompanha a frequência com que a versão do secret muda.
+         *
+         * @param adaptiveTtl a configuração do TTL adaptativo, ou null para TTL fixo
+         * @return este builder
+         */
+        public Builder adaptiveTtl(AdaptiveTtlConfig adaptiveTtl) {
+            this.adaptiveTtl = adaptiveTtl;
+            return this;
+        }
+
+        public SecretCacheConfig build() {
+            return new SecretCacheConfig(this);
+        }
+    }
+}
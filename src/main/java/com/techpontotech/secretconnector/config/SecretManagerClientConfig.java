@@ -1,15 +1,37 @@
 package com.techpontotech.secretconnector.config;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.ProfileCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClientBuilder;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.StsClientBuilder;
+import software.amazon.awssdk.services.sts.auth.StsAssumeRoleCredentialsProvider;
+
+import com.techpontotech.secretconnector.client.AccountRoutingSecretsManagerClient;
+import com.techpontotech.secretconnector.client.RegionRoutingSecretsManagerClient;
 
 /**
  * Utilitário para criação de instâncias {@link SecretsManagerClient} do AWS SDK v2.
  *
  * Esta classe fornece métodos convenientes para criar um client do Secrets Manager:
  * - create(): utiliza as configurações padrão do AWS SDK (detecção automática de região e credenciais);
- * - create(String region, String profileName): cria o client para uma região específica usando um perfil de credenciais do AWS CLI.
+ * - create(String region, String profileName): cria o client para uma região específica usando um perfil de credenciais do AWS CLI;
+ * - createMultiAccount(MultiAccountConfig config): cria um client que encaminha cada secret à conta do seu ARN, com roles assumidas;
+ * - createRegionRouting(String defaultRegion): cria um client que encaminha cada secret à região do seu ARN.
  *
  * Exemplo:
  * SecretsManagerClient client = SecretManagerClientConfig.create("sa-east-1", "default");
@@ -17,7 +39,12 @@ import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
  * Observação: instâncias do {@code SecretsManagerClient} são thread-safe segundo o SDK; gerencie o ciclo de vida (fechamento) conforme necessário.
  */
 public class SecretManagerClientConfig {
-  
+
+  private static final Logger logger = LoggerFactory.getLogger(SecretManagerClientConfig.class);
+
+  /** Número máximo de contas inicializadas em paralelo. */
+  private static final int MAX_STARTUP_PARALLELISM = 16;
+
   /**
    * Cria um {@link SecretsManagerClient} utilizando a configuração padrão do AWS SDK.
    * O SDK resolve região e credenciais pela cadeia de providers padrão (variáveis de ambiente, profile, metadata, etc.).
@@ -43,4 +70,110 @@ public class SecretManagerClientConfig {
       .build();
   }
 
+  /**
+   * Cria um client que encaminha cada secret ao client da conta do seu ARN, com credenciais de roles assumidas.
+   *
+   * <p>Os clients das contas são criados em paralelo e as credenciais de cada um são obtidas já na criação,
+   * de modo que a primeira leitura não precise chamar o STS. Depois disso as credenciais são renovadas em
+   * segundo plano antes de expirarem (ver {@link MultiAccountConfig}), sem bloquear as leituras.
+   * Cadeias de roles com o mesmo prefixo compartilham o provider de credenciais desse prefixo.
+   *
+   * <p>Falhas ao obter as credenciais na criação são apenas registradas em log; as credenciais serão
+   * solicitadas novamente no primeiro uso do client.
+   *
+   * @param config a configuração das contas e roles
+   * @return o client multi-conta; fechá-lo fecha os clients e providers de todas as contas
+   */
+  public static AccountRoutingSecretsManagerClient createMultiAccount(MultiAccountConfig config) {
+    Map<List<String>, AwsCredentialsProvider> providers = new HashMap<>();
+    List<AutoCloseable> resources = new ArrayList<>();
+    Map<String, AwsCredentialsProvider> credentials = new LinkedHashMap<>();
+    for (Map.Entry<String, List<String>> account : config.getRoleChains().entrySet()) {
+      credentials.put(account.getKey(), roleChainCredentials(config, account.getValue(), providers, resources));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_STARTUP_PARALLELISM, credentials.size()));
+    try {
+      Map<String, CompletableFuture<SecretsManagerClient>> futures = new LinkedHashMap<>();
+      credentials.forEach((account, provider) -> futures.put(account,
+        CompletableFuture.supplyAsync(() -> createAccountClient(config, account, provider), executor)));
+
+      Map<String, SecretsManagerClient> clients = new LinkedHashMap<>();
+      futures.forEach((account, future) -> clients.put(account, future.join()));
+      logger.debug("{} clients multi-conta criados ({} providers de credenciais)", clients.size(), providers.size());
+      return new AccountRoutingSecretsManagerClient(config.getDefaultAccount(), clients, resources);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Cria um client que encaminha cada secret ao client da região do seu ARN.
+   *
+   * <p>Os clients regionais usam a cadeia de credenciais padrão do SDK e são criados no primeiro acesso
+   * a cada região. Secrets referenciados pelo nome usam a região padrão.
+   *
+   * @param defaultRegion a região dos secrets referenciados pelo nome (ex: "sa-east-1")
+   * @return o client multi-região; fechá-lo fecha os clients de todas as regiões
+   */
+  public static RegionRoutingSecretsManagerClient createRegionRouting(String defaultRegion) {
+    return new RegionRoutingSecretsManagerClient(defaultRegion,
+      region -> SecretsManagerClient.builder().region(Region.of(region)).build());
+  }
+
+  private static SecretsManagerClient createAccountClient(MultiAccountConfig config, String account,
+      AwsCredentialsProvider credentials) {
+    try {
+      credentials.resolveCredentials();
+    } catch (RuntimeException e) {
+      logger.warn("Falha ao obter credenciais da conta {} na inicialização: {}", account, e.getMessage());
+    }
+    SecretsManagerClientBuilder builder = SecretsManagerClient.builder()
+      .region(Region.of(config.getRegion()))
+      .credentialsProvider(credentials);
+    if (config.getSecretsManagerEndpoint() != null) {
+      builder.endpointOverride(config.getSecretsManagerEndpoint());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Retorna o provider de credenciais da cadeia de roles, reutilizando os providers dos prefixos já criados.
+   */
+  private static AwsCredentialsProvider roleChainCredentials(MultiAccountConfig config, List<String> roleChain,
+      Map<List<String>, AwsCredentialsProvider> providers, List<AutoCloseable> resources) {
+    AwsCredentialsProvider current = config.getBaseCredentials();
+    for (int hop = 1; hop <= roleChain.size(); hop++) {
+      List<String> prefix = roleChain.subList(0, hop);
+      AwsCredentialsProvider previous = current;
+      current = providers.computeIfAbsent(List.copyOf(prefix),
+        chain -> assumeRole(config, chain.get(chain.size() - 1), previous, resources));
+    }
+    return current;
+  }
+
+  private static AwsCredentialsProvider assumeRole(MultiAccountConfig config, String roleArn,
+      AwsCredentialsProvider callerCredentials, List<AutoCloseable> resources) {
+    StsClientBuilder stsBuilder = StsClient.builder()
+      .region(Region.of(config.getRegion()))
+      .credentialsProvider(callerCredentials);
+    if (config.getStsEndpoint() != null) {
+      stsBuilder.endpointOverride(config.getStsEndpoint());
+    }
+    StsClient stsClient = stsBuilder.build();
+    StsAssumeRoleCredentialsProvider provider = StsAssumeRoleCredentialsProvider.builder()
+      .stsClient(stsClient)
+      .refreshRequest(request -> request
+        .roleArn(roleArn)
+        .roleSessionName(config.getSessionName())
+        .durationSeconds((int) config.getSessionDuration().getSeconds()))
+      .asyncCredentialUpdateEnabled(true)
+      .prefetchTime(config.getPrefetchTime())
+      .staleTime(config.getStaleTime())
+      .build();
+    resources.add(provider);
+    resources.add(stsClient);
+    return provider;
+  }
+
 }
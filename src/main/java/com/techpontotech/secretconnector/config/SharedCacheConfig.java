@@ -0,0 +1,213 @@
+package com.techpontotech.secretconnector.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Configuração do cache compartilhado em arquivo mapeado em memória ({@code SharedSecretCache}).
+ *
+ * <p>Exemplo:
+ * <pre>
+ * SharedCacheConfig config = SharedCacheConfig.builder()
+ *     .path(Path.of("/run/app/secrets.cache"))
+ *     .key(chaveAes256)
+ *     .build();
+ * </pre>
+ *
+ * <p>Todos os processos que compartilham o arquivo devem usar a mesma chave, o mesmo número e o
+ * mesmo tamanho de slots. Por padrão o arquivo tem 256 slots de 16 KiB (4 MiB), os registros
+ * valem por 5 minutos e, se lidos nesse período, são atualizados pelo processo líder 1 minuto
+ * antes de expirar; a liderança dura 30 segundos e é renovada a cada 10.
+ */
+public class SharedCacheConfig {
+
+    public static final int DEFAULT_SLOT_COUNT = 256;
+    public static final int DEFAULT_SLOT_SIZE = 16 * 1024;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_LEASE_DURATION = Duration.ofSeconds(30);
+
+    private final Path path;
+    private final SecretKey key;
+    private final int slotCount;
+    private final int slotSize;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final Duration leaseDuration;
+
+    private SharedCacheConfig(Builder builder) {
+        this.path = builder.path;
+        this.key = builder.key;
+        this.slotCount = builder.slotCount;
+        this.slotSize = builder.slotSize;
+        this.ttl = builder.ttl;
+        this.refreshAhead = builder.refreshAhead;
+        this.leaseDuration = builder.leaseDuration;
+    }
+
+    /**
+     * @return um novo builder com os valores padrão
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public SecretKey getKey() {
+        return key;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public int getSlotSize() {
+        return slotSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public Duration getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    /**
+     * Builder de {@link SharedCacheConfig}.
+     */
+    public static class Builder {
+
+        private Path path;
+        private SecretKey key;
+        private int slotCount = DEFAULT_SLOT_COUNT;
+        private int slotSize = DEFAULT_SLOT_SIZE;
+        private Duration ttl = DEFAULT_TTL;
+        private Duration refreshAhead = DEFAULT_REFRESH_AHEAD;
+        private Duration leaseDuration = DEFAULT_LEASE_DURATION;
+
+        private Builder() {
+        }
+
+        /**
+         * @param path o arquivo compartilhado (criado com permissão somente para o dono, se não existir)
+         * @return este builder
+         */
+        public Builder path(Path path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * @param key a chave AES usada para cifrar os registros (128, 192 ou 256 bits)
+         * @return este builder
+         */
+        public Builder key(SecretKey key) {
+            if (key == null || !"AES".equalsIgnoreCase(key.getAlgorithm())) {
+                throw new IllegalArgumentException("key deve ser uma chave AES");
+            }
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * @param key os bytes da chave AES (16, 24 ou 32)
+         * @return este builder
+         */
+        public Builder key(byte[] key) {
+            if (key == null || (key.length != 16 && key.length != 24 && key.length != 32)) {
+                throw new IllegalArgumentException("key deve ter 16, 24 ou 32 bytes");
+            }
+            return key(new SecretKeySpec(key, "AES"));
+        }
+
+        /**
+         * @param slotCount a quantidade de secrets que o arquivo comporta
+         * @return este builder
+         */
+        public Builder slotCount(int slotCount) {
+            if (slotCount <= 0) {
+                throw new IllegalArgumentException("slotCount deve ser positivo");
+            }
+            this.slotCount = slotCount;
+            return this;
+        }
+
+        /**
+         * @param slotSize o tamanho de cada slot em bytes (múltiplo de 8, no mínimo 1 KiB); secrets
+         *                 que não cabem no slot não são compartilhados
+         * @return este builder
+         */
+        public Builder slotSize(int slotSize) {
+            if (slotSize < 1024 || slotSize % 8 != 0) {
+                throw new IllegalArgumentException("slotSize deve ser múltiplo de 8 e ter no mínimo 1024 bytes");
+            }
+            this.slotSize = slotSize;
+            return this;
+        }
+
+        /**
+         * @param ttl tempo de validade dos registros publicados
+         * @return este builder
+         */
+        public Builder ttl(Duration ttl) {
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("ttl deve ser positivo");
+            }
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * @param refreshAhead antecedência com que o líder atualiza os registros antes de expirarem
+         * @return este builder
+         */
+        public Builder refreshAhead(Duration refreshAhead) {
+            if (refreshAhead == null || refreshAhead.isNegative()) {
+                throw new IllegalArgumentException("refreshAhead não pode ser negativo");
+            }
+            this.refreshAhead = refreshAhead;
+            return this;
+        }
+
+        /**
+         * @param leaseDuration duração da liderança (no mínimo 3 segundos); renovada a cada um terço
+         * @return este builder
+         */
+        public Builder leaseDuration(Duration leaseDuration) {
+            if (leaseDuration == null || leaseDuration.compareTo(Duration.ofSeconds(3)) < 0) {
+                throw new IllegalArgumentException("leaseDuration deve ser de no mínimo 3 segundos");
+            }
+            this.leaseDuration = leaseDuration;
+            return this;
+        }
+
+        /**
+         * @return a configuração
+         * @throws IllegalArgumentException se o arquivo ou a chave não foram informados ou o arquivo
+         *                                  ficaria maior que 2 GiB
+         */
+        public SharedCacheConfig build() {
+            if (path == null) {
+                throw new IllegalArgumentException("path é obrigatório");
+            }
+            if (key == null) {
+                throw new IllegalArgumentException("key é obrigatória");
+            }
+            if ((long) slotCount * slotSize > Integer.MAX_VALUE - 4096L) {
+                throw new IllegalArgumentException("slotCount * slotSize deve ser menor que 2 GiB");
+            }
+            return new SharedCacheConfig(this);
+        }
+    }
+}
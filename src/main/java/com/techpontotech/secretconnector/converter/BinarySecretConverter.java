@@ -0,0 +1,22 @@
+package com.techpontotech.secretconnector.converter;
+
+import software.amazon.awssdk.core.SdkBytes;
+
+/**
+ * Interface funcional para conversão do valor binário de um secret ({@code SecretBinary}) para um
+ * objeto genérico, lendo diretamente os bytes recebidos, sem passar por {@link String}.
+ *
+ * @param <T> o tipo de objeto a ser retornado pela conversão
+ */
+@FunctionalInterface
+public interface BinarySecretConverter<T> {
+
+    /**
+     * Converte os bytes do secret para um objeto do tipo T. Os bytes não devem ser alterados.
+     *
+     * @param secretValue os bytes do secret recuperado
+     * @return o objeto convertido
+     * @throws Exception se ocorrer erro durante a conversão
+     */
+    T convert(SdkBytes secretValue) throws Exception;
+}
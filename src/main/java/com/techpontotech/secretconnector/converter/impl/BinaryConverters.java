@@ -0,0 +1,122 @@
+package com.techpontotech.secretconnector.converter.impl;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.techpontotech.secretconnector.converter.BinarySecretConverter;
+import com.techpontotech.secretconnector.converter.spi.JsonConverterProvider;
+
+/**
+ * Classe utilitária que fornece conversores para secrets binários ({@code SecretBinary}).
+ *
+ * <p>Os conversores leem diretamente o buffer do {@code SdkBytes} recebido, sem cópia e sem passar
+ * por {@link String}. {@link #json(Class)} usa o {@link JsonConverterProvider} de
+ * {@link SecretConverters#jsonProvider()}. CBOR e Smile usam os módulos opcionais
+ * {@code jackson-dataformat-cbor} e {@code jackson-dataformat-smile}, carregados somente na primeira
+ * conversão do formato; sem o módulo no classpath, o conversor falha com
+ * {@link IllegalStateException} ao ser criado. {@link #lengthPrefixed(String...)} não tem
+ * dependências.
+ *
+ * <p>Os objetos e mapas convertidos não são memorizados no cache: cada leitura converte os bytes
+ * e entrega uma nova instância ao chamador.
+ */
+public class BinaryConverters {
+
+    private static final String CBOR_MAPPER_CLASS = "com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper";
+    private static final String SMILE_MAPPER_CLASS = "com.fasterxml.jackson.dataformat.smile.databind.SmileMapper";
+
+    /**
+     * Conversor de CBOR para um objeto.
+     *
+     * @param <T> o tipo do objeto
+     * @param clazz a classe do objeto a ser convertido
+     * @return um conversor que transforma CBOR em um objeto
+     * @throws IllegalStateException se jackson-dataformat-cbor não estiver no classpath
+     */
+    public static <T> BinarySecretConverter<T> cbor(Class<T> clazz) {
+        requireModule(CBOR_MAPPER_CLASS, "jackson-dataformat-cbor");
+        return secretValue -> CborHolder.MAPPER.readValue(secretValue.asByteArrayUnsafe(), clazz);
+    }
+
+    /**
+     * Conversor de Smile (JSON binário do Jackson) para um objeto.
+     *
+     * @param <T> o tipo do objeto
+     * @param clazz a classe do objeto a ser convertido
+     * @return um conversor que transforma Smile em um objeto
+     * @throws IllegalStateException se jackson-dataformat-smile não estiver no classpath
+     */
+    public static <T> BinarySecretConverter<T> smile(Class<T> clazz) {
+        requireModule(SMILE_MAPPER_CLASS, "jackson-dataformat-smile");
+        return secretValue -> SmileHolder.MAPPER.readValue(secretValue.asByteArrayUnsafe(), clazz);
+    }
+
+    /**
+     * Conversor de JSON em UTF-8 para um objeto, usando o {@link JsonConverterProvider}
+     * configurado. O provider Jackson lê os bytes sem criar a {@link String}.
+     *
+     * @param <T> o tipo do objeto
+     * @param clazz a classe do objeto a ser convertido
+     * @return um conversor que transforma JSON binário em um objeto
+     */
+    public static <T> BinarySecretConverter<T> json(Class<T> clazz) {
+        return secretValue -> SecretConverters.jsonProvider().readValue(secretValue.asByteArrayUnsafe(), clazz);
+    }
+
+    /**
+     * Conversor do formato com tamanho prefixado (ver {@link LengthPrefixedSchema}) para um mapa.
+     *
+     * @param fields os nomes dos campos, na ordem em que foram gravados
+     * @return um conversor que transforma o payload em um mapa, na ordem do esquema
+     */
+    public static BinarySecretConverter<Map<String, String>> lengthPrefixed(String... fields) {
+        return LengthPrefixedSchema.of(fields).converter();
+    }
+
+    /**
+     * Grava o objeto em CBOR, para publicar o secret como {@code SecretBinary}.
+     *
+     * @param value o objeto
+     * @return os bytes em CBOR
+     * @throws Exception se a serialização falhar
+     * @throws IllegalStateException se jackson-dataformat-cbor não estiver no classpath
+     */
+    public static byte[] toCbor(Object value) throws Exception {
+        requireModule(CBOR_MAPPER_CLASS, "jackson-dataformat-cbor");
+        return CborHolder.MAPPER.writeValueAsBytes(value);
+    }
+
+    /**
+     * Grava o objeto em Smile, para publicar o secret como {@code SecretBinary}.
+     *
+     * @param value o objeto
+     * @return os bytes em Smile
+     * @throws Exception se a serialização falhar
+     * @throws IllegalStateException se jackson-dataformat-smile não estiver no classpath
+     */
+    public static byte[] toSmile(Object value) throws Exception {
+        requireModule(SMILE_MAPPER_CLASS, "jackson-dataformat-smile");
+        return SmileHolder.MAPPER.writeValueAsBytes(value);
+    }
+
+    /**
+     * Verifica se o módulo opcional do formato está no classpath, sem inicializar as suas classes.
+     */
+    private static void requireModule(String mapperClass, String module) {
+        try {
+            Class.forName(mapperClass, false, BinaryConverters.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalStateException("Formato binário indisponível; adicione " + module + " ao classpath", e);
+        }
+    }
+
+    private static final class CborHolder {
+        static final ObjectMapper MAPPER = new CBORMapper();
+    }
+
+    private static final class SmileHolder {
+        static final ObjectMapper MAPPER = new SmileMapper();
+    }
+}
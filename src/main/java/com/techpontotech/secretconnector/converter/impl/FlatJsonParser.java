@@ -0,0 +1,273 @@
+package com.techpontotech.secretconnector.converter.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parser JSON sem dependências e sem reflexão para o formato mais comum de secret: um objeto
+ * plano {@code {"usuario":"app","senha":"..."}}.
+ *
+ * <p>Strings são devolvidas sem aspas e com os escapes resolvidos; números e booleanos, com o
+ * texto literal; {@code null}, como {@code null}. Objetos e arrays aninhados não são interpretados:
+ * o valor é o trecho JSON original. As strings sem escape são extraídas com {@code substring},
+ * sem buffers intermediários.
+ *
+ * <p>As mensagens de erro indicam somente a posição, nunca o conteúdo do secret.
+ */
+final class FlatJsonParser {
+
+    private final String json;
+    private int pos;
+
+    private FlatJsonParser(String json) {
+        this.json = json;
+    }
+
+    /**
+     * @param json o objeto JSON
+     * @return os campos do objeto, na ordem do documento
+     * @throws IllegalArgumentException se o texto não for um objeto JSON válido
+     */
+    static Map<String, String> parse(String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("JSON nulo");
+        }
+        return new FlatJsonParser(json).parseObject();
+    }
+
+    private Map<String, String> parseObject() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        skipWhitespace();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+        } else {
+            while (true) {
+                skipWhitespace();
+                expect('"');
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                fields.put(key, readValue());
+                skipWhitespace();
+                char next = next();
+                if (next == '}') {
+                    break;
+                }
+                if (next != ',') {
+                    throw error("',' ou '}' esperado", pos - 1);
+                }
+            }
+        }
+        skipWhitespace();
+        if (pos != json.length()) {
+            throw error("conteúdo após o fim do objeto", pos);
+        }
+        return fields;
+    }
+
+    private String readValue() {
+        char c = peek();
+        switch (c) {
+            case '"':
+                pos++;
+                return readString();
+            case '{':
+            case '[':
+                return readNested();
+            case 't':
+                return readLiteral("true");
+            case 'f':
+                return readLiteral("false");
+            case 'n':
+                readLiteral("null");
+                return null;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return readNumber();
+                }
+                throw error("valor inválido", pos);
+        }
+    }
+
+    /**
+     * Lê uma string cujo '"' inicial já foi consumido.
+     */
+    private String readString() {
+        int start = pos;
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c == '"') {
+                return json.substring(start, pos++);
+            }
+            if (c == '\\') {
+                return readEscapedString(start);
+            }
+            if (c < 0x20) {
+                throw error("caractere de controle em string", pos);
+            }
+            pos++;
+        }
+        throw error("string não terminada", start);
+    }
+
+    private String readEscapedString(int start) {
+        StringBuilder builder = new StringBuilder(pos - start + 16);
+        builder.append(json, start, pos);
+        while (pos < json.length()) {
+            char c = json.charAt(pos++);
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c != '\\') {
+                if (c < 0x20) {
+                    throw error("caractere de controle em string", pos - 1);
+                }
+                builder.append(c);
+                continue;
+            }
+            if (pos >= json.length()) {
+                break;
+            }
+            char escape = json.charAt(pos++);
+            switch (escape) {
+                case '"': builder.append('"'); break;
+                case '\\': builder.append('\\'); break;
+                case '/': builder.append('/'); break;
+                case 'b': builder.append('\b'); break;
+                case 'f': builder.append('\f'); break;
+                case 'n': builder.append('\n'); break;
+                case 'r': builder.append('\r'); break;
+                case 't': builder.append('\t'); break;
+                case 'u':
+                    if (pos + 4 > json.length()) {
+                        throw error("escape unicode incompleto", pos - 2);
+                    }
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(json.charAt(pos++), 16);
+                        if (digit < 0) {
+                            throw error("escape unicode inválido", pos - 1);
+                        }
+                        code = (code << 4) | digit;
+                    }
+                    builder.append((char) code);
+                    break;
+                default:
+                    throw error("escape inválido", pos - 1);
+            }
+        }
+        throw error("string não terminada", start);
+    }
+
+    private String readNumber() {
+        int start = pos;
+        if (peek() == '-') {
+            pos++;
+        }
+        int digits = skipDigits();
+        if (digits == 0 || (digits > 1 && json.charAt(pos - digits) == '0')) {
+            throw error("número inválido", start);
+        }
+        if (pos < json.length() && json.charAt(pos) == '.') {
+            pos++;
+            if (skipDigits() == 0) {
+                throw error("número inválido", start);
+            }
+        }
+        if (pos < json.length() && (json.charAt(pos) == 'e' || json.charAt(pos) == 'E')) {
+            pos++;
+            if (pos < json.length() && (json.charAt(pos) == '+' || json.charAt(pos) == '-')) {
+                pos++;
+            }
+            if (skipDigits() == 0) {
+                throw error("número inválido", start);
+            }
+        }
+        return json.substring(start, pos);
+    }
+
+    private int skipDigits() {
+        int start = pos;
+        while (pos < json.length() && json.charAt(pos) >= '0' && json.charAt(pos) <= '9') {
+            pos++;
+        }
+        return pos - start;
+    }
+
+    private String readLiteral(String literal) {
+        if (!json.startsWith(literal, pos)) {
+            throw error("valor inválido", pos);
+        }
+        pos += literal.length();
+        return literal;
+    }
+
+    /**
+     * Avança sobre um objeto ou array aninhado, respeitando strings, e devolve o trecho original.
+     */
+    private String readNested() {
+        int start = pos;
+        int depth = 0;
+        while (pos < json.length()) {
+            char c = json.charAt(pos++);
+            if (c == '"') {
+                skipString();
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (--depth == 0) {
+                    return json.substring(start, pos);
+                }
+            }
+        }
+        throw error("objeto ou array não terminado", start);
+    }
+
+    private void skipString() {
+        while (pos < json.length()) {
+            char c = json.charAt(pos++);
+            if (c == '\\') {
+                pos++;
+            } else if (c == '"') {
+                return;
+            }
+        }
+        throw error("string não terminada", pos);
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private char peek() {
+        if (pos >= json.length()) {
+            throw error("fim inesperado do JSON", pos);
+        }
+        return json.charAt(pos);
+    }
+
+    private char next() {
+        char c = peek();
+        pos++;
+        return c;
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("'" + expected + "' esperado", pos - 1);
+        }
+    }
+
+    private static IllegalArgumentException error(String message, int position) {
+        return new IllegalArgumentException("JSON inválido: " + message + " na posição " + position);
+    }
+}
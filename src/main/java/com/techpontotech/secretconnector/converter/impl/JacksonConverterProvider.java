@@ -0,0 +1,48 @@
+package com.techpontotech.secretconnector.converter.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techpontotech.secretconnector.converter.spi.JsonConverterProvider;
+
+/**
+ * {@link JsonConverterProvider} baseado no Jackson (dependência opcional {@code jackson-databind}).
+ *
+ * <p>O {@code ObjectMapper} fica em uma classe interna e só é carregado na primeira conversão.
+ */
+public class JacksonConverterProvider implements JsonConverterProvider {
+
+    private static final String OBJECT_MAPPER_CLASS = "com.fasterxml.jackson.databind.ObjectMapper";
+
+    @Override
+    public String name() {
+        return "jackson";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        try {
+            Class.forName(OBJECT_MAPPER_CLASS, false, JacksonConverterProvider.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    @Override
+    public <T> T readValue(String json, Class<T> type) throws Exception {
+        return MapperHolder.MAPPER.readValue(json, type);
+    }
+
+    @Override
+    public <T> T readValue(byte[] json, Class<T> type) throws Exception {
+        return MapperHolder.MAPPER.readValue(json, type);
+    }
+
+    @Override
+    public String writeValueAsString(Object value) throws Exception {
+        return MapperHolder.MAPPER.writeValueAsString(value);
+    }
+
+    private static final class MapperHolder {
+        static final ObjectMapper MAPPER = new ObjectMapper();
+    }
+}
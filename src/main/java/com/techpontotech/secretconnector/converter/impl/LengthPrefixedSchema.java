@@ -0,0 +1,161 @@
+package com.techpontotech.secretconnector.converter.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import software.amazon.awssdk.core.SdkBytes;
+
+import com.techpontotech.secretconnector.converter.BinarySecretConverter;
+
+/**
+ * Formato binário com esquema fixo de campos, cada um prefixado pelo seu tamanho.
+ *
+ * <p>O payload começa com a versão do formato (um byte, {@value #VERSION}) e o número de campos
+ * (varint), seguidos dos valores na ordem do esquema: o tamanho em bytes mais um (varint; 0 indica
+ * {@code null}) e o valor em UTF-8. Os nomes dos campos não são gravados; o esquema de quem grava e
+ * o de quem lê devem ter os mesmos campos na mesma ordem. Novos campos são acrescentados ao final:
+ * campos ausentes no payload são lidos como {@code null} e campos a mais são ignorados.
+ *
+ * <pre>
+ * LengthPrefixedSchema schema = LengthPrefixedSchema.of("host", "port", "user", "pass");
+ * SdkBytes secretBinary = schema.encode(Map.of("host", "db", "port", "5432", "user", "app", "pass", "..."));
+ * Map&lt;String, String&gt; credentials = connector.getBinary("prod/db", schema.converter());
+ * </pre>
+ */
+public final class LengthPrefixedSchema {
+
+    /** Versão do formato gravada no primeiro byte. */
+    public static final int VERSION = 1;
+
+    private final List<String> fields;
+    private final BinarySecretConverter<Map<String, String>> converter = this::decode;
+
+    private LengthPrefixedSchema(List<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @param fields os nomes dos campos, na ordem em que são gravados
+     * @return o esquema
+     */
+    public static LengthPrefixedSchema of(String... fields) {
+        if (fields.length == 0) {
+            throw new IllegalArgumentException("O esquema deve ter ao menos um campo");
+        }
+        if (Arrays.stream(fields).distinct().count() != fields.length) {
+            throw new IllegalArgumentException("Campos repetidos no esquema: " + Arrays.toString(fields));
+        }
+        return new LengthPrefixedSchema(List.of(fields));
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return o conversor que lê payloads deste esquema (sempre a mesma instância, para que o valor
+     *     convertido seja reaproveitado pelo cache)
+     */
+    public BinarySecretConverter<Map<String, String>> converter() {
+        return converter;
+    }
+
+    /**
+     * Grava os valores no formato do esquema.
+     *
+     * @param values os valores por campo; campos ausentes são gravados como {@code null}
+     * @return o payload para {@code SecretBinary}
+     * @throws IllegalArgumentException se houver valores de campos fora do esquema
+     */
+    public SdkBytes encode(Map<String, String> values) {
+        for (String field : values.keySet()) {
+            if (!fields.contains(field)) {
+                throw new IllegalArgumentException("Campo fora do esquema: " + field);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + fields.size() * 16);
+        out.write(VERSION);
+        writeVarint(out, fields.size());
+        for (String field : fields) {
+            String value = values.get(field);
+            if (value == null) {
+                writeVarint(out, 0);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, bytes.length + 1);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+        return SdkBytes.fromByteArrayUnsafe(out.toByteArray());
+    }
+
+    /**
+     * Lê os valores diretamente dos bytes do payload, sem copiá-los.
+     *
+     * @param payload o payload gravado por {@link #encode(Map)}
+     * @return os valores por campo, na ordem do esquema
+     * @throws IllegalArgumentException se o payload estiver truncado ou for de outra versão do formato
+     */
+    public Map<String, String> decode(SdkBytes payload) {
+        byte[] bytes = payload.asByteArrayUnsafe();
+        if (bytes.length == 0 || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("Versão do formato não suportada: "
+                + (bytes.length == 0 ? "payload vazio" : bytes[0]));
+        }
+        int[] position = {1};
+        int count = readVarint(bytes, position);
+        if (count < 0) {
+            throw new IllegalArgumentException("Número de campos inválido no payload: " + count);
+        }
+        Map<String, String> values = new LinkedHashMap<>(fields.size() * 2);
+        for (int i = 0; i < count; i++) {
+            int length = readVarint(bytes, position) - 1;
+            String value = null;
+            if (length < -1) {
+                throw new IllegalArgumentException("Tamanho inválido no campo " + i);
+            }
+            if (length >= 0) {
+                if (length > bytes.length - position[0]) {
+                    throw new IllegalArgumentException("Payload truncado no campo " + i);
+                }
+                value = new String(bytes, position[0], length, StandardCharsets.UTF_8);
+                position[0] += length;
+            }
+            if (i < fields.size()) {
+                values.put(fields.get(i), value);
+            }
+        }
+        for (int i = count; i < fields.size(); i++) {
+            values.put(fields.get(i), null);
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Payload truncado");
+            }
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Tamanho inválido no payload");
+    }
+}
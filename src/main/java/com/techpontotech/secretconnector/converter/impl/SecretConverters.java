@@ -1,15 +1,31 @@
 package com.techpontotech.secretconnector.converter.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.ServiceLoader;
+
 import com.techpontotech.secretconnector.converter.SecretConverter;
+import com.techpontotech.secretconnector.converter.spi.JsonConverterProvider;
 
 /**
  * Classe utilitária que fornece conversores pré-configurados para tipos comuns.
  * Facilita a conversão de secrets em diferentes formatos.
+ *
+ * <p>Os conversores de objetos JSON usam o {@link JsonConverterProvider} descoberto via
+ * {@link ServiceLoader} (Jackson, por padrão), carregado somente na primeira conversão JSON.
+ * Para secrets planos no formato {@code {"chave":"valor"}}, {@link #asFlatMap()} usa um parser
+ * próprio, sem reflexão e sem dependências.
  */
 public class SecretConverters {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final SecretConverter<Map<String, String>> FLAT_MAP = FlatJsonParser::parse;
+
+    private static final ClassValue<SecretConverter<?>> OBJECT_CONVERTERS = new ClassValue<>() {
+        @Override
+        protected SecretConverter<?> computeValue(Class<?> type) {
+            return secretValue -> jsonProvider().readValue(secretValue, type);
+        }
+    };
 
     /**
      * Conversor que retorna a string como está (sem conversão).
@@ -21,14 +37,43 @@ public class SecretConverters {
     }
 
     /**
-     * Conversor que faz parsing de JSON para um mapa.
+     * Conversor que faz parsing de JSON para um mapa. A mesma instância é retornada para a mesma
+     * classe.
      *
      * @param <T> o tipo do objeto JSON
      * @param clazz a classe do objeto a ser convertido
      * @return um conversor que transforma JSON em um objeto
      */
+    @SuppressWarnings("unchecked")
     public static <T> SecretConverter<T> asObject(Class<T> clazz) {
-        return secretValue -> objectMapper.readValue(secretValue, clazz);
+        return (SecretConverter<T>) OBJECT_CONVERTERS.get(clazz);
+    }
+
+    /**
+     * Conversor de objeto JSON plano para um mapa de campos, sem reflexão e sem dependências.
+     *
+     * <p>Strings são retornadas sem aspas, números e booleanos com o texto literal e {@code null}
+     * como {@code null}; objetos e arrays aninhados são retornados como o trecho JSON original.
+     *
+     * @return um conversor que transforma o JSON em um mapa, na ordem dos campos
+     */
+    public static SecretConverter<Map<String, String>> asFlatMap() {
+        return FLAT_MAP;
+    }
+
+    /**
+     * Retorna o provider JSON usado pelos conversores de objetos, carregando-o na primeira chamada.
+     *
+     * @return o provider de maior prioridade disponível no classpath
+     * @throws IllegalStateException se nenhum provider estiver disponível
+     */
+    public static JsonConverterProvider jsonProvider() {
+        JsonConverterProvider provider = JsonProviderHolder.PROVIDER;
+        if (provider == null) {
+            throw new IllegalStateException(
+                "Nenhum JsonConverterProvider disponível; adicione jackson-databind ao classpath");
+        }
+        return provider;
     }
 
     /**
@@ -87,4 +132,14 @@ public class SecretConverters {
     public static <T> SecretConverter<T> custom(SecretConverter<T> converter) {
         return converter;
     }
+
+    private static final class JsonProviderHolder {
+        static final JsonConverterProvider PROVIDER = ServiceLoader
+            .load(JsonConverterProvider.class, SecretConverters.class.getClassLoader())
+            .stream()
+            .map(ServiceLoader.Provider::get)
+            .filter(JsonConverterProvider::isAvailable)
+            .max(Comparator.comparingInt(JsonConverterProvider::priority))
+            .orElse(null);
+    }
 }
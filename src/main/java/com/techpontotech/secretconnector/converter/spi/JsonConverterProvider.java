@@ -0,0 +1,68 @@
+package com.techpontotech.secretconnector.converter.spi;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * SPI de conversão JSON usada pelos conversores de objetos de {@code SecretConverters}.
+ *
+ * <p>As implementações são descobertas com {@link java.util.ServiceLoader} (arquivo
+ * {@code META-INF/services/com.techpontotech.secretconnector.converter.spi.JsonConverterProvider})
+ * somente no primeiro uso de um conversor JSON; entre as disponíveis, vence a de maior
+ * {@link #priority()}. As implementações não devem inicializar a biblioteca JSON no construtor nem
+ * em {@link #isAvailable()}, para que esse custo só seja pago na primeira conversão.
+ */
+public interface JsonConverterProvider {
+
+    /**
+     * @return o nome do provider (ex: "jackson")
+     */
+    String name();
+
+    /**
+     * @return a prioridade do provider; o de maior prioridade entre os disponíveis é usado
+     */
+    default int priority() {
+        return 0;
+    }
+
+    /**
+     * Indica se a biblioteca do provider está presente no classpath.
+     *
+     * @return true se o provider pode ser usado
+     */
+    boolean isAvailable();
+
+    /**
+     * Converte o JSON para o tipo informado.
+     *
+     * @param <T> o tipo do objeto
+     * @param json o JSON
+     * @param type a classe do objeto
+     * @return o objeto convertido
+     * @throws Exception se o JSON for inválido ou incompatível com o tipo
+     */
+    <T> T readValue(String json, Class<T> type) throws Exception;
+
+    /**
+     * Converte o JSON em UTF-8 para o tipo informado. A implementação padrão decodifica os bytes
+     * em {@link String}; providers que leem bytes diretamente devem sobrescrevê-la.
+     *
+     * @param <T> o tipo do objeto
+     * @param json os bytes do JSON, em UTF-8 (não devem ser alterados)
+     * @param type a classe do objeto
+     * @return o objeto convertido
+     * @throws Exception se o JSON for inválido ou incompatível com o tipo
+     */
+    default <T> T readValue(byte[] json, Class<T> type) throws Exception {
+        return readValue(new String(json, StandardCharsets.UTF_8), type);
+    }
+
+    /**
+     * Serializa o objeto como JSON.
+     *
+     * @param value o objeto
+     * @return o JSON
+     * @throws Exception se o objeto não puder ser serializado
+     */
+    String writeValueAsString(Object value) throws Exception;
+}
@@ -0,0 +1,303 @@
+package com.techpontotech.secretconnector.credentials;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.techpontotech.secretconnector.cache.CachedSecret;
+import com.techpontotech.secretconnector.config.CredentialsSupplierConfig;
+import com.techpontotech.secretconnector.converter.SecretConverter;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+
+/**
+ * Fornece as credenciais atuais de um secret a pools de conexão, acompanhando as rotações.
+ *
+ * <p>{@link #get()} é uma leitura volátil da versão atual já convertida, sem lock nem acesso ao
+ * cache. Uma thread própria busca o secret a cada {@code refreshInterval}; com rotação agendada
+ * ({@code NextRotationDate} do {@code DescribeSecret}), as buscas passam a ser feitas a cada
+ * {@code rotationPollInterval} a partir de {@code refreshAhead} antes da rotação, até a nova versão
+ * aparecer. Falhas na busca mantêm as credenciais atuais.
+ *
+ * <p>Cada nova versão incrementa a geração. O pool registra a geração com que cada conexão foi
+ * aberta e descarta aos poucos as conexões de gerações antigas (ex: ao devolvê-las), em vez de
+ * fechar todas de uma vez:
+ * <pre>
+ * RotatingCredentialsSupplier&lt;DbCredentials&gt; credentials = connector.credentialsSupplier(
+ *     "prod/db", SecretConverters.asObject(DbCredentials.class));
+ * VersionedCredentials&lt;DbCredentials&gt; current = credentials.current();
+ * PooledConnection connection = open(current.value(), current.generation());
+ * ...
+ * if (!credentials.isCurrent(connection.generation())) {
+ *     connection.closeWhenIdle();
+ * }
+ * </pre>
+ *
+ * @param <C> o tipo das credenciais
+ */
+public class RotatingCredentialsSupplier<C> implements Supplier<C>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RotatingCredentialsSupplier.class);
+
+    private final String secretName;
+    private final SecretConverter<C> converter;
+    private final Function<String, CachedSecret> loader;
+    private final Function<String, DescribeSecretResponse> describer;
+    private final CredentialsSupplierConfig config;
+    private final Consumer<? super RotatingCredentialsSupplier<C>> onClose;
+    private final List<Consumer<VersionedCredentials<C>>> listeners = new CopyOnWriteArrayList<>();
+    private final Object refreshLock = new Object();
+    private final ScheduledExecutorService scheduler;
+    private volatile VersionedCredentials<C> current;
+    private String currentPayload;
+    private volatile Instant nextRotation;
+    private volatile Instant nextRefreshAt;
+    private volatile boolean closed;
+
+    /**
+     * Carrega as credenciais e inicia as atualizações.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @param converter o conversor das credenciais
+     * @param loader busca o valor atual do secret, sem passar pelo cache
+     * @param describer consulta {@code DescribeSecret} para obter a próxima rotação (pode ser null)
+     * @param config a configuração
+     * @throws SecretManagerException se a primeira carga ou conversão falhar
+     */
+    public RotatingCredentialsSupplier(String secretName, SecretConverter<C> converter,
+            Function<String, CachedSecret> loader, Function<String, DescribeSecretResponse> describer,
+            CredentialsSupplierConfig config) {
+        this(secretName, converter, loader, describer, config, null);
+    }
+
+    /**
+     * Carrega as credenciais e inicia as atualizações.
+     *
+     * @param secretName o nome ou ARN do secret
+     * @param converter o conversor das credenciais
+     * @param loader busca o valor atual do secret, sem passar pelo cache
+     * @param describer consulta {@code DescribeSecret} para obter a próxima rotação (pode ser null)
+     * @param config a configuração
+     * @param onClose chamado uma vez quando o fornecedor é fechado (pode ser null)
+     * @throws SecretManagerException se a primeira carga ou conversão falhar
+     */
+    public RotatingCredentialsSupplier(String secretName, SecretConverter<C> converter,
+            Function<String, CachedSecret> loader, Function<String, DescribeSecretResponse> describer,
+            CredentialsSupplierConfig config, Consumer<? super RotatingCredentialsSupplier<C>> onClose) {
+        this.secretName = secretName;
+        this.converter = converter;
+        this.loader = loader;
+        this.describer = describer;
+        this.config = config;
+        this.onClose = onClose;
+        refresh();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "secret-credentials");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleNext(false);
+    }
+
+    /**
+     * @return as credenciais atuais
+     */
+    @Override
+    public C get() {
+        return current.value();
+    }
+
+    /**
+     * @return as credenciais atuais com a versão e a geração
+     */
+    public VersionedCredentials<C> current() {
+        return current;
+    }
+
+    /**
+     * @return a geração atual
+     */
+    public long getGeneration() {
+        return current.generation();
+    }
+
+    /**
+     * @param generation a geração com que uma conexão foi aberta
+     * @return true se a geração é a atual
+     */
+    public boolean isCurrent(long generation) {
+        return current.generation() == generation;
+    }
+
+    /**
+     * @return o horário da próxima rotação agendada, ou null se desconhecido
+     */
+    public Instant getNextRotation() {
+        return nextRotation;
+    }
+
+    /**
+     * @return o horário da próxima busca agendada
+     */
+    public Instant getNextRefreshAt() {
+        return nextRefreshAt;
+    }
+
+    /**
+     * Registra um listener notificado a cada nova geração, na thread de atualização.
+     *
+     * @param listener o listener
+     */
+    public void addListener(Consumer<VersionedCredentials<C>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Busca o secret imediatamente (ex: após uma falha de autenticação).
+     *
+     * @return true se uma nova versão foi encontrada
+     * @throws SecretManagerException se a conversão falhar; as falhas da busca são repassadas
+     */
+    public boolean refresh() {
+        VersionedCredentials<C> updated;
+        synchronized (refreshLock) {
+            CachedSecret secret = loader.apply(secretName);
+            VersionedCredentials<C> previous = current;
+            Instant now = Instant.now();
+            if (previous != null && Objects.equals(previous.versionId(), secret.getVersionId())
+                    && secret.getPayload().equals(currentPayload)) {
+                if (nextRotation != null && now.isAfter(nextRotation.plus(config.getRotationWindow()))) {
+                    logger.warn("Secret '{}' não mudou até {} após a rotação agendada", secretName,
+                        config.getRotationWindow());
+                    describe();
+                    Instant rotation = nextRotation;
+                    if (rotation != null && now.isAfter(rotation.plus(config.getRotationWindow()))) {
+                        nextRotation = null;
+                    }
+                }
+                return false;
+            }
+            long generation = previous != null ? previous.generation() + 1 : 1L;
+            updated = new VersionedCredentials<>(convert(secret), secret.getVersionId(), generation);
+            current = updated;
+            currentPayload = secret.getPayload();
+            describe();
+            if (previous != null) {
+                logger.info("Credenciais do secret '{}' rotacionadas: versão {} (geração {})", secretName,
+                    updated.versionId(), generation);
+            }
+        }
+        if (updated.generation() > 1) {
+            for (Consumer<VersionedCredentials<C>> listener : listeners) {
+                try {
+                    listener.accept(updated);
+                } catch (RuntimeException e) {
+                    logger.warn("Listener de credenciais do secret '{}' falhou: {}", secretName, e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Interrompe as atualizações. As credenciais atuais continuam disponíveis.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        scheduler.shutdownNow();
+        if (onClose != null) {
+            onClose.accept(this);
+        }
+    }
+
+    public String getSecretName() {
+        return secretName;
+    }
+
+    private C convert(CachedSecret secret) {
+        try {
+            return secret.convert(converter);
+        } catch (Exception e) {
+            throw new SecretManagerException("Falha ao converter o secret: " + secretName, e);
+        }
+    }
+
+    private void describe() {
+        if (describer == null) {
+            return;
+        }
+        try {
+            DescribeSecretResponse response = describer.apply(secretName);
+            nextRotation = Boolean.TRUE.equals(response.rotationEnabled()) ? response.nextRotationDate() : null;
+        } catch (RuntimeException e) {
+            logger.debug("DescribeSecret indisponível para '{}'; atualizando somente por intervalo: {}",
+                secretName, e.getMessage());
+        }
+    }
+
+    private void runScheduled() {
+        try {
+            refresh();
+            scheduleNext(false);
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao atualizar as credenciais do secret '{}'; mantendo a versão atual: {}",
+                secretName, e.getMessage());
+            scheduleNext(true);
+        }
+    }
+
+    private void scheduleNext(boolean failed) {
+        if (closed) {
+            return;
+        }
+        Instant now = Instant.now();
+        Duration delay = failed
+            ? min(config.getRotationPollInterval(), config.getRefreshInterval())
+            : nextDelay(now);
+        nextRefreshAt = now.plus(delay);
+        try {
+            scheduler.schedule(this::runScheduled, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            if (!closed) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Intervalo até a próxima busca: o intervalo normal, o início da janela de rotação ou, dentro
+     * da janela, o intervalo de verificação da rotação.
+     */
+    private Duration nextDelay(Instant now) {
+        Duration delay = config.getRefreshInterval();
+        Instant rotation = nextRotation;
+        if (rotation != null) {
+            Instant windowStart = rotation.minus(config.getRefreshAhead());
+            if (now.isBefore(windowStart)) {
+                delay = min(delay, Duration.between(now, windowStart));
+            } else if (now.isBefore(rotation.plus(config.getRotationWindow()))) {
+                delay = min(delay, config.getRotationPollInterval());
+            }
+        }
+        return delay;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
@@ -0,0 +1,17 @@
+package com.techpontotech.secretconnector.credentials;
+
+/**
+ * Credenciais convertidas de uma versão do secret.
+ *
+ * @param <C> o tipo das credenciais
+ * @param value as credenciais
+ * @param versionId a versão do secret
+ * @param generation a geração: começa em 1 e aumenta a cada nova versão do secret
+ */
+public record VersionedCredentials<C>(C value, String versionId, long generation) {
+
+    @Override
+    public String toString() {
+        return String.format("VersionedCredentials{versionId='%s', generation=%d}", versionId, generation);
+    }
+}
@@ -0,0 +1,69 @@
+package com.techpontotech.secretconnector.event;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SecretEventSource} baseada em uma fila em memória, consumida por uma thread daemon.
+ *
+ * <p>Útil como ponte para consumidores próprios (por exemplo, um listener SQS da aplicação que
+ * chama {@link #publish(SecretChangeEvent)}) e como fonte local em testes.
+ */
+public class QueueSecretEventSource implements SecretEventSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueSecretEventSource.class);
+
+    private final BlockingQueue<SecretChangeEvent> queue = new LinkedBlockingQueue<>();
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    /**
+     * Enfileira um evento para entrega.
+     *
+     * @param event o evento de alteração
+     */
+    public void publish(SecretChangeEvent event) {
+        queue.add(event);
+    }
+
+    @Override
+    public synchronized void start(Consumer<SecretChangeEvent> listener) {
+        if (worker != null) {
+            throw new IllegalStateException("QueueSecretEventSource já iniciada");
+        }
+        running = true;
+        worker = new Thread(() -> drain(listener), "secret-event-source");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void drain(Consumer<SecretChangeEvent> listener) {
+        while (running) {
+            try {
+                SecretChangeEvent event = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    listener.accept(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao processar evento de secret: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+}
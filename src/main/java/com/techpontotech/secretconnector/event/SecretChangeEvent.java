@@ -0,0 +1,97 @@
+package com.techpontotech.secretconnector.event;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Evento de alteração de um secret (rotação, atualização ou remoção), entregue ao
+ * {@code SecretManagerConnector} por um {@link SecretEventSource}.
+ *
+ * @param secretId o nome ou ARN do secret alterado
+ * @param type o tipo de alteração
+ */
+public record SecretChangeEvent(String secretId, Type type) {
+
+    private static final String SECRET_SEGMENT = ":secret:";
+
+    /** ARN completo: o nome seguido de {@code -} e dos 6 caracteres aleatórios adicionados pela AWS. */
+    private static final Pattern COMPLETE_ARN =
+        Pattern.compile("arn:[^:]+:secretsmanager:[^:]+:\\d{12}:secret:(.+)-[A-Za-z0-9]{6}");
+
+    /**
+     * Tipos de alteração suportados.
+     */
+    public enum Type {
+        /** O secret foi rotacionado (nova versão em AWSCURRENT). */
+        ROTATION,
+        /** O valor do secret foi atualizado (PutSecretValue/UpdateSecret). */
+        UPDATE,
+        /** O secret foi removido ou agendado para remoção. */
+        DELETE
+    }
+
+    public SecretChangeEvent {
+        if (secretId == null || secretId.isBlank()) {
+            throw new IllegalArgumentException("secretId não pode ser vazio");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("type não pode ser nulo");
+        }
+    }
+
+    /**
+     * Retorna o nome do secret. Para ARNs ({@code arn:aws:secretsmanager:...:secret:nome-AbCdEf})
+     * o sufixo aleatório de 6 caracteres adicionado pela AWS é removido.
+     *
+     * @return o nome do secret
+     */
+    public String secretName() {
+        return nameOf(secretId);
+    }
+
+    /**
+     * Retorna as chaves pelas quais o secret pode ter sido consultado: o identificador do evento, o
+     * nome do secret e, para ARNs, o trecho após {@code secret:} sem remoção de sufixo. Um nome
+     * terminado em {@code -} e 6 caracteres não se distingue do sufixo aleatório de um ARN completo,
+     * por isso as duas formas são consideradas.
+     *
+     * @return as chaves do secret, sem repetição
+     */
+    public Set<String> lookupKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(secretId);
+        keys.add(nameOf(secretId));
+        keys.add(arnNameOf(secretId));
+        return keys;
+    }
+
+    /**
+     * Extrai o nome do secret de um identificador que pode ser nome ou ARN. O sufixo aleatório só é
+     * removido de ARNs completos ({@code arn:<partição>:secretsmanager:<região>:<conta>:secret:nome-AbCdEf});
+     * ARNs parciais e nomes são retornados sem alteração do nome.
+     *
+     * @param secretId o nome ou ARN do secret
+     * @return o nome do secret, sem o sufixo aleatório do ARN
+     */
+    public static String nameOf(String secretId) {
+        Matcher matcher = COMPLETE_ARN.matcher(secretId);
+        if (matcher.matches()) {
+            return matcher.group(1);
+        }
+        return arnNameOf(secretId);
+    }
+
+    /**
+     * @param secretId o nome ou ARN do secret
+     * @return o trecho do ARN após {@code secret:}, sem remover sufixo, ou o próprio identificador
+     */
+    static String arnNameOf(String secretId) {
+        if (!secretId.startsWith("arn:")) {
+            return secretId;
+        }
+        int index = secretId.indexOf(SECRET_SEGMENT);
+        return index < 0 ? secretId : secretId.substring(index + SECRET_SEGMENT.length());
+    }
+}
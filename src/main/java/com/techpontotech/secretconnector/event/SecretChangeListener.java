@@ -0,0 +1,19 @@
+package com.techpontotech.secretconnector.event;
+
+/**
+ * Listener notificado quando o valor de um secret observado muda.
+ *
+ * @param <T> o tipo do valor convertido do secret
+ */
+@FunctionalInterface
+public interface SecretChangeListener<T> {
+
+    /**
+     * Chamado quando o payload do secret muda.
+     *
+     * @param secretName o nome ou ARN do secret observado
+     * @param oldValue o valor convertido anterior (null se não havia valor conhecido)
+     * @param newValue o novo valor convertido
+     */
+    void onChange(String secretName, T oldValue, T newValue);
+}
@@ -0,0 +1,26 @@
+package com.techpontotech.secretconnector.event;
+
+import java.util.function.Consumer;
+
+/**
+ * Fonte de eventos de alteração de secrets que alimenta a invalidação do cache do
+ * {@code SecretManagerConnector}.
+ *
+ * <p>Implementações típicas consomem eventos do EventBridge/SQS na aplicação, ou uma fila local
+ * nos testes ({@link QueueSecretEventSource}).
+ */
+public interface SecretEventSource extends AutoCloseable {
+
+    /**
+     * Inicia a entrega de eventos. Cada evento recebido deve ser repassado ao listener.
+     *
+     * @param listener o consumidor dos eventos, fornecido pelo conector
+     */
+    void start(Consumer<SecretChangeEvent> listener);
+
+    /**
+     * Interrompe a entrega de eventos e libera os recursos da fonte.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,356 @@
+package com.techpontotech.secretconnector.event;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.techpontotech.secretconnector.cache.CachedSecret;
+import com.techpontotech.secretconnector.converter.SecretConverter;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+
+/**
+ * Fluxo dos valores de um secret compartilhado por todos os assinantes desse secret.
+ *
+ * <p>Enquanto houver ao menos um assinante, o fluxo mantém uma única observação no
+ * {@link SecretWatcher}. Cada assinante recebe o valor atual e depois cada valor rotacionado,
+ * respeitando a demanda solicitada: valores que chegam sem demanda são substituídos pelo mais
+ * recente (conflação), e a conversão só é feita no momento da entrega.
+ *
+ * <p>O valor inicial é carregado fora do monitor do fluxo, sem bloquear os demais assinantes nem os
+ * cancelamentos. Quando o último assinante cancela, a observação é encerrada e o fluxo é
+ * descartado: {@link #trySubscribe} passa a recusar assinaturas, para que o dono crie um novo fluxo.
+ *
+ * <p>As entregas são feitas no executor informado; {@code onNext} não deve bloquear.
+ */
+public class SecretStream implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecretStream.class);
+
+    private static final SecretConverter<String> PAYLOAD = SecretConverters.asString();
+
+    private final String secretId;
+    private final Supplier<CachedSecret> loader;
+    private final Supplier<SecretWatcher> watcher;
+    private final Executor executor;
+    private final Consumer<SecretStream> onIdle;
+    private final Set<StreamSubscription<?>> subscriptions = new CopyOnWriteArraySet<>();
+
+    private WatchHandle handle;
+    private String latest;
+    private boolean starting;
+    private int reservations;
+    private boolean retired;
+    private boolean closed;
+
+    /**
+     * @param secretId o nome ou ARN do secret
+     * @param loader função que retorna o valor atual do secret
+     * @param watcher fornece o detector de alterações do conector
+     * @param executor executor usado nas entregas aos assinantes
+     * @param onIdle chamado, fora do monitor do fluxo, quando o fluxo é descartado sem assinantes
+     */
+    public SecretStream(String secretId, Supplier<CachedSecret> loader, Supplier<SecretWatcher> watcher,
+            Executor executor, Consumer<SecretStream> onIdle) {
+        this.secretId = secretId;
+        this.loader = loader;
+        this.watcher = watcher;
+        this.executor = executor;
+        this.onIdle = onIdle;
+    }
+
+    /**
+     * Retorna um publisher que entrega os valores do secret convertidos com o conversor informado.
+     *
+     * @param <T> o tipo do valor convertido
+     * @param converter o conversor aplicado a cada valor entregue
+     * @return o publisher
+     */
+    public <T> Flow.Publisher<T> publisher(SecretConverter<T> converter) {
+        Objects.requireNonNull(converter, "converter");
+        return subscriber -> subscribe(subscriber, converter, false);
+    }
+
+    /**
+     * Assina o fluxo, a menos que ele já tenha sido descartado por ficar sem assinantes.
+     *
+     * @param <T> o tipo do valor convertido
+     * @param subscriber o assinante
+     * @param converter o conversor aplicado a cada valor entregue
+     * @return false se o fluxo foi descartado; nesse caso o assinante não recebe nenhum sinal
+     */
+    public <T> boolean trySubscribe(Flow.Subscriber<? super T> subscriber, SecretConverter<T> converter) {
+        Objects.requireNonNull(converter, "converter");
+        synchronized (this) {
+            if (retired) {
+                return false;
+            }
+            reservations++;
+        }
+        subscribe(subscriber, converter, true);
+        return true;
+    }
+
+    /**
+     * @return a quantidade de assinantes ativos
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    private <T> void subscribe(Flow.Subscriber<? super T> subscriber, SecretConverter<T> converter, boolean reserved) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        StreamSubscription<T> subscription = new StreamSubscription<>(subscriber, converter);
+        subscriber.onSubscribe(subscription);
+        boolean load = false;
+        boolean idle;
+        synchronized (this) {
+            if (reserved) {
+                reservations--;
+            }
+            if (closed || retired) {
+                subscription.complete();
+                return;
+            }
+            if (!subscription.cancelled) {
+                subscriptions.add(subscription);
+                if (handle != null) {
+                    subscription.offer(latest);
+                } else if (!starting) {
+                    starting = true;
+                    load = true;
+                }
+            }
+            idle = retireIfIdle();
+        }
+        if (idle) {
+            onIdle.accept(this);
+        }
+        if (load) {
+            start();
+        }
+    }
+
+    /**
+     * Carrega o valor atual e registra a observação compartilhada, fora do monitor do fluxo. Os
+     * assinantes que chegam durante a carga aguardam o seu resultado.
+     */
+    private void start() {
+        CachedSecret baseline = null;
+        WatchHandle watch = null;
+        RuntimeException failure = null;
+        try {
+            baseline = loader.get();
+            watch = watcher.get().watch(secretId, baseline, PAYLOAD, (id, oldValue, newValue) -> onChange(newValue));
+        } catch (RuntimeException e) {
+            failure = e;
+        } catch (Exception e) {
+            failure = new IllegalStateException("Falha ao observar o secret: " + secretId, e);
+        }
+        boolean idle;
+        synchronized (this) {
+            starting = false;
+            if (failure != null) {
+                for (StreamSubscription<?> subscription : subscriptions) {
+                    subscription.fail(failure);
+                }
+                subscriptions.clear();
+            } else if (closed || subscriptions.isEmpty()) {
+                watch.close();
+                latest = null;
+            } else {
+                handle = watch;
+                if (latest == null) {
+                    latest = baseline.getPayload();
+                }
+                for (StreamSubscription<?> subscription : subscriptions) {
+                    subscription.offer(latest);
+                }
+                logger.debug("Fluxo do secret '{}' iniciado", secretId);
+            }
+            idle = retireIfIdle();
+        }
+        if (idle) {
+            onIdle.accept(this);
+        }
+    }
+
+    private synchronized void onChange(String payload) {
+        latest = payload;
+        if (handle == null) {
+            // ainda iniciando: o valor é entregue junto com a conclusão da carga
+            return;
+        }
+        for (StreamSubscription<?> subscription : subscriptions) {
+            subscription.offer(payload);
+        }
+    }
+
+    private void remove(StreamSubscription<?> subscription) {
+        boolean idle;
+        synchronized (this) {
+            idle = subscriptions.remove(subscription) && retireIfIdle();
+        }
+        if (idle) {
+            onIdle.accept(this);
+        }
+    }
+
+    /**
+     * Descarta o fluxo se não houver assinantes, assinaturas reservadas nem carga em andamento.
+     * Deve ser chamado com o lock adquirido.
+     *
+     * @return true se o fluxo foi descartado
+     */
+    private boolean retireIfIdle() {
+        if (closed || retired || starting || reservations > 0 || !subscriptions.isEmpty()) {
+            return false;
+        }
+        retired = true;
+        if (handle != null) {
+            handle.close();
+            handle = null;
+        }
+        latest = null;
+        logger.debug("Fluxo do secret '{}' encerrado sem assinantes", secretId);
+        return true;
+    }
+
+    /**
+     * Encerra o fluxo, sinalizando {@code onComplete} a todos os assinantes.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (StreamSubscription<?> subscription : subscriptions) {
+            subscription.complete();
+        }
+        subscriptions.clear();
+        if (handle != null) {
+            handle.close();
+            handle = null;
+        }
+    }
+
+    /**
+     * Assinatura com conflação: guarda somente o último payload ainda não entregue e serializa os
+     * sinais ao assinante com um contador de trabalho pendente.
+     */
+    private final class StreamSubscription<T> implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final SecretConverter<T> converter;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicReference<String> pending = new AtomicReference<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile Throwable error;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+
+        StreamSubscription(Flow.Subscriber<? super T> subscriber, SecretConverter<T> converter) {
+            this.subscriber = subscriber;
+            this.converter = converter;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("A demanda deve ser positiva: " + n));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> {
+                long sum = current + added;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                remove(this);
+            }
+        }
+
+        void offer(String payload) {
+            pending.set(payload);
+            schedule();
+        }
+
+        void complete() {
+            done = true;
+            schedule();
+        }
+
+        void fail(Throwable throwable) {
+            error = throwable;
+            done = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    logger.warn("Falha ao agendar entrega do secret '{}': {}", secretId, e.getMessage());
+                    wip.set(0);
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    return;
+                }
+                if (done) {
+                    cancel();
+                    Throwable failure = error;
+                    if (failure != null) {
+                        subscriber.onError(failure);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+                if (demand.get() > 0) {
+                    String payload = pending.getAndSet(null);
+                    if (payload != null) {
+                        if (demand.get() != Long.MAX_VALUE) {
+                            demand.decrementAndGet();
+                        }
+                        T value;
+                        try {
+                            value = converter.convert(payload);
+                        } catch (Exception e) {
+                            logger.warn("Falha ao converter valor do secret '{}': {}", secretId, e.getMessage());
+                            fail(e);
+                            continue;
+                        }
+                        try {
+                            subscriber.onNext(value);
+                        } catch (RuntimeException e) {
+                            logger.warn("Assinante do secret '{}' lançou exceção em onNext: {}", secretId, e.getMessage());
+                            cancel();
+                            return;
+                        }
+                        continue;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.techpontotech.secretconnector.event;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.Filter;
+import software.amazon.awssdk.services.secretsmanager.model.FilterNameStringType;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsResponse;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+
+import com.techpontotech.secretconnector.cache.CachedSecret;
+import com.techpontotech.secretconnector.client.RoutingSecretsManagerClient;
+import com.techpontotech.secretconnector.converter.SecretConverter;
+
+/**
+ * Detector de alterações em lote para os secrets observados pelo {@code SecretManagerConnector}.
+ *
+ * <p>Uma única thread consulta periodicamente o {@code ListSecrets}, com filtros de nome agrupados
+ * de {@value #MAX_FILTER_VALUES} em {@value #MAX_FILTER_VALUES}, e compara o {@code LastChangedDate}
+ * de cada secret observado. Somente os secrets alterados são buscados com {@code GetSecretValue},
+ * e os listeners só são notificados quando o hash do payload muda.
+ *
+ * <p>Com um {@link RoutingSecretsManagerClient} (várias contas ou regiões), os secrets observados
+ * são agrupados pelo cliente de destino e cada grupo é listado no seu próprio destino; a falha de
+ * um destino não impede a verificação dos demais.
+ */
+public class SecretWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecretWatcher.class);
+
+    /** Quantidade máxima de valores por filtro aceita pelo ListSecrets. */
+    static final int MAX_FILTER_VALUES = 10;
+
+    private final SecretsManagerClient secretsManagerClient;
+    private final Function<String, CachedSecret> loader;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, WatchedSecret> watched = new ConcurrentHashMap<>();
+
+    /**
+     * @param secretsManagerClient cliente usado nas chamadas ListSecrets
+     * @param loader função que busca o valor atual de um secret (e atualiza o cache do conector)
+     * @param pollInterval intervalo entre as verificações
+     */
+    public SecretWatcher(SecretsManagerClient secretsManagerClient, Function<String, CachedSecret> loader,
+            Duration pollInterval) {
+        this.secretsManagerClient = secretsManagerClient;
+        this.loader = loader;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "secret-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = pollInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::pollSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra um listener para o secret.
+     *
+     * @param <T> o tipo do valor convertido
+     * @param secretId o nome ou ARN do secret
+     * @param baseline o valor atual do secret, usado como valor anterior na primeira notificação
+     * @param converter o conversor aplicado aos valores entregues ao listener
+     * @param listener o listener
+     * @return o handle para cancelar a observação
+     * @throws Exception se a conversão do valor atual falhar
+     */
+    public <T> WatchHandle watch(String secretId, CachedSecret baseline, SecretConverter<T> converter,
+            SecretChangeListener<T> listener) throws Exception {
+        Registration<T> registration = new Registration<>(converter, listener, baseline.convert(converter));
+        // o registro e a remoção do último listener ocorrem na mesma seção atômica da chave, para
+        // que um watch concorrente não se registre numa entrada que acabou de ser removida
+        watched.compute(secretId, (id, current) -> {
+            WatchedSecret secret = current != null ? current
+                : new WatchedSecret(id, hash(baseline.getPayload()), Instant.now());
+            secret.registrations.add(registration);
+            return secret;
+        });
+        logger.debug("Observando secret '{}'", secretId);
+        return () -> watched.computeIfPresent(secretId, (id, current) -> {
+            current.registrations.remove(registration);
+            return current.registrations.isEmpty() ? null : current;
+        });
+    }
+
+    /**
+     * @return a quantidade de secrets observados
+     */
+    public int size() {
+        return watched.size();
+    }
+
+    /**
+     * Executa imediatamente uma verificação de alterações de todos os secrets observados.
+     */
+    public synchronized void poll() {
+        if (watched.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<SecretsManagerClient, List<WatchedSecret>> group : groupByClient().entrySet()) {
+            Map<String, SecretListEntry> entries;
+            try {
+                entries = listWatchedSecrets(group.getKey(), group.getValue());
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao verificar alterações de {} secret(s) observado(s): {}",
+                    group.getValue().size(), e.getMessage());
+                continue;
+            }
+            for (WatchedSecret secret : group.getValue()) {
+                check(secret, entries);
+            }
+        }
+    }
+
+    private void check(WatchedSecret secret, Map<String, SecretListEntry> entries) {
+        SecretListEntry entry = entries.get(secret.name);
+        if (entry == null) {
+            entry = entries.get(secret.arnName);
+        }
+        if (entry == null || entry.lastChangedDate() == null) {
+            return;
+        }
+        Instant changed = entry.lastChangedDate();
+        Instant reference = secret.lastChanged != null ? secret.lastChanged : secret.registeredAt;
+        if (changed.isAfter(reference)) {
+            try {
+                reload(secret);
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao recarregar o secret '{}': {}", secret.secretId, e.getMessage());
+                return;
+            }
+        }
+        secret.lastChanged = changed;
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao verificar alterações dos secrets observados: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Agrupa os secrets observados pelo cliente que lista cada um deles.
+     */
+    private Map<SecretsManagerClient, List<WatchedSecret>> groupByClient() {
+        Map<SecretsManagerClient, List<WatchedSecret>> groups = new IdentityHashMap<>();
+        for (WatchedSecret secret : watched.values()) {
+            SecretsManagerClient client;
+            try {
+                client = listingClient(secret.secretId);
+            } catch (RuntimeException e) {
+                logger.warn("Secret observado '{}' sem cliente de destino: {}", secret.secretId, e.getMessage());
+                continue;
+            }
+            groups.computeIfAbsent(client, key -> new ArrayList<>()).add(secret);
+        }
+        return groups;
+    }
+
+    private SecretsManagerClient listingClient(String secretId) {
+        SecretsManagerClient client = secretsManagerClient;
+        while (client instanceof RoutingSecretsManagerClient routing) {
+            SecretsManagerClient target = routing.clientFor(secretId);
+            if (target == client) {
+                break;
+            }
+            client = target;
+        }
+        return client;
+    }
+
+    private Map<String, SecretListEntry> listWatchedSecrets(SecretsManagerClient client, List<WatchedSecret> secrets) {
+        List<String> names = new ArrayList<>();
+        for (WatchedSecret secret : secrets) {
+            names.add(secret.name);
+        }
+        Map<String, SecretListEntry> entries = new HashMap<>();
+        for (int from = 0; from < names.size(); from += MAX_FILTER_VALUES) {
+            List<String> chunk = names.subList(from, Math.min(names.size(), from + MAX_FILTER_VALUES));
+            String nextToken = null;
+            do {
+                ListSecretsRequest request = ListSecretsRequest.builder()
+                    .filters(Filter.builder().key(FilterNameStringType.NAME).values(chunk).build())
+                    .nextToken(nextToken)
+                    .build();
+                ListSecretsResponse response = client.listSecrets(request);
+                for (SecretListEntry entry : response.secretList()) {
+                    entries.put(entry.name(), entry);
+                }
+                nextToken = response.nextToken();
+            } while (nextToken != null);
+        }
+        return entries;
+    }
+
+    private void reload(WatchedSecret secret) {
+        CachedSecret current = loader.apply(secret.secretId);
+        byte[] hash = hash(current.getPayload());
+        if (Arrays.equals(hash, secret.payloadHash)) {
+            logger.debug("Secret '{}' alterado sem mudança de payload", secret.secretId);
+            return;
+        }
+        secret.payloadHash = hash;
+        logger.debug("Secret '{}' alterado; notificando {} listener(s)", secret.secretId, secret.registrations.size());
+        for (Registration<?> registration : secret.registrations) {
+            registration.notify(secret.secretId, current);
+        }
+    }
+
+    private static byte[] hash(String payload) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Interrompe a thread de verificação.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        watched.clear();
+    }
+
+    private static final class WatchedSecret {
+        final String secretId;
+        final String name;
+        final String arnName;
+        final Instant registeredAt;
+        final List<Registration<?>> registrations = new CopyOnWriteArrayList<>();
+        volatile byte[] payloadHash;
+        volatile Instant lastChanged;
+
+        WatchedSecret(String secretId, byte[] payloadHash, Instant registeredAt) {
+            this.secretId = secretId;
+            this.name = SecretChangeEvent.nameOf(secretId);
+            this.arnName = SecretChangeEvent.arnNameOf(secretId);
+            this.payloadHash = payloadHash;
+            this.registeredAt = registeredAt;
+        }
+    }
+
+    private static final class Registration<T> {
+        final SecretConverter<T> converter;
+        final SecretChangeListener<T> listener;
+        volatile T lastValue;
+
+        Registration(SecretConverter<T> converter, SecretChangeListener<T> listener, T lastValue) {
+            this.converter = converter;
+            this.listener = listener;
+            this.lastValue = lastValue;
+        }
+
+        void notify(String secretId, CachedSecret current) {
+            try {
+                T newValue = current.convert(converter);
+                T oldValue = lastValue;
+                lastValue = newValue;
+                listener.onChange(secretId, oldValue, newValue);
+            } catch (Exception e) {
+                logger.warn("Falha ao notificar alteração do secret '{}': {}", secretId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.techpontotech.secretconnector.event;
+
+/**
+ * Referência a uma observação registrada; fechar o handle cancela a observação.
+ */
+public interface WatchHandle extends AutoCloseable {
+
+    /**
+     * Cancela a observação. Chamadas repetidas não têm efeito.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,19 @@
+package com.techpontotech.secretconnector.exception;
+
+/**
+ * Exceção lançada quando uma chamada ao Secrets Manager é rejeitada imediatamente porque o
+ * circuit breaker está aberto.
+ */
+public class CircuitBreakerOpenException extends SecretManagerException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construtor com mensagem de erro.
+     *
+     * @param message a mensagem de erro
+     */
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
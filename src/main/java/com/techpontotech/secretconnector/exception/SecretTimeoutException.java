@@ -0,0 +1,29 @@
+package com.techpontotech.secretconnector.exception;
+
+/**
+ * Exceção lançada quando o prazo (deadline) de uma leitura de secret expira antes de o valor
+ * estar disponível.
+ */
+public class SecretTimeoutException extends SecretManagerException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construtor com mensagem de erro.
+     *
+     * @param message a mensagem de erro
+     */
+    public SecretTimeoutException(String message) {
+        super(message);
+    }
+
+    /**
+     * Construtor com mensagem de erro e causa.
+     *
+     * @param message a mensagem de erro
+     * @param cause a exceção que causou este erro
+     */
+    public SecretTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
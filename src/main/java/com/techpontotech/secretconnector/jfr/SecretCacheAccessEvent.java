@@ -0,0 +1,39 @@
+package com.techpontotech.secretconnector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Consulta ao cache do conector. A duração cobre a obtenção do valor, incluindo a carga em caso
+ * de falta.
+ */
+@Name("com.techpontotech.secretconnector.CacheAccess")
+@Label("Secret Cache Access")
+@Category(SecretEvents.CATEGORY)
+@Description("Consulta ao cache de secrets")
+@StackTrace(false)
+public final class SecretCacheAccessEvent extends Event {
+
+    /** Valores possíveis de {@link #result}. */
+    public static final String HIT = "HIT";
+    public static final String MISS = "MISS";
+    public static final String STALE = "STALE";
+
+    @Label("Secret Id")
+    public String secretId;
+
+    @Label("Result")
+    @Description("HIT, MISS ou STALE (valor expirado servido com o circuito aberto ou prazo esgotado)")
+    public String result;
+
+    /**
+     * @param secretId o nome ou ARN do secret (substituído pelo hash, se configurado)
+     */
+    public void setSecretId(String secretId) {
+        this.secretId = SecretEvents.secretId(secretId);
+    }
+}
@@ -0,0 +1,39 @@
+package com.techpontotech.secretconnector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Conversão do payload de um secret. Conversões memorizadas na entrada do cache não geram evento.
+ */
+@Name("com.techpontotech.secretconnector.Convert")
+@Label("Secret Convert")
+@Category(SecretEvents.CATEGORY)
+@Description("Conversão do payload de um secret")
+@StackTrace(false)
+public final class SecretConvertEvent extends Event {
+
+    @Label("Secret Id")
+    public String secretId;
+
+    @Label("Converter")
+    public String converter;
+
+    @Label("Payload Length")
+    @Description("Tamanho do payload em caracteres")
+    public int payloadLength;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    /**
+     * @param secretId o nome ou ARN do secret (substituído pelo hash, se configurado)
+     */
+    public void setSecretId(String secretId) {
+        this.secretId = SecretEvents.secretId(secretId);
+    }
+}
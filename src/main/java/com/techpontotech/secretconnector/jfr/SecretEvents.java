@@ -0,0 +1,62 @@
+package com.techpontotech.secretconnector.jfr;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Configuração e utilitários dos eventos JFR do conector.
+ *
+ * <p>Os eventos são registrados somente quando uma gravação do JDK Flight Recorder com os eventos
+ * {@code com.techpontotech.secretconnector.*} habilitados está ativa; fora disso o custo é o de uma
+ * verificação de {@code shouldCommit()}. Por padrão o evento traz o nome do secret; com
+ * {@link #setHashSecretIds(boolean)} ou a propriedade de sistema {@value #HASH_SECRET_IDS_PROPERTY}
+ * o nome é substituído pelos primeiros 16 dígitos hexadecimais do seu SHA-256.
+ */
+public final class SecretEvents {
+
+    /** Propriedade de sistema que habilita o hash dos nomes dos secrets nos eventos. */
+    public static final String HASH_SECRET_IDS_PROPERTY = "secretconnector.jfr.hashSecretIds";
+
+    /** Categoria comum dos eventos do conector. */
+    static final String CATEGORY = "Secret Connector";
+
+    private static volatile boolean hashSecretIds = Boolean.getBoolean(HASH_SECRET_IDS_PROPERTY);
+
+    private SecretEvents() {
+    }
+
+    /**
+     * @param enabled se true, os eventos trazem o hash do nome do secret em vez do nome
+     */
+    public static void setHashSecretIds(boolean enabled) {
+        hashSecretIds = enabled;
+    }
+
+    public static boolean isHashSecretIds() {
+        return hashSecretIds;
+    }
+
+    /**
+     * Retorna o identificador do secret a ser gravado no evento. Só deve ser chamado após
+     * {@code shouldCommit()}, para não calcular o hash quando a gravação está desligada.
+     *
+     * @param secretId o nome ou ARN do secret
+     * @return o nome ou o seu hash, conforme a configuração
+     */
+    static String secretId(String secretId) {
+        if (!hashSecretIds || secretId == null) {
+            return secretId;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secretId.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                hex.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
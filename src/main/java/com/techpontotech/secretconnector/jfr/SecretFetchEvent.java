@@ -0,0 +1,56 @@
+package com.techpontotech.secretconnector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Chamada {@code GetSecretValue} ao Secrets Manager. A duração do evento cobre a chamada inteira;
+ * {@code networkDuration} é o tempo dentro do SDK (rede, retries e unmarshalling da resposta). O
+ * payload é mantido como recebido do SDK, sem etapa de decodificação própria.
+ */
+@Name("com.techpontotech.secretconnector.Fetch")
+@Label("Secret Fetch")
+@Category(SecretEvents.CATEGORY)
+@Description("Busca de um secret no AWS Secrets Manager")
+@StackTrace(false)
+public final class SecretFetchEvent extends Event {
+
+    /** Resultados possíveis de {@link #outcome}. */
+    public static final String SUCCESS = "SUCCESS";
+    public static final String ERROR = "ERROR";
+    public static final String THROTTLED = "THROTTLED";
+    public static final String REJECTED = "REJECTED";
+    public static final String TIMEOUT = "TIMEOUT";
+
+    @Label("Secret Id")
+    public String secretId;
+
+    @Label("Version Id")
+    public String versionId;
+
+    @Label("Payload Length")
+    @Description("Tamanho do payload em caracteres")
+    public int payloadLength;
+
+    @Label("Network Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long networkDuration;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Error Code")
+    public String errorCode;
+
+    /**
+     * @param secretId o nome ou ARN do secret (substituído pelo hash, se configurado)
+     */
+    public void setSecretId(String secretId) {
+        this.secretId = SecretEvents.secretId(secretId);
+    }
+}
@@ -0,0 +1,39 @@
+package com.techpontotech.secretconnector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recarga de um secret fora do fluxo normal de leitura (refresh explícito, eventos de rotação,
+ * observação, pré-carga e atualização de snapshots).
+ */
+@Name("com.techpontotech.secretconnector.Refresh")
+@Label("Secret Refresh")
+@Category(SecretEvents.CATEGORY)
+@Description("Recarga de um secret")
+@StackTrace(false)
+public final class SecretRefreshEvent extends Event {
+
+    @Label("Secret Id")
+    public String secretId;
+
+    @Label("Previous Version Id")
+    public String previousVersionId;
+
+    @Label("Version Id")
+    public String versionId;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    /**
+     * @param secretId o nome ou ARN do secret (substituído pelo hash, se configurado)
+     */
+    public void setSecretId(String secretId) {
+        this.secretId = SecretEvents.secretId(secretId);
+    }
+}
@@ -0,0 +1,42 @@
+package com.techpontotech.secretconnector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Chamada limitada pelo Secrets Manager (throttling) ou rejeitada pelo circuit breaker.
+ */
+@Name("com.techpontotech.secretconnector.Throttle")
+@Label("Secret Throttle")
+@Category(SecretEvents.CATEGORY)
+@Description("Chamada ao Secrets Manager limitada ou rejeitada")
+@StackTrace(false)
+public final class SecretThrottleEvent extends Event {
+
+    /** Valores possíveis de {@link #source}. */
+    public static final String SECRETS_MANAGER = "SECRETS_MANAGER";
+    public static final String CIRCUIT_BREAKER = "CIRCUIT_BREAKER";
+
+    @Label("Secret Id")
+    public String secretId;
+
+    @Label("Source")
+    public String source;
+
+    @Label("Status Code")
+    public int statusCode;
+
+    @Label("Error Code")
+    public String errorCode;
+
+    /**
+     * @param secretId o nome ou ARN do secret (substituído pelo hash, se configurado)
+     */
+    public void setSecretId(String secretId) {
+        this.secretId = SecretEvents.secretId(secretId);
+    }
+}
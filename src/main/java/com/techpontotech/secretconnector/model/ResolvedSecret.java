@@ -0,0 +1,32 @@
+package com.techpontotech.secretconnector.model;
+
+import com.techpontotech.secretconnector.converter.SecretConverter;
+import com.techpontotech.secretconnector.provider.SecretLayer;
+
+/**
+ * Secret resolvido pela cadeia de camadas, com a camada que o serviu.
+ *
+ * @param name o nome do secret
+ * @param layer a camada que serviu o secret
+ * @param versionId o identificador da versão (nulo nas camadas locais)
+ * @param payload o valor bruto do secret
+ */
+public record ResolvedSecret(String name, SecretLayer layer, String versionId, String payload) {
+
+    /**
+     * Converte o payload usando o conversor informado.
+     *
+     * @param <R> o tipo do valor convertido
+     * @param converter o conversor
+     * @return o valor convertido
+     * @throws Exception se a conversão falhar
+     */
+    public <R> R convert(SecretConverter<R> converter) throws Exception {
+        return converter.convert(payload);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResolvedSecret{name='%s', layer=%s, versionId='%s'}", name, layer, versionId);
+    }
+}
@@ -0,0 +1,31 @@
+package com.techpontotech.secretconnector.model;
+
+import com.techpontotech.secretconnector.converter.SecretConverter;
+
+/**
+ * Secret recuperado em operações em lote (pré-carga por prefixo ou tag).
+ *
+ * @param name o nome do secret
+ * @param arn o ARN do secret
+ * @param versionId o identificador da versão recuperada
+ * @param payload o valor bruto do secret
+ */
+public record SecretEntry(String name, String arn, String versionId, String payload) {
+
+    /**
+     * Converte o payload usando o conversor informado.
+     *
+     * @param <R> o tipo do valor convertido
+     * @param converter o conversor
+     * @return o valor convertido
+     * @throws Exception se a conversão falhar
+     */
+    public <R> R convert(SecretConverter<R> converter) throws Exception {
+        return converter.convert(payload);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SecretEntry{name='%s', arn='%s', versionId='%s'}", name, arn, versionId);
+    }
+}
@@ -0,0 +1,108 @@
+package com.techpontotech.secretconnector.model;
+
+import java.util.Optional;
+
+/**
+ * Resultado de uma leitura de secret sem exceções: valor encontrado, secret inexistente ou erro.
+ *
+ * <p>Exemplo:
+ * <pre>
+ * SecretResult&lt;String&gt; result = connector.tryGet("app/feature-flag", SecretConverters.asString());
+ * if (result instanceof SecretResult.Found&lt;String&gt; found) {
+ *     use(found.value());
+ * }
+ * String value = result.orElse("padrão");
+ * </pre>
+ *
+ * @param <T> o tipo do valor convertido
+ */
+public sealed interface SecretResult<T> permits SecretResult.Found, SecretResult.NotFound, SecretResult.Failed {
+
+    /**
+     * Cria um resultado com valor.
+     *
+     * @param <T> o tipo do valor
+     * @param value o valor
+     * @return o resultado
+     */
+    static <T> SecretResult<T> found(T value) {
+        return new Found<>(value);
+    }
+
+    /**
+     * Retorna o resultado de secret inexistente (instância compartilhada).
+     *
+     * @param <T> o tipo do valor
+     * @return o resultado
+     */
+    @SuppressWarnings("unchecked")
+    static <T> SecretResult<T> notFound() {
+        return (SecretResult<T>) NotFound.INSTANCE;
+    }
+
+    /**
+     * Cria um resultado de erro.
+     *
+     * @param <T> o tipo do valor
+     * @param cause a causa do erro
+     * @return o resultado
+     */
+    static <T> SecretResult<T> failed(Throwable cause) {
+        return new Failed<>(cause);
+    }
+
+    /**
+     * @return true se o secret foi encontrado e convertido
+     */
+    default boolean isFound() {
+        return this instanceof Found;
+    }
+
+    /**
+     * @return o valor, se encontrado
+     */
+    default Optional<T> toOptional() {
+        return this instanceof Found<T> found ? Optional.ofNullable(found.value()) : Optional.empty();
+    }
+
+    /**
+     * @param other o valor a retornar quando o secret não foi encontrado ou houve erro
+     * @return o valor encontrado ou {@code other}
+     */
+    default T orElse(T other) {
+        return this instanceof Found<T> found ? found.value() : other;
+    }
+
+    /**
+     * Secret encontrado e convertido.
+     *
+     * @param <T> o tipo do valor
+     * @param value o valor convertido
+     */
+    record Found<T>(T value) implements SecretResult<T> {
+
+        @Override
+        public String toString() {
+            return "Found[***]";
+        }
+    }
+
+    /**
+     * Secret inexistente ({@code ResourceNotFoundException}).
+     *
+     * @param <T> o tipo do valor
+     */
+    record NotFound<T>() implements SecretResult<T> {
+
+        private static final NotFound<?> INSTANCE = new NotFound<>();
+    }
+
+    /**
+     * Erro ao recuperar ou converter o secret.
+     *
+     * @param <T> o tipo do valor
+     * @param cause a causa do erro
+     */
+    record Failed<T>(Throwable cause) implements SecretResult<T> {
+    }
+}
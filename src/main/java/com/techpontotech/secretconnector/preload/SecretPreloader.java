@@ -0,0 +1,165 @@
+package com.techpontotech.secretconnector.preload;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.Filter;
+import software.amazon.awssdk.services.secretsmanager.model.FilterNameStringType;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsResponse;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+import software.amazon.awssdk.services.secretsmanager.model.Tag;
+
+import com.techpontotech.secretconnector.cache.CachedSecret;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.model.SecretEntry;
+
+/**
+ * Pré-carga em lote de secrets selecionados por prefixo de nome ou por tag.
+ *
+ * <p>Os secrets são listados com {@code ListSecrets} página a página, e os payloads de cada página
+ * são buscados em paralelo no executor informado (preenchendo o cache do conector). O resultado é
+ * um {@link Stream} preguiçoso: uma nova página só é solicitada quando a anterior foi consumida,
+ * de modo que conjuntos muito grandes não são mantidos inteiros em memória.
+ */
+public class SecretPreloader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecretPreloader.class);
+
+    /** Quantidade de secrets por página do ListSecrets. */
+    public static final int PAGE_SIZE = 100;
+
+    private final SecretsManagerClient secretsManagerClient;
+    private final Function<String, CachedSecret> loader;
+    private final Executor executor;
+
+    /**
+     * @param secretsManagerClient cliente usado nas chamadas ListSecrets
+     * @param loader função que busca o valor de um secret e o armazena no cache
+     * @param executor executor das buscas paralelas de cada página
+     */
+    public SecretPreloader(SecretsManagerClient secretsManagerClient, Function<String, CachedSecret> loader,
+            Executor executor) {
+        this.secretsManagerClient = secretsManagerClient;
+        this.loader = loader;
+        this.executor = executor;
+    }
+
+    /**
+     * Pré-carrega os secrets cujo nome começa com o prefixo informado.
+     *
+     * @param prefix o prefixo do nome (ex: "prod/payments/")
+     * @return stream preguiçoso dos secrets carregados
+     */
+    public Stream<SecretEntry> byPrefix(String prefix) {
+        Filter filter = Filter.builder().key(FilterNameStringType.NAME).values(prefix).build();
+        return stream(List.of(filter), entry -> entry.name() != null && entry.name().startsWith(prefix));
+    }
+
+    /**
+     * Pré-carrega os secrets que possuem a tag informada.
+     *
+     * @param key a chave da tag
+     * @param value o valor da tag
+     * @return stream preguiçoso dos secrets carregados
+     */
+    public Stream<SecretEntry> byTag(String key, String value) {
+        List<Filter> filters = List.of(
+            Filter.builder().key(FilterNameStringType.TAG_KEY).values(key).build(),
+            Filter.builder().key(FilterNameStringType.TAG_VALUE).values(value).build());
+        Tag tag = Tag.builder().key(key).value(value).build();
+        return stream(filters, entry -> entry.hasTags() && entry.tags().contains(tag));
+    }
+
+    private Stream<SecretEntry> stream(List<Filter> filters, Predicate<SecretListEntry> predicate) {
+        return StreamSupport.stream(new PageSpliterator(filters, predicate), false);
+    }
+
+    private final class PageSpliterator extends Spliterators.AbstractSpliterator<SecretEntry> {
+
+        private final List<Filter> filters;
+        private final Predicate<SecretListEntry> predicate;
+        private final Deque<SecretEntry> buffer = new ArrayDeque<>();
+        private String nextToken;
+        private boolean exhausted;
+
+        PageSpliterator(List<Filter> filters, Predicate<SecretListEntry> predicate) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.filters = filters;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SecretEntry> action) {
+            while (buffer.isEmpty() && !exhausted) {
+                fetchPage();
+            }
+            SecretEntry entry = buffer.poll();
+            if (entry == null) {
+                return false;
+            }
+            action.accept(entry);
+            return true;
+        }
+
+        private void fetchPage() {
+            ListSecretsRequest request = ListSecretsRequest.builder()
+                .filters(filters)
+                .maxResults(PAGE_SIZE)
+                .nextToken(nextToken)
+                .build();
+            ListSecretsResponse response = secretsManagerClient.listSecrets(request);
+
+            List<CompletableFuture<SecretEntry>> futures = new ArrayList<>();
+            for (SecretListEntry listed : response.secretList()) {
+                if (predicate.test(listed)) {
+                    futures.add(CompletableFuture.supplyAsync(() -> load(listed), executor));
+                }
+            }
+            for (CompletableFuture<SecretEntry> future : futures) {
+                buffer.add(join(future));
+            }
+            logger.debug("Página com {} secret(s) pré-carregada", futures.size());
+
+            nextToken = response.nextToken();
+            exhausted = nextToken == null;
+        }
+
+        private SecretEntry load(SecretListEntry listed) {
+            try {
+                CachedSecret secret = loader.apply(listed.name());
+                return new SecretEntry(listed.name(), listed.arn(), secret.getVersionId(), secret.getPayload());
+            } catch (SecretsManagerException e) {
+                throw new SecretManagerException("Falha ao pré-carregar o secret: " + listed.name(), e);
+            }
+        }
+
+        private SecretEntry join(CompletableFuture<SecretEntry> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.techpontotech.secretconnector.provider;
+
+import java.util.Map;
+
+/**
+ * Secrets definidos em variáveis de ambiente.
+ *
+ * <p>O nome da variável é o prefixo seguido do nome do secret em maiúsculas, com cada caractere
+ * que não seja letra ou dígito trocado por {@code _}: com o prefixo padrão, o secret
+ * {@code app/db-password} é lido de {@code SECRET_APP_DB_PASSWORD}.
+ */
+public class EnvironmentSecretProvider implements LocalSecretProvider {
+
+    /** Prefixo padrão das variáveis de ambiente. */
+    public static final String DEFAULT_PREFIX = "SECRET_";
+
+    private final String prefix;
+    private final Map<String, String> environment;
+
+    /**
+     * Lê as variáveis de ambiente do processo com o prefixo padrão.
+     */
+    public EnvironmentSecretProvider() {
+        this(DEFAULT_PREFIX, System.getenv());
+    }
+
+    /**
+     * @param prefix o prefixo das variáveis
+     * @param environment as variáveis (ex: {@link System#getenv()}, ou um mapa fixo nos testes)
+     */
+    public EnvironmentSecretProvider(String prefix, Map<String, String> environment) {
+        if (prefix == null || environment == null) {
+            throw new IllegalArgumentException("prefix e environment são obrigatórios");
+        }
+        this.prefix = prefix;
+        this.environment = environment;
+    }
+
+    @Override
+    public String lookup(String secretName) {
+        return environment.get(variableName(secretName));
+    }
+
+    /**
+     * @param secretName o nome do secret
+     * @return o nome da variável de ambiente que define o secret
+     */
+    public String variableName(String secretName) {
+        StringBuilder name = new StringBuilder(prefix.length() + secretName.length()).append(prefix);
+        for (int i = 0; i < secretName.length(); i++) {
+            char c = secretName.charAt(i);
+            name.append(c < 128 && Character.isLetterOrDigit(c) ? Character.toUpperCase(c) : '_');
+        }
+        return name.toString();
+    }
+}
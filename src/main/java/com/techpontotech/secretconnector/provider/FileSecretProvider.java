@@ -0,0 +1,164 @@
+package com.techpontotech.secretconnector.provider;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+
+/**
+ * Secrets definidos em um arquivo local: um objeto JSON ({@code .json}, nome do secret para valor;
+ * objetos aninhados são mantidos como JSON) ou um arquivo de properties (qualquer outra extensão).
+ *
+ * <p>O arquivo é lido por mapeamento em memória e mantido em um mapa imutável; as consultas não
+ * acessam o disco. A data de modificação e o tamanho do arquivo são verificados no máximo uma vez
+ * por {@code checkInterval}, por uma única thread, e o arquivo é relido quando mudam. Arquivo
+ * ausente equivale a um arquivo vazio; se o arquivo alterado for inválido, os valores anteriores
+ * são mantidos.
+ */
+public class FileSecretProvider implements LocalSecretProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSecretProvider.class);
+
+    /** Intervalo padrão entre as verificações de alteração do arquivo. */
+    public static final Duration DEFAULT_CHECK_INTERVAL = Duration.ofSeconds(1);
+
+    private static final Contents MISSING = new Contents(Map.of(), -1L, -1L);
+
+    private final Path path;
+    private final boolean json;
+    private final long checkIntervalNanos;
+    private final AtomicLong nextCheckNanos;
+    private volatile Contents contents;
+
+    /**
+     * @param path o arquivo
+     */
+    public FileSecretProvider(Path path) {
+        this(path, DEFAULT_CHECK_INTERVAL);
+    }
+
+    /**
+     * @param path o arquivo
+     * @param checkInterval intervalo mínimo entre as verificações de alteração (zero verifica a cada consulta)
+     */
+    public FileSecretProvider(Path path, Duration checkInterval) {
+        if (path == null) {
+            throw new IllegalArgumentException("path é obrigatório");
+        }
+        if (checkInterval == null || checkInterval.isNegative()) {
+            throw new IllegalArgumentException("checkInterval não pode ser negativo");
+        }
+        this.path = path;
+        this.json = path.getFileName().toString().toLowerCase().endsWith(".json");
+        this.checkIntervalNanos = checkInterval.toNanos();
+        this.contents = MISSING;
+        this.nextCheckNanos = new AtomicLong(System.nanoTime());
+        reloadIfChanged();
+    }
+
+    @Override
+    public String lookup(String secretName) {
+        long now = System.nanoTime();
+        long next = nextCheckNanos.get();
+        if (now - next >= 0 && nextCheckNanos.compareAndSet(next, now + checkIntervalNanos)) {
+            reloadIfChanged();
+        }
+        return contents.values.get(secretName);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private void reloadIfChanged() {
+        Contents current = contents;
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            if (current != MISSING) {
+                logger.warn("Arquivo de secrets locais removido: {}", path);
+                contents = MISSING;
+            }
+            return;
+        } catch (IOException e) {
+            logger.warn("Falha ao verificar o arquivo de secrets locais {}: {}", path, e.getMessage());
+            return;
+        }
+        long modified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+        if (modified == current.modifiedMillis && size == current.size) {
+            return;
+        }
+        try {
+            contents = new Contents(parse(read()), modified, size);
+            logger.debug("Arquivo de secrets locais carregado: {} ({} secrets)", path, contents.values.size());
+        } catch (Exception e) {
+            logger.warn("Arquivo de secrets locais inválido {}; mantendo os valores anteriores: {}", path, e.getMessage());
+        }
+    }
+
+    private String read() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return "";
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("arquivo maior que 2 GiB");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+    }
+
+    private Map<String, String> parse(String text) throws Exception {
+        if (json) {
+            if (text.isBlank()) {
+                return Map.of();
+            }
+            Map<String, String> values = new HashMap<>(SecretConverters.asFlatMap().convert(text));
+            values.values().removeIf(value -> value == null);
+            return Map.copyOf(values);
+        }
+        Properties properties = new Properties();
+        properties.load(new StringReader(text));
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
+        return Map.copyOf(values);
+    }
+
+    /**
+     * Valores do arquivo e os atributos com que foram lidos.
+     */
+    private static final class Contents {
+
+        final Map<String, String> values;
+        final long modifiedMillis;
+        final long size;
+
+        Contents(Map<String, String> values, long modifiedMillis, long size) {
+            this.values = values;
+            this.modifiedMillis = modifiedMillis;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.techpontotech.secretconnector.provider;
+
+/**
+ * Fonte local de secrets consultada antes do Secrets Manager, sem acesso à rede.
+ */
+@FunctionalInterface
+public interface LocalSecretProvider {
+
+    /**
+     * @param secretName o nome ou ARN do secret
+     * @return o valor bruto do secret, ou null se esta fonte não o define
+     */
+    String lookup(String secretName);
+}
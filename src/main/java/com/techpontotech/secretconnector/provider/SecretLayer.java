@@ -0,0 +1,19 @@
+package com.techpontotech.secretconnector.provider;
+
+/**
+ * Camadas consultadas pela {@link SecretProviderChain}, na ordem configurada para cada secret.
+ */
+public enum SecretLayer {
+
+    /** Variável de ambiente ({@link EnvironmentSecretProvider}). */
+    ENVIRONMENT,
+
+    /** Arquivo local de properties ou JSON ({@link FileSecretProvider}). */
+    FILE,
+
+    /** Cache em memória do conector, somente entradas não expiradas; nunca busca o secret. */
+    CACHE,
+
+    /** Secrets Manager, pelo caminho normal do conector (cache, carga única e circuit breaker). */
+    SECRETS_MANAGER
+}
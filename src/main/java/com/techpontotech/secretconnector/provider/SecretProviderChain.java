@@ -0,0 +1,241 @@
+package com.techpontotech.secretconnector.provider;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import com.techpontotech.secretconnector.cache.CachedSecret;
+
+/**
+ * Cadeia de camadas consultada pelo {@code SecretManagerConnector} antes do Secrets Manager, para
+ * que desenvolvimento, CI e testes resolvam secrets sem acessar a rede.
+ *
+ * <p>Cada secret percorre as camadas da primeira regra cujo padrão casa com o nome, ou as camadas
+ * padrão ({@code ENVIRONMENT, FILE, CACHE, SECRETS_MANAGER}); a primeira camada que define o
+ * secret o serve. Nos padrões, {@code *} casa com qualquer sequência de caracteres (inclusive
+ * {@code /}) e {@code ?} com um caractere.
+ *
+ * <p>Exemplo:
+ * <pre>
+ * SecretProviderChain chain = SecretProviderChain.builder()
+ *     .environment(new EnvironmentSecretProvider())
+ *     .file(Path.of("config/secrets.local.json"))
+ *     .rule("test/*", SecretLayer.ENVIRONMENT, SecretLayer.FILE)
+ *     .build();
+ * connector.setProviderChain(chain);
+ * </pre>
+ *
+ * <p>As camadas sem fonte configurada são ignoradas. Os valores locais são memorizados enquanto não
+ * mudam, de modo que as conversões também são reaproveitadas entre as leituras.
+ */
+public class SecretProviderChain {
+
+    /** Camadas usadas pelos secrets que não casam com nenhuma regra. */
+    public static final List<SecretLayer> DEFAULT_LAYERS = List.of(
+        SecretLayer.ENVIRONMENT, SecretLayer.FILE, SecretLayer.CACHE, SecretLayer.SECRETS_MANAGER);
+
+    private final Map<SecretLayer, LocalSecretProvider> providers;
+    private final List<Rule> rules;
+    private final List<SecretLayer> defaultLayers;
+    private final Map<SecretLayer, LongAdder> served = new EnumMap<>(SecretLayer.class);
+    private final ConcurrentHashMap<String, CachedSecret> localValues = new ConcurrentHashMap<>();
+
+    private SecretProviderChain(Builder builder) {
+        this.providers = new EnumMap<>(builder.providers);
+        this.rules = List.copyOf(builder.rules);
+        this.defaultLayers = builder.defaultLayers;
+        for (SecretLayer layer : SecretLayer.values()) {
+            served.put(layer, new LongAdder());
+        }
+    }
+
+    /**
+     * @return um novo builder sem fontes locais e com as camadas padrão
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param secretName o nome ou ARN do secret
+     * @return as camadas consultadas para o secret, em ordem
+     */
+    public List<SecretLayer> layersFor(String secretName) {
+        for (Rule rule : rules) {
+            if (rule.pattern.matcher(secretName).matches()) {
+                return rule.layers;
+            }
+        }
+        return defaultLayers;
+    }
+
+    /**
+     * Consulta uma camada local ({@code ENVIRONMENT} ou {@code FILE}).
+     *
+     * @param layer a camada
+     * @param secretName o nome ou ARN do secret
+     * @return o secret, ou null se a camada não tem fonte configurada ou não define o secret
+     */
+    public CachedSecret lookup(SecretLayer layer, String secretName) {
+        LocalSecretProvider provider = providers.get(layer);
+        if (provider == null) {
+            return null;
+        }
+        String value = provider.lookup(secretName);
+        if (value == null) {
+            return null;
+        }
+        String key = layer.name() + ':' + secretName;
+        CachedSecret known = localValues.get(key);
+        if (known != null && known.getPayload().equals(value)) {
+            return known;
+        }
+        long now = System.nanoTime();
+        CachedSecret secret = new CachedSecret(secretName, value, null, now, now + Long.MAX_VALUE / 2);
+        localValues.put(key, secret);
+        return secret;
+    }
+
+    /**
+     * Registra que a camada serviu um secret.
+     *
+     * @param layer a camada
+     */
+    public void recordServed(SecretLayer layer) {
+        served.get(layer).increment();
+    }
+
+    /**
+     * @param layer a camada
+     * @return a quantidade de secrets servidos pela camada
+     */
+    public long getServedCount(SecretLayer layer) {
+        return served.get(layer).sum();
+    }
+
+    /**
+     * Regra de camadas para os secrets cujo nome casa com o padrão.
+     */
+    private static final class Rule {
+
+        final Pattern pattern;
+        final List<SecretLayer> layers;
+
+        Rule(Pattern pattern, List<SecretLayer> layers) {
+            this.pattern = pattern;
+            this.layers = layers;
+        }
+    }
+
+    /**
+     * Builder de {@link SecretProviderChain}.
+     */
+    public static class Builder {
+
+        private final Map<SecretLayer, LocalSecretProvider> providers = new EnumMap<>(SecretLayer.class);
+        private final List<Rule> rules = new ArrayList<>();
+        private List<SecretLayer> defaultLayers = DEFAULT_LAYERS;
+
+        private Builder() {
+        }
+
+        /**
+         * @param provider a fonte da camada {@code ENVIRONMENT}
+         * @return este builder
+         */
+        public Builder environment(LocalSecretProvider provider) {
+            return provider(SecretLayer.ENVIRONMENT, provider);
+        }
+
+        /**
+         * @param path o arquivo da camada {@code FILE} (JSON ou properties)
+         * @return este builder
+         */
+        public Builder file(Path path) {
+            return provider(SecretLayer.FILE, new FileSecretProvider(path));
+        }
+
+        /**
+         * @param provider a fonte da camada {@code FILE}
+         * @return este builder
+         */
+        public Builder file(LocalSecretProvider provider) {
+            return provider(SecretLayer.FILE, provider);
+        }
+
+        /**
+         * Adiciona uma regra; as regras são avaliadas na ordem em que foram adicionadas.
+         *
+         * @param pattern o padrão dos nomes ({@code *} e {@code ?})
+         * @param layers as camadas consultadas, em ordem
+         * @return este builder
+         */
+        public Builder rule(String pattern, SecretLayer... layers) {
+            if (pattern == null || pattern.isEmpty()) {
+                throw new IllegalArgumentException("pattern é obrigatório");
+            }
+            rules.add(new Rule(compile(pattern), layers(layers)));
+            return this;
+        }
+
+        /**
+         * @param layers as camadas dos secrets que não casam com nenhuma regra
+         * @return este builder
+         */
+        public Builder defaultLayers(SecretLayer... layers) {
+            this.defaultLayers = layers(layers);
+            return this;
+        }
+
+        /**
+         * @return a cadeia
+         */
+        public SecretProviderChain build() {
+            return new SecretProviderChain(this);
+        }
+
+        private Builder provider(SecretLayer layer, LocalSecretProvider provider) {
+            if (provider == null) {
+                throw new IllegalArgumentException("provider é obrigatório");
+            }
+            providers.put(layer, provider);
+            return this;
+        }
+
+        private static List<SecretLayer> layers(SecretLayer... layers) {
+            if (layers == null || layers.length == 0) {
+                throw new IllegalArgumentException("informe ao menos uma camada");
+            }
+            if (Arrays.asList(layers).contains(null) || Arrays.stream(layers).distinct().count() != layers.length) {
+                throw new IllegalArgumentException("camadas nulas ou repetidas: " + Arrays.toString(layers));
+            }
+            return Collections.unmodifiableList(Arrays.asList(layers.clone()));
+        }
+
+        private static Pattern compile(String glob) {
+            StringBuilder regex = new StringBuilder();
+            int literalStart = 0;
+            for (int i = 0; i < glob.length(); i++) {
+                char c = glob.charAt(i);
+                if (c == '*' || c == '?') {
+                    if (i > literalStart) {
+                        regex.append(Pattern.quote(glob.substring(literalStart, i)));
+                    }
+                    regex.append(c == '*' ? ".*" : ".");
+                    literalStart = i + 1;
+                }
+            }
+            if (literalStart < glob.length()) {
+                regex.append(Pattern.quote(glob.substring(literalStart)));
+            }
+            return Pattern.compile(regex.toString(), Pattern.DOTALL);
+        }
+    }
+}
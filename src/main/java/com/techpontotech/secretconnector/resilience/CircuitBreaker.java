@@ -0,0 +1,282 @@
+package com.techpontotech.secretconnector.resilience;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.techpontotech.secretconnector.exception.CircuitBreakerOpenException;
+
+/**
+ * Circuit breaker para as chamadas ao Secrets Manager, com janela deslizante baseada em contagem.
+ *
+ * <p>Estados:
+ * <ul>
+ *   <li>{@code CLOSED}: as chamadas passam; quando a janela tem chamadas suficientes e a taxa de
+ *       falhas ou de chamadas lentas atinge o limite, o circuito abre.</li>
+ *   <li>{@code OPEN}: as chamadas são rejeitadas imediatamente com {@link CircuitBreakerOpenException}
+ *       até o fim do tempo de espera configurado.</li>
+ *   <li>{@code HALF_OPEN}: um número limitado de chamadas de teste é permitido; se as taxas ficarem
+ *       abaixo dos limites o circuito fecha, caso contrário volta a abrir.</li>
+ * </ul>
+ *
+ * <p>Cada conector (cliente/região) possui o seu próprio circuit breaker.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * Estados do circuit breaker.
+     */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+    private static final byte SLOW_FAILURE = FAILURE | SLOW;
+
+    private final String name;
+    private final CircuitBreakerConfig config;
+    private final long slowCallNanos;
+    private final long waitNanos;
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final byte[] window;
+    private int windowIndex;
+    private int bufferedCalls;
+    private int failedCalls;
+    private int slowCalls;
+
+    private volatile State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private long notPermittedCalls;
+
+    /**
+     * @param name nome do circuit breaker (ex: região ou identificação do cliente)
+     * @param config a configuração
+     */
+    public CircuitBreaker(String name, CircuitBreakerConfig config) {
+        this.name = name;
+        this.config = config;
+        this.slowCallNanos = config.getSlowCallDuration().toNanos();
+        this.waitNanos = config.getWaitDurationInOpenState().toNanos();
+        this.window = new byte[Math.max(config.getSlidingWindowSize(), config.getPermittedCallsInHalfOpenState())];
+    }
+
+    /**
+     * Cria um circuit breaker com a configuração padrão.
+     *
+     * @param name nome do circuit breaker
+     * @return o circuit breaker
+     */
+    public static CircuitBreaker ofDefaults(String name) {
+        return new CircuitBreaker(name, CircuitBreakerConfig.defaults());
+    }
+
+    /**
+     * Executa a chamada protegida pelo circuit breaker, registrando duração e resultado.
+     *
+     * @param <T> o tipo do resultado
+     * @param call a chamada
+     * @return o resultado da chamada
+     * @throws CircuitBreakerOpenException se o circuito estiver aberto
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!tryAcquirePermission()) {
+            throw new CircuitBreakerOpenException("Circuit breaker '" + name + "' aberto; chamada ao Secrets Manager rejeitada");
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            onError(System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Solicita permissão para executar uma chamada.
+     *
+     * @return true se a chamada pode prosseguir
+     */
+    public boolean tryAcquirePermission() {
+        State transitionFrom = null;
+        boolean permitted;
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openedAtNanos >= waitNanos) {
+                transitionFrom = transition(State.HALF_OPEN);
+            }
+            switch (state) {
+                case CLOSED:
+                    permitted = true;
+                    break;
+                case HALF_OPEN:
+                    permitted = halfOpenPermits > 0;
+                    if (permitted) {
+                        halfOpenPermits--;
+                    }
+                    break;
+                default:
+                    permitted = false;
+                    break;
+            }
+            if (!permitted) {
+                notPermittedCalls++;
+            }
+        }
+        notify(transitionFrom, State.HALF_OPEN);
+        return permitted;
+    }
+
+    /**
+     * Registra uma chamada bem-sucedida.
+     *
+     * @param durationNanos a duração da chamada
+     */
+    public void onSuccess(long durationNanos) {
+        record(durationNanos >= slowCallNanos ? SLOW : SUCCESS);
+    }
+
+    /**
+     * Registra uma chamada que terminou com exceção. Exceções que não atendem ao critério de falha
+     * da configuração são registradas como sucesso.
+     *
+     * @param durationNanos a duração da chamada
+     * @param throwable a exceção lançada
+     */
+    public void onError(long durationNanos, Throwable throwable) {
+        if (!config.getRecordFailure().test(throwable)) {
+            onSuccess(durationNanos);
+            return;
+        }
+        record(durationNanos >= slowCallNanos ? SLOW_FAILURE : FAILURE);
+    }
+
+    private void record(byte outcome) {
+        State from = null;
+        State to = null;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                return;
+            }
+            int limit = state == State.HALF_OPEN ? config.getPermittedCallsInHalfOpenState() : config.getSlidingWindowSize();
+            if (bufferedCalls == limit) {
+                byte evicted = window[windowIndex];
+                failedCalls -= evicted & FAILURE;
+                slowCalls -= (evicted & SLOW) >> 1;
+            } else {
+                bufferedCalls++;
+            }
+            window[windowIndex] = outcome;
+            failedCalls += outcome & FAILURE;
+            slowCalls += (outcome & SLOW) >> 1;
+            windowIndex = (windowIndex + 1) % limit;
+
+            int minimum = state == State.HALF_OPEN ? limit : config.getMinimumNumberOfCalls();
+            if (bufferedCalls >= minimum) {
+                boolean exceeded = rate(failedCalls) >= config.getFailureRateThreshold()
+                    || rate(slowCalls) >= config.getSlowCallRateThreshold();
+                if (exceeded) {
+                    from = transition(State.OPEN);
+                    to = State.OPEN;
+                } else if (state == State.HALF_OPEN) {
+                    from = transition(State.CLOSED);
+                    to = State.CLOSED;
+                }
+            }
+        }
+        notify(from, to);
+    }
+
+    /**
+     * Retorna o circuito ao estado fechado, descartando a janela.
+     */
+    public void reset() {
+        State from;
+        synchronized (this) {
+            from = state == State.CLOSED ? null : transition(State.CLOSED);
+        }
+        notify(from, State.CLOSED);
+    }
+
+    /**
+     * Registra um listener de mudança de estado.
+     *
+     * @param listener o listener
+     */
+    public void addListener(CircuitBreakerListener listener) {
+        listeners.add(listener);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        State current = state;
+        if (current == State.OPEN) {
+            synchronized (this) {
+                if (System.nanoTime() - openedAtNanos >= waitNanos) {
+                    return State.HALF_OPEN;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return as métricas atuais
+     */
+    public synchronized CircuitBreakerMetrics getMetrics() {
+        boolean enough = bufferedCalls >= (state == State.HALF_OPEN
+            ? config.getPermittedCallsInHalfOpenState() : config.getMinimumNumberOfCalls());
+        return new CircuitBreakerMetrics(state,
+            enough ? rate(failedCalls) : -1f,
+            enough ? rate(slowCalls) : -1f,
+            bufferedCalls, failedCalls, slowCalls, notPermittedCalls);
+    }
+
+    private float rate(int calls) {
+        return bufferedCalls == 0 ? 0f : calls * 100f / bufferedCalls;
+    }
+
+    /**
+     * Altera o estado e limpa a janela. Deve ser chamado com o lock adquirido.
+     *
+     * @return o estado anterior
+     */
+    private State transition(State to) {
+        State from = state;
+        state = to;
+        windowIndex = 0;
+        bufferedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        if (to == State.OPEN) {
+            openedAtNanos = System.nanoTime();
+        } else if (to == State.HALF_OPEN) {
+            halfOpenPermits = config.getPermittedCallsInHalfOpenState();
+        }
+        return from;
+    }
+
+    private void notify(State from, State to) {
+        if (from == null) {
+            return;
+        }
+        logger.warn("Circuit breaker '{}' mudou de {} para {}", name, from, to);
+        for (CircuitBreakerListener listener : listeners) {
+            try {
+                listener.onStateChange(name, from, to);
+            } catch (RuntimeException e) {
+                logger.warn("Falha no listener do circuit breaker '{}': {}", name, e.getMessage());
+            }
+        }
+    }
+}
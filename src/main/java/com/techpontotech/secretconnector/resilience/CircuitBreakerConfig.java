@@ -0,0 +1,227 @@
+package com.techpontotech.secretconnector.resilience;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+
+import com.techpontotech.secretconnector.exception.SecretTimeoutException;
+
+/**
+ * Configuração do {@link CircuitBreaker}.
+ *
+ * <p>Valores padrão: janela das últimas 20 chamadas, mínimo de 10 chamadas para avaliar as taxas,
+ * abertura com 50% de falhas ou 80% de chamadas lentas (acima de 2 segundos), 30 segundos aberto
+ * e 3 chamadas de teste no estado semiaberto.
+ *
+ * <p>Por padrão, somente erros do servidor (5xx), throttling e falhas de rede/timeout do cliente
+ * contam como falha; erros de requisição como {@code ResourceNotFoundException} não abrem o circuito.
+ */
+public class CircuitBreakerConfig {
+
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final Duration slowCallDuration;
+    private final Duration waitDurationInOpenState;
+    private final int permittedCallsInHalfOpenState;
+    private final Predicate<Throwable> recordFailure;
+
+    private CircuitBreakerConfig(Builder builder) {
+        this.slidingWindowSize = builder.slidingWindowSize;
+        this.minimumNumberOfCalls = Math.min(builder.minimumNumberOfCalls, builder.slidingWindowSize);
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDuration = builder.slowCallDuration;
+        this.waitDurationInOpenState = builder.waitDurationInOpenState;
+        this.permittedCallsInHalfOpenState = builder.permittedCallsInHalfOpenState;
+        this.recordFailure = builder.recordFailure;
+    }
+
+    /**
+     * @return configuração com os valores padrão
+     */
+    public static CircuitBreakerConfig defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return um novo builder com os valores padrão
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Critério padrão de falha: erros 5xx, throttling e exceções que não são respostas do serviço
+     * (falhas de rede, timeouts). O prazo expirado de um chamador ({@link SecretTimeoutException})
+     * não conta como falha.
+     *
+     * @param throwable a exceção lançada pela chamada
+     * @return true se a exceção deve ser contada como falha
+     */
+    public static boolean isServiceFailure(Throwable throwable) {
+        if (throwable instanceof SecretTimeoutException) {
+            return false;
+        }
+        if (throwable instanceof AwsServiceException serviceException) {
+            return serviceException.statusCode() >= 500 || serviceException.isThrottlingException();
+        }
+        return true;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public float getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public float getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public Duration getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public Duration getWaitDurationInOpenState() {
+        return waitDurationInOpenState;
+    }
+
+    public int getPermittedCallsInHalfOpenState() {
+        return permittedCallsInHalfOpenState;
+    }
+
+    public Predicate<Throwable> getRecordFailure() {
+        return recordFailure;
+    }
+
+    /**
+     * Builder de {@link CircuitBreakerConfig}.
+     */
+    public static class Builder {
+
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private float failureRateThreshold = 50f;
+        private float slowCallRateThreshold = 80f;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 3;
+        private Predicate<Throwable> recordFailure = CircuitBreakerConfig::isServiceFailure;
+
+        private Builder() {
+        }
+
+        /**
+         * @param slidingWindowSize quantidade de chamadas recentes consideradas nas taxas
+         * @return este builder
+         */
+        public Builder slidingWindowSize(int slidingWindowSize) {
+            requirePositive(slidingWindowSize, "slidingWindowSize");
+            this.slidingWindowSize = slidingWindowSize;
+            return this;
+        }
+
+        /**
+         * @param minimumNumberOfCalls chamadas necessárias na janela antes de avaliar as taxas
+         * @return este builder
+         */
+        public Builder minimumNumberOfCalls(int minimumNumberOfCalls) {
+            requirePositive(minimumNumberOfCalls, "minimumNumberOfCalls");
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+            return this;
+        }
+
+        /**
+         * @param failureRateThreshold percentual de falhas (0 a 100) que abre o circuito
+         * @return este builder
+         */
+        public Builder failureRateThreshold(float failureRateThreshold) {
+            requirePercentage(failureRateThreshold, "failureRateThreshold");
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * @param slowCallRateThreshold percentual de chamadas lentas (0 a 100) que abre o circuito
+         * @return este builder
+         */
+        public Builder slowCallRateThreshold(float slowCallRateThreshold) {
+            requirePercentage(slowCallRateThreshold, "slowCallRateThreshold");
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        /**
+         * @param slowCallDuration duração a partir da qual uma chamada é considerada lenta
+         * @return este builder
+         */
+        public Builder slowCallDuration(Duration slowCallDuration) {
+            requirePositive(slowCallDuration, "slowCallDuration");
+            this.slowCallDuration = slowCallDuration;
+            return this;
+        }
+
+        /**
+         * @param waitDurationInOpenState tempo em que o circuito permanece aberto antes das chamadas de teste
+         * @return este builder
+         */
+        public Builder waitDurationInOpenState(Duration waitDurationInOpenState) {
+            requirePositive(waitDurationInOpenState, "waitDurationInOpenState");
+            this.waitDurationInOpenState = waitDurationInOpenState;
+            return this;
+        }
+
+        /**
+         * @param permittedCallsInHalfOpenState chamadas de teste permitidas no estado semiaberto
+         * @return este builder
+         */
+        public Builder permittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            requirePositive(permittedCallsInHalfOpenState, "permittedCallsInHalfOpenState");
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+            return this;
+        }
+
+        /**
+         * @param recordFailure critério que define quais exceções contam como falha
+         * @return este builder
+         */
+        public Builder recordFailure(Predicate<Throwable> recordFailure) {
+            if (recordFailure == null) {
+                throw new IllegalArgumentException("recordFailure não pode ser nulo");
+            }
+            this.recordFailure = recordFailure;
+            return this;
+        }
+
+        public CircuitBreakerConfig build() {
+            return new CircuitBreakerConfig(this);
+        }
+
+        private static void requirePositive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " deve ser positivo");
+            }
+        }
+
+        private static void requirePositive(Duration value, String name) {
+            if (value == null || value.isNegative() || value.isZero()) {
+                throw new IllegalArgumentException(name + " deve ser positivo");
+            }
+        }
+
+        private static void requirePercentage(float value, String name) {
+            if (value <= 0 || value > 100) {
+                throw new IllegalArgumentException(name + " deve estar entre 0 e 100");
+            }
+        }
+    }
+}
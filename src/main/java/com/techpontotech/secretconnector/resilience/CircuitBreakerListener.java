@@ -0,0 +1,17 @@
+package com.techpontotech.secretconnector.resilience;
+
+/**
+ * Listener notificado a cada mudança de estado de um {@link CircuitBreaker}.
+ */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+
+    /**
+     * Chamado após a transição de estado.
+     *
+     * @param name o nome do circuit breaker
+     * @param from o estado anterior
+     * @param to o novo estado
+     */
+    void onStateChange(String name, CircuitBreaker.State from, CircuitBreaker.State to);
+}
@@ -0,0 +1,22 @@
+package com.techpontotech.secretconnector.resilience;
+
+/**
+ * Fotografia das métricas de um {@link CircuitBreaker}.
+ *
+ * @param state o estado atual
+ * @param failureRate percentual de falhas na janela (-1 enquanto não há chamadas suficientes)
+ * @param slowCallRate percentual de chamadas lentas na janela (-1 enquanto não há chamadas suficientes)
+ * @param bufferedCalls chamadas registradas na janela
+ * @param failedCalls falhas registradas na janela
+ * @param slowCalls chamadas lentas registradas na janela
+ * @param notPermittedCalls chamadas rejeitadas com o circuito aberto desde a criação
+ */
+public record CircuitBreakerMetrics(
+        CircuitBreaker.State state,
+        float failureRate,
+        float slowCallRate,
+        int bufferedCalls,
+        int failedCalls,
+        int slowCalls,
+        long notPermittedCalls) {
+}
@@ -0,0 +1,17 @@
+package com.techpontotech.secretconnector.resilience;
+
+/**
+ * Classe de prioridade de uma busca no Secrets Manager, usada pelo {@link FetchScheduler}.
+ * As constantes estão em ordem decrescente de prioridade.
+ */
+public enum FetchPriority {
+
+    /** Leituras no caminho da requisição (ex: tokens de autenticação); padrão das chamadas do conector. */
+    INTERACTIVE,
+
+    /** Atualizações em segundo plano de secrets já em uso (eventos de rotação, credenciais, cache compartilhado). */
+    REFRESH,
+
+    /** Trabalho em lote adiável, como pré-carregamentos. */
+    BULK
+}
@@ -0,0 +1,344 @@
+package com.techpontotech.secretconnector.resilience;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.exception.SecretTimeoutException;
+
+/**
+ * Limita as buscas simultâneas no Secrets Manager e as libera por classe de prioridade.
+ *
+ * <p>Cada busca aguarda na fila da sua {@link FetchPriority} até haver capacidade. As filas são
+ * atendidas em ordem estrita: {@code REFRESH} só é liberada sem buscas {@code INTERACTIVE}
+ * aguardando, e {@code BULK} só sem buscas {@code REFRESH} nem {@code INTERACTIVE}. As filas em
+ * segundo plano nunca ocupam as vagas reservadas para {@code INTERACTIVE} e ficam paradas por
+ * {@code throttlePause} a cada throttling informado em {@link #onThrottled()}; as buscas em
+ * andamento não são interrompidas. Uma busca em segundo plano que passa a ser aguardada por uma
+ * leitura interativa pode ser promovida com {@link #promote(String)}.
+ *
+ * <p>As métricas de cada fila ({@link #getMetrics()}) incluem o tempo de espera das buscas.
+ */
+public class FetchScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FetchScheduler.class);
+
+    private final String name;
+    private final FetchSchedulerConfig config;
+    private final int backgroundLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final EnumMap<FetchPriority, Lane> lanes = new EnumMap<>(FetchPriority.class);
+    private int running;
+    private int backgroundRunning;
+    private boolean paused;
+    private long pausedUntilNanos;
+
+    /**
+     * @param name o nome do scheduler (usado nos logs)
+     * @param config a configuração
+     */
+    public FetchScheduler(String name, FetchSchedulerConfig config) {
+        this.name = name;
+        this.config = config;
+        this.backgroundLimit = config.getMaxConcurrent() - config.getReservedInteractive();
+        for (FetchPriority priority : FetchPriority.values()) {
+            lanes.put(priority, new Lane());
+        }
+    }
+
+    /**
+     * @param name o nome do scheduler
+     * @return um scheduler com a configuração padrão
+     */
+    public static FetchScheduler ofDefaults(String name) {
+        return new FetchScheduler(name, FetchSchedulerConfig.defaults());
+    }
+
+    /**
+     * Executa a chamada quando a fila da prioridade for liberada.
+     *
+     * @param <T> o tipo do resultado
+     * @param priority a prioridade da busca
+     * @param key o secret buscado, usado por {@link #promote(String)}
+     * @param call a chamada
+     * @return o resultado da chamada
+     */
+    public <T> T execute(FetchPriority priority, String key, Supplier<T> call) {
+        Permit permit = acquire(priority, key, null);
+        try {
+            return call.get();
+        } finally {
+            permit.close();
+        }
+    }
+
+    /**
+     * Aguarda a liberação da busca na fila da prioridade. A permissão deve ser fechada ao fim da busca.
+     *
+     * @param priority a prioridade da busca
+     * @param key o secret buscado, usado por {@link #promote(String)}
+     * @param timeout o tempo máximo de espera na fila, ou null para aguardar sem limite
+     * @return a permissão
+     * @throws SecretTimeoutException se o prazo expirar antes da liberação
+     * @throws SecretManagerException se a thread for interrompida enquanto aguarda
+     */
+    public Permit acquire(FetchPriority priority, String key, Duration timeout) {
+        long start = System.nanoTime();
+        Ticket ticket = new Ticket(key, priority, start);
+        lock.lock();
+        try {
+            lanes.get(priority).queue.addLast(ticket);
+            dispatch(start);
+            while (!ticket.granted) {
+                long now = System.nanoTime();
+                long wait = Long.MAX_VALUE;
+                if (timeout != null) {
+                    wait = start + timeout.toNanos() - now;
+                    if (wait <= 0) {
+                        lanes.get(ticket.priority).queue.remove(ticket);
+                        lanes.get(ticket.priority).timedOut++;
+                        throw new SecretTimeoutException("Prazo expirado aguardando a fila " + ticket.priority
+                            + " para o secret: " + key);
+                    }
+                }
+                if (paused && ticket.priority != FetchPriority.INTERACTIVE) {
+                    wait = Math.min(wait, Math.max(1L, pausedUntilNanos - now));
+                }
+                try {
+                    if (wait == Long.MAX_VALUE) {
+                        changed.await();
+                    } else {
+                        changed.awaitNanos(wait);
+                    }
+                } catch (InterruptedException e) {
+                    if (ticket.granted) {
+                        releaseLocked(ticket.priority);
+                    } else {
+                        lanes.get(ticket.priority).queue.remove(ticket);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new SecretManagerException("Interrompido aguardando a fila para o secret: " + key, e);
+                }
+                dispatch(System.nanoTime());
+            }
+            return new Permit(ticket.priority, ticket.grantedAtNanos - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Promove a {@link FetchPriority#INTERACTIVE} as buscas do secret que aguardam nas filas em
+     * segundo plano (ex: uma leitura interativa passou a aguardar essa busca).
+     *
+     * @param key o secret
+     * @return o número de buscas promovidas
+     */
+    public int promote(String key) {
+        lock.lock();
+        try {
+            int promoted = 0;
+            Lane interactive = lanes.get(FetchPriority.INTERACTIVE);
+            for (FetchPriority priority : new FetchPriority[] {FetchPriority.REFRESH, FetchPriority.BULK}) {
+                Lane lane = lanes.get(priority);
+                Iterator<Ticket> tickets = lane.queue.iterator();
+                while (tickets.hasNext()) {
+                    Ticket ticket = tickets.next();
+                    if (key.equals(ticket.key)) {
+                        tickets.remove();
+                        ticket.priority = FetchPriority.INTERACTIVE;
+                        interactive.queue.addLast(ticket);
+                        lane.promoted++;
+                        promoted++;
+                    }
+                }
+            }
+            if (promoted > 0) {
+                logger.debug("Scheduler '{}': {} buscas do secret '{}' promovidas para INTERACTIVE", name, promoted, key);
+                dispatch(System.nanoTime());
+            }
+            return promoted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Informa um throttling do Secrets Manager: as filas em segundo plano ficam paradas por
+     * {@code throttlePause}, deixando a capacidade restante para as leituras interativas.
+     */
+    public void onThrottled() {
+        long pause = config.getThrottlePause().toNanos();
+        if (pause == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            paused = true;
+            pausedUntilNanos = System.nanoTime() + pause;
+        } finally {
+            lock.unlock();
+        }
+        logger.debug("Scheduler '{}': throttling; filas em segundo plano paradas por {} ms", name,
+            config.getThrottlePause().toMillis());
+    }
+
+    /**
+     * @param priority a classe de prioridade
+     * @return as métricas da fila
+     */
+    public LaneMetrics getMetrics(FetchPriority priority) {
+        lock.lock();
+        try {
+            Lane lane = lanes.get(priority);
+            return new LaneMetrics(priority, lane.queue.size(), lane.running, lane.acquired, lane.promoted,
+                lane.timedOut, Duration.ofNanos(lane.totalQueueNanos), Duration.ofNanos(lane.maxQueueNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return as métricas de todas as filas
+     */
+    public Map<FetchPriority, LaneMetrics> getMetrics() {
+        Map<FetchPriority, LaneMetrics> metrics = new EnumMap<>(FetchPriority.class);
+        for (FetchPriority priority : FetchPriority.values()) {
+            metrics.put(priority, getMetrics(priority));
+        }
+        return metrics;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public FetchSchedulerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Libera as buscas aguardando enquanto houver capacidade, em ordem de prioridade.
+     */
+    private void dispatch(long now) {
+        if (paused && now - pausedUntilNanos >= 0) {
+            paused = false;
+        }
+        boolean granted = false;
+        while (running < config.getMaxConcurrent()) {
+            Ticket next = lanes.get(FetchPriority.INTERACTIVE).queue.pollFirst();
+            if (next == null && !paused && backgroundRunning < backgroundLimit) {
+                next = lanes.get(FetchPriority.REFRESH).queue.pollFirst();
+                if (next == null) {
+                    next = lanes.get(FetchPriority.BULK).queue.pollFirst();
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            Lane lane = lanes.get(next.priority);
+            long queued = now - next.enqueuedAtNanos;
+            next.granted = true;
+            next.grantedAtNanos = now;
+            running++;
+            lane.running++;
+            if (next.priority != FetchPriority.INTERACTIVE) {
+                backgroundRunning++;
+            }
+            lane.acquired++;
+            lane.totalQueueNanos += queued;
+            lane.maxQueueNanos = Math.max(lane.maxQueueNanos, queued);
+            granted = true;
+        }
+        if (granted) {
+            changed.signalAll();
+        }
+    }
+
+    private void releaseLocked(FetchPriority priority) {
+        running--;
+        lanes.get(priority).running--;
+        if (priority != FetchPriority.INTERACTIVE) {
+            backgroundRunning--;
+        }
+        dispatch(System.nanoTime());
+    }
+
+    /**
+     * Permissão de uma busca liberada; deve ser fechada ao fim da busca.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final FetchPriority priority;
+        private final long queueNanos;
+        private boolean released;
+
+        private Permit(FetchPriority priority, long queueNanos) {
+            this.priority = priority;
+            this.queueNanos = queueNanos;
+        }
+
+        /**
+         * @return a fila pela qual a busca foi liberada (após uma eventual promoção)
+         */
+        public FetchPriority getPriority() {
+            return priority;
+        }
+
+        /**
+         * @return o tempo de espera na fila
+         */
+        public Duration getQueueTime() {
+            return Duration.ofNanos(queueNanos);
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (!released) {
+                    released = true;
+                    releaseLocked(priority);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Lane {
+
+        final ArrayDeque<Ticket> queue = new ArrayDeque<>();
+        int running;
+        long acquired;
+        long promoted;
+        long timedOut;
+        long totalQueueNanos;
+        long maxQueueNanos;
+    }
+
+    private static final class Ticket {
+
+        final String key;
+        final long enqueuedAtNanos;
+        FetchPriority priority;
+        boolean granted;
+        long grantedAtNanos;
+
+        Ticket(String key, FetchPriority priority, long enqueuedAtNanos) {
+            this.key = key;
+            this.priority = priority;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+    }
+}
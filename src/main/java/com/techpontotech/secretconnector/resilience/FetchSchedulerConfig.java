@@ -0,0 +1,110 @@
+package com.techpontotech.secretconnector.resilience;
+
+import java.time.Duration;
+
+/**
+ * Configuração do {@link FetchScheduler}.
+ *
+ * <p>Valores padrão: até 8 buscas simultâneas, das quais 2 reservadas para
+ * {@link FetchPriority#INTERACTIVE}, e 1 segundo de pausa das filas em segundo plano a cada
+ * throttling do Secrets Manager.
+ */
+public class FetchSchedulerConfig {
+
+    private final int maxConcurrent;
+    private final int reservedInteractive;
+    private final Duration throttlePause;
+
+    private FetchSchedulerConfig(Builder builder) {
+        this.maxConcurrent = builder.maxConcurrent;
+        this.reservedInteractive = builder.reservedInteractive;
+        this.throttlePause = builder.throttlePause;
+    }
+
+    /**
+     * @return configuração com os valores padrão
+     */
+    public static FetchSchedulerConfig defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return um novo builder com os valores padrão
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getReservedInteractive() {
+        return reservedInteractive;
+    }
+
+    public Duration getThrottlePause() {
+        return throttlePause;
+    }
+
+    /**
+     * Builder de {@link FetchSchedulerConfig}.
+     */
+    public static class Builder {
+
+        private int maxConcurrent = 8;
+        private int reservedInteractive = 2;
+        private Duration throttlePause = Duration.ofSeconds(1);
+
+        private Builder() {
+        }
+
+        /**
+         * @param maxConcurrent número máximo de buscas simultâneas no Secrets Manager
+         * @return este builder
+         */
+        public Builder maxConcurrent(int maxConcurrent) {
+            if (maxConcurrent <= 0) {
+                throw new IllegalArgumentException("maxConcurrent deve ser positivo");
+            }
+            this.maxConcurrent = maxConcurrent;
+            return this;
+        }
+
+        /**
+         * @param reservedInteractive buscas simultâneas que as filas em segundo plano nunca ocupam
+         * @return este builder
+         */
+        public Builder reservedInteractive(int reservedInteractive) {
+            if (reservedInteractive < 0) {
+                throw new IllegalArgumentException("reservedInteractive não pode ser negativo");
+            }
+            this.reservedInteractive = reservedInteractive;
+            return this;
+        }
+
+        /**
+         * @param throttlePause tempo em que as filas em segundo plano ficam paradas após um throttling
+         *     (zero desabilita a pausa)
+         * @return este builder
+         */
+        public Builder throttlePause(Duration throttlePause) {
+            if (throttlePause == null || throttlePause.isNegative()) {
+                throw new IllegalArgumentException("throttlePause não pode ser negativo");
+            }
+            this.throttlePause = throttlePause;
+            return this;
+        }
+
+        /**
+         * @return a configuração
+         * @throws IllegalArgumentException se a reserva não deixar capacidade para as filas em segundo plano
+         */
+        public FetchSchedulerConfig build() {
+            if (reservedInteractive >= maxConcurrent) {
+                throw new IllegalArgumentException("reservedInteractive deve ser menor que maxConcurrent");
+            }
+            return new FetchSchedulerConfig(this);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.techpontotech.secretconnector.resilience;
+
+import java.time.Duration;
+
+/**
+ * Fotografia das métricas de uma fila do {@link FetchScheduler}.
+ *
+ * @param priority a classe de prioridade da fila
+ * @param waiting buscas aguardando na fila
+ * @param running buscas da fila em execução
+ * @param acquired buscas liberadas desde a criação
+ * @param promoted buscas promovidas a {@link FetchPriority#INTERACTIVE} enquanto aguardavam
+ * @param timedOut buscas que desistiram por prazo expirado enquanto aguardavam
+ * @param totalQueueTime tempo total de espera das buscas liberadas
+ * @param maxQueueTime maior tempo de espera de uma busca liberada
+ */
+public record LaneMetrics(
+        FetchPriority priority,
+        int waiting,
+        int running,
+        long acquired,
+        long promoted,
+        long timedOut,
+        Duration totalQueueTime,
+        Duration maxQueueTime) {
+
+    /**
+     * @return o tempo médio de espera das buscas liberadas
+     */
+    public Duration averageQueueTime() {
+        return acquired == 0 ? Duration.ZERO : totalQueueTime.dividedBy(acquired);
+    }
+}
@@ -0,0 +1,320 @@
+package com.techpontotech.secretconnector.resolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.techpontotech.secretconnector.SecretManagerConnector;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+
+/**
+ * Resolve secrets JSON que referenciam outros secrets, montando um único objeto com as
+ * referências substituídas pelos secrets referenciados.
+ *
+ * <p>É referência todo valor de texto, em qualquer nível do JSON, que seja o ARN de um secret
+ * ({@code arn:aws:secretsmanager:...:secret:...}) ou um placeholder {@code ${secret:nome}} ou
+ * {@code ${secret:nome#campo}}. Os secrets referenciados formam um grafo de dependências que é
+ * percorrido por nível: todos os secrets de um nível são buscados juntos com
+ * {@link SecretManagerConnector#getAll} (em paralelo, ou em uma única chamada com um
+ * {@code BatchSecretsManagerClient}), de modo que a latência cresce com a profundidade do grafo e
+ * não com o número de secrets. Um secret referenciado por vários outros é buscado e montado uma
+ * única vez. Referências circulares e grafos mais profundos que o limite resultam em
+ * {@link SecretManagerException}.
+ *
+ * <p>Referências a secrets JSON são substituídas pelo objeto resolvido; a secrets de texto, pelo
+ * texto. O objeto montado é memorizado por secret raiz e reaproveitado enquanto nenhum secret do
+ * grafo mudar; a verificação consulta apenas o cache do conector. Os mapas e listas retornados são
+ * imutáveis e compartilhados entre os chamadores.
+ *
+ * <p>Exemplo:
+ * <pre>
+ * NestedSecretResolver resolver = new NestedSecretResolver(connector);
+ * AppConfig config = resolver.resolve("prod/app-config", AppConfig.class);
+ * </pre>
+ */
+public class NestedSecretResolver {
+
+    /** Profundidade máxima padrão do grafo de referências. */
+    public static final int DEFAULT_MAX_DEPTH = 8;
+
+    /** Padrão dos ARNs de secrets do Secrets Manager. */
+    public static final Pattern SECRET_ARN = Pattern.compile("arn:aws[a-z-]*:secretsmanager:[a-z0-9-]+:\\d{12}:secret:.+");
+
+    private static final Pattern WHOLE_PLACEHOLDER = Pattern.compile(
+        "^" + SecretPlaceholderResolver.PLACEHOLDER.pattern() + "$");
+
+    private final SecretManagerConnector<?> connector;
+    private final int maxDepth;
+    private final ConcurrentHashMap<String, Resolution> resolutions = new ConcurrentHashMap<>();
+
+    /**
+     * @param connector o conector usado para recuperar os secrets
+     */
+    public NestedSecretResolver(SecretManagerConnector<?> connector) {
+        this(connector, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param connector o conector usado para recuperar os secrets
+     * @param maxDepth a profundidade máxima do grafo de referências (a raiz tem profundidade 0)
+     */
+    public NestedSecretResolver(SecretManagerConnector<?> connector, int maxDepth) {
+        if (connector == null) {
+            throw new IllegalArgumentException("connector não pode ser nulo");
+        }
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("maxDepth deve ser positivo");
+        }
+        this.connector = connector;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @param secretName o nome ou ARN do secret raiz
+     * @return o secret raiz com as referências substituídas (mapa, lista ou texto)
+     * @throws SecretManagerException se algum secret não puder ser recuperado ou o grafo for inválido
+     */
+    public Object resolveTree(String secretName) {
+        return resolution(secretName).tree;
+    }
+
+    /**
+     * @param secretName o nome ou ARN do secret raiz
+     * @return o JSON do secret raiz com as referências substituídas
+     * @throws SecretManagerException se algum secret não puder ser recuperado ou o grafo for inválido
+     */
+    public String resolveJson(String secretName) {
+        return resolution(secretName).json();
+    }
+
+    /**
+     * Converte o secret resolvido para o tipo informado com o {@code JsonConverterProvider}. O
+     * objeto convertido é memorizado por tipo, como o próprio objeto montado.
+     *
+     * @param <R> o tipo do objeto
+     * @param secretName o nome ou ARN do secret raiz
+     * @param type a classe do objeto
+     * @return o objeto convertido
+     * @throws SecretManagerException se algum secret não puder ser recuperado, o grafo for inválido
+     *                                ou a conversão falhar
+     */
+    public <R> R resolve(String secretName, Class<R> type) {
+        Resolution resolution = resolution(secretName);
+        Object value = resolution.converted.computeIfAbsent(type, key -> {
+            try {
+                return SecretConverters.jsonProvider().readValue(resolution.json(), key);
+            } catch (Exception e) {
+                throw new SecretManagerException("Falha ao converter o secret: " + secretName, e);
+            }
+        });
+        return type.cast(value);
+    }
+
+    /**
+     * Descarta o objeto memorizado do secret raiz.
+     *
+     * @param secretName o nome ou ARN do secret raiz
+     */
+    public void invalidate(String secretName) {
+        resolutions.remove(secretName);
+    }
+
+    private Resolution resolution(String rootName) {
+        Resolution previous = resolutions.get(rootName);
+        Map<String, String> payloads = new HashMap<>();
+        Map<String, Object> parsed = new HashMap<>();
+        Map<String, Set<String>> edges = new HashMap<>();
+        Set<String> level = Set.of(rootName);
+        for (int depth = 0; !level.isEmpty(); depth++) {
+            if (depth > maxDepth) {
+                throw new SecretManagerException("Referências entre secrets mais profundas que " + maxDepth
+                    + " níveis a partir de: " + rootName);
+            }
+            Map<String, String> fetched = connector.getAll(level, SecretConverters.asString());
+            Set<String> next = new LinkedHashSet<>();
+            for (Map.Entry<String, String> entry : fetched.entrySet()) {
+                String secretName = entry.getKey();
+                String payload = entry.getValue();
+                payloads.put(secretName, payload);
+                Object tree = previous != null && payload.equals(previous.payloads.get(secretName))
+                    ? previous.parsed.get(secretName)
+                    : parse(secretName, payload);
+                parsed.put(secretName, tree);
+                Set<String> references = new LinkedHashSet<>();
+                collectReferences(tree, references);
+                edges.put(secretName, references);
+                for (String reference : references) {
+                    if (!payloads.containsKey(reference) && !level.contains(reference)) {
+                        next.add(reference);
+                    }
+                }
+            }
+            level = next;
+        }
+        if (previous != null && previous.payloads.equals(payloads)) {
+            return previous;
+        }
+        checkCycles(rootName, edges, new HashSet<>(), new ArrayList<>());
+        Object tree = build(rootName, parsed, new HashMap<>());
+        Resolution resolution = new Resolution(payloads, parsed, tree);
+        resolutions.put(rootName, resolution);
+        return resolution;
+    }
+
+    private static Object parse(String secretName, String payload) {
+        String trimmed = payload.trim();
+        if (!trimmed.startsWith("{") && !trimmed.startsWith("[")) {
+            return payload;
+        }
+        try {
+            return SecretConverters.jsonProvider().readValue(trimmed, Object.class);
+        } catch (Exception e) {
+            throw new SecretManagerException("Falha ao interpretar o secret como JSON: " + secretName, e);
+        }
+    }
+
+    /**
+     * @return a referência contida no texto, ou null se o texto não é referência
+     */
+    private static Reference reference(String text) {
+        if (SECRET_ARN.matcher(text).matches()) {
+            return new Reference(text, null);
+        }
+        if (text.startsWith("${secret:")) {
+            Matcher matcher = WHOLE_PLACEHOLDER.matcher(text);
+            if (matcher.matches()) {
+                String field = matcher.group(2);
+                return new Reference(matcher.group(1).trim(), field != null ? field.trim() : null);
+            }
+        }
+        return null;
+    }
+
+    private static void collectReferences(Object node, Set<String> references) {
+        if (node instanceof Map<?, ?> map) {
+            for (Object value : map.values()) {
+                collectReferences(value, references);
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object value : list) {
+                collectReferences(value, references);
+            }
+        } else if (node instanceof String text) {
+            Reference reference = reference(text);
+            if (reference != null) {
+                references.add(reference.secretName());
+            }
+        }
+    }
+
+    private static void checkCycles(String secretName, Map<String, Set<String>> edges, Set<String> done,
+            List<String> path) {
+        if (done.contains(secretName)) {
+            return;
+        }
+        int index = path.indexOf(secretName);
+        if (index >= 0) {
+            List<String> cycle = new ArrayList<>(path.subList(index, path.size()));
+            cycle.add(secretName);
+            throw new SecretManagerException("Referência circular entre secrets: " + String.join(" -> ", cycle));
+        }
+        path.add(secretName);
+        for (String reference : edges.getOrDefault(secretName, Set.of())) {
+            checkCycles(reference, edges, done, path);
+        }
+        path.remove(path.size() - 1);
+        done.add(secretName);
+    }
+
+    /**
+     * Monta o secret com as referências substituídas; cada secret é montado uma única vez.
+     */
+    private static Object build(String secretName, Map<String, Object> parsed, Map<String, Object> built) {
+        Object tree = built.get(secretName);
+        if (tree == null) {
+            tree = substitute(parsed.get(secretName), parsed, built);
+            built.put(secretName, tree);
+        }
+        return tree;
+    }
+
+    private static Object substitute(Object node, Map<String, Object> parsed, Map<String, Object> built) {
+        if (node instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(entry.getKey(), substitute(entry.getValue(), parsed, built));
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+        if (node instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object value : list) {
+                copy.add(substitute(value, parsed, built));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        if (node instanceof String text) {
+            Reference reference = reference(text);
+            if (reference != null) {
+                Object target = build(reference.secretName(), parsed, built);
+                if (reference.field() == null) {
+                    return target;
+                }
+                if (!(target instanceof Map<?, ?> fields) || !fields.containsKey(reference.field())) {
+                    throw new SecretManagerException("Campo '" + reference.field() + "' não encontrado no secret: "
+                        + reference.secretName());
+                }
+                return fields.get(reference.field());
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Referência a um secret, ou a um campo dele.
+     */
+    private record Reference(String secretName, String field) {
+    }
+
+    /**
+     * Grafo resolvido a partir de um secret raiz: os payloads e JSONs interpretados de cada secret,
+     * o objeto montado e suas representações memorizadas.
+     */
+    private static final class Resolution {
+
+        final Map<String, String> payloads;
+        final Map<String, Object> parsed;
+        final Object tree;
+        final Map<Class<?>, Object> converted = new ConcurrentHashMap<>(2);
+        private volatile String json;
+
+        Resolution(Map<String, String> payloads, Map<String, Object> parsed, Object tree) {
+            this.payloads = payloads;
+            this.parsed = parsed;
+            this.tree = tree;
+        }
+
+        String json() {
+            String current = json;
+            if (current == null) {
+                try {
+                    current = tree instanceof String text ? text : SecretConverters.jsonProvider().writeValueAsString(tree);
+                } catch (Exception e) {
+                    throw new SecretManagerException("Falha ao serializar o secret resolvido", e);
+                }
+                json = current;
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.techpontotech.secretconnector.resolver;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.techpontotech.secretconnector.SecretManagerConnector;
+import com.techpontotech.secretconnector.converter.SecretConverter;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+
+/**
+ * Resolve referências {@code ${secret:nome}} e {@code ${secret:nome#campo}} em textos e mapas de
+ * propriedades.
+ *
+ * <p>Todas as referências são coletadas antes de qualquer busca: os secrets referenciados são
+ * deduplicados, recuperados em uma única passada paralela ({@link SecretManagerConnector#getAll})
+ * e cada payload JSON é interpretado uma única vez, mesmo quando vários campos do mesmo secret
+ * são referenciados. Campos com objetos ou arrays são substituídos pelo trecho JSON original.
+ *
+ * <p>Exemplo:
+ * <pre>
+ * SecretPlaceholderResolver resolver = new SecretPlaceholderResolver(connector);
+ * String url = resolver.resolve("jdbc:postgresql://${secret:prod/db#host}:${secret:prod/db#port}/app");
+ * </pre>
+ */
+public class SecretPlaceholderResolver {
+
+    /** Padrão das referências: {@code ${secret:nome}} ou {@code ${secret:nome#campo}}. */
+    public static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{secret:([^}#]+)(?:#([^}]+))?}");
+
+    private static final SecretConverter<Map<String, String>> AS_MAP = SecretConverters.asFlatMap();
+
+    private final SecretManagerConnector<?> connector;
+
+    /**
+     * @param connector o conector usado para recuperar os secrets
+     */
+    public SecretPlaceholderResolver(SecretManagerConnector<?> connector) {
+        if (connector == null) {
+            throw new IllegalArgumentException("connector não pode ser nulo");
+        }
+        this.connector = connector;
+    }
+
+    /**
+     * Substitui todas as referências do texto.
+     *
+     * @param text o texto com referências
+     * @return o texto com os valores dos secrets
+     * @throws SecretManagerException se algum secret ou campo não puder ser resolvido
+     */
+    public String resolve(String text) {
+        Set<String> secretNames = new LinkedHashSet<>();
+        collect(text, secretNames);
+        if (secretNames.isEmpty()) {
+            return text;
+        }
+        return substitute(text, new Secrets(connector.getAll(secretNames, SecretConverters.asString())));
+    }
+
+    /**
+     * Substitui as referências de todos os valores do mapa, buscando os secrets de todas as
+     * propriedades em uma única passada.
+     *
+     * @param properties as propriedades com referências
+     * @return um novo mapa, na mesma ordem, com os valores dos secrets
+     * @throws SecretManagerException se algum secret ou campo não puder ser resolvido
+     */
+    public Map<String, String> resolve(Map<String, String> properties) {
+        Set<String> secretNames = new LinkedHashSet<>();
+        for (String value : properties.values()) {
+            collect(value, secretNames);
+        }
+        Secrets secrets = new Secrets(secretNames.isEmpty()
+            ? Map.of()
+            : connector.getAll(secretNames, SecretConverters.asString()));
+
+        Map<String, String> resolved = new LinkedHashMap<>();
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            resolved.put(property.getKey(), substitute(property.getValue(), secrets));
+        }
+        return resolved;
+    }
+
+    private static void collect(String text, Collection<String> secretNames) {
+        if (text == null || text.indexOf("${secret:") < 0) {
+            return;
+        }
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        while (matcher.find()) {
+            secretNames.add(matcher.group(1).trim());
+        }
+    }
+
+    private static String substitute(String text, Secrets secrets) {
+        if (text == null || text.indexOf("${secret:") < 0) {
+            return text;
+        }
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        StringBuilder result = new StringBuilder(text.length());
+        while (matcher.find()) {
+            String secretName = matcher.group(1).trim();
+            String field = matcher.group(2);
+            String value = field == null ? secrets.raw(secretName) : secrets.field(secretName, field.trim());
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    /**
+     * Payloads recuperados, com os campos JSON interpretados sob demanda uma única vez por secret.
+     */
+    private static final class Secrets {
+        private final Map<String, String> payloads;
+        private final Map<String, Map<String, String>> parsed = new HashMap<>();
+
+        Secrets(Map<String, String> payloads) {
+            this.payloads = payloads;
+        }
+
+        String raw(String secretName) {
+            return payloads.get(secretName);
+        }
+
+        String field(String secretName, String field) {
+            Map<String, String> fields = parsed.computeIfAbsent(secretName, this::parse);
+            if (!fields.containsKey(field)) {
+                throw new SecretManagerException("Campo '" + field + "' não encontrado no secret: " + secretName);
+            }
+            String value = fields.get(field);
+            return value == null ? "" : value;
+        }
+
+        private Map<String, String> parse(String secretName) {
+            try {
+                return AS_MAP.convert(payloads.get(secretName));
+            } catch (Exception e) {
+                throw new SecretManagerException("Falha ao interpretar o secret como JSON: " + secretName, e);
+            }
+        }
+    }
+}
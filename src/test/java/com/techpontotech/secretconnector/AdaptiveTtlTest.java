@@ -0,0 +1,116 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretResponse;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.RotationRulesType;
+
+import com.techpontotech.secretconnector.cache.AdaptiveTtlPolicy;
+import com.techpontotech.secretconnector.cache.CachedSecret;
+import com.techpontotech.secretconnector.config.AdaptiveTtlConfig;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+
+/**
+ * Testes do TTL adaptativo calculado pela frequência de alteração dos secrets.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do TTL adaptativo")
+public class AdaptiveTtlTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    @Test
+    @DisplayName("Deve encurtar o TTL dos secrets que mudam com frequência e alongar o dos estáveis")
+    public void testLearnsFromObservedVersions() {
+        AdaptiveTtlPolicy policy = new AdaptiveTtlPolicy(AdaptiveTtlConfig.defaults(), Duration.ofMinutes(5), null, null);
+
+        assertEquals(Duration.ofMinutes(5), policy.observe("token", "v1", T0));
+        assertEquals(Duration.ofSeconds(30), policy.observe("token", "v2", T0.plusSeconds(60)));
+        assertEquals(Duration.ofSeconds(30), policy.observe("token", "v3", T0.plusSeconds(120)));
+        assertEquals(Duration.ofSeconds(30), policy.observe("token", "v3", T0.plusSeconds(125)));
+
+        assertEquals(Duration.ofMinutes(5), policy.observe("api-key", "v1", T0));
+        assertEquals(Duration.ofMinutes(5), policy.observe("api-key", "v1", T0.plus(Duration.ofMinutes(10))));
+        assertEquals(Duration.ofMinutes(25), policy.observe("api-key", "v1", T0.plus(Duration.ofMinutes(100))));
+        assertEquals(Duration.ofHours(1), policy.observe("api-key", "v1", T0.plus(Duration.ofDays(3))));
+        assertNull(policy.currentTtl("outro"));
+    }
+
+    @Test
+    @DisplayName("Deve usar a data da última alteração e o agendamento de rotação do DescribeSecret a partir da carga seguinte")
+    public void testUsesDescribeSecretMetadata() {
+        DescribeSecretResponse rotating = DescribeSecretResponse.builder()
+                .lastChangedDate(T0.minus(Duration.ofMinutes(20)))
+                .rotationEnabled(true)
+                .rotationRules(RotationRulesType.builder().scheduleExpression("rate(4 hours)").build())
+                .nextRotationDate(T0.plus(Duration.ofMinutes(40)))
+                .build();
+        DescribeSecretResponse stable = DescribeSecretResponse.builder()
+                .lastChangedDate(T0.minus(Duration.ofDays(200)))
+                .rotationEnabled(false)
+                .build();
+        AdaptiveTtlPolicy policy = new AdaptiveTtlPolicy(AdaptiveTtlConfig.builder().maxTtl(Duration.ofHours(6)).build(),
+                Duration.ofMinutes(5), name -> name.equals("rotating") ? rotating : stable, Runnable::run);
+
+        assertEquals(Duration.ofMinutes(5), policy.observe("rotating", "v1", T0));
+        assertEquals(Duration.ofMinutes(10), policy.observe("rotating", "v1", T0.plus(Duration.ofMinutes(30))));
+        assertEquals(Duration.ofMinutes(15), policy.observe("rotating", "v1", T0.plus(Duration.ofMinutes(40))));
+        assertEquals(Duration.ofHours(1), policy.observe("rotating", "v1", T0.plus(Duration.ofHours(5))));
+        assertEquals(Duration.ofMinutes(5), policy.observe("stable", "v1", T0));
+        assertEquals(Duration.ofHours(6), policy.observe("stable", "v1", T0.plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o TTL adaptativo às entradas do cache do conector")
+    @SuppressWarnings("unchecked")
+    public void testConnectorUsesAdaptiveTtl() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("valor").versionId("v1").build());
+        when(mockClient.describeSecret(any(Consumer.class))).thenReturn(DescribeSecretResponse.builder()
+                .lastChangedDate(Instant.now().minus(Duration.ofDays(90))).build());
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.builder().adaptiveTtl(AdaptiveTtlConfig.defaults()).build());
+
+        try {
+            assertEquals("valor", connector.get("app/api-key"));
+            CachedSecret cached = connector.getCache().peek("app/api-key");
+            assertEquals(Duration.ofMinutes(5).toNanos(), cached.getExpiresAtNanos() - cached.getLoadedAtNanos());
+            verify(mockClient, timeout(5_000)).describeSecret(any(Consumer.class));
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!Duration.ofHours(1).equals(connector.getAdaptiveTtl().currentTtl("app/api-key"))
+                    && System.nanoTime() < deadline) {
+                connector.getCache().invalidate("app/api-key");
+                assertEquals("valor", connector.get("app/api-key"));
+            }
+            cached = connector.getCache().peek("app/api-key");
+            assertEquals(Duration.ofHours(1).toNanos(), cached.getExpiresAtNanos() - cached.getLoadedAtNanos());
+            verify(mockClient, times(1)).describeSecret(any(Consumer.class));
+        } finally {
+            connector.close();
+        }
+    }
+}
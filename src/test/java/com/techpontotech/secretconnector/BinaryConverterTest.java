@@ -0,0 +1,160 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+
+import com.techpontotech.secretconnector.cache.CachedSecret;
+import com.techpontotech.secretconnector.cache.SecretWeigher;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.BinarySecretConverter;
+import com.techpontotech.secretconnector.converter.impl.BinaryConverters;
+import com.techpontotech.secretconnector.converter.impl.LengthPrefixedSchema;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.converter.spi.JsonConverterProvider;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.models.DatabaseCredentials;
+
+/**
+ * Testes dos conversores de secrets binários (CBOR, Smile e formato com tamanho prefixado).
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes dos Conversores Binários")
+public class BinaryConverterTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    private void answerBinary(byte[] payload) {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(GetSecretValueResponse.builder()
+                .secretBinary(SdkBytes.fromByteArray(payload))
+                .versionId("v1")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve converter secrets em CBOR e Smile lendo os bytes do SecretBinary")
+    public void testCborAndSmile() throws Exception {
+        DatabaseCredentials credentials = new DatabaseCredentials("db", 5432, "app", "senha", "postgres");
+        byte[] cbor = BinaryConverters.toCbor(credentials);
+        answerBinary(cbor);
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.defaults());
+        try {
+            BinarySecretConverter<DatabaseCredentials> converter = BinaryConverters.cbor(DatabaseCredentials.class);
+            DatabaseCredentials value = connector.getBinary("prod/db", converter);
+            assertEquals("senha", value.getPass());
+            assertEquals(5432, value.getPort());
+            assertNotSame(value, connector.getBinary("prod/db", converter));
+            assertThrows(SecretManagerException.class,
+                    () -> connector.getBinary("prod/db", BinaryConverters.smile(DatabaseCredentials.class)));
+        } finally {
+            connector.close();
+        }
+
+        DatabaseCredentials smile = BinaryConverters.smile(DatabaseCredentials.class)
+                .convert(SdkBytes.fromByteArray(BinaryConverters.toSmile(credentials)));
+        assertEquals("app", smile.getUser());
+    }
+
+    @Test
+    @DisplayName("Deve gravar e ler o formato com tamanho prefixado, tolerando campos novos")
+    public void testLengthPrefixed() throws Exception {
+        LengthPrefixedSchema schema = LengthPrefixedSchema.of("user", "pass", "host");
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("user", "app");
+        values.put("pass", "sẽnha-".repeat(40));
+        SdkBytes payload = schema.encode(values);
+
+        Map<String, String> decoded = schema.decode(payload);
+        assertEquals(List.of("user", "pass", "host"), List.copyOf(decoded.keySet()));
+        assertEquals(values.get("pass"), decoded.get("pass"));
+        assertNull(decoded.get("host"));
+
+        Map<String, String> older = BinaryConverters.lengthPrefixed("user", "pass").convert(payload);
+        assertEquals(Map.of("user", "app", "pass", values.get("pass")), older);
+        Map<String, String> newer = LengthPrefixedSchema.of("user", "pass", "host", "port").decode(payload);
+        assertNull(newer.get("port"));
+
+        byte[] bytes = payload.asByteArray();
+        assertThrows(IllegalArgumentException.class,
+                () -> schema.decode(SdkBytes.fromByteArray(Arrays.copyOf(bytes, bytes.length - 3))));
+        assertThrows(IllegalArgumentException.class, () -> schema.encode(Map.of("outro", "x")));
+        byte[] negativeCount = {bytes[0], (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        assertThrows(IllegalArgumentException.class, () -> schema.decode(SdkBytes.fromByteArray(negativeCount)));
+    }
+
+    @Test
+    @DisplayName("Deve manter o texto disponível para secrets binários e aceitar secrets de texto nos conversores binários")
+    public void testTextInterop() throws Exception {
+        answerBinary("{\"host\":\"db\",\"port\":5432,\"user\":\"app\",\"pass\":\"senha\"}".getBytes());
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+        try {
+            assertEquals("senha", connector.get("prod/db", SecretConverters.asFlatMap()).get("pass"));
+            assertEquals("db", connector.getBinary("prod/db", BinaryConverters.json(DatabaseCredentials.class)).getHost());
+        } finally {
+            connector.close();
+        }
+
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("{\"user\":\"texto\"}").versionId("v1").build());
+        SecretManagerConnector<String> text = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+        try {
+            assertEquals("texto",
+                    text.getBinary("prod/text", BinaryConverters.json(DatabaseCredentials.class)).getUser());
+        } finally {
+            text.close();
+        }
+
+        CachedSecret binary = new CachedSecret("b", null, SdkBytes.fromByteArray(new byte[100]), "v1", 0L, 1L);
+        assertEquals(SecretWeigher.ENTRY_OVERHEAD + 2 + 200, SecretWeigher.estimatedFromPayload().weigh("b", binary));
+    }
+
+    @Test
+    @DisplayName("Deve decodificar os bytes em UTF-8 nos providers JSON que só leem texto")
+    public void testProviderReadsBytesAsText() throws Exception {
+        JsonConverterProvider provider = new JsonConverterProvider() {
+            @Override
+            public String name() {
+                return "texto";
+            }
+
+            @Override
+            public boolean isAvailable() {
+                return true;
+            }
+
+            @Override
+            public <T> T readValue(String json, Class<T> type) {
+                return type.cast(json);
+            }
+
+            @Override
+            public String writeValueAsString(Object value) {
+                return String.valueOf(value);
+            }
+        };
+
+        assertEquals("{\"senha\":\"ç\"}", provider.readValue("{\"senha\":\"ç\"}".getBytes(StandardCharsets.UTF_8), String.class));
+    }
+}
@@ -0,0 +1,129 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.InternalServiceErrorException;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.CircuitBreakerOpenException;
+import com.techpontotech.secretconnector.resilience.CircuitBreaker;
+import com.techpontotech.secretconnector.resilience.CircuitBreakerConfig;
+
+/**
+ * Testes do circuit breaker aplicado às chamadas ao Secrets Manager.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CircuitBreaker")
+public class CircuitBreakerTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    private static CircuitBreaker breaker(Duration wait) {
+        return new CircuitBreaker("us-east-1", CircuitBreakerConfig.builder()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(wait)
+                .permittedCallsInHalfOpenState(2)
+                .build());
+    }
+
+    private static InternalServiceErrorException serverError() {
+        return InternalServiceErrorException.builder()
+                .message("falha").statusCode(500).build();
+    }
+
+    @Test
+    @DisplayName("Deve abrir após atingir a taxa de falhas e fechar após chamadas de teste bem-sucedidas")
+    public void testStateTransitions() throws Exception {
+        CircuitBreaker breaker = breaker(Duration.ofMillis(50));
+        List<String> transitions = new ArrayList<>();
+        breaker.addListener((name, from, to) -> transitions.add(from + "->" + to));
+
+        breaker.onSuccess(0);
+        breaker.onSuccess(0);
+        breaker.onError(0, serverError());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onError(0, serverError());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        assertThrows(CircuitBreakerOpenException.class, () -> breaker.execute(() -> "x"));
+        assertEquals(1, breaker.getMetrics().notPermittedCalls());
+
+        Thread.sleep(80);
+        assertEquals("ok", breaker.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals("ok", breaker.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    @DisplayName("Não deve contar secret inexistente como falha")
+    public void testClientErrorsAreNotFailures() {
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+        for (int i = 0; i < 10; i++) {
+            breaker.onError(0, ResourceNotFoundException.builder().message("não encontrado").statusCode(400).build());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getMetrics().failedCalls());
+    }
+
+    @Test
+    @DisplayName("Deve falhar rapidamente sem chamar o Secrets Manager com o circuito aberto")
+    public void testConnectorFailsFast() {
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+        connector.setCircuitBreaker(breaker(Duration.ofSeconds(30)));
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenThrow(serverError());
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(Exception.class, () -> connector.get("app/db"));
+        }
+        assertThrows(CircuitBreakerOpenException.class, () -> connector.get("app/db"));
+        assertThrows(CircuitBreakerOpenException.class, () -> connector.get("app/db", SecretConverters.asInteger()));
+
+        verify(mockClient, times(4)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve responder com o valor do cache quando o circuito está aberto")
+    public void testConnectorServesStaleValue() throws Exception {
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.builder().ttl(Duration.ofMillis(1)).build());
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+        connector.setCircuitBreaker(breaker);
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("valor").build());
+
+        assertEquals("valor", connector.get("app/db"));
+        for (int i = 0; i < 4; i++) {
+            breaker.onError(0, serverError());
+        }
+        Thread.sleep(5);
+
+        assertEquals("valor", connector.get("app/db"));
+        verify(mockClient, times(1)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+}
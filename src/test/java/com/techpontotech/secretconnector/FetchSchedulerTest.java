@@ -0,0 +1,232 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.SecretTimeoutException;
+import com.techpontotech.secretconnector.resilience.FetchPriority;
+import com.techpontotech.secretconnector.resilience.FetchScheduler;
+import com.techpontotech.secretconnector.resilience.FetchSchedulerConfig;
+
+/**
+ * Testes das filas de prioridade das buscas no Secrets Manager.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do FetchScheduler")
+public class FetchSchedulerTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condição não atingida");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reservar capacidade para leituras interativas e liberá-las antes do segundo plano")
+    public void testPriorityOrder() throws Exception {
+        FetchScheduler scheduler = new FetchScheduler("teste",
+                FetchSchedulerConfig.builder().maxConcurrent(2).reservedInteractive(1).build());
+        FetchScheduler.Permit bulk = scheduler.acquire(FetchPriority.BULK, "bulk/a", null);
+        CompletableFuture<FetchScheduler.Permit> refresh =
+                CompletableFuture.supplyAsync(() -> scheduler.acquire(FetchPriority.REFRESH, "app/b", null), executor);
+        awaitUntil(() -> scheduler.getMetrics(FetchPriority.REFRESH).waiting() == 1);
+
+        FetchScheduler.Permit interactive = scheduler.acquire(FetchPriority.INTERACTIVE, "auth/token", null);
+        CompletableFuture<FetchScheduler.Permit> second =
+                CompletableFuture.supplyAsync(() -> scheduler.acquire(FetchPriority.INTERACTIVE, "auth/key", null), executor);
+        awaitUntil(() -> scheduler.getMetrics(FetchPriority.INTERACTIVE).waiting() == 1);
+
+        bulk.close();
+        second.get(5, TimeUnit.SECONDS);
+        assertFalse(refresh.isDone());
+        interactive.close();
+        second.get().close();
+        FetchScheduler.Permit refreshed = refresh.get(5, TimeUnit.SECONDS);
+        assertTrue(refreshed.getQueueTime().compareTo(Duration.ZERO) > 0);
+        refreshed.close();
+
+        assertEquals(2, scheduler.getMetrics(FetchPriority.INTERACTIVE).acquired());
+        assertEquals(1, scheduler.getMetrics(FetchPriority.REFRESH).acquired());
+        assertTrue(scheduler.getMetrics(FetchPriority.REFRESH).averageQueueTime()
+                .compareTo(scheduler.getMetrics(FetchPriority.INTERACTIVE).averageQueueTime()) > 0);
+        assertEquals(0, scheduler.getMetrics(FetchPriority.BULK).running());
+    }
+
+    @Test
+    @DisplayName("Deve adiar o segundo plano após throttling e promover buscas aguardadas por leituras interativas")
+    public void testThrottlePauseAndPromotion() throws Exception {
+        FetchScheduler scheduler = new FetchScheduler("teste",
+                FetchSchedulerConfig.builder().throttlePause(Duration.ofSeconds(30)).build());
+        scheduler.onThrottled();
+
+        CompletableFuture<FetchScheduler.Permit> bulk =
+                CompletableFuture.supplyAsync(() -> scheduler.acquire(FetchPriority.BULK, "app/config", null), executor);
+        awaitUntil(() -> scheduler.getMetrics(FetchPriority.BULK).waiting() == 1);
+        scheduler.acquire(FetchPriority.INTERACTIVE, "auth/token", null).close();
+        assertThrows(SecretTimeoutException.class,
+                () -> scheduler.acquire(FetchPriority.REFRESH, "app/db", Duration.ofMillis(50)));
+        assertFalse(bulk.isDone());
+
+        assertEquals(1, scheduler.promote("app/config"));
+        FetchScheduler.Permit promoted = bulk.get(5, TimeUnit.SECONDS);
+        assertEquals(FetchPriority.INTERACTIVE, promoted.getPriority());
+        promoted.close();
+        assertEquals(1, scheduler.getMetrics(FetchPriority.BULK).promoted());
+        assertEquals(1, scheduler.getMetrics(FetchPriority.REFRESH).timedOut());
+        assertEquals(0, scheduler.getMetrics(FetchPriority.BULK).waiting());
+    }
+
+    @Test
+    @DisplayName("Deve manter as leituras do conector rápidas com o segundo plano saturado")
+    public void testConnectorLanes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            GetSecretValueRequest request = invocation.getArgument(0);
+            if (request.secretId().startsWith("bulk/")) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return GetSecretValueResponse.builder().secretString("valor-" + request.secretId()).versionId("v1").build();
+        });
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+        FetchScheduler scheduler = new FetchScheduler("conector",
+                FetchSchedulerConfig.builder().maxConcurrent(2).reservedInteractive(1).build());
+        connector.setFetchScheduler(scheduler);
+        try {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                    () -> connector.withPriority(FetchPriority.BULK, () -> connector.get("bulk/a", SecretConverters.asString())),
+                    executor);
+            awaitUntil(() -> scheduler.getMetrics(FetchPriority.BULK).running() == 1);
+            CompletableFuture<String> second = CompletableFuture.supplyAsync(
+                    () -> connector.withPriority(FetchPriority.BULK, () -> connector.get("bulk/b", SecretConverters.asString())),
+                    executor);
+            awaitUntil(() -> scheduler.getMetrics(FetchPriority.BULK).waiting() == 1);
+
+            assertEquals("valor-auth/token", connector.get("auth/token"));
+            assertEquals(1, scheduler.getMetrics(FetchPriority.INTERACTIVE).acquired());
+
+            release.countDown();
+            assertEquals("valor-bulk/a", first.get(5, TimeUnit.SECONDS));
+            assertEquals("valor-bulk/b", second.get(5, TimeUnit.SECONDS));
+            assertEquals(2, scheduler.getMetrics(FetchPriority.BULK).acquired());
+        } finally {
+            release.countDown();
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve buscar o valor inicial dos publishers na fila de atualização")
+    public void testPublisherUsesRefreshLane() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("valor").versionId("v1").build());
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.defaults());
+        FetchScheduler scheduler = new FetchScheduler("conector", FetchSchedulerConfig.defaults());
+        connector.setFetchScheduler(scheduler);
+        try {
+            CompletableFuture<String> first = new CompletableFuture<>();
+            connector.publisher("app/db").subscribe(new Flow.Subscriber<String>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(String item) {
+                    first.complete(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    first.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+
+            assertEquals("valor", first.get(5, TimeUnit.SECONDS));
+            assertEquals(1, scheduler.getMetrics(FetchPriority.REFRESH).acquired());
+            assertEquals(0, scheduler.getMetrics(FetchPriority.INTERACTIVE).acquired());
+        } finally {
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve atender leituras com prazo mesmo com o executor de lotes ocupado pelo segundo plano")
+    public void testDeadlineReadWithSaturatedBulk() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            GetSecretValueRequest request = invocation.getArgument(0);
+            if (request.secretId().startsWith("bulk/")) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return GetSecretValueResponse.builder().secretString("valor-" + request.secretId()).versionId("v1").build();
+        });
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.defaults());
+        FetchScheduler scheduler = new FetchScheduler("conector", FetchSchedulerConfig.defaults());
+        connector.setFetchScheduler(scheduler);
+        try {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < 3 * SecretManagerConnector.BATCH_PARALLELISM; i++) {
+                names.add("bulk/" + i);
+            }
+            CompletableFuture<Map<String, String>> bulk = CompletableFuture.supplyAsync(
+                    () -> connector.withPriority(FetchPriority.BULK, () -> connector.getAll(names, SecretConverters.asString())), executor);
+            awaitUntil(() -> scheduler.getMetrics(FetchPriority.BULK).waiting() > 0);
+
+            assertEquals("valor-auth/token", connector.get("auth/token", Duration.ofSeconds(2)));
+            assertEquals(1, scheduler.getMetrics(FetchPriority.INTERACTIVE).acquired());
+
+            release.countDown();
+            assertEquals(names.size(), bulk.get(5, TimeUnit.SECONDS).size());
+        } finally {
+            release.countDown();
+            connector.close();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.techpontotech.secretconnector;
+
+import static com.techpontotech.secretconnector.SecretResponses.listed;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+
+import com.techpontotech.secretconnector.client.AccountRoutingSecretsManagerClient;
+import com.techpontotech.secretconnector.config.MultiAccountConfig;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.config.SecretManagerClientConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.loadtest.LocalSecretsManagerEmulator;
+import com.techpontotech.secretconnector.loadtest.LocalStsEmulator;
+import com.techpontotech.secretconnector.loadtest.LocalStsEmulator.AssumeRoleCall;
+
+/**
+ * Testes do acesso multi-conta com roles assumidas e roteamento por ARN.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Acesso Multi-Conta")
+public class MultiAccountClientTest {
+
+    private static final String HUB = "arn:aws:iam::999999999999:role/hub";
+    private static final String READER_A = "arn:aws:iam::123456789012:role/reader";
+    private static final String READER_B = "arn:aws:iam::222222222222:role/reader";
+    private static final String READER_C = "arn:aws:iam::333333333333:role/reader";
+
+    @Mock
+    private SecretsManagerClient accountA;
+
+    @Mock
+    private SecretsManagerClient accountB;
+
+    @Test
+    @DisplayName("Deve extrair a conta do ARN do secret")
+    public void testAccountOf() {
+        assertEquals("222222222222",
+                AccountRoutingSecretsManagerClient.accountOf("arn:aws:secretsmanager:sa-east-1:222222222222:secret:app/db-AbCdEf"));
+        assertNull(AccountRoutingSecretsManagerClient.accountOf("app/db"));
+    }
+
+    @Test
+    @DisplayName("Deve encaminhar cada secret ao cliente da conta do ARN")
+    public void testRouting() throws Exception {
+        String arnB = "arn:aws:secretsmanager:sa-east-1:222222222222:secret:app/db-AbCdEf";
+        when(accountA.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("a").build());
+        when(accountB.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("b").build());
+
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(),
+                new AccountRoutingSecretsManagerClient("111111111111", Map.of("111111111111", accountA, "222222222222", accountB)));
+
+        assertEquals("a", connector.get("app/db"));
+        assertEquals("b", connector.get(arnB));
+        assertThrows(SecretManagerException.class,
+                () -> connector.get("arn:aws:secretsmanager:sa-east-1:333333333333:secret:app/db-AbCdEf"));
+
+        connector.close();
+        verify(accountA).close();
+        verify(accountB).close();
+    }
+
+    @Test
+    @DisplayName("Deve verificar alterações de secrets observados na conta de cada ARN")
+    public void testCrossAccountWatch() {
+        String arnB = "arn:aws:secretsmanager:sa-east-1:222222222222:secret:app/db-AbCdEf";
+        when(accountB.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("1").build(),
+                        GetSecretValueResponse.builder().secretString("2").build());
+        when(accountB.listSecrets(any(ListSecretsRequest.class)))
+                .thenReturn(listed("app/db", Instant.now().plusSeconds(60)));
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(),
+                new AccountRoutingSecretsManagerClient("111111111111", Map.of("111111111111", accountA, "222222222222", accountB)),
+                SecretCacheConfig.defaults());
+        connector.setWatchInterval(Duration.ofHours(1));
+        try {
+            List<String> changes = new ArrayList<>();
+            connector.watch(arnB, SecretConverters.asString(), (name, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+
+            connector.watcher().poll();
+
+            assertEquals(List.of("1->2"), changes);
+            verify(accountA, never()).listSecrets(any(ListSecretsRequest.class));
+        } finally {
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar roles comuns entre as cadeias e obter as credenciais na criação")
+    public void testRoleChains() throws Exception {
+        try (LocalStsEmulator sts = LocalStsEmulator.start();
+                LocalSecretsManagerEmulator secretsManager = LocalSecretsManagerEmulator.start()) {
+            String arn = secretsManager.putSecret("app/db", "valor");
+
+            MultiAccountConfig config = MultiAccountConfig.builder()
+                    .region(LocalSecretsManagerEmulator.REGION)
+                    .baseCredentials(StaticCredentialsProvider.create(AwsBasicCredentials.create("BASE", "base")))
+                    .stsEndpoint(sts.endpoint())
+                    .secretsManagerEndpoint(secretsManager.endpoint())
+                    .account(LocalSecretsManagerEmulator.ACCOUNT_ID, HUB, READER_A)
+                    .account("222222222222", HUB, READER_B)
+                    .account("333333333333", READER_C)
+                    .build();
+
+            AccountRoutingSecretsManagerClient client = SecretManagerClientConfig.createMultiAccount(config);
+            assertEquals(3, client.getClients().size());
+            assertEquals(LocalSecretsManagerEmulator.ACCOUNT_ID, client.getDefaultAccount());
+
+            assertEquals(1, sts.assumeCount(HUB));
+            assertEquals(1, sts.assumeCount(READER_A));
+            assertEquals(1, sts.assumeCount(READER_B));
+            assertEquals(1, sts.assumeCount(READER_C));
+
+            List<AssumeRoleCall> calls = sts.calls();
+            String hubKey = calls.stream().filter(call -> call.roleArn().equals(HUB)).findFirst().orElseThrow().issuedAccessKeyId();
+            for (AssumeRoleCall call : calls) {
+                String expectedCaller = call.roleArn().equals(READER_A) || call.roleArn().equals(READER_B) ? hubKey : "BASE";
+                assertEquals(expectedCaller, call.callerAccessKeyId(), call.roleArn());
+            }
+
+            SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), client);
+            assertEquals("valor", connector.get(arn));
+            assertEquals("valor", connector.get("app/db"));
+            assertEquals(4, sts.calls().size());
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar configuração sem contas ou com conta padrão desconhecida")
+    public void testInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> MultiAccountConfig.builder().region("sa-east-1").build());
+        assertThrows(IllegalArgumentException.class, () -> MultiAccountConfig.builder().account("123", READER_A));
+        assertThrows(IllegalArgumentException.class, () -> MultiAccountConfig.builder()
+                .region("sa-east-1").account("123456789012", READER_A).defaultAccount("222222222222").build());
+    }
+}
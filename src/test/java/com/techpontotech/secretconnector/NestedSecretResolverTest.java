@@ -0,0 +1,119 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.resolver.NestedSecretResolver;
+
+/**
+ * Testes da resolução de secrets que referenciam outros secrets.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do NestedSecretResolver")
+public class NestedSecretResolverTest {
+
+    private static final String DB_ARN = "arn:aws:secretsmanager:us-east-1:123456789012:secret:prod/db-AbCdEf";
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    private final Map<String, String> secrets = new ConcurrentHashMap<>();
+    private final Map<String, Integer> calls = new ConcurrentHashMap<>();
+
+    private SecretManagerConnector<String> connector() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            String secretId = invocation.getArgument(0, GetSecretValueRequest.class).secretId();
+            calls.merge(secretId, 1, Integer::sum);
+            return GetSecretValueResponse.builder().secretString(secrets.get(secretId)).versionId("v1").build();
+        });
+        return new SecretManagerConnector<>(SecretConverters.asString(), mockClient, SecretCacheConfig.defaults());
+    }
+
+    @Test
+    @DisplayName("Deve montar o grafo de referências buscando cada secret uma única vez")
+    public void testResolvesDag() {
+        secrets.put("prod/app", "{\"nome\":\"app\",\"dbCredentials\":\"" + DB_ARN + "\","
+                + "\"cache\":{\"senha\":\"${secret:prod/cache#senha}\"},\"tokens\":[\"${secret:prod/token}\"]}");
+        secrets.put(DB_ARN, "{\"usuario\":\"app\",\"senha\":\"${secret:prod/master#senha}\",\"porta\":5432}");
+        secrets.put("prod/cache", "{\"senha\":\"${secret:prod/master#senha}\"}");
+        secrets.put("prod/master", "{\"senha\":\"s3nh4\"}");
+        secrets.put("prod/token", "tok-123");
+        NestedSecretResolver resolver = new NestedSecretResolver(connector());
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> app = (Map<String, Object>) resolver.resolveTree("prod/app");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> db = (Map<String, Object>) app.get("dbCredentials");
+        assertEquals("s3nh4", db.get("senha"));
+        assertEquals(5432, db.get("porta"));
+        assertEquals(Map.of("senha", "s3nh4"), app.get("cache"));
+        assertEquals(List.of("tok-123"), app.get("tokens"));
+
+        assertSame(app, resolver.resolveTree("prod/app"));
+        assertEquals("app", resolver.resolve("prod/app", Map.class).get("nome"));
+        assertSame(resolver.resolve("prod/app", Map.class), resolver.resolve("prod/app", Map.class));
+        assertEquals(5, calls.size());
+        assertTrue(calls.values().stream().allMatch(count -> count == 1));
+    }
+
+    @Test
+    @DisplayName("Deve remontar o objeto quando um secret do grafo muda")
+    public void testRebuildsOnChange() {
+        secrets.put("prod/app", "{\"db\":\"${secret:prod/db}\"}");
+        secrets.put("prod/db", "{\"senha\":\"antiga\"}");
+        SecretManagerConnector<String> connector = connector();
+        NestedSecretResolver resolver = new NestedSecretResolver(connector);
+
+        String before = resolver.resolveJson("prod/app");
+        assertEquals("{\"db\":{\"senha\":\"antiga\"}}", before);
+
+        secrets.put("prod/db", "{\"senha\":\"nova\"}");
+        connector.invalidate("prod/db");
+        String after = resolver.resolveJson("prod/app");
+        assertNotSame(before, after);
+        assertEquals("{\"db\":{\"senha\":\"nova\"}}", after);
+        assertEquals(1, calls.get("prod/app"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar referências circulares e grafos profundos demais")
+    public void testCycleAndDepth() {
+        secrets.put("a", "{\"proximo\":\"${secret:b}\"}");
+        secrets.put("b", "{\"proximo\":\"${secret:c}\"}");
+        secrets.put("c", "{\"proximo\":\"${secret:a}\"}");
+        SecretManagerConnector<String> connector = connector();
+
+        SecretManagerException cycle = assertThrows(SecretManagerException.class,
+                () -> new NestedSecretResolver(connector).resolveTree("a"));
+        assertEquals("Referência circular entre secrets: a -> b -> c -> a", cycle.getMessage());
+
+        secrets.put("c", "{\"proximo\":\"${secret:d}\"}");
+        secrets.put("d", "fim");
+        connector.invalidate("c");
+        assertThrows(SecretManagerException.class, () -> new NestedSecretResolver(connector, 2).resolveTree("a"));
+        assertEquals("fim", ((Map<?, ?>) ((Map<?, ?>) ((Map<?, ?>) new NestedSecretResolver(connector, 3)
+                .resolveTree("a")).get("proximo")).get("proximo")).get("proximo"));
+    }
+}
@@ -0,0 +1,202 @@
+package com.techpontotech.secretconnector;
+
+import static com.techpontotech.secretconnector.SecretResponses.listed;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.InternalServiceErrorException;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+
+import com.techpontotech.secretconnector.client.RegionRoutingSecretsManagerClient;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.CircuitBreakerOpenException;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.model.SecretResult;
+import com.techpontotech.secretconnector.resilience.CircuitBreaker;
+import com.techpontotech.secretconnector.resilience.CircuitBreakerConfig;
+
+/**
+ * Testes do roteamento de secrets por região do ARN.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Roteamento por Região")
+public class RegionRoutingClientTest {
+
+    private static final String ARN_US = "arn:aws:secretsmanager:us-east-1:111111111111:secret:app/db-AbCdEf";
+    private static final String ARN_EU = "arn:aws:secretsmanager:eu-west-1:111111111111:secret:app/api-AbCdEf";
+
+    @Mock
+    private SecretsManagerClient saEast;
+
+    @Mock
+    private SecretsManagerClient usEast;
+
+    @Mock
+    private SecretsManagerClient euWest;
+
+    private RegionRoutingSecretsManagerClient routing() {
+        Map<String, SecretsManagerClient> regions = Map.of("sa-east-1", saEast, "us-east-1", usEast, "eu-west-1", euWest);
+        return new RegionRoutingSecretsManagerClient("sa-east-1", regions::get);
+    }
+
+    @Test
+    @DisplayName("Deve extrair a região do ARN e rejeitar ARNs inválidos")
+    public void testRegionOf() {
+        assertEquals("us-east-1", RegionRoutingSecretsManagerClient.regionOf(ARN_US));
+        assertNull(RegionRoutingSecretsManagerClient.regionOf("app/db"));
+        assertThrows(SecretManagerException.class,
+                () -> RegionRoutingSecretsManagerClient.regionOf("arn:aws:ssm:us-east-1:111111111111:parameter/db"));
+        assertThrows(SecretManagerException.class,
+                () -> RegionRoutingSecretsManagerClient.regionOf("arn:aws:secretsmanager::111111111111:secret:db"));
+    }
+
+    @Test
+    @DisplayName("Deve encaminhar cada secret ao cliente da região, criado no primeiro acesso")
+    public void testRouting() throws Exception {
+        when(saEast.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("sa").build());
+        when(usEast.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("us").build());
+        RegionRoutingSecretsManagerClient client = new RegionRoutingSecretsManagerClient("sa-east-1",
+                Map.of("sa-east-1", saEast, "us-east-1", usEast, "eu-west-1", euWest)::get,
+                Set.of("111111111111"), 2);
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), client);
+
+        assertEquals("sa", connector.get("app/db"));
+        assertEquals("us", connector.get(ARN_US));
+        assertThrows(SecretManagerException.class,
+                () -> connector.get("arn:aws:secretsmanager:us-east-1:222222222222:secret:app/db-AbCdEf"));
+        assertEquals(List.of("sa-east-1", "us-east-1"), client.getClients().keySet().stream().sorted().toList());
+
+        connector.close();
+        verify(saEast).close();
+        verify(usEast).close();
+        verifyNoInteractions(euWest);
+    }
+
+    @Test
+    @DisplayName("Deve buscar as regiões do lote em paralelo")
+    public void testParallelBatch() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(3);
+        when(saEast.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            barrier.await(5, TimeUnit.SECONDS);
+            return GetSecretValueResponse.builder().secretString("sa").build();
+        });
+        when(usEast.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            barrier.await(5, TimeUnit.SECONDS);
+            return GetSecretValueResponse.builder().secretString("us").build();
+        });
+        when(euWest.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            barrier.await(5, TimeUnit.SECONDS);
+            throw ResourceNotFoundException.builder().message("não encontrado").build();
+        });
+        RegionRoutingSecretsManagerClient client = routing();
+        try {
+            Map<String, SecretResult<GetSecretValueResponse>> results =
+                    client.getSecretValues(List.of("app/db", ARN_US, ARN_EU, "arn:aws:secretsmanager:invalido"));
+
+            assertEquals(List.of("app/db", ARN_US, ARN_EU, "arn:aws:secretsmanager:invalido"), List.copyOf(results.keySet()));
+            assertEquals("sa", ((SecretResult.Found<GetSecretValueResponse>) results.get("app/db")).value().secretString());
+            assertEquals("us", ((SecretResult.Found<GetSecretValueResponse>) results.get(ARN_US)).value().secretString());
+            assertInstanceOf(SecretResult.NotFound.class, results.get(ARN_EU));
+            assertInstanceOf(SecretResult.Failed.class, results.get("arn:aws:secretsmanager:invalido"));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha na criação do cliente de uma região sem descartar as demais")
+    public void testRegionFactoryFailure() {
+        when(usEast.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("us").build());
+        RegionRoutingSecretsManagerClient client = new RegionRoutingSecretsManagerClient("us-east-1", region -> {
+            if (region.equals("eu-west-1")) {
+                throw new IllegalStateException("sem credenciais para " + region);
+            }
+            return usEast;
+        });
+        try {
+            Map<String, SecretResult<GetSecretValueResponse>> results = client.getSecretValues(List.of(ARN_US, ARN_EU));
+
+            assertEquals("us", ((SecretResult.Found<GetSecretValueResponse>) results.get(ARN_US)).value().secretString());
+            assertInstanceOf(SecretResult.Failed.class, results.get(ARN_EU));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve listar os secrets observados na região de cada um")
+    public void testCrossRegionWatch() {
+        when(usEast.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("1").build(),
+                        GetSecretValueResponse.builder().secretString("2").build());
+        when(usEast.listSecrets(any(ListSecretsRequest.class)))
+                .thenReturn(listed("app/db", Instant.now().plusSeconds(60)));
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), routing(),
+                SecretCacheConfig.defaults());
+        connector.setWatchInterval(Duration.ofHours(1));
+        try {
+            List<String> changes = new ArrayList<>();
+            connector.watch(ARN_US, SecretConverters.asString(), (name, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+
+            connector.watcher().poll();
+
+            assertEquals(List.of("1->2"), changes);
+            verify(saEast, never()).listSecrets(any(ListSecretsRequest.class));
+        } finally {
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve registrar no circuit breaker as falhas de cada secret do lote")
+    public void testBatchFailuresOpenBreaker() {
+        when(saEast.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenThrow(InternalServiceErrorException.builder().statusCode(500).message("erro interno").build());
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), routing());
+        connector.setCircuitBreaker(new CircuitBreaker("sa-east-1", CircuitBreakerConfig.builder()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build()));
+        try {
+            List<String> names = List.of("app/a", "app/b", "app/c", "app/d");
+            assertThrows(SecretManagerException.class, () -> connector.getAll(names, SecretConverters.asString()));
+
+            assertEquals(CircuitBreaker.State.OPEN, connector.getCircuitBreaker().getState());
+            assertThrows(CircuitBreakerOpenException.class, () -> connector.getAll(names, SecretConverters.asString()));
+        } finally {
+            connector.close();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretResponse;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+
+import com.techpontotech.secretconnector.cache.CachedSecret;
+import com.techpontotech.secretconnector.config.CredentialsSupplierConfig;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.credentials.RotatingCredentialsSupplier;
+import com.techpontotech.secretconnector.credentials.VersionedCredentials;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.models.DatabaseCredentials;
+
+/**
+ * Testes do fornecedor de credenciais para pools de conexão.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do RotatingCredentialsSupplier")
+public class RotatingCredentialsSupplierTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    /** Versão atual do secret; null faz a busca falhar. */
+    private final AtomicReference<String> version = new AtomicReference<>("1");
+
+    private void answerCurrentVersion() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            String current = version.get();
+            if (current == null) {
+                throw new IllegalStateException("indisponível");
+            }
+            return GetSecretValueResponse.builder()
+                    .secretString("{\"host\":\"db\",\"port\":5432,\"user\":\"app\",\"pass\":\"senha-" + current + "\"}")
+                    .versionId("v" + current)
+                    .build();
+        });
+    }
+
+    @Test
+    @DisplayName("Deve incrementar a geração a cada nova versão e notificar os listeners")
+    public void testGenerations() {
+        answerCurrentVersion();
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.defaults());
+        try {
+            RotatingCredentialsSupplier<DatabaseCredentials> credentials = connector.credentialsSupplier("prod/db",
+                    SecretConverters.asObject(DatabaseCredentials.class));
+            List<VersionedCredentials<DatabaseCredentials>> rotations = new CopyOnWriteArrayList<>();
+            credentials.addListener(rotations::add);
+
+            assertEquals("senha-1", credentials.get().getPass());
+            assertEquals(1, credentials.getGeneration());
+            assertFalse(credentials.refresh());
+            assertEquals(1, credentials.getGeneration());
+
+            version.set("2");
+            assertTrue(credentials.refresh());
+            assertEquals("senha-2", credentials.get().getPass());
+            assertEquals(2, credentials.getGeneration());
+            assertFalse(credentials.isCurrent(1));
+            assertEquals(1, rotations.size());
+            assertEquals("v2", rotations.get(0).versionId());
+
+            version.set(null);
+            assertThrows(IllegalStateException.class, credentials::refresh);
+            assertEquals("senha-2", credentials.get().getPass());
+        } finally {
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve agendar a busca para antes da rotação agendada")
+    @SuppressWarnings("unchecked")
+    public void testRefreshesAheadOfRotation() {
+        answerCurrentVersion();
+        Instant rotation = Instant.now().plus(Duration.ofMinutes(30));
+        when(mockClient.describeSecret(any(Consumer.class))).thenReturn(DescribeSecretResponse.builder()
+                .rotationEnabled(true)
+                .nextRotationDate(rotation)
+                .build());
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+        try {
+            RotatingCredentialsSupplier<String> credentials = connector.credentialsSupplier("prod/db",
+                    SecretConverters.asString(), CredentialsSupplierConfig.builder()
+                            .refreshInterval(Duration.ofHours(1))
+                            .refreshAhead(Duration.ofMinutes(2))
+                            .build());
+
+            assertEquals(rotation, credentials.getNextRotation());
+            Duration untilRefresh = Duration.between(credentials.getNextRefreshAt(), rotation);
+            assertTrue(untilRefresh.compareTo(Duration.ofMinutes(2)) >= 0
+                    && untilRefresh.compareTo(Duration.ofMinutes(2).plusSeconds(5)) < 0, untilRefresh.toString());
+        } finally {
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve atualizar as credenciais em segundo plano e manter a versão atual após falhas")
+    public void testBackgroundRefresh() throws Exception {
+        answerCurrentVersion();
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+        try {
+            RotatingCredentialsSupplier<DatabaseCredentials> credentials = connector.credentialsSupplier("prod/db",
+                    SecretConverters.asObject(DatabaseCredentials.class), CredentialsSupplierConfig.builder()
+                            .refreshInterval(Duration.ofMillis(20))
+                            .rotationPollInterval(Duration.ofMillis(20))
+                            .build());
+
+            version.set(null);
+            Thread.sleep(100);
+            assertEquals("senha-1", credentials.get().getPass());
+
+            version.set("2");
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (credentials.getGeneration() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, credentials.getGeneration());
+            assertEquals("senha-2", credentials.get().getPass());
+        } finally {
+            connector.close();
+        }
+        assertThrows(SecretManagerException.class, () -> new RotatingCredentialsSupplier<>("prod/db",
+                value -> { throw new IllegalArgumentException("inválido"); },
+                name -> new CachedSecret(name, "x", "v1", 0L, 0L), null,
+                CredentialsSupplierConfig.defaults()));
+    }
+}
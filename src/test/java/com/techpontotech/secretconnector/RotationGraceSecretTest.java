@@ -0,0 +1,156 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+
+import com.techpontotech.secretconnector.cache.RotationGraceSecret;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+
+/**
+ * Testes do cache com as versões atual e anterior durante a rotação.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do RotationGraceSecret")
+public class RotationGraceSecretTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    /** Valor por rótulo de versão; ausente = rótulo inexistente. */
+    private final ConcurrentHashMap<String, String> stages = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private void answerFromStages() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            String stage = invocation.getArgument(0, GetSecretValueRequest.class).versionStage();
+            String value = stages.get(stage);
+            if (value == null) {
+                throw ResourceNotFoundException.builder().message("not found").statusCode(400).build();
+            }
+            return GetSecretValueResponse.builder().secretString(value).versionId("v-" + value).build();
+        });
+    }
+
+    private void rotate(String next) {
+        stages.put("AWSPREVIOUS", stages.get("AWSCURRENT"));
+        stages.put("AWSCURRENT", next);
+    }
+
+    @Test
+    @DisplayName("Deve carregar as versões atual e anterior")
+    public void testBothVersions() {
+        stages.put("AWSCURRENT", "nova");
+        answerFromStages();
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+
+        RotationGraceSecret secret = connector.rotationGrace("prod/db");
+        assertSame(secret, connector.rotationGrace("prod/db"));
+        assertEquals("nova", secret.current(SecretConverters.asString()));
+        assertNull(secret.previous(SecretConverters.asString()));
+
+        rotate("mais-nova");
+        assertTrue(secret.reportAuthFailure("v-nova"));
+        assertEquals("mais-nova", secret.current(SecretConverters.asString()));
+        assertEquals("nova", secret.previous(SecretConverters.asString()));
+        assertEquals("v-nova", secret.previousVersionId());
+    }
+
+    @Test
+    @DisplayName("Deve buscar no máximo uma vez por rotação, qualquer que seja o número de falhas")
+    public void testSingleRefetchPerRotation() throws Exception {
+        stages.put("AWSCURRENT", "antiga");
+        answerFromStages();
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.defaults());
+        RotationGraceSecret secret = connector.rotationGrace("prod/db");
+        assertEquals("v-antiga", secret.currentVersionId());
+        assertEquals(2, calls.get());
+
+        rotate("nova");
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> reports = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            reports.add(executor.submit(() -> {
+                start.await();
+                return secret.reportAuthFailure("v-antiga");
+            }));
+        }
+        start.countDown();
+        int refetches = 0;
+        for (Future<Boolean> report : reports) {
+            refetches += report.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, refetches);
+        assertEquals(4, calls.get());
+        assertEquals("nova", secret.current(SecretConverters.asString()));
+        assertEquals("nova", connector.get("prod/db"));
+
+        rotate("ainda-nao-aplicada");
+        stages.put("AWSCURRENT", "nova");
+        assertTrue(secret.reportAuthFailure("v-nova"));
+        assertFalse(secret.reportAuthFailure("v-nova"));
+        assertEquals(6, calls.get());
+    }
+
+    @Test
+    @DisplayName("Deve usar a versão anterior e a nova versão atual ao autenticar")
+    public void testWithFallback() throws Exception {
+        stages.put("AWSPREVIOUS", "v0");
+        stages.put("AWSCURRENT", "v1");
+        answerFromStages();
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+        RotationGraceSecret secret = connector.rotationGrace("prod/db");
+
+        assertEquals("ok-v0", secret.withFallback(SecretConverters.asString(), value -> authenticate(value, "v0")));
+        assertEquals(2, calls.get());
+
+        rotate("v2");
+        assertEquals("ok-v2", secret.withFallback(SecretConverters.asString(), value -> authenticate(value, "v2")));
+        assertEquals(4, calls.get());
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> secret.withFallback(SecretConverters.asString(), value -> authenticate(value, "v9")));
+        assertEquals(1, failure.getSuppressed().length);
+        assertThrows(IllegalStateException.class,
+                () -> secret.withFallback(SecretConverters.asString(), value -> authenticate(value, "v9")));
+        assertEquals(6, calls.get());
+    }
+
+    private static String authenticate(String password, String expected) {
+        if (!password.equals(expected)) {
+            throw new IllegalStateException("senha recusada");
+        }
+        return "ok-" + password;
+    }
+}
@@ -0,0 +1,186 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+
+import com.techpontotech.secretconnector.agent.SecretAgentClient;
+import com.techpontotech.secretconnector.agent.SecretAgentServer;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.model.SecretResult;
+
+/**
+ * Testes do agente local de secrets por socket Unix.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do agente de secrets")
+public class SecretAgentTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    @TempDir
+    Path tempDir;
+
+    private SecretManagerConnector<String> upstream;
+    private SecretAgentServer server;
+    private Path socket;
+
+    @BeforeEach
+    public void startAgent() throws Exception {
+        upstream = new SecretManagerConnector<>(SecretConverters.asString(), mockClient, SecretCacheConfig.defaults());
+        socket = tempDir.resolve("agent.sock");
+        server = new SecretAgentServer(upstream, socket);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopAgent() {
+        server.close();
+        upstream.close();
+    }
+
+    private void answerWithName() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            String name = invocation.getArgument(0, GetSecretValueRequest.class).secretId();
+            if (name.startsWith("app/missing")) {
+                throw ResourceNotFoundException.builder().message("not found").statusCode(400).build();
+            }
+            return GetSecretValueResponse.builder().secretString("valor-" + name).versionId("v1").build();
+        });
+    }
+
+    @Test
+    @DisplayName("Deve buscar cada secret uma vez para várias JVMs clientes")
+    public void testSharedCache() throws Exception {
+        answerWithName();
+        SecretManagerConnector<String> first = new SecretManagerConnector<>(SecretConverters.asString(),
+                new SecretAgentClient(socket));
+        SecretManagerConnector<String> second = new SecretManagerConnector<>(SecretConverters.asString(),
+                new SecretAgentClient(socket));
+        try {
+            assertEquals("valor-app/db", first.get("app/db"));
+            assertEquals("valor-app/db", second.get("app/db"));
+            assertEquals("valor-app/db", first.get("app/db"));
+        } finally {
+            first.close();
+            second.close();
+        }
+
+        verify(mockClient, times(1)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve buscar vários secrets em uma única requisição ao agente")
+    public void testBatchedRead() {
+        answerWithName();
+        SecretAgentClient client = new SecretAgentClient(socket);
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), client);
+        try {
+            Map<String, String> values = connector.getAll(List.of("app/a", "app/b", "app/c"), SecretConverters.asString());
+            assertEquals(Map.of("app/a", "valor-app/a", "app/b", "valor-app/b", "app/c", "valor-app/c"), values);
+
+            Map<String, SecretResult<GetSecretValueResponse>> results = client.getSecretValues(List.of("app/a", "app/missing"));
+            assertEquals("v1", results.get("app/a").toOptional().orElseThrow().versionId());
+            assertInstanceOf(SecretResult.NotFound.class, results.get("app/missing"));
+        } finally {
+            connector.close();
+        }
+        verify(mockClient, times(4)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve informar secret inexistente e recuperar após reinício do agente")
+    public void testNotFoundAndReconnect() throws Exception {
+        answerWithName();
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(),
+                new SecretAgentClient(socket), SecretCacheConfig.defaults());
+        try {
+            assertFalse(connector.tryGet("app/missing", SecretConverters.asString()).isFound());
+            assertEquals("valor-app/db", connector.get("app/db"));
+
+            server.close();
+            assertFalse(Files.exists(socket));
+            server = new SecretAgentServer(upstream, socket);
+            server.start();
+
+            connector.invalidateAll();
+            assertEquals("valor-app/db", connector.get("app/db"));
+        } finally {
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o prazo da chamada e recusar secrets binários")
+    public void testTimeoutAndBinaryRejected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            String name = invocation.getArgument(0, GetSecretValueRequest.class).secretId();
+            if (name.equals("app/slow")) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            if (name.equals("app/bin")) {
+                return GetSecretValueResponse.builder().secretBinary(SdkBytes.fromByteArray(new byte[] {(byte) 0xFF, 0}))
+                        .versionId("v1").build();
+            }
+            return GetSecretValueResponse.builder().secretString("valor-" + name).versionId("v1").build();
+        });
+        SecretAgentClient client = new SecretAgentClient(socket, 1, Duration.ofMillis(100));
+        try {
+            assertThrows(ApiCallTimeoutException.class,
+                    () -> client.getSecretValue(GetSecretValueRequest.builder().secretId("app/slow").build()));
+            GetSecretValueRequest withDeadline = GetSecretValueRequest.builder().secretId("app/slow")
+                    .overrideConfiguration(AwsRequestOverrideConfiguration.builder().apiCallTimeout(Duration.ofMillis(50)).build())
+                    .build();
+            assertThrows(ApiCallTimeoutException.class, () -> client.getSecretValue(withDeadline));
+
+            assertThrows(SecretManagerException.class,
+                    () -> client.getSecretValue(GetSecretValueRequest.builder().secretId("app/bin").build()));
+            assertEquals("valor-app/db",
+                    client.getSecretValue(GetSecretValueRequest.builder().secretId("app/db").build()).secretString());
+        } finally {
+            release.countDown();
+            client.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve iniciar um segundo agente no mesmo socket")
+    public void testSecondAgentRejected() {
+        SecretAgentServer other = new SecretAgentServer(upstream, socket);
+        assertThrows(java.io.IOException.class, other::start);
+    }
+}
@@ -0,0 +1,196 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.techpontotech.secretconnector.cache.CacheStats;
+import com.techpontotech.secretconnector.cache.CachedSecret;
+import com.techpontotech.secretconnector.cache.SecretCache;
+import com.techpontotech.secretconnector.cache.SecretWeigher;
+import com.techpontotech.secretconnector.converter.SecretConverter;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+
+/**
+ * Testes do cache de secrets com evicção W-TinyLFU.
+ */
+@DisplayName("Testes do SecretCache")
+public class SecretCacheTest {
+
+    private static CachedSecret secret(String name, String payload) {
+        long now = System.nanoTime();
+        return new CachedSecret(name, payload, "v1", now, now + 60_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("Deve armazenar e recuperar entradas")
+    public void testPutAndGet() {
+        SecretCache cache = new SecretCache(1_000, 1, SecretWeigher.singleton());
+        cache.put("a", secret("a", "valor-a"));
+
+        assertEquals("valor-a", cache.getIfPresent("a").getPayload());
+        assertNull(cache.getIfPresent("b"));
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o peso máximo configurado")
+    public void testMaximumWeight() {
+        SecretCache cache = new SecretCache(10_000, 4, SecretWeigher.estimatedFromPayload());
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("tenant/" + i, secret("tenant/" + i, "payload-" + i));
+        }
+
+        assertTrue(cache.weightedSize() <= 10_000);
+        assertTrue(cache.stats().evictionCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Deve preservar entradas frequentes durante uma varredura de acessos únicos")
+    public void testScanResistance() {
+        SecretCache cache = new SecretCache(100, 1, SecretWeigher.singleton());
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot/" + i, secret("hot/" + i, "hot"));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.getIfPresent("hot/" + i);
+            }
+        }
+        for (int i = 0; i < 10_000; i++) {
+            cache.getIfPresent("cold/" + i);
+            cache.put("cold/" + i, secret("cold/" + i, "cold"));
+        }
+
+        int retained = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.peek("hot/" + i) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 45, "entradas frequentes retidas: " + retained);
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.stats().rejectedCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Deve recusar entradas mais pesadas que um segmento")
+    public void testRejectOversizedEntry() {
+        SecretCache cache = new SecretCache(100, 1, (key, value) -> 500);
+        cache.put("grande", secret("grande", "x"));
+
+        assertNull(cache.peek("grande"));
+        assertEquals(1, cache.stats().rejectedCount());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar entradas individualmente e em massa")
+    public void testInvalidate() {
+        SecretCache cache = new SecretCache(1_000, 2, SecretWeigher.singleton());
+        cache.put("a", secret("a", "1"));
+        cache.put("b", secret("b", "2"));
+
+        assertNotNull(cache.invalidate("a"));
+        assertNull(cache.peek("a"));
+        assertEquals(1, cache.size());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    @DisplayName("Deve manter o peso consistente com leituras e invalidações concorrentes")
+    public void testConcurrentReadAndInvalidate() throws Exception {
+        SecretCache cache = new SecretCache(64, 1, SecretWeigher.singleton());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                readers.add(executor.submit(() -> {
+                    for (int i = 0; running.get(); i++) {
+                        cache.getIfPresent("k" + (i % 128));
+                    }
+                }));
+            }
+            for (int i = 0; i < 200_000; i++) {
+                String key = "k" + (i % 128);
+                cache.put(key, secret(key, "v"));
+                if (i % 3 == 0) {
+                    cache.invalidate(key);
+                }
+            }
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        assertEquals(cache.size(), cache.weightedSize());
+        assertTrue(cache.weightedSize() <= 64);
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Deve memorizar o valor convertido na entrada")
+    public void testConvertedValueIsMemoized() throws Exception {
+        AtomicInteger conversions = new AtomicInteger();
+        SecretConverter<Integer> converter = value -> {
+            conversions.incrementAndGet();
+            return SecretConverters.asInteger().convert(value);
+        };
+        CachedSecret entry = secret("numero", "42");
+
+        assertEquals(42, entry.convert(converter));
+        assertEquals(42, entry.convert(converter));
+        assertEquals(1, conversions.get());
+    }
+
+    @Test
+    @DisplayName("Não deve compartilhar entre os chamadores valores convertidos mutáveis")
+    public void testMutableValueIsNotMemoized() throws Exception {
+        CachedSecret entry = secret("config", "{\"host\":\"db\"}");
+
+        Map<String, String> first = entry.convert(SecretConverters.asFlatMap());
+        first.put("host", "alterado");
+        Map<String, String> second = entry.convert(SecretConverters.asFlatMap());
+
+        assertNotSame(first, second);
+        assertEquals("db", second.get("host"));
+        assertSame(SecretConverters.asObject(Map.class), SecretConverters.asObject(Map.class));
+    }
+
+    @Test
+    @DisplayName("Deve validar os parâmetros do cache")
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SecretCache(0, 1, SecretWeigher.singleton()));
+        assertThrows(IllegalArgumentException.class, () -> new SecretCache(10, 0, SecretWeigher.singleton()));
+        assertThrows(IllegalArgumentException.class, () -> new SecretCache(10, 1, null));
+    }
+}
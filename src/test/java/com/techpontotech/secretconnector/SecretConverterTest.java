@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 
+import java.util.List;
+import java.util.Map;
+
 import com.techpontotech.secretconnector.converter.SecretConverter;
 import com.techpontotech.secretconnector.converter.impl.SecretConverters;
 import com.techpontotech.secretconnector.models.DatabaseCredentials;
@@ -297,6 +300,56 @@ public class SecretConverterTest {
         }
     }
 
+    @Nested
+    @DisplayName("Testes de Conversão de JSON Plano")
+    class FlatJsonConversionTests {
+
+        @Test
+        @DisplayName("Deve converter JSON plano preservando a ordem e o texto literal dos valores")
+        public void testConvertFlatMap() throws Exception {
+            Map<String, String> result = SecretConverters.asFlatMap().convert(
+                " {\"host\" : \"localhost\", \"port\":5432, \"ssl\":true, \"ratio\":-1.5e3, \"pass\":null}\n");
+
+            assertEquals(List.of("host", "port", "ssl", "ratio", "pass"), List.copyOf(result.keySet()));
+            assertEquals("localhost", result.get("host"));
+            assertEquals("5432", result.get("port"));
+            assertEquals("true", result.get("ssl"));
+            assertEquals("-1.5e3", result.get("ratio"));
+            assertNull(result.get("pass"));
+        }
+
+        @Test
+        @DisplayName("Deve resolver escapes e manter objetos aninhados como JSON")
+        public void testConvertFlatMapEscapesAndNested() throws Exception {
+            Map<String, String> result = SecretConverters.asFlatMap().convert(
+                "{\"pass\":\"a\\\"b\\\\c\\u00e7\\n\",\"opts\":{\"a\":[1,\"}\"]},\"list\":[]}");
+
+            assertEquals("a\"b\\c\u00e7\n", result.get("pass"));
+            assertEquals("{\"a\":[1,\"}\"]}", result.get("opts"));
+            assertEquals("[]", result.get("list"));
+            assertTrue(SecretConverters.asFlatMap().convert("{}").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar JSON inválido sem expor o conteúdo")
+        public void testConvertFlatMapInvalid() {
+            SecretConverter<Map<String, String>> converter = SecretConverters.asFlatMap();
+
+            for (String invalid : new String[] {"", "[1]", "{\"a\":}", "{\"a\":\"senha\"", "{\"a\":01}",
+                    "{\"a\":1,}", "{\"a\":1} x", "{\"a\":tru}"}) {
+                IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> converter.convert(invalid));
+                assertFalse(e.getMessage().contains("senha"));
+            }
+        }
+
+        @Test
+        @DisplayName("Deve descobrir o provider JSON do Jackson via ServiceLoader")
+        public void testJsonProviderDiscovery() throws Exception {
+            assertEquals("jackson", SecretConverters.jsonProvider().name());
+            assertEquals("{\"a\":1}", SecretConverters.jsonProvider().writeValueAsString(Map.of("a", 1)));
+        }
+    }
+
     @Nested
     @DisplayName("Testes de Conversor Customizado")
     class CustomConverterTests {
@@ -0,0 +1,157 @@
+package com.techpontotech.secretconnector;
+
+import static com.techpontotech.secretconnector.SecretResponses.response;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.exception.SecretTimeoutException;
+import com.techpontotech.secretconnector.resilience.CircuitBreaker;
+import com.techpontotech.secretconnector.resilience.CircuitBreakerConfig;
+
+/**
+ * Testes do prazo máximo (deadline) por chamada.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes de Deadline por Chamada")
+public class SecretDeadlineTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    @Test
+    @DisplayName("Deve repassar o prazo restante ao SDK quando o cache está desabilitado")
+    public void testDeadlinePropagatedToSdk() {
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(response("valor"));
+
+        assertEquals("valor", connector.get("app/db", Duration.ofSeconds(2)));
+
+        ArgumentCaptor<GetSecretValueRequest> captor = ArgumentCaptor.forClass(GetSecretValueRequest.class);
+        verify(mockClient).getSecretValue(captor.capture());
+        Duration timeout = captor.getValue().overrideConfiguration().orElseThrow().apiCallTimeout().orElseThrow();
+        assertTrue(timeout.compareTo(Duration.ofSeconds(2)) <= 0 && timeout.toMillis() > 1000);
+    }
+
+    @Test
+    @DisplayName("Deve converter o timeout do SDK em SecretTimeoutException")
+    public void testSdkTimeoutMapped() {
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenThrow(ApiCallTimeoutException.create(100));
+
+        assertThrows(SecretTimeoutException.class, () -> connector.get("app/db", Duration.ofMillis(100)));
+    }
+
+    @Test
+    @DisplayName("Não deve abrir o circuito quando o prazo do chamador expira")
+    public void testCallerTimeoutDoesNotOpenBreaker() {
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+        CircuitBreaker breaker = new CircuitBreaker("us-east-1", CircuitBreakerConfig.builder()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .build());
+        connector.setCircuitBreaker(breaker);
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenThrow(ApiCallTimeoutException.create(100));
+
+        for (int i = 0; i < 6; i++) {
+            assertThrows(SecretTimeoutException.class, () -> connector.get("app/db", Duration.ofMillis(100)));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getMetrics().failedCalls());
+    }
+
+    @Test
+    @DisplayName("Deve falhar a carga compartilhada quando a busca lança exceção verificada")
+    public void testLoadFailsOnCheckedException() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            throw new IOException("falha");
+        });
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(),
+                mockClient, SecretCacheConfig.defaults());
+        try {
+            SecretManagerException e = assertThrows(SecretManagerException.class,
+                    () -> connector.get("app/db", Duration.ofSeconds(5)));
+            assertInstanceOf(IOException.class, e.getCause());
+        } finally {
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar prazo zero")
+    public void testZeroDeadlineRejected() {
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+
+        assertThrows(IllegalArgumentException.class, () -> connector.get("app/db", Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Deve expirar sem cancelar a busca compartilhada com o cache habilitado")
+    public void testDeadlineWithSharedLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return response("valor");
+        });
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(),
+                mockClient, SecretCacheConfig.defaults());
+        try {
+            assertThrows(SecretTimeoutException.class, () -> connector.get("app/db", Duration.ofMillis(20)));
+
+            release.countDown();
+            assertEquals("valor", connector.get("app/db", Duration.ofSeconds(5)));
+            verify(mockClient, times(1)).getSecretValue(any(GetSecretValueRequest.class));
+        } finally {
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve retornar o valor expirado do cache quando o prazo acaba durante a recarga")
+    public void testDeadlineServesStaleValue() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(response("v1"))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return response("v2");
+                });
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(),
+                mockClient, SecretCacheConfig.builder().ttl(Duration.ofMillis(1)).build());
+        try {
+            assertEquals("v1", connector.get("app/db"));
+            Thread.sleep(5);
+
+            assertEquals("v1", connector.get("app/db", Duration.ofMillis(20)));
+        } finally {
+            release.countDown();
+            connector.close();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.techpontotech.secretconnector;
+
+import static com.techpontotech.secretconnector.SecretResponses.response;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.event.QueueSecretEventSource;
+import com.techpontotech.secretconnector.event.SecretChangeEvent;
+
+/**
+ * Testes da invalidação do cache por API e por eventos de rotação.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes de Invalidação do Cache")
+public class SecretInvalidationTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    private SecretManagerConnector<String> connector;
+
+    @BeforeEach
+    public void setUp() {
+        connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.builder().ttl(Duration.ofHours(12)).build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connector.close();
+    }
+
+    @Test
+    @DisplayName("Deve buscar novamente o secret após invalidação individual")
+    public void testInvalidateOne() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(response("v1"), response("v2"));
+
+        assertEquals("v1", connector.get("app/db"));
+        assertTrue(connector.invalidate("app/db"));
+        assertFalse(connector.invalidate("app/db"));
+        assertEquals("v2", connector.get("app/db"));
+    }
+
+    @Test
+    @DisplayName("Não deve sobrescrever com uma carga lenta o valor de um refresh ou de uma invalidação posterior")
+    public void testStaleLoadDiscarded() throws Exception {
+        CountDownLatch[] started = {new CountDownLatch(1), new CountDownLatch(1)};
+        CountDownLatch[] release = {new CountDownLatch(1), new CountDownLatch(1)};
+        AtomicInteger calls = new AtomicInteger();
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            int call = calls.incrementAndGet();
+            if (call == 1 || call == 3) {
+                started[call / 2].countDown();
+                release[call / 2].await(5, TimeUnit.SECONDS);
+                return response("antigo");
+            }
+            return response("novo" + call);
+        });
+
+        CompletableFuture<String> refreshed = CompletableFuture.supplyAsync(() -> getUnchecked("app/db"));
+        assertTrue(started[0].await(5, TimeUnit.SECONDS));
+        connector.refresh("app/db");
+        release[0].countDown();
+        assertEquals("antigo", refreshed.get(5, TimeUnit.SECONDS));
+        assertEquals("novo2", connector.get("app/db"));
+
+        connector.invalidate("app/db");
+        CompletableFuture<String> invalidated = CompletableFuture.supplyAsync(() -> getUnchecked("app/db"));
+        assertTrue(started[1].await(5, TimeUnit.SECONDS));
+        connector.invalidate("app/db");
+        assertEquals("novo4", connector.get("app/db"));
+        release[1].countDown();
+        assertEquals("antigo", invalidated.get(5, TimeUnit.SECONDS));
+        assertEquals("novo4", connector.get("app/db"));
+    }
+
+    private String getUnchecked(String secretName) {
+        try {
+            return connector.get(secretName);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas os secrets com o prefixo informado")
+    public void testInvalidateByPrefix() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(response("valor"));
+
+        connector.get("prod/payments/a");
+        connector.get("prod/payments/b");
+        connector.get("prod/orders/a");
+
+        assertEquals(2, connector.invalidateByPrefix("prod/payments/"));
+        assertNull(connector.getCache().peek("prod/payments/a"));
+        assertEquals("valor", connector.getCache().peek("prod/orders/a").getPayload());
+
+        connector.invalidateAll();
+        assertEquals(0, connector.getCache().size());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar somente o secret afetado ao receber evento de rotação")
+    public void testRotationEventRefreshesEntry() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(response("antigo"), response("outro"), response("novo"));
+
+        connector.get("app/db");
+        connector.get("app/api");
+
+        QueueSecretEventSource source = new QueueSecretEventSource();
+        connector.registerEventSource(source);
+        source.publish(new SecretChangeEvent(
+                "arn:aws:secretsmanager:us-east-1:123456789012:secret:app/db-AbCdEf",
+                SecretChangeEvent.Type.ROTATION));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!"novo".equals(connector.getCache().peek("app/db").getPayload()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals("novo", connector.get("app/db"));
+        assertEquals("outro", connector.get("app/api"));
+        verify(mockClient, times(3)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve extrair o nome do secret a partir do ARN do evento")
+    public void testEventSecretName() {
+        assertEquals("app/db", new SecretChangeEvent(
+                "arn:aws:secretsmanager:us-east-1:123456789012:secret:app/db-AbCdEf",
+                SecretChangeEvent.Type.UPDATE).secretName());
+        assertEquals("app/db", new SecretChangeEvent("app/db", SecretChangeEvent.Type.DELETE).secretName());
+        assertEquals("app/db-x", SecretChangeEvent.nameOf("arn:aws:secretsmanager:us-east-1:123456789012:secret:app/db-x"));
+        assertEquals("a-b/c.d1", SecretChangeEvent.nameOf("arn:aws:secretsmanager:us-east-1:123456789012:secret:a-b/c.d1"));
+        assertEquals(Set.of("arn:aws:secretsmanager:us-east-1:123456789012:secret:my-secret", "my", "my-secret"),
+                new SecretChangeEvent("arn:aws:secretsmanager:us-east-1:123456789012:secret:my-secret",
+                        SecretChangeEvent.Type.UPDATE).lookupKeys());
+    }
+}
@@ -0,0 +1,147 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.jfr.SecretEvents;
+
+/**
+ * Testes dos eventos JFR do conector.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes dos eventos JFR")
+public class SecretJfrEventsTest {
+
+    private static final String PREFIX = "com.techpontotech.secretconnector.";
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    @AfterEach
+    public void resetHashing() {
+        SecretEvents.setHashSecretIds(false);
+    }
+
+    private static List<RecordedEvent> record(ThrowingRunnable action) throws Exception {
+        Path file = Files.createTempFile("secret-connector", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String event : List.of("Fetch", "Convert", "CacheAccess", "Refresh", "Throttle")) {
+                recording.enable(PREFIX + event).withThreshold(java.time.Duration.ZERO);
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(PREFIX + name))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Deve registrar busca, conversão e acessos ao cache")
+    public void testFetchConvertAndCacheEvents() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("42").versionId("v1").build());
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.defaults());
+
+        List<RecordedEvent> events;
+        try {
+            events = record(() -> {
+                connector.get("app/pool", SecretConverters.asInteger());
+                connector.get("app/pool", SecretConverters.asInteger());
+            });
+        } finally {
+            connector.close();
+        }
+
+        List<RecordedEvent> fetches = ofType(events, "Fetch");
+        assertEquals(1, fetches.size());
+        RecordedEvent fetch = fetches.get(0);
+        assertEquals("app/pool", fetch.getString("secretId"));
+        assertEquals("v1", fetch.getString("versionId"));
+        assertEquals(2, fetch.getInt("payloadLength"));
+        assertEquals("SUCCESS", fetch.getString("outcome"));
+        assertTrue(fetch.getLong("networkDuration") >= 0);
+
+        List<String> accesses = ofType(events, "CacheAccess").stream()
+                .map(e -> e.getString("result"))
+                .collect(Collectors.toList());
+        assertEquals(List.of("MISS", "HIT"), accesses);
+
+        List<RecordedEvent> conversions = ofType(events, "Convert");
+        assertEquals(1, conversions.size());
+        assertTrue(conversions.get(0).getBoolean("succeeded"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar throttling e usar o hash do nome quando configurado")
+    public void testThrottleWithHashedIds() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenThrow(SecretsManagerException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .message("Rate exceeded")
+                .build());
+        SecretEvents.setHashSecretIds(true);
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+
+        List<RecordedEvent> events;
+        try {
+            events = record(() -> assertThrows(Exception.class, () -> connector.get("app/pool")));
+        } finally {
+            connector.close();
+        }
+
+        List<RecordedEvent> fetches = ofType(events, "Fetch");
+        assertFalse(fetches.isEmpty());
+        RecordedEvent fetch = fetches.get(0);
+        assertEquals("THROTTLED", fetch.getString("outcome"));
+        assertEquals("ThrottlingException", fetch.getString("errorCode"));
+        assertEquals(16, fetch.getString("secretId").length());
+        assertFalse(fetch.getString("secretId").contains("app/pool"));
+
+        RecordedEvent throttle = ofType(events, "Throttle").get(0);
+        assertEquals("SECRETS_MANAGER", throttle.getString("source"));
+        assertEquals(400, throttle.getInt("statusCode"));
+        assertEquals(fetch.getString("secretId"), throttle.getString("secretId"));
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
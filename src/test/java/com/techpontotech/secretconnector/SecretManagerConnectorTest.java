@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -22,6 +23,8 @@ import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRespon
 import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
 
 import com.techpontotech.secretconnector.SecretManagerConnector;
+import com.techpontotech.secretconnector.cache.CacheStats;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
 import com.techpontotech.secretconnector.converter.impl.SecretConverters;
 import com.techpontotech.secretconnector.exception.SecretManagerException;
 import com.techpontotech.secretconnector.models.Secret;
@@ -252,5 +255,25 @@ public class SecretManagerConnectorTest {
         connector.close();
         verify(mockClient).close();
     }
-}
 
+    @Test
+    @DisplayName("Deve atender leituras repetidas a partir do cache")
+    public void testGetSecretFromCache() throws Exception {
+        SecretManagerConnector<String> cachedConnector =
+                new SecretManagerConnector<>(SecretConverters.asString(), mockClient, SecretCacheConfig.defaults());
+
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("12345").versionId("v1").build());
+
+        assertEquals("12345", cachedConnector.get("cached-secret"));
+        assertEquals("12345", cachedConnector.get("cached-secret"));
+        assertEquals(12345, cachedConnector.get("cached-secret", SecretConverters.asInteger()));
+
+        verify(mockClient, times(1)).getSecretValue(any(GetSecretValueRequest.class));
+
+        CacheStats stats = cachedConnector.getCacheStats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals("v1", cachedConnector.getCache().peek("cached-secret").getVersionId());
+    }
+}
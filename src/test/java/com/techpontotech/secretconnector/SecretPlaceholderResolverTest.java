@@ -0,0 +1,109 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.resolver.SecretPlaceholderResolver;
+
+/**
+ * Testes da resolução de referências a secrets em textos e propriedades.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do SecretPlaceholderResolver")
+public class SecretPlaceholderResolverTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    private SecretManagerConnector<String> connector;
+    private SecretPlaceholderResolver resolver;
+
+    @BeforeEach
+    public void setUp() {
+        connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+        resolver = new SecretPlaceholderResolver(connector);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connector.close();
+    }
+
+    private void stub(String secretName, String value) {
+        when(mockClient.getSecretValue(argThat((GetSecretValueRequest request) ->
+                request != null && secretName.equals(request.secretId()))))
+                .thenReturn(GetSecretValueResponse.builder().secretString(value).build());
+    }
+
+    @Test
+    @DisplayName("Deve buscar cada secret referenciado uma única vez")
+    public void testResolvePropertiesDeduplicatesSecrets() {
+        stub("prod/db", "{\"host\":\"db.local\",\"port\":5432,\"user\":\"app\"}");
+        stub("prod/api-key", "chave-123");
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("db.url", "jdbc:postgresql://${secret:prod/db#host}:${secret:prod/db#port}/app");
+        properties.put("db.user", "${secret:prod/db#user}");
+        properties.put("api.key", "${secret:prod/api-key}");
+        properties.put("plain", "sem referência");
+
+        Map<String, String> resolved = resolver.resolve(properties);
+
+        assertEquals("jdbc:postgresql://db.local:5432/app", resolved.get("db.url"));
+        assertEquals("app", resolved.get("db.user"));
+        assertEquals("chave-123", resolved.get("api.key"));
+        assertEquals("sem referência", resolved.get("plain"));
+        verify(mockClient, times(2)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve resolver referências em texto livre")
+    public void testResolveText() {
+        stub("prod/db", "{\"user\":\"app\",\"pass\":\"$enha\\\\\"}");
+
+        String resolved = resolver.resolve("user=${secret:prod/db#user}\npass=${secret:prod/db#pass}");
+
+        assertEquals("user=app\npass=$enha\\", resolved);
+    }
+
+    @Test
+    @DisplayName("Não deve chamar o Secrets Manager quando não há referências")
+    public void testNoPlaceholders() {
+        assertEquals("texto", resolver.resolve("texto"));
+        verify(mockClient, never()).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve falhar quando o campo não existe no secret")
+    public void testMissingField() {
+        stub("prod/db", "{\"user\":\"app\"}");
+
+        SecretManagerException exception = assertThrows(SecretManagerException.class,
+                () -> resolver.resolve("${secret:prod/db#inexistente}"));
+        assertTrue(exception.getMessage().contains("inexistente"));
+    }
+}
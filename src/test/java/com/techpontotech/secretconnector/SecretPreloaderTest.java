@@ -0,0 +1,118 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsResponse;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+import software.amazon.awssdk.services.secretsmanager.model.Tag;
+
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.model.SecretEntry;
+
+/**
+ * Testes da pré-carga em lote por prefixo e por tag.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes de Pré-carga de Secrets")
+public class SecretPreloaderTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    private SecretManagerConnector<String> connector;
+
+    @BeforeEach
+    public void setUp() {
+        connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient, SecretCacheConfig.defaults());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connector.close();
+    }
+
+    private static SecretListEntry entry(String name, Tag... tags) {
+        return SecretListEntry.builder().name(name).arn("arn:" + name).tags(tags).build();
+    }
+
+    @Test
+    @DisplayName("Deve pré-carregar todas as páginas de secrets com o prefixo")
+    public void testPreloadByPrefix() {
+        when(mockClient.listSecrets(any(ListSecretsRequest.class))).thenReturn(
+                ListSecretsResponse.builder()
+                        .secretList(entry("prod/payments/a"), entry("prod/payments/b"))
+                        .nextToken("page-2")
+                        .build(),
+                ListSecretsResponse.builder()
+                        .secretList(entry("prod/payments/c"), entry("prod/paymentsX"))
+                        .build());
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("valor").versionId("v1").build());
+
+        List<String> names = connector.preloadByPrefix("prod/payments/")
+                .map(SecretEntry::name)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of("prod/payments/a", "prod/payments/b", "prod/payments/c"), names);
+        assertNotNull(connector.getCache().peek("prod/payments/c"));
+        verify(mockClient, times(2)).listSecrets(any(ListSecretsRequest.class));
+        verify(mockClient, times(3)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve carregar as páginas de forma preguiçosa")
+    public void testPreloadIsLazy() {
+        when(mockClient.listSecrets(any(ListSecretsRequest.class))).thenReturn(
+                ListSecretsResponse.builder().secretList(entry("lazy/a")).nextToken("page-2").build());
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("valor").build());
+
+        Stream<SecretEntry> stream = connector.preloadByPrefix("lazy/");
+        verify(mockClient, never()).listSecrets(any(ListSecretsRequest.class));
+
+        Iterator<SecretEntry> iterator = stream.iterator();
+        assertEquals("lazy/a", iterator.next().name());
+        verify(mockClient, times(1)).listSecrets(any(ListSecretsRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve pré-carregar apenas os secrets com a tag exata")
+    public void testPreloadByTag() {
+        Tag team = Tag.builder().key("team").value("payments").build();
+        Tag other = Tag.builder().key("team").value("orders").build();
+        when(mockClient.listSecrets(any(ListSecretsRequest.class))).thenReturn(
+                ListSecretsResponse.builder().secretList(entry("a", team), entry("b", other)).build());
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("valor").build());
+
+        List<SecretEntry> entries = connector.preloadByTag("team", "payments").collect(Collectors.toList());
+
+        assertEquals(1, entries.size());
+        assertEquals("a", entries.get(0).name());
+        assertEquals("arn:a", entries.get(0).arn());
+    }
+}
@@ -0,0 +1,141 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.model.ResolvedSecret;
+import com.techpontotech.secretconnector.model.SecretResult;
+import com.techpontotech.secretconnector.provider.EnvironmentSecretProvider;
+import com.techpontotech.secretconnector.provider.FileSecretProvider;
+import com.techpontotech.secretconnector.provider.SecretLayer;
+import com.techpontotech.secretconnector.provider.SecretProviderChain;
+
+/**
+ * Testes da cadeia de camadas locais consultada antes do Secrets Manager.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes da cadeia de camadas de secrets")
+public class SecretProviderChainTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Deve resolver secrets de teste pelo ambiente e pelo arquivo, sem acessar a rede")
+    public void testLocalLayersByPattern() throws Exception {
+        Path file = tempDir.resolve("secrets.json");
+        Files.writeString(file, "{\"test/db\":{\"usuario\":\"app\",\"senha\":\"local\"},\"test/token\":\"do-arquivo\"}");
+        SecretProviderChain chain = SecretProviderChain.builder()
+                .environment(new EnvironmentSecretProvider("SECRET_", Map.of("SECRET_TEST_TOKEN", "do-ambiente")))
+                .file(file)
+                .rule("test/*", SecretLayer.ENVIRONMENT, SecretLayer.FILE)
+                .build();
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.defaults());
+        connector.setProviderChain(chain);
+
+        assertEquals("do-ambiente", connector.get("test/token"));
+        assertEquals("local", connector.get("test/db", SecretConverters.asFlatMap()).get("senha"));
+        assertEquals(connector.get("test/db", SecretConverters.asFlatMap()), connector.get("test/db", SecretConverters.asFlatMap()));
+        assertEquals(SecretLayer.FILE, connector.resolveWithLayer("test/db").layer());
+        assertInstanceOf(SecretResult.NotFound.class, connector.tryGet("test/ausente", SecretConverters.asString()));
+
+        assertEquals(1, chain.getServedCount(SecretLayer.ENVIRONMENT));
+        assertEquals(4, chain.getServedCount(SecretLayer.FILE));
+        verify(mockClient, never()).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve recorrer ao cache e ao Secrets Manager quando as camadas locais não definem o secret")
+    public void testFallsBackToSecretsManager() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("remoto").versionId("v1").build());
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.defaults());
+        connector.setProviderChain(SecretProviderChain.builder()
+                .environment(new EnvironmentSecretProvider("SECRET_", Map.of("SECRET_PROD_LOCAL", "sobrescrito")))
+                .build());
+
+        ResolvedSecret first = connector.resolveWithLayer("prod/db");
+        assertEquals(SecretLayer.SECRETS_MANAGER, first.layer());
+        assertEquals("v1", first.versionId());
+        ResolvedSecret second = connector.resolveWithLayer("prod/db");
+        assertEquals(SecretLayer.CACHE, second.layer());
+        assertEquals("remoto", second.payload());
+
+        ResolvedSecret local = connector.resolveWithLayer("prod/local");
+        assertEquals(SecretLayer.ENVIRONMENT, local.layer());
+        assertNull(local.versionId());
+        assertEquals("sobrescrito", connector.get("prod/local"));
+        verify(mockClient, times(1)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Não deve recarregar no Secrets Manager os secrets servidos por uma camada local")
+    public void testRefreshUsesLocalLayers() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("remoto").versionId("v1").build());
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.defaults());
+        connector.setProviderChain(SecretProviderChain.builder()
+                .environment(new EnvironmentSecretProvider("SECRET_", Map.of("SECRET_PROD_LOCAL", "sobrescrito")))
+                .build());
+
+        connector.refresh("prod/local");
+        assertEquals("sobrescrito", connector.get("prod/local"));
+        verify(mockClient, never()).getSecretValue(any(GetSecretValueRequest.class));
+
+        connector.refresh("prod/db");
+        assertEquals("remoto", connector.get("prod/db"));
+        verify(mockClient, times(1)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve reler o arquivo de properties quando ele muda")
+    public void testFileReloadedOnChange() throws Exception {
+        Path file = tempDir.resolve("secrets.properties");
+        Files.writeString(file, "app/api-key=primeira\n");
+        FileSecretProvider provider = new FileSecretProvider(file, Duration.ZERO);
+        assertEquals("primeira", provider.lookup("app/api-key"));
+
+        Files.writeString(file, "app/api-key=segunda\napp/outra=valor\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        assertEquals("segunda", provider.lookup("app/api-key"));
+        assertEquals("valor", provider.lookup("app/outra"));
+
+        Files.writeString(file, "\\u00zz inválido");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 4000));
+        assertEquals("segunda", provider.lookup("app/api-key"));
+
+        Files.delete(file);
+        assertNull(provider.lookup("app/api-key"));
+    }
+}
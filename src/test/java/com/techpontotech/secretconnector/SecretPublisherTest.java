@@ -0,0 +1,218 @@
+package com.techpontotech.secretconnector;
+
+import static com.techpontotech.secretconnector.SecretResponses.listed;
+import static com.techpontotech.secretconnector.SecretResponses.response;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+
+import com.techpontotech.secretconnector.cache.CachedSecret;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.event.SecretStream;
+
+/**
+ * Testes do publisher reativo de valores de secrets.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Publisher de Secrets")
+public class SecretPublisherTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    private SecretManagerConnector<String> connector;
+
+    @BeforeEach
+    public void setUp() {
+        connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient, SecretCacheConfig.defaults());
+        connector.setWatchInterval(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connector.close();
+    }
+
+    /**
+     * Assinante de teste que registra os sinais recebidos e solicita demanda manualmente.
+     */
+    private static final class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        final BlockingQueue<Object> values = new LinkedBlockingQueue<>();
+        final CountDownLatch terminated = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+
+        Object next() throws InterruptedException {
+            return values.poll(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar uma única observação entre os assinantes do mesmo secret")
+    public void testSharedRefreshLoop() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(response("1"), response("2"));
+        when(mockClient.listSecrets(any(ListSecretsRequest.class)))
+                .thenReturn(listed("app/pool", Instant.now().plusSeconds(60)));
+
+        RecordingSubscriber<Integer> first = new RecordingSubscriber<>();
+        RecordingSubscriber<String> second = new RecordingSubscriber<>();
+        connector.publisher("app/pool", SecretConverters.asInteger()).subscribe(first);
+        connector.publisher("app/pool").subscribe(second);
+        first.subscription.request(Long.MAX_VALUE);
+        second.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(1, first.next());
+        assertEquals("1", second.next());
+        assertEquals(1, connector.watcher().size());
+
+        connector.watcher().poll();
+        assertEquals(2, first.next());
+        assertEquals("2", second.next());
+        verify(mockClient, times(2)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve entregar somente o valor mais recente quando não há demanda")
+    public void testConflation() throws Exception {
+        Instant now = Instant.now();
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(response("v1"), response("v2"), response("v3"));
+        when(mockClient.listSecrets(any(ListSecretsRequest.class)))
+                .thenReturn(listed("app/db", now.plusSeconds(60)), listed("app/db", now.plusSeconds(120)));
+
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        connector.publisher("app/db").subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertEquals("v1", subscriber.next());
+
+        connector.watcher().poll();
+        connector.watcher().poll();
+        assertNull(subscriber.values.poll(50, TimeUnit.MILLISECONDS));
+
+        subscriber.subscription.request(5);
+        assertEquals("v3", subscriber.next());
+        assertNull(subscriber.values.poll(50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve encerrar a observação quando o último assinante cancela")
+    public void testCancelStopsWatch() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(response("valor"));
+
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        connector.publisher("app/db").subscribe(subscriber);
+        assertEquals(1, connector.watcher().size());
+
+        subscriber.subscription.cancel();
+        assertEquals(0, connector.watcher().size());
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar onError quando o valor inicial não pode ser recuperado e onComplete ao fechar")
+    public void testTerminalSignals() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenThrow(new RuntimeException("indisponível"))
+                .thenReturn(response("valor"));
+
+        RecordingSubscriber<String> failed = new RecordingSubscriber<>();
+        connector.publisher("app/db").subscribe(failed);
+        assertTrue(failed.terminated.await(2, TimeUnit.SECONDS));
+        assertEquals("indisponível", failed.error.getMessage());
+
+        RecordingSubscriber<String> completed = new RecordingSubscriber<>();
+        connector.publisher("app/db").subscribe(completed);
+        connector.close();
+        assertTrue(completed.terminated.await(2, TimeUnit.SECONDS));
+        assertNull(completed.error);
+    }
+
+    @Test
+    @DisplayName("Deve carregar o valor inicial sem bloquear novas assinaturas e descartar o fluxo sem assinantes")
+    public void testNonBlockingStartAndIdleRemoval() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<SecretStream> idle = new CopyOnWriteArrayList<>();
+        SecretStream stream = new SecretStream("app/db", () -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long now = System.nanoTime();
+            return new CachedSecret("app/db", "valor", "v1", now, now + TimeUnit.MINUTES.toNanos(1));
+        }, connector::watcher, Runnable::run, idle::add);
+
+        RecordingSubscriber<String> first = new RecordingSubscriber<>();
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> stream.trySubscribe(first, SecretConverters.asString()));
+        assertTrue(loading.await(2, TimeUnit.SECONDS));
+        RecordingSubscriber<String> second = new RecordingSubscriber<>();
+        CompletableFuture.runAsync(() -> stream.trySubscribe(second, SecretConverters.asString())).get(2, TimeUnit.SECONDS);
+        assertEquals(2, stream.subscriberCount());
+
+        release.countDown();
+        blocked.get(2, TimeUnit.SECONDS);
+        first.subscription.request(1);
+        second.subscription.request(1);
+        assertEquals("valor", first.next());
+        assertEquals("valor", second.next());
+
+        first.subscription.cancel();
+        assertTrue(idle.isEmpty());
+        second.subscription.cancel();
+        assertEquals(List.of(stream), idle);
+        assertEquals(0, connector.watcher().size());
+        assertFalse(stream.trySubscribe(new RecordingSubscriber<String>(), SecretConverters.asString()));
+    }
+}
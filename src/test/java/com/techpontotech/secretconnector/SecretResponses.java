@@ -0,0 +1,35 @@
+package com.techpontotech.secretconnector;
+
+import java.time.Instant;
+
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsResponse;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+
+/**
+ * Respostas do Secrets Manager usadas como fixture nos testes com o cliente simulado.
+ */
+final class SecretResponses {
+
+    private SecretResponses() {
+    }
+
+    /**
+     * @param value o valor do secret
+     * @return uma resposta do {@code GetSecretValue} com o valor em texto
+     */
+    static GetSecretValueResponse response(String value) {
+        return GetSecretValueResponse.builder().secretString(value).build();
+    }
+
+    /**
+     * @param name o nome do secret
+     * @param lastChanged a data da última alteração
+     * @return uma resposta do {@code ListSecrets} com um único secret
+     */
+    static ListSecretsResponse listed(String name, Instant lastChanged) {
+        return ListSecretsResponse.builder()
+                .secretList(SecretListEntry.builder().name(name).lastChangedDate(lastChanged).build())
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.InternalServiceErrorException;
+
+import com.techpontotech.secretconnector.cache.SecretSnapshot;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+
+/**
+ * Testes do snapshot imutável de secrets.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do SecretSnapshot")
+public class SecretSnapshotTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    private void answerFromValues() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenAnswer(invocation -> {
+            String name = invocation.getArgument(0, GetSecretValueRequest.class).secretId();
+            String value = values.get(name);
+            if (value == null) {
+                throw InternalServiceErrorException.builder().message("falha").statusCode(500).build();
+            }
+            return GetSecretValueResponse.builder().secretString(value).versionId(name + ":" + value).build();
+        });
+    }
+
+    @Test
+    @DisplayName("Deve ler todos os secrets do snapshot por nome e por posição")
+    public void testReads() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            names.add("app/secret-" + i);
+            values.put("app/secret-" + i, String.valueOf(i));
+        }
+        answerFromValues();
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+
+        SecretSnapshot<Integer> snapshot = connector.snapshot(names, SecretConverters.asInteger());
+
+        assertEquals(100, snapshot.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, snapshot.get("app/secret-" + i));
+            assertEquals(i, snapshot.get(snapshot.indexOf("app/secret-" + i)));
+            assertEquals(String.valueOf(i), snapshot.get("app/secret-" + i, SecretConverters.asString()));
+        }
+        assertFalse(snapshot.contains("app/outro"));
+        assertEquals(-1, snapshot.indexOf("app/outro"));
+        assertThrows(SecretManagerException.class, () -> snapshot.get("app/outro"));
+    }
+
+    @Test
+    @DisplayName("Deve buscar novamente e trocar o snapshot na atualização, mantendo o atual em caso de falha")
+    public void testRefresh() throws Exception {
+        values.put("app/a", "1");
+        values.put("app/b", "2");
+        answerFromValues();
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.defaults());
+
+        SecretSnapshot<String> snapshot = connector.snapshot("app/a", "app/b", "app/a");
+        assertEquals(List.of("app/a", "app/b"), snapshot.names());
+        int index = snapshot.indexOf("app/b");
+
+        values.put("app/b", "3");
+        snapshot.refresh();
+        assertEquals("3", snapshot.get("app/b"));
+        assertEquals("3", snapshot.get(index));
+        assertEquals("app/b:3", snapshot.versionOf("app/b"));
+        assertEquals("3", connector.get("app/b"));
+
+        values.remove("app/a");
+        assertThrows(SecretManagerException.class, snapshot::refresh);
+        assertEquals("1", snapshot.get("app/a"));
+        assertTrue(snapshot.contains("app/b"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.model.SecretResult;
+
+/**
+ * Testes da leitura sem exceções com cache de secrets inexistentes.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do tryGet")
+public class SecretTryGetTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    private static ResourceNotFoundException notFound() {
+        return ResourceNotFoundException.builder()
+                .message("Secrets Manager can't find the specified secret.").statusCode(400).build();
+    }
+
+    private SecretManagerConnector<String> cached() {
+        return new SecretManagerConnector<>(SecretConverters.asString(), mockClient, SecretCacheConfig.defaults());
+    }
+
+    @Test
+    @DisplayName("Deve retornar o valor convertido")
+    public void testFound() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("42").build());
+
+        SecretResult<Integer> result = cached().tryGet("app/pool", SecretConverters.asInteger());
+
+        assertTrue(result.isFound());
+        assertEquals(42, result.orElse(0));
+    }
+
+    @Test
+    @DisplayName("Deve lembrar secrets inexistentes durante o TTL")
+    public void testNotFoundCached() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenThrow(notFound());
+        SecretManagerConnector<String> connector = cached();
+
+        SecretResult<String> first = connector.tryGet("app/optional", SecretConverters.asString());
+        SecretResult<String> second = connector.tryGet("app/optional", SecretConverters.asString());
+
+        assertInstanceOf(SecretResult.NotFound.class, first);
+        assertSame(first, second);
+        assertEquals("padrão", second.orElse("padrão"));
+        verify(mockClient, times(1)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve consultar novamente após invalidação ou expiração do registro negativo")
+    public void testNotFoundExpiresAndInvalidates() throws Exception {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenThrow(notFound())
+                .thenThrow(notFound())
+                .thenReturn(GetSecretValueResponse.builder().secretString("criado").build());
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient,
+                SecretCacheConfig.builder().notFoundTtl(Duration.ofMillis(20)).build());
+
+        assertTrue(connector.tryGet("app/optional", SecretConverters.asString()) instanceof SecretResult.NotFound);
+        connector.invalidate("app/optional");
+        assertTrue(connector.tryGet("app/optional", SecretConverters.asString()) instanceof SecretResult.NotFound);
+        Thread.sleep(30);
+        assertEquals("criado", connector.tryGet("app/optional", SecretConverters.asString()).orElse(null));
+        verify(mockClient, times(3)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro sem lançar exceção quando a conversão falha")
+    public void testConversionFailure() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("abc").build());
+
+        SecretResult<Integer> result = cached().tryGet("app/pool", SecretConverters.asInteger());
+
+        SecretResult.Failed<?> failed = assertInstanceOf(SecretResult.Failed.class, result);
+        assertInstanceOf(NumberFormatException.class, failed.cause());
+    }
+
+    @Test
+    @DisplayName("Não deve lembrar secrets inexistentes com o cache desabilitado")
+    public void testNoNegativeCachingWithoutCache() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenThrow(notFound());
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient);
+
+        connector.tryGet("app/optional", SecretConverters.asString());
+        connector.tryGet("app/optional", SecretConverters.asString());
+
+        verify(mockClient, times(2)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+}
@@ -0,0 +1,146 @@
+package com.techpontotech.secretconnector;
+
+import static com.techpontotech.secretconnector.SecretResponses.listed;
+import static com.techpontotech.secretconnector.SecretResponses.response;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsResponse;
+
+import com.techpontotech.secretconnector.cache.CachedSecret;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.event.SecretWatcher;
+import com.techpontotech.secretconnector.event.WatchHandle;
+
+/**
+ * Testes da observação de secrets com detecção de alterações em lote.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do SecretWatcher")
+public class SecretWatcherTest {
+
+    @Mock
+    private SecretsManagerClient mockClient;
+
+    private SecretManagerConnector<String> connector;
+
+    @BeforeEach
+    public void setUp() {
+        connector = new SecretManagerConnector<>(SecretConverters.asString(), mockClient, SecretCacheConfig.defaults());
+        connector.setWatchInterval(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connector.close();
+    }
+
+    @Test
+    @DisplayName("Deve notificar o listener com o valor anterior e o novo valor")
+    public void testNotifyOnChange() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(response("1"), response("2"));
+        when(mockClient.listSecrets(any(ListSecretsRequest.class)))
+                .thenReturn(listed("app/pool", Instant.now().plusSeconds(60)));
+
+        List<String> changes = new ArrayList<>();
+        connector.watch("app/pool", SecretConverters.asInteger(),
+                (name, oldValue, newValue) -> changes.add(name + ":" + oldValue + "->" + newValue));
+
+        connector.watcher().poll();
+        connector.watcher().poll();
+
+        assertEquals(List.of("app/pool:1->2"), changes);
+        assertEquals("2", connector.getCache().peek("app/pool").getPayload());
+        verify(mockClient, times(2)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Não deve notificar quando o hash do payload não muda")
+    public void testNoNotificationWithoutPayloadChange() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(response("igual"));
+        when(mockClient.listSecrets(any(ListSecretsRequest.class)))
+                .thenReturn(listed("app/pool", Instant.now().plusSeconds(60)));
+
+        List<String> changes = new ArrayList<>();
+        connector.watch("app/pool", (name, oldValue, newValue) -> changes.add(newValue));
+        connector.watcher().poll();
+
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve verificar vários secrets com poucas chamadas ao ListSecrets")
+    public void testBatchedListSecrets() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(response("valor"));
+        when(mockClient.listSecrets(any(ListSecretsRequest.class)))
+                .thenReturn(ListSecretsResponse.builder().build());
+
+        for (int i = 0; i < 25; i++) {
+            connector.watch("app/secret-" + i, (name, oldValue, newValue) -> { });
+        }
+        connector.watcher().poll();
+
+        verify(mockClient, times(3)).listSecrets(any(ListSecretsRequest.class));
+        verify(mockClient, times(25)).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve parar de observar após fechar o handle")
+    public void testCloseHandle() {
+        when(mockClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(response("valor"));
+
+        WatchHandle handle = connector.watch("app/pool", (name, oldValue, newValue) -> { });
+        assertEquals(1, connector.watcher().size());
+
+        handle.close();
+        assertEquals(0, connector.watcher().size());
+    }
+
+    @Test
+    @DisplayName("Deve manter o listener registrado junto com o fechamento concorrente do último handle")
+    public void testConcurrentWatchAndClose() throws Exception {
+        SecretWatcher watcher = new SecretWatcher(mockClient, name -> null, Duration.ofHours(1));
+        CachedSecret baseline = new CachedSecret("app/pool", "valor", "v1", 0L, Long.MAX_VALUE);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                WatchHandle first = watcher.watch("app/pool", baseline, SecretConverters.asString(), (n, o, v) -> { });
+                Future<?> closing = executor.submit(first::close);
+                WatchHandle second = watcher.watch("app/pool", baseline, SecretConverters.asString(), (n, o, v) -> { });
+                closing.get(5, TimeUnit.SECONDS);
+                assertEquals(1, watcher.size());
+                second.close();
+                assertEquals(0, watcher.size());
+            }
+        } finally {
+            executor.shutdownNow();
+            watcher.close();
+        }
+    }
+}
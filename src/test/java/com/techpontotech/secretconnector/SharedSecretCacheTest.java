@@ -0,0 +1,205 @@
+package com.techpontotech.secretconnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+
+import com.techpontotech.secretconnector.cache.SharedSecretCache;
+import com.techpontotech.secretconnector.config.SharedCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.model.SecretEntry;
+
+/**
+ * Testes do cache compartilhado em arquivo mapeado. Cada instância de {@link SharedSecretCache}
+ * sobre o mesmo arquivo faz o papel de um processo.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do cache compartilhado em arquivo mapeado")
+public class SharedSecretCacheTest {
+
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private SecretsManagerClient firstClient;
+
+    @Mock
+    private SecretsManagerClient secondClient;
+
+    @TempDir
+    Path tempDir;
+
+    private SharedCacheConfig.Builder config() {
+        return SharedCacheConfig.builder().path(tempDir.resolve("secrets.cache")).key(KEY).slotCount(64).slotSize(4096);
+    }
+
+    @Test
+    @DisplayName("Deve servir a outro processo o secret buscado por um processo, sem chamar o Secrets Manager")
+    public void testSharedAcrossProcesses() throws Exception {
+        when(firstClient.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(GetSecretValueResponse.builder().secretString("s3nh4-compartilhada").versionId("v1").build());
+        SecretManagerConnector<String> first = new SecretManagerConnector<>(SecretConverters.asString(), firstClient);
+        SecretManagerConnector<String> second = new SecretManagerConnector<>(SecretConverters.asString(), secondClient);
+        first.setSharedCache(SharedSecretCache.open(config().build()));
+        second.setSharedCache(SharedSecretCache.open(config().build()));
+        try {
+            assertEquals("s3nh4-compartilhada", first.get("app/db"));
+            assertEquals("s3nh4-compartilhada", second.get("app/db"));
+            assertEquals("s3nh4-compartilhada", second.get("app/db"));
+
+            byte[] file = Files.readAllBytes(tempDir.resolve("secrets.cache"));
+            byte[] plaintext = "s3nh4-compartilhada".getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i + plaintext.length <= file.length; i++) {
+                assertFalse(Arrays.equals(file, i, i + plaintext.length, plaintext, 0, plaintext.length),
+                        "payload gravado sem cifra no arquivo");
+            }
+
+            second.invalidate("app/db");
+            assertNull(first.getSharedCache().get("app/db"));
+        } finally {
+            first.close();
+            second.close();
+        }
+        verify(firstClient, times(1)).getSecretValue(any(GetSecretValueRequest.class));
+        verify(secondClient, never()).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve eleger um único líder, que atualiza os registros antes de expirarem")
+    public void testLeaderRefreshesAhead() throws Exception {
+        SharedCacheConfig shortLived = config().ttl(Duration.ofMinutes(1)).refreshAhead(Duration.ofMinutes(2)).build();
+        SharedSecretCache leader = SharedSecretCache.open(shortLived);
+        SharedSecretCache follower = SharedSecretCache.open(shortLived);
+        try {
+            List<String> refreshedByFollower = new CopyOnWriteArrayList<>();
+            leader.start(name -> new SecretEntry(name, null, "v2", "novo"));
+            leader.runMaintenance();
+            follower.start(name -> {
+                refreshedByFollower.add(name);
+                return new SecretEntry(name, null, "v3", "do-seguidor");
+            });
+            follower.runMaintenance();
+            assertTrue(leader.isLeader());
+            assertFalse(follower.isLeader());
+
+            assertTrue(follower.put("app/api-key", "v1", "antigo"));
+            assertEquals("antigo", leader.get("app/api-key").payload());
+
+            leader.runMaintenance();
+            SecretEntry refreshed = follower.get("app/api-key");
+            assertEquals("novo", refreshed.payload());
+            assertEquals("v2", refreshed.versionId());
+            assertTrue(refreshedByFollower.isEmpty());
+
+            leader.close();
+            follower.runMaintenance();
+            assertTrue(follower.isLeader());
+            assertEquals(List.of("app/api-key"), refreshedByFollower);
+        } finally {
+            leader.close();
+            follower.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve deixar de atualizar registros sem leituras e liberar o slot quando expiram")
+    public void testIdleRecordsExpire() throws Exception {
+        SharedSecretCache cache = SharedSecretCache.open(config().slotCount(1)
+                .ttl(Duration.ofMillis(400)).refreshAhead(Duration.ofMinutes(1)).build());
+        try {
+            List<String> refreshed = new CopyOnWriteArrayList<>();
+            cache.start(name -> {
+                refreshed.add(name);
+                return new SecretEntry(name, null, "v2", "novo");
+            });
+            cache.runMaintenance();
+            assertTrue(cache.put("app/a", "v1", "antigo"));
+            assertFalse(cache.put("app/b", "v1", "outro"));
+
+            Thread.sleep(200);
+            cache.runMaintenance();
+            int refreshes = refreshed.size();
+            assertTrue(refreshes > 0);
+
+            Thread.sleep(300);
+            cache.runMaintenance();
+            assertEquals(refreshes, refreshed.size());
+
+            Thread.sleep(200);
+            cache.runMaintenance();
+            assertTrue(cache.put("app/b", "v1", "outro"));
+            assertEquals("outro", cache.get("app/b").payload());
+            assertNull(cache.get("app/a"));
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve remover do arquivo os registros invalidados por prefixo ou por completo")
+    public void testInvalidateByPrefixAndAll() throws Exception {
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(SecretConverters.asString(), firstClient);
+        connector.setSharedCache(SharedSecretCache.open(config().build()));
+        SharedSecretCache other = SharedSecretCache.open(config().build());
+        try {
+            assertTrue(other.put("prod/payments/db", "v1", "a"));
+            assertTrue(other.put("prod/payments/api", "v1", "b"));
+            assertTrue(other.put("prod/orders/db", "v1", "c"));
+
+            assertEquals(2, connector.invalidateByPrefix("prod/payments/"));
+            assertNull(other.get("prod/payments/db"));
+            assertNull(other.get("prod/payments/api"));
+            assertEquals("c", other.get("prod/orders/db").payload());
+
+            connector.invalidateAll();
+            assertNull(other.get("prod/orders/db"));
+        } finally {
+            connector.close();
+            other.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve ler registros cifrados com outra chave nem abrir arquivo com outra geometria")
+    public void testKeyAndGeometryMismatch() throws Exception {
+        SharedSecretCache writer = SharedSecretCache.open(config().build());
+        byte[] otherKey = KEY.clone();
+        otherKey[0] ^= 1;
+        SharedSecretCache reader = SharedSecretCache.open(config().key(otherKey).build());
+        try {
+            assertTrue(writer.put("app/token", null, "valor"));
+            assertEquals("valor", writer.get("app/token").payload());
+            assertNull(writer.get("app/token").versionId());
+            assertNull(reader.get("app/token"));
+            assertThrows(IllegalStateException.class, () -> SharedSecretCache.open(config().slotCount(32).build()));
+        } finally {
+            writer.close();
+            reader.close();
+        }
+    }
+}
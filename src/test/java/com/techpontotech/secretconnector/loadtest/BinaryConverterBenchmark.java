@@ -0,0 +1,78 @@
+package com.techpontotech.secretconnector.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.core.SdkBytes;
+
+import com.techpontotech.secretconnector.converter.BinarySecretConverter;
+import com.techpontotech.secretconnector.converter.impl.BinaryConverters;
+import com.techpontotech.secretconnector.converter.impl.LengthPrefixedSchema;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+
+/**
+ * Compara o custo de conversão de um secret grande (mapa de configuração por tenant) em JSON
+ * texto, JSON binário, CBOR, Smile e no formato com tamanho prefixado.
+ *
+ * <p>Cada conversão usa uma nova instância de conversor, para medir o parsing e não o valor
+ * memorizado no cache. Os números são registrados em log; o teste só verifica que todos os
+ * formatos produzem o mesmo mapa.
+ */
+@DisplayName("Benchmark dos Conversores Binários")
+public class BinaryConverterBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryConverterBenchmark.class);
+
+    private static final int TENANTS = 500;
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 1_000;
+
+    @Test
+    @DisplayName("Deve medir a conversão de cada formato em relação ao JSON")
+    @SuppressWarnings("unchecked")
+    public void testCompareWithJson() throws Exception {
+        Map<String, String> config = new LinkedHashMap<>();
+        for (int i = 0; i < TENANTS; i++) {
+            config.put("tenant-" + i, "jdbc:postgresql://db-" + i + ".interno:5432/tenant_" + i + "?sslmode=require");
+        }
+        String json = SecretConverters.jsonProvider().writeValueAsString(config);
+        SdkBytes jsonBytes = SdkBytes.fromUtf8String(json);
+        SdkBytes cbor = SdkBytes.fromByteArray(BinaryConverters.toCbor(config));
+        SdkBytes smile = SdkBytes.fromByteArray(BinaryConverters.toSmile(config));
+        LengthPrefixedSchema schema = LengthPrefixedSchema.of(config.keySet().toArray(new String[0]));
+        SdkBytes lengthPrefixed = schema.encode(config);
+
+        assertEquals(config, SecretConverters.asObject(Map.class).convert(json));
+        assertEquals(config, BinaryConverters.cbor(Map.class).convert(cbor));
+        assertEquals(config, BinaryConverters.smile(Map.class).convert(smile));
+        assertEquals(config, schema.decode(lengthPrefixed));
+
+        measure("json (String)", json.length(), () -> SecretConverters.asObject(Map.class).convert(json));
+        measure("json (bytes)", jsonBytes.asByteArrayUnsafe().length, () -> convert(BinaryConverters.json(Map.class), jsonBytes));
+        measure("cbor", cbor.asByteArrayUnsafe().length, () -> convert(BinaryConverters.cbor(Map.class), cbor));
+        measure("smile", smile.asByteArrayUnsafe().length, () -> convert(BinaryConverters.smile(Map.class), smile));
+        measure("length-prefixed", lengthPrefixed.asByteArrayUnsafe().length, () -> schema.decode(lengthPrefixed));
+    }
+
+    private static Object convert(BinarySecretConverter<?> converter, SdkBytes bytes) throws Exception {
+        return converter.convert(bytes);
+    }
+
+    private static void measure(String format, int size, Callable<?> operation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.call();
+        }
+        LoadDriver.LoadReport report = LoadDriver.run(1, ITERATIONS, operation);
+        assertEquals(0, report.errors());
+        logger.info("{}: {} bytes, p50={} us, p99={} us", format, size,
+                report.p50Nanos() / 1_000, report.p99Nanos() / 1_000);
+    }
+}
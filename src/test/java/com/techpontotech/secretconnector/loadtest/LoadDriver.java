@@ -0,0 +1,108 @@
+package com.techpontotech.secretconnector.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executa N chamadores concorrentes sobre uma operação e mede vazão e percentis de latência.
+ *
+ * <p>Cada chamador registra a latência de cada chamada em um array próprio (sem sincronização no
+ * caminho medido); os arrays são combinados e ordenados somente ao final da execução.
+ */
+public final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    /**
+     * Executa a carga.
+     *
+     * @param callers número de threads chamadoras
+     * @param iterationsPerCaller chamadas realizadas por cada thread
+     * @param operation a operação medida
+     * @return o relatório da execução
+     * @throws InterruptedException se a thread for interrompida aguardando os chamadores
+     */
+    public static LoadReport run(int callers, int iterationsPerCaller, Callable<?> operation)
+            throws InterruptedException {
+        long[][] latencies = new long[callers][iterationsPerCaller];
+        LongAdder errors = new LongAdder();
+        CountDownLatch ready = new CountDownLatch(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(callers);
+
+        for (int caller = 0; caller < callers; caller++) {
+            long[] samples = latencies[caller];
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    for (int i = 0; i < iterationsPerCaller; i++) {
+                        long begin = System.nanoTime();
+                        try {
+                            operation.call();
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        samples[i] = System.nanoTime() - begin;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-caller-" + caller);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+
+        long[] all = new long[callers * iterationsPerCaller];
+        for (int caller = 0; caller < callers; caller++) {
+            System.arraycopy(latencies[caller], 0, all, caller * iterationsPerCaller, iterationsPerCaller);
+        }
+        Arrays.sort(all);
+        return new LoadReport(callers, all.length, errors.sum(), Duration.ofNanos(elapsed),
+            percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), percentile(all, 0.999),
+            all.length == 0 ? 0 : all[all.length - 1]);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Resultado de uma execução do {@link LoadDriver}. Latências em nanossegundos.
+     */
+    public record LoadReport(int callers, long operations, long errors, Duration elapsed,
+            long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+
+        /**
+         * @return operações por segundo
+         */
+        public double throughput() {
+            return elapsed.isZero() ? 0 : operations / (elapsed.toNanos() / 1_000_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "LoadReport{callers=%d, ops=%d, errors=%d, elapsed=%dms, throughput=%.0f ops/s, "
+                    + "p50=%.3fms, p90=%.3fms, p99=%.3fms, p99.9=%.3fms, max=%.3fms}",
+                callers, operations, errors, elapsed.toMillis(), throughput(),
+                p50Nanos / 1e6, p90Nanos / 1e6, p99Nanos / 1e6, p999Nanos / 1e6, maxNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.techpontotech.secretconnector.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+
+/**
+ * Emulador HTTP local do protocolo JSON do AWS Secrets Manager, para testes de carga sem acesso à AWS.
+ *
+ * <p>Operações suportadas: {@code GetSecretValue}, {@code BatchGetSecretValue}, {@code DescribeSecret}
+ * e {@code ListSecrets} (filtros {@code name}, {@code tag-key} e {@code tag-value}). A latência, a taxa
+ * de throttling e a taxa de erros internos podem ser configuradas a qualquer momento.
+ */
+public final class LocalSecretsManagerEmulator implements AutoCloseable {
+
+    public static final String REGION = "us-east-1";
+    public static final String ACCOUNT_ID = "123456789012";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, StoredSecret> secrets = new ConcurrentSkipListMap<>();
+    private final Map<String, String> namesByArn = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+
+    private volatile long latencyMicros;
+    private volatile long jitterMicros;
+    private volatile double throttleRate;
+    private volatile double errorRate;
+
+    private LocalSecretsManagerEmulator(int threads) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Inicia o emulador em uma porta livre de localhost.
+     *
+     * @return o emulador em execução
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public static LocalSecretsManagerEmulator start() throws IOException {
+        return new LocalSecretsManagerEmulator(64);
+    }
+
+    /**
+     * @return o endpoint a ser usado como endpoint override do cliente
+     */
+    public URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    /**
+     * Cria um cliente apontado para o emulador, com credenciais fixas e sem retries.
+     *
+     * @return o cliente do Secrets Manager
+     */
+    public SecretsManagerClient newClient() {
+        return SecretsManagerClient.builder()
+            .endpointOverride(endpoint())
+            .region(Region.of(REGION))
+            .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+            .overrideConfiguration(ClientOverrideConfiguration.builder().retryPolicy(RetryPolicy.none()).build())
+            .build();
+    }
+
+    /**
+     * Cria ou atualiza um secret, gerando uma nova versão AWSCURRENT.
+     *
+     * @param name o nome do secret
+     * @param value o valor
+     * @return o ARN do secret
+     */
+    public String putSecret(String name, String value) {
+        return putSecret(name, value, Map.of());
+    }
+
+    /**
+     * Cria ou atualiza um secret com tags, gerando uma nova versão AWSCURRENT; a versão anterior
+     * passa a ser AWSPREVIOUS.
+     *
+     * @param name o nome do secret
+     * @param value o valor
+     * @param tags as tags do secret
+     * @return o ARN do secret
+     */
+    public String putSecret(String name, String value, Map<String, String> tags) {
+        StoredSecret secret = secrets.computeIfAbsent(name, StoredSecret::new);
+        synchronized (secret) {
+            secret.previousVersionId = secret.versionId;
+            secret.previousValue = secret.value;
+            secret.versionId = UUID.randomUUID().toString();
+            secret.value = value;
+            secret.lastChanged = Instant.now();
+            secret.tags.putAll(tags);
+        }
+        namesByArn.put(secret.arn, name);
+        return secret.arn;
+    }
+
+    /**
+     * Remove um secret.
+     *
+     * @param name o nome do secret
+     */
+    public void deleteSecret(String name) {
+        StoredSecret secret = secrets.remove(name);
+        if (secret != null) {
+            namesByArn.remove(secret.arn);
+        }
+    }
+
+    /**
+     * Define a latência adicionada a cada requisição.
+     *
+     * @param latency a latência base
+     * @param jitter a variação aleatória máxima somada à latência base
+     */
+    public void setLatency(Duration latency, Duration jitter) {
+        this.latencyMicros = TimeUnit.NANOSECONDS.toMicros(latency.toNanos());
+        this.jitterMicros = TimeUnit.NANOSECONDS.toMicros(jitter.toNanos());
+    }
+
+    /**
+     * @param throttleRate fração (0.0 a 1.0) das requisições respondidas com ThrottlingException
+     */
+    public void setThrottleRate(double throttleRate) {
+        this.throttleRate = throttleRate;
+    }
+
+    /**
+     * @param errorRate fração (0.0 a 1.0) das requisições respondidas com InternalServiceError
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * @param operation o nome da operação (ex: "GetSecretValue")
+     * @return a quantidade de requisições recebidas para a operação
+     */
+    public long requestCount(String operation) {
+        LongAdder counter = requestCounts.get(operation);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Zera os contadores de requisições.
+     */
+    public void resetCounts() {
+        requestCounts.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String target = exchange.getRequestHeaders().getFirst("X-Amz-Target");
+            String operation = target == null ? "" : target.substring(target.indexOf('.') + 1);
+            requestCounts.computeIfAbsent(operation, key -> new LongAdder()).increment();
+
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                byte[] bytes = body.readAllBytes();
+                request = bytes.length == 0 ? MAPPER.createObjectNode() : MAPPER.readTree(bytes);
+            }
+
+            simulateLatency();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (throttleRate > 0 && random.nextDouble() < throttleRate) {
+                respond(exchange, 400, error("ThrottlingException", "Rate exceeded"));
+                return;
+            }
+            if (errorRate > 0 && random.nextDouble() < errorRate) {
+                respond(exchange, 500, error("InternalServiceError", "Erro injetado pelo emulador"));
+                return;
+            }
+
+            switch (operation) {
+                case "GetSecretValue" -> getSecretValue(exchange, request);
+                case "BatchGetSecretValue" -> batchGetSecretValue(exchange, request);
+                case "DescribeSecret" -> describeSecret(exchange, request);
+                case "ListSecrets" -> listSecrets(exchange, request);
+                default -> respond(exchange, 400, error("InvalidRequestException", "Operação não suportada: " + operation));
+            }
+        }
+    }
+
+    private void simulateLatency() {
+        long micros = latencyMicros;
+        if (jitterMicros > 0) {
+            micros += ThreadLocalRandom.current().nextLong(jitterMicros);
+        }
+        if (micros > 0) {
+            try {
+                TimeUnit.MICROSECONDS.sleep(micros);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private StoredSecret find(String secretId) {
+        if (secretId == null) {
+            return null;
+        }
+        String name = namesByArn.getOrDefault(secretId, secretId);
+        return secrets.get(name);
+    }
+
+    private void getSecretValue(HttpExchange exchange, JsonNode request) throws IOException {
+        StoredSecret secret = find(request.path("SecretId").asText(null));
+        if (secret == null) {
+            respond(exchange, 400, notFound());
+            return;
+        }
+        String stage = request.path("VersionStage").asText("AWSCURRENT");
+        ObjectNode value = secretValue(secret, stage);
+        if (value == null) {
+            respond(exchange, 400, notFound());
+            return;
+        }
+        respond(exchange, 200, value);
+    }
+
+    private void batchGetSecretValue(HttpExchange exchange, JsonNode request) throws IOException {
+        ObjectNode response = MAPPER.createObjectNode();
+        ArrayNode values = response.putArray("SecretValues");
+        ArrayNode errors = response.putArray("Errors");
+        for (JsonNode id : request.path("SecretIdList")) {
+            StoredSecret secret = find(id.asText());
+            if (secret == null) {
+                errors.addObject()
+                    .put("SecretId", id.asText())
+                    .put("ErrorCode", "ResourceNotFoundException")
+                    .put("Message", "Secrets Manager can't find the specified secret.");
+            } else {
+                values.add(secretValue(secret, "AWSCURRENT"));
+            }
+        }
+        respond(exchange, 200, response);
+    }
+
+    private void describeSecret(HttpExchange exchange, JsonNode request) throws IOException {
+        StoredSecret secret = find(request.path("SecretId").asText(null));
+        if (secret == null) {
+            respond(exchange, 400, notFound());
+            return;
+        }
+        ObjectNode response = MAPPER.createObjectNode();
+        synchronized (secret) {
+            response.put("ARN", secret.arn);
+            response.put("Name", secret.name);
+            response.put("LastChangedDate", epochSeconds(secret.lastChanged));
+            response.put("RotationEnabled", false);
+            ObjectNode stages = response.putObject("VersionIdsToStages");
+            stages.putArray(secret.versionId).add("AWSCURRENT");
+            if (secret.previousVersionId != null) {
+                stages.putArray(secret.previousVersionId).add("AWSPREVIOUS");
+            }
+            putTags(response, secret);
+        }
+        respond(exchange, 200, response);
+    }
+
+    private void listSecrets(HttpExchange exchange, JsonNode request) throws IOException {
+        List<String> namePrefixes = new ArrayList<>();
+        List<String> tagKeys = new ArrayList<>();
+        List<String> tagValues = new ArrayList<>();
+        for (JsonNode filter : request.path("Filters")) {
+            List<String> target = switch (filter.path("Key").asText()) {
+                case "name" -> namePrefixes;
+                case "tag-key" -> tagKeys;
+                case "tag-value" -> tagValues;
+                default -> new ArrayList<>();
+            };
+            filter.path("Values").forEach(value -> target.add(value.asText()));
+        }
+
+        List<StoredSecret> matches = new ArrayList<>();
+        for (StoredSecret secret : secrets.values()) {
+            if ((namePrefixes.isEmpty() || namePrefixes.stream().anyMatch(secret.name::startsWith))
+                    && (tagKeys.isEmpty() || tagKeys.stream().anyMatch(secret.tags::containsKey))
+                    && (tagValues.isEmpty() || tagValues.stream().anyMatch(secret.tags::containsValue))) {
+                matches.add(secret);
+            }
+        }
+
+        int maxResults = request.path("MaxResults").asInt(100);
+        int from = request.hasNonNull("NextToken") ? Integer.parseInt(request.get("NextToken").asText()) : 0;
+        int to = Math.min(matches.size(), from + maxResults);
+
+        ObjectNode response = MAPPER.createObjectNode();
+        ArrayNode list = response.putArray("SecretList");
+        for (StoredSecret secret : matches.subList(Math.min(from, to), to)) {
+            ObjectNode entry = list.addObject();
+            synchronized (secret) {
+                entry.put("ARN", secret.arn);
+                entry.put("Name", secret.name);
+                entry.put("LastChangedDate", epochSeconds(secret.lastChanged));
+                putTags(entry, secret);
+            }
+        }
+        if (to < matches.size()) {
+            response.put("NextToken", String.valueOf(to));
+        }
+        respond(exchange, 200, response);
+    }
+
+    private ObjectNode secretValue(StoredSecret secret, String stage) {
+        synchronized (secret) {
+            boolean previous = "AWSPREVIOUS".equals(stage);
+            String versionId = previous ? secret.previousVersionId : secret.versionId;
+            if (versionId == null) {
+                return null;
+            }
+            ObjectNode value = MAPPER.createObjectNode();
+            value.put("ARN", secret.arn);
+            value.put("Name", secret.name);
+            value.put("VersionId", versionId);
+            value.put("SecretString", previous ? secret.previousValue : secret.value);
+            value.putArray("VersionStages").add(previous ? "AWSPREVIOUS" : "AWSCURRENT");
+            value.put("CreatedDate", epochSeconds(secret.lastChanged));
+            return value;
+        }
+    }
+
+    private static void putTags(ObjectNode node, StoredSecret secret) {
+        ArrayNode tags = node.putArray("Tags");
+        for (Map.Entry<String, String> tag : secret.tags.entrySet()) {
+            tags.addObject().put("Key", tag.getKey()).put("Value", tag.getValue());
+        }
+    }
+
+    private static double epochSeconds(Instant instant) {
+        return instant.toEpochMilli() / 1000.0;
+    }
+
+    private static ObjectNode notFound() {
+        return error("ResourceNotFoundException", "Secrets Manager can't find the specified secret.");
+    }
+
+    private static ObjectNode error(String type, String message) {
+        ObjectNode error = MAPPER.createObjectNode();
+        error.put("__type", type);
+        error.put("message", message);
+        return error;
+    }
+
+    private static void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/x-amz-json-1.1");
+        if (status != 200) {
+            exchange.getResponseHeaders().set("x-amzn-ErrorType", body.path("__type").asText());
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static final class StoredSecret {
+        final String name;
+        final String arn;
+        final Map<String, String> tags = new ConcurrentHashMap<>();
+        String versionId;
+        String value;
+        String previousVersionId;
+        String previousValue;
+        Instant lastChanged;
+
+        StoredSecret(String name) {
+            this.name = name;
+            this.arn = "arn:aws:secretsmanager:" + REGION + ":" + ACCOUNT_ID + ":secret:" + name + "-"
+                + UUID.randomUUID().toString().substring(0, 6);
+        }
+    }
+}
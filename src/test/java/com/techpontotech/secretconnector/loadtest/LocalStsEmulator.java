@@ -0,0 +1,171 @@
+package com.techpontotech.secretconnector.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Emulador HTTP local do {@code AssumeRole} do AWS STS (protocolo query/XML), para testes de acesso
+ * multi-conta sem acesso à AWS.
+ *
+ * <p>As credenciais emitidas têm {@code AccessKeyId} único por chamada, e cada chamada é registrada
+ * com a role solicitada e o {@code AccessKeyId} usado para assiná-la, o que permite verificar as
+ * cadeias de roles.
+ */
+public final class LocalStsEmulator implements AutoCloseable {
+
+    private static final Pattern ACCESS_KEY = Pattern.compile("Credential=([^/]+)/");
+
+    /**
+     * Chamada {@code AssumeRole} recebida.
+     *
+     * @param roleArn a role solicitada
+     * @param callerAccessKeyId o AccessKeyId que assinou a chamada
+     * @param issuedAccessKeyId o AccessKeyId emitido
+     */
+    public record AssumeRoleCall(String roleArn, String callerAccessKeyId, String issuedAccessKeyId) {
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<AssumeRoleCall> calls = new CopyOnWriteArrayList<>();
+
+    private volatile Duration credentialLifetime = Duration.ofHours(1);
+
+    private LocalStsEmulator() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Inicia o emulador em uma porta livre de localhost.
+     *
+     * @return o emulador em execução
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public static LocalStsEmulator start() throws IOException {
+        return new LocalStsEmulator();
+    }
+
+    /**
+     * @return o endpoint a ser usado como endpoint override do cliente do STS
+     */
+    public URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    /**
+     * @param credentialLifetime validade das credenciais emitidas a partir de agora
+     */
+    public void setCredentialLifetime(Duration credentialLifetime) {
+        this.credentialLifetime = credentialLifetime;
+    }
+
+    /**
+     * @return as chamadas AssumeRole recebidas, em ordem
+     */
+    public List<AssumeRoleCall> calls() {
+        return List.copyOf(calls);
+    }
+
+    /**
+     * @param roleArn a role
+     * @return quantas vezes a role foi assumida
+     */
+    public long assumeCount(String roleArn) {
+        return calls.stream().filter(call -> call.roleArn().equals(roleArn)).count();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, String> form;
+            try (InputStream body = exchange.getRequestBody()) {
+                form = parseForm(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            if (!"AssumeRole".equals(form.get("Action"))) {
+                send(exchange, 400, "<ErrorResponse><Error><Type>Sender</Type><Code>InvalidAction</Code>"
+                    + "<Message>Operação não suportada</Message></Error></ErrorResponse>");
+                return;
+            }
+            String roleArn = form.get("RoleArn");
+            String issued = "ASIA" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
+            calls.add(new AssumeRoleCall(roleArn, callerAccessKey(exchange), issued));
+            Instant expiration = Instant.now().plus(credentialLifetime);
+            send(exchange, 200, "<AssumeRoleResponse xmlns=\"https://sts.amazonaws.com/doc/2011-06-15/\">"
+                + "<AssumeRoleResult><Credentials>"
+                + "<AccessKeyId>" + issued + "</AccessKeyId>"
+                + "<SecretAccessKey>secret-" + issued + "</SecretAccessKey>"
+                + "<SessionToken>token-" + issued + "</SessionToken>"
+                + "<Expiration>" + expiration + "</Expiration>"
+                + "</Credentials><AssumedRoleUser>"
+                + "<Arn>" + roleArn + "/" + form.get("RoleSessionName") + "</Arn>"
+                + "<AssumedRoleId>AROA:" + form.get("RoleSessionName") + "</AssumedRoleId>"
+                + "</AssumedRoleUser></AssumeRoleResult>"
+                + "<ResponseMetadata><RequestId>" + UUID.randomUUID() + "</RequestId></ResponseMetadata>"
+                + "</AssumeRoleResponse>");
+        }
+    }
+
+    private static String callerAccessKey(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null) {
+            return null;
+        }
+        Matcher matcher = ACCESS_KEY.matcher(authorization);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static void send(HttpExchange exchange, int status, String xml) throws IOException {
+        byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
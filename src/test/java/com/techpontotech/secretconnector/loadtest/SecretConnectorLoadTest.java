@@ -0,0 +1,116 @@
+package com.techpontotech.secretconnector.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.techpontotech.secretconnector.SecretManagerConnector;
+import com.techpontotech.secretconnector.config.SecretCacheConfig;
+import com.techpontotech.secretconnector.converter.impl.SecretConverters;
+import com.techpontotech.secretconnector.exception.SecretManagerException;
+import com.techpontotech.secretconnector.models.Secret;
+
+/**
+ * Testes de carga do SecretManagerConnector contra o emulador local do Secrets Manager.
+ */
+@DisplayName("Testes de Carga com Emulador Local")
+public class SecretConnectorLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecretConnectorLoadTest.class);
+
+    private static final int SECRETS = 20;
+
+    private LocalSecretsManagerEmulator emulator;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        emulator = LocalSecretsManagerEmulator.start();
+        for (int i = 0; i < SECRETS; i++) {
+            emulator.putSecret("load/secret-" + i,
+                    "{\"clientId\":\"client-" + i + "\",\"clientSecret\":\"secret-" + i + "\"}",
+                    Map.of("team", "load"));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        emulator.close();
+    }
+
+    @Test
+    @DisplayName("Deve buscar cada secret uma única vez com cache sob carga concorrente")
+    public void testCachedThroughput() throws Exception {
+        emulator.setLatency(Duration.ofMillis(5), Duration.ofMillis(5));
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(
+                SecretConverters.asString(), emulator.newClient(), SecretCacheConfig.defaults());
+        try {
+            LoadDriver.LoadReport report = LoadDriver.run(16, 1_000, () -> connector.get(
+                    "load/secret-" + ThreadLocalRandom.current().nextInt(SECRETS), Secret.class));
+            logger.info("Com cache: {}", report);
+
+            assertEquals(0, report.errors());
+            assertEquals(SECRETS, emulator.requestCount("GetSecretValue"));
+            assertTrue(connector.getCacheStats().hitRate() > 0.99);
+        } finally {
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve medir a latência das chamadas sem cache")
+    public void testUncachedLatency() throws Exception {
+        emulator.setLatency(Duration.ofMillis(2), Duration.ZERO);
+        SecretManagerConnector<String> connector =
+                new SecretManagerConnector<>(SecretConverters.asString(), emulator.newClient());
+        try {
+            LoadDriver.LoadReport report = LoadDriver.run(8, 25, () -> connector.get("load/secret-1"));
+            logger.info("Sem cache: {}", report);
+
+            assertEquals(0, report.errors());
+            assertEquals(200, emulator.requestCount("GetSecretValue"));
+            assertTrue(report.p50Nanos() >= Duration.ofMillis(2).toNanos());
+        } finally {
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve pré-carregar secrets pelo ListSecrets do emulador")
+    public void testPreloadAgainstEmulator() {
+        SecretManagerConnector<String> connector = new SecretManagerConnector<>(
+                SecretConverters.asString(), emulator.newClient(), SecretCacheConfig.defaults());
+        try {
+            assertEquals(SECRETS, connector.preloadByTag("team", "load").count());
+            assertEquals(SECRETS, connector.getCache().size());
+        } finally {
+            connector.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve propagar erros injetados pelo emulador")
+    public void testInjectedErrors() {
+        emulator.setErrorRate(1.0);
+        SecretManagerConnector<String> connector =
+                new SecretManagerConnector<>(SecretConverters.asString(), emulator.newClient());
+        try {
+            assertThrows(SecretManagerException.class, () -> connector.get("load/secret-1"));
+            emulator.setErrorRate(0.0);
+            emulator.setThrottleRate(1.0);
+            assertThrows(SecretManagerException.class, () -> connector.get("load/secret-1"));
+        } finally {
+            connector.close();
+        }
+    }
+}